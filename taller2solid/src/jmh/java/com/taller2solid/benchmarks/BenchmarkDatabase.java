@@ -0,0 +1,56 @@
+package com.taller2solid.benchmarks;
+
+import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Base de datos SQLite temporal con N usuarios sintéticos para los benchmarks
+ * Los usuarios se llaman user0..userN-1 y todos comparten el mismo hash.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+    
+    private final Path directory;
+    private final UserRepositorySQLite repository;
+    
+    BenchmarkDatabase(int users, String passwordHash) throws IOException {
+        directory = Files.createTempDirectory("bench-usuarios");
+        repository = new UserRepositorySQLite(directory.resolve("usuarios.db").toString(), 8);
+        repository.initDatabase();
+        
+        List<User> batch = new ArrayList<>(UserRepositorySQLite.BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            User user = new User(null, username(i), passwordHash, username(i) + "@bench.com", Role.USER);
+            batch.add(user);
+            if (batch.size() == UserRepositorySQLite.BATCH_SIZE) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+    
+    static String username(int index) {
+        return "user" + index;
+    }
+    
+    UserRepositorySQLite repository() {
+        return repository;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        repository.closeConnection();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.taller2solid.benchmarks;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ejecuta los benchmarks JMH para varios números de hilos y guarda un CSV
+ * comparable entre ejecuciones.
+ *
+ * Uso:
+ *   java -jar target/benchmarks.jar [--threads 1,4] [--include regex]
+ *        [--output benchmarks/results.csv] [--compare benchmarks/baseline.csv]
+ *
+ * Con --compare se imprime, por cada benchmark, la razón entre el resultado
+ * actual y el de la línea base (mayor que 1 significa más throughput).
+ */
+public class BenchmarkRunner {
+    
+    private static final String HEADER = "benchmark,params,threads,mode,score,error,unit";
+    
+    public static void main(String[] args) throws RunnerException, IOException {
+        Map<String, String> options = parseArgs(args);
+        String include = options.getOrDefault("include", "com\\.taller2solid\\.benchmarks\\..*");
+        Path output = Paths.get(options.getOrDefault("output", "benchmarks/results.csv"));
+        
+        List<String> rows = new ArrayList<>();
+        for (String threads : options.getOrDefault("threads", "1,4").split(",")) {
+            Options opts = new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build();
+            rows.addAll(toCsv(new Runner(opts).run()));
+        }
+        
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (String row : rows) {
+                writer.write(row);
+                writer.newLine();
+            }
+        }
+        System.out.println("Resultados guardados en " + output.toAbsolutePath());
+        
+        if (options.containsKey("compare")) {
+            compare(Paths.get(options.get("compare")), output);
+        }
+    }
+    
+    private static List<String> toCsv(Collection<RunResult> results) {
+        List<String> rows = new ArrayList<>();
+        for (RunResult run : results) {
+            Result<?> primary = run.getPrimaryResult();
+            String benchmark = run.getParams().getBenchmark();
+            StringBuilder params = new StringBuilder();
+            for (String key : new TreeMap<>(paramMap(run)).keySet()) {
+                if (params.length() > 0) {
+                    params.append(';');
+                }
+                params.append(key).append('=').append(run.getParams().getParam(key));
+            }
+            rows.add(String.join(",",
+                    benchmark,
+                    params.toString(),
+                    String.valueOf(run.getParams().getThreads()),
+                    run.getParams().getMode().shortLabel(),
+                    String.format(Locale.ROOT, "%.3f", primary.getScore()),
+                    String.format(Locale.ROOT, "%.3f", primary.getScoreError()),
+                    primary.getScoreUnit()));
+        }
+        return rows;
+    }
+    
+    private static Map<String, String> paramMap(RunResult run) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (String key : run.getParams().getParamsKeys()) {
+            params.put(key, run.getParams().getParam(key));
+        }
+        return params;
+    }
+    
+    /**
+     * Compara dos CSV por (benchmark, params, threads)
+     */
+    private static void compare(Path baseline, Path current) throws IOException {
+        Map<String, Double> base = readScores(baseline);
+        Map<String, Double> now = readScores(current);
+        System.out.printf(Locale.ROOT, "%-90s %14s %14s %8s%n", "benchmark", "base", "actual", "razón");
+        for (Map.Entry<String, Double> entry : now.entrySet()) {
+            Double before = base.get(entry.getKey());
+            String ratio = before == null || before == 0 ? "-" :
+                    String.format(Locale.ROOT, "%.2f", entry.getValue() / before);
+            System.out.printf(Locale.ROOT, "%-90s %14s %14.3f %8s%n", entry.getKey(),
+                    before == null ? "-" : String.format(Locale.ROOT, "%.3f", before),
+                    entry.getValue(), ratio);
+        }
+    }
+    
+    private static Map<String, Double> readScores(Path csv) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] cols = line.split(",");
+            scores.put(cols[0] + "[" + cols[1] + "]@" + cols[2] + "t", Double.parseDouble(cols[4]));
+        }
+        return scores;
+    }
+    
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Argumento inesperado: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
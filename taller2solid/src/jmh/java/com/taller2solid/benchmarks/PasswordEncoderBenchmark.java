@@ -0,0 +1,45 @@
+package com.taller2solid.benchmarks;
+
+import com.taller2solid.security.IPasswordEncoder;
+import com.taller2solid.security.PBKDF2PasswordEncoder;
+import com.taller2solid.security.SHA256PasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de encode/matches de los encriptadores de contraseñas
+ * PBKDF2 se mide con el mínimo de iteraciones; su costo escala linealmente.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+    
+    @Param({"sha256", "pbkdf2"})
+    public String encoder;
+    
+    private IPasswordEncoder passwordEncoder;
+    private String storedHash;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordEncoder = "sha256".equals(encoder)
+                ? new SHA256PasswordEncoder()
+                : new PBKDF2PasswordEncoder(PBKDF2PasswordEncoder.MIN_ITERATIONS);
+        storedHash = passwordEncoder.encode("password123");
+    }
+    
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("password123");
+    }
+    
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password123", storedHash);
+    }
+}
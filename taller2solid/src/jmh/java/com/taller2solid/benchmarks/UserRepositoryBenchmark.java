@@ -0,0 +1,66 @@
+package com.taller2solid.benchmarks;
+
+import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Operaciones CRUD de UserRepositorySQLite sobre un archivo temporal
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserRepositoryBenchmark {
+    
+    @Param({"1000", "100000"})
+    public int datasetSize;
+    
+    private BenchmarkDatabase database;
+    private UserRepositorySQLite repository;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = new BenchmarkDatabase(datasetSize, "hash");
+        repository = database.repository();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+    
+    @Benchmark
+    public Optional<User> findById() {
+        return repository.findById(1 + ThreadLocalRandom.current().nextInt(datasetSize));
+    }
+    
+    @Benchmark
+    public Optional<User> findByUsername() {
+        return repository.findByUsername(BenchmarkDatabase.username(ThreadLocalRandom.current().nextInt(datasetSize)));
+    }
+    
+    @Benchmark
+    public boolean update() {
+        int i = ThreadLocalRandom.current().nextInt(datasetSize);
+        User user = new User(i + 1, BenchmarkDatabase.username(i), "hash", "otro" + i + "@bench.com", Role.USER);
+        return repository.update(user);
+    }
+    
+    @Benchmark
+    public boolean insertAndDelete() {
+        String username = "nuevo" + sequence.incrementAndGet();
+        User user = new User(null, username, "hash", username + "@bench.com", Role.USER);
+        return repository.save(user) && repository.delete(user.getId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.taller2solid.benchmarks;
+
+import com.taller2solid.security.SHA256PasswordEncoder;
+import com.taller2solid.service.UserService;
+import com.taller2solid.service.UserService.ServiceResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.authenticate contra SQLite real: login correcto e incorrecto
+ * Usa SHA-256 para aislar el costo de acceso a datos del factor de trabajo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    
+    @Param({"1000", "100000"})
+    public int datasetSize;
+    
+    private BenchmarkDatabase database;
+    private UserService userService;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SHA256PasswordEncoder encoder = new SHA256PasswordEncoder();
+        database = new BenchmarkDatabase(datasetSize, encoder.encode("password123"));
+        userService = new UserService(database.repository(), encoder);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+    
+    @Benchmark
+    public ServiceResult authenticateSuccess() {
+        int i = ThreadLocalRandom.current().nextInt(datasetSize);
+        return userService.authenticate(BenchmarkDatabase.username(i), "password123");
+    }
+    
+    @Benchmark
+    public ServiceResult authenticateWrongPassword() {
+        int i = ThreadLocalRandom.current().nextInt(datasetSize);
+        return userService.authenticate(BenchmarkDatabase.username(i), "incorrecta1");
+    }
+}
@@ -0,0 +1,35 @@
+package com.taller2solid.benchmarks;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import com.taller2solid.service.UserValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de validar un usuario válido y uno con varios errores
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserValidatorBenchmark {
+    
+    private final UserValidator validator = new UserValidator();
+    private final User validUser = new User(null, "usuario_valido", "password123", "valido@test.com", Role.USER);
+    private final User invalidUser = new User(null, "u$", "abc", "correo-invalido", null);
+    
+    @Benchmark
+    public List<String> validateValid() {
+        return validator.validate(validUser);
+    }
+    
+    @Benchmark
+    public List<String> validateInvalid() {
+        return validator.validate(invalidUser);
+    }
+}
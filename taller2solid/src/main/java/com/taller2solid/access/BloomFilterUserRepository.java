@@ -0,0 +1,314 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de IUserRepository con filtro de Bloom de usernames
+ * Aplicando OCP (Open/Closed Principle):
+ * - Agrega la ruta rápida sin modificar el repositorio decorado
+ *
+ * UserService consulta {@link #mightExist} para confirmar que un username
+ * está libre, y para usernames nuevos la respuesta casi siempre es "libre".
+ * Si el filtro dice que el username definitivamente no existe, se responde
+ * sin ir a la base de datos.
+ *
+ * findByUsername siempre consulta la base: el filtro solo conoce las altas
+ * de este proceso y de la última reconstrucción, y un usuario creado por
+ * otro proceso (p.ej. una importación) debe poder iniciar sesión de
+ * inmediato. En la verificación de disponibilidad ese desfase no es grave:
+ * el índice UNIQUE de username rechaza el duplicado al guardar.
+ *
+ * - El filtro se construye en initDatabase() recorriendo solo los usernames
+ *   con un cursor, sin cargar la tabla completa en memoria
+ * - save/update agregan el username al filtro antes de escribir, para que
+ *   una consulta concurrente nunca lo dé por libre
+ * - Los borrados no se pueden quitar del filtro: se depuran al reconstruirlo
+ *   periódicamente
+ * - Las escrituras comparten un lock de lectura; la reconstrucción toma el de
+ *   escritura solo para publicar el filtro en construcción, así ninguna
+ *   escritura en curso queda fuera del recorrido
+ */
+public class BloomFilterUserRepository implements IUserRepository {
+    
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    public static final long DEFAULT_EXPECTED_USERS = 10_000;
+    
+    private final IUserRepository delegate;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+    
+    private volatile UsernameBloomFilter filter;
+    /** Filtro en construcción; las escrituras concurrentes también se agregan aquí */
+    private volatile UsernameBloomFilter building;
+    private ScheduledExecutorService scheduler;
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder passedThrough = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    
+    public BloomFilterUserRepository(IUserRepository delegate) {
+        this(delegate, DEFAULT_EXPECTED_USERS, DEFAULT_FALSE_POSITIVE_RATE, null);
+    }
+    
+    /**
+     * @param delegate Repositorio real
+     * @param expectedUsers Número mínimo de usuarios para dimensionar el filtro
+     * @param falsePositiveRate Tasa de falsos positivos deseada
+     * @param rebuildInterval Cada cuánto reconstruir el filtro (null para no hacerlo)
+     */
+    public BloomFilterUserRepository(IUserRepository delegate, long expectedUsers,
+                                     double falsePositiveRate, Duration rebuildInterval) {
+        this.delegate = delegate;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+    }
+    
+    @Override
+    public void initDatabase() {
+        delegate.initDatabase();
+        rebuild();
+        if (rebuildInterval != null && !rebuildInterval.isZero()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "bloom-filter-rebuild");
+                t.setDaemon(true);
+                return t;
+            });
+            long millis = rebuildInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::rebuildSafely, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Reconstruye el filtro a partir de los usernames actuales.
+     * El nuevo filtro se dimensiona al doble de los usuarios existentes
+     * (o al mínimo configurado) para absorber el crecimiento.
+     */
+    public synchronized void rebuild() {
+        long size = Math.max(expectedUsers, delegate.count() * 2);
+        UsernameBloomFilter fresh = new UsernameBloomFilter(size, falsePositiveRate);
+        rebuildLock.writeLock().lock();
+        try {
+            building = fresh;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        try {
+            delegate.forEachUser(UserProjection.USERNAME, user -> fresh.add(user.getUsername()));
+            filter = fresh;
+        } finally {
+            building = null;
+        }
+    }
+    
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    @Override
+    public boolean mightExist(String username) {
+        UsernameBloomFilter current = filter;
+        if (current != null && !current.mightContain(username)) {
+            definiteMisses.increment();
+            return false;
+        }
+        passedThrough.increment();
+        return delegate.mightExist(username);
+    }
+    
+    @Override
+    public Optional<User> findByUsername(String username) {
+        Optional<User> result = delegate.findByUsername(username);
+        if (!result.isPresent()) {
+            UsernameBloomFilter current = filter;
+            if (current != null && current.mightContain(username)) {
+                falsePositives.increment();
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public boolean save(User user) {
+        return write(() -> {
+            remember(user.getUsername());
+            return delegate.save(user);
+        });
+    }
+    
+    @Override
+    public int saveAll(Collection<User> users) {
+        return write(() -> {
+            users.forEach(user -> remember(user.getUsername()));
+            return delegate.saveAll(users);
+        });
+    }
+    
+    @Override
+    public boolean update(User user) {
+        return write(() -> {
+            remember(user.getUsername());
+            return delegate.update(user);
+        });
+    }
+    
+    @Override
+    public int updateAll(Collection<User> users) {
+        return write(() -> {
+            users.forEach(user -> remember(user.getUsername()));
+            return delegate.updateAll(users);
+        });
+    }
+    
+    private <T> T write(Supplier<T> operation) {
+        rebuildLock.readLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean delete(Integer id) {
+        return delegate.delete(id);
+    }
+    
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        return delegate.deleteAll(ids);
+    }
+    
+    @Override
+    public boolean[] applyWrites(List<UserWrite> writes) {
+        return write(() -> {
+            for (UserWrite write : writes) {
+                if (write.getUser() != null) {
+                    remember(write.getUser().getUsername());
+                }
+            }
+            return delegate.applyWrites(writes);
+        });
+    }
+    
+    private void remember(String username) {
+        if (username == null) {
+            return;
+        }
+        UsernameBloomFilter current = filter;
+        if (current != null) {
+            current.add(username);
+        }
+        UsernameBloomFilter next = building;
+        if (next != null) {
+            next.add(username);
+        }
+    }
+    
+    @Override
+    public Optional<User> findById(Integer id) {
+        return delegate.findById(id);
+    }
+    
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public List<User> findPage(int afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+    
+    @Override
+    public Optional<Integer> findIdAtOffset(long offset) {
+        return delegate.findIdAtOffset(offset);
+    }
+    
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+    
+    @Override
+    public List<User> findByRole(Role role) {
+        return delegate.findByRole(role);
+    }
+    
+    @Override
+    public List<User> findActive() {
+        return delegate.findActive();
+    }
+    
+    @Override
+    public long countActive() {
+        return delegate.countActive();
+    }
+    
+    @Override
+    public Map<Role, Long> countByRole() {
+        return delegate.countByRole();
+    }
+    
+    @Override
+    public List<User> search(String text, int limit) {
+        return delegate.search(text, limit);
+    }
+    
+    @Override
+    public Stream<User> streamAll(UserProjection projection) {
+        return delegate.streamAll(projection);
+    }
+    
+    @Override
+    public void closeConnection() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        delegate.closeConnection();
+    }
+    
+    // ========================================
+    // Estadísticas
+    // ========================================
+    
+    /**
+     * Verificaciones de disponibilidad respondidas sin tocar la base de datos
+     */
+    public long getDefiniteMisses() {
+        return definiteMisses.sum();
+    }
+    
+    /**
+     * Verificaciones de disponibilidad que el filtro dejó pasar a la base de datos
+     */
+    public long getPassedThrough() {
+        return passedThrough.sum();
+    }
+    
+    /**
+     * Búsquedas por username que el filtro habría dejado pasar y no existían
+     */
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+}
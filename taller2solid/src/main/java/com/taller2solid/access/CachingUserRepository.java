@@ -0,0 +1,344 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de IUserRepository con caché de lectura (read-through)
+ * Aplicando OCP (Open/Closed Principle):
+ * - Agrega caché sin modificar la implementación de persistencia
+ * Aplicando LSP (Liskov Substitution Principle):
+ * - Se puede usar en cualquier lugar donde se espere un IUserRepository
+ *
+ * La caché es un LRU acotado con TTL opcional, indexado por ID y por
+ * username. Las escrituras invalidan las entradas afectadas. Se guardan
+ * y devuelven copias de los usuarios para que los cambios que haga el
+ * llamador sobre el objeto no alteren la caché.
+ */
+public class CachingUserRepository implements IUserRepository {
+    
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    
+    private final IUserRepository delegate;
+    private final int maxEntries;
+    private final long ttlNanos;
+    
+    private final LinkedHashMap<Integer, CacheEntry> byId;
+    private final Map<String, Integer> idByUsername = new HashMap<>();
+    
+    /** Se incrementa en cada escritura para no cachear lecturas que compitieron con ella */
+    private long generation;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    private static class CacheEntry {
+        final User user;
+        final long expiresAt;
+        
+        CacheEntry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    public CachingUserRepository(IUserRepository delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, null);
+    }
+    
+    /**
+     * @param delegate Repositorio real
+     * @param maxEntries Máximo de usuarios en caché
+     * @param ttl Tiempo de vida de cada entrada (null para no expirar)
+     */
+    public CachingUserRepository(IUserRepository delegate, int maxEntries, Duration ttl) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("La caché debe admitir al menos una entrada");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl == null || ttl.isZero() ? 0 : ttl.toNanos();
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry> eldest) {
+                if (size() > CachingUserRepository.this.maxEntries) {
+                    idByUsername.remove(eldest.getValue().user.getUsername());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    // ========================================
+    // Lecturas
+    // ========================================
+    
+    @Override
+    public Optional<User> findById(Integer id) {
+        long startGeneration;
+        synchronized (this) {
+            User cached = lookup(id);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(copy(cached));
+            }
+            startGeneration = generation;
+        }
+        misses.increment();
+        Optional<User> loaded = delegate.findById(id);
+        loaded.ifPresent(user -> put(user, startGeneration));
+        return loaded;
+    }
+    
+    @Override
+    public Optional<User> findByUsername(String username) {
+        long startGeneration;
+        synchronized (this) {
+            Integer id = idByUsername.get(username);
+            User cached = id != null ? lookup(id) : null;
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(copy(cached));
+            }
+            startGeneration = generation;
+        }
+        misses.increment();
+        Optional<User> loaded = delegate.findByUsername(username);
+        loaded.ifPresent(user -> put(user, startGeneration));
+        return loaded;
+    }
+    
+    @Override
+    public boolean mightExist(String username) {
+        return delegate.mightExist(username);
+    }
+    
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public List<User> findPage(int afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+    
+    @Override
+    public Optional<Integer> findIdAtOffset(long offset) {
+        return delegate.findIdAtOffset(offset);
+    }
+    
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+    
+    @Override
+    public List<User> findByRole(Role role) {
+        return delegate.findByRole(role);
+    }
+    
+    @Override
+    public List<User> findActive() {
+        return delegate.findActive();
+    }
+    
+    @Override
+    public long countActive() {
+        return delegate.countActive();
+    }
+    
+    @Override
+    public Map<Role, Long> countByRole() {
+        return delegate.countByRole();
+    }
+    
+    @Override
+    public List<User> search(String text, int limit) {
+        return delegate.search(text, limit);
+    }
+    
+    @Override
+    public Stream<User> streamAll(UserProjection projection) {
+        return delegate.streamAll(projection);
+    }
+    
+    // ========================================
+    // Escrituras (invalidan la caché)
+    // ========================================
+    
+    @Override
+    public boolean save(User user) {
+        return delegate.save(user);
+    }
+    
+    @Override
+    public int saveAll(Collection<User> users) {
+        return delegate.saveAll(users);
+    }
+    
+    @Override
+    public boolean update(User user) {
+        invalidate(user.getId());
+        try {
+            return delegate.update(user);
+        } finally {
+            invalidate(user.getId());
+        }
+    }
+    
+    @Override
+    public int updateAll(Collection<User> users) {
+        users.forEach(user -> invalidate(user.getId()));
+        try {
+            return delegate.updateAll(users);
+        } finally {
+            users.forEach(user -> invalidate(user.getId()));
+        }
+    }
+    
+    @Override
+    public boolean delete(Integer id) {
+        invalidate(id);
+        try {
+            return delegate.delete(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+    
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        ids.forEach(this::invalidate);
+        try {
+            return delegate.deleteAll(ids);
+        } finally {
+            ids.forEach(this::invalidate);
+        }
+    }
+    
+    @Override
+    public boolean[] applyWrites(List<UserWrite> writes) {
+        writes.forEach(write -> invalidate(write.getId()));
+        try {
+            return delegate.applyWrites(writes);
+        } finally {
+            writes.forEach(write -> invalidate(write.getId()));
+        }
+    }
+    
+    // ========================================
+    // Ciclo de vida
+    // ========================================
+    
+    @Override
+    public void initDatabase() {
+        delegate.initDatabase();
+    }
+    
+    @Override
+    public void closeConnection() {
+        clear();
+        delegate.closeConnection();
+    }
+    
+    /**
+     * Vacía la caché
+     */
+    public synchronized void clear() {
+        generation++;
+        byId.clear();
+        idByUsername.clear();
+    }
+    
+    // ========================================
+    // Estadísticas
+    // ========================================
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    /**
+     * Entradas desalojadas por tamaño o expiradas por TTL
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+    
+    public synchronized int size() {
+        return byId.size();
+    }
+    
+    // ========================================
+    // Internos
+    // ========================================
+    
+    /** Debe llamarse con el monitor tomado */
+    private User lookup(Integer id) {
+        CacheEntry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (ttlNanos > 0 && System.nanoTime() - entry.expiresAt > 0) {
+            removeEntry(id);
+            evictions.increment();
+            return null;
+        }
+        return entry.user;
+    }
+    
+    private synchronized void put(User user, long startGeneration) {
+        if (generation != startGeneration || user.getId() == null) {
+            return;
+        }
+        removeEntry(user.getId());
+        long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0;
+        byId.put(user.getId(), new CacheEntry(copy(user), expiresAt));
+        idByUsername.put(user.getUsername(), user.getId());
+    }
+    
+    private synchronized void invalidate(Integer id) {
+        generation++;
+        if (id != null) {
+            removeEntry(id);
+        }
+    }
+    
+    /** Debe llamarse con el monitor tomado */
+    private void removeEntry(Integer id) {
+        CacheEntry removed = byId.remove(id);
+        if (removed != null) {
+            idByUsername.remove(removed.user.getUsername(), id);
+        }
+    }
+    
+    private static User copy(User user) {
+        User copy = new User(user.getId(), user.getUsername(), user.getPassword(),
+                user.getEmail(), user.getRole());
+        copy.setActive(user.isActive());
+        return copy;
+    }
+}
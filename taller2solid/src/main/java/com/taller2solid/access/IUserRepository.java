@@ -1,8 +1,13 @@
 package com.taller2solid.access;
 
+import com.taller2solid.domain.Role;
 import com.taller2solid.domain.User;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Interface del repositorio de usuarios
@@ -22,11 +27,62 @@ public interface IUserRepository {
      */
     boolean update(User user);
     
+    /**
+     * Guarda varios usuarios en lotes, con una transacción por lote.
+     * Asigna el ID generado a cada usuario guardado; los que no se
+     * pudieron guardar quedan con ID nulo.
+     * @return Número de usuarios guardados (si falla un lote, los de los
+     *         lotes ya confirmados)
+     */
+    int saveAll(Collection<User> users);
+    
+    /**
+     * Actualiza varios usuarios en lotes, con una transacción por lote
+     * @return Número de usuarios actualizados (si falla un lote, los de los
+     *         lotes ya confirmados)
+     */
+    int updateAll(Collection<User> users);
+    
     /**
      * Elimina un usuario por su ID
      */
     boolean delete(Integer id);
     
+    /**
+     * Elimina varios usuarios en lotes, con una transacción por lote
+     * @return Número de usuarios eliminados (si falla un lote, los de los
+     *         lotes ya confirmados)
+     */
+    int deleteAll(Collection<Integer> ids);
+    
+    /**
+     * Aplica altas, modificaciones y bajas mezcladas, en orden. La
+     * implementación por defecto las aplica una a una; las que pueden las
+     * aplican en una sola transacción.
+     * @return Resultado de cada escritura, en el mismo orden (en un alta
+     *         exitosa el usuario recibe su ID)
+     */
+    default boolean[] applyWrites(List<UserWrite> writes) {
+        boolean[] results = new boolean[writes.size()];
+        for (int i = 0; i < results.length; i++) {
+            UserWrite write = writes.get(i);
+            switch (write.getKind()) {
+                case SAVE:
+                    results[i] = save(write.getUser());
+                    break;
+                case UPDATE:
+                    results[i] = update(write.getUser());
+                    break;
+                case DELETE:
+                    results[i] = delete(write.getId());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return results;
+    }
+    
     /**
      * Busca un usuario por su ID
      */
@@ -37,11 +93,107 @@ public interface IUserRepository {
      */
     Optional<User> findByUsername(String username);
     
+    /**
+     * Respuesta rápida para verificar si un username está libre: false solo
+     * si el username seguro no existe. Un true no garantiza que exista; hay
+     * que confirmarlo con {@link #findByUsername}. Las búsquedas que deben
+     * ver las altas de otros procesos (p.ej. el login) no deben usarlo.
+     */
+    default boolean mightExist(String username) {
+        return true;
+    }
+    
     /**
      * Lista todos los usuarios
      */
     List<User> findAll();
     
+    /**
+     * Lista una página de usuarios ordenados por ID (paginación por clave)
+     * @param afterId Último ID de la página anterior (0 para la primera página)
+     * @param limit Máximo de usuarios a devolver
+     */
+    List<User> findPage(int afterId, int limit);
+    
+    /**
+     * ID del usuario en la posición {@code offset} (desde 0) del orden por ID.
+     * Permite saltar a una página lejana y leerla después con
+     * {@link #findPage}. La implementación por defecto recorre páginas; las
+     * que pueden leen solo la clave primaria.
+     * @return El ID, o vacío si hay {@code offset} usuarios o menos
+     */
+    default Optional<Integer> findIdAtOffset(long offset) {
+        int chunk = 1000;
+        long remaining = offset;
+        int afterId = 0;
+        while (remaining >= 0) {
+            List<User> page = findPage(afterId, chunk);
+            if (remaining < page.size()) {
+                return Optional.of(page.get((int) remaining).getId());
+            }
+            if (page.size() < chunk) {
+                break;
+            }
+            remaining -= page.size();
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Recorre todos los usuarios ordenados por ID leyendo directamente del
+     * cursor, sin cargar la tabla en memoria. El stream mantiene recursos
+     * abiertos hasta cerrarse: usar siempre con try-with-resources.
+     * @param projection Columnas a leer
+     */
+    Stream<User> streamAll(UserProjection projection);
+    
+    /**
+     * Aplica una acción a cada usuario, cerrando el cursor al terminar
+     * @param projection Columnas a leer
+     */
+    default void forEachUser(UserProjection projection, Consumer<User> action) {
+        try (Stream<User> users = streamAll(projection)) {
+            users.forEach(action);
+        }
+    }
+    
+    /**
+     * Cuenta el total de usuarios
+     */
+    long count();
+    
+    /**
+     * Lista los usuarios de un rol, ordenados por ID
+     */
+    List<User> findByRole(Role role);
+    
+    /**
+     * Lista los usuarios activos, ordenados por ID
+     */
+    List<User> findActive();
+    
+    /**
+     * Cuenta los usuarios activos
+     */
+    long countActive();
+    
+    /**
+     * Cuenta los usuarios de cada rol
+     * @return Un total por cada rol (0 si no tiene usuarios), en el orden de {@link Role}
+     */
+    Map<Role, Long> countByRole();
+    
+    /**
+     * Busca usuarios por fragmentos de username o email: cada palabra del
+     * texto se busca como prefijo y deben aparecer todas
+     * @param text Texto tal como lo escribe el usuario
+     * @param limit Máximo de usuarios a devolver
+     * @return Usuarios ordenados por relevancia; las coincidencias en el
+     *         username pesan más que las del email
+     */
+    List<User> search(String text, int limit);
+    
     /**
      * Inicializa la conexión a la base de datos
      */
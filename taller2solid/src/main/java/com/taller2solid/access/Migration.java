@@ -0,0 +1,48 @@
+package com.taller2solid.access;
+
+import java.util.List;
+
+/**
+ * Cambio de esquema versionado
+ *
+ * Las sentencias de una migración se ejecutan en una sola transacción y,
+ * una vez aplicadas, su versión queda registrada en schema_version para
+ * no volver a ejecutarlas.
+ */
+public class Migration {
+    
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+    
+    /**
+     * @param version Número de versión (creciente, único)
+     * @param description Descripción breve para los registros
+     * @param statements Sentencias SQL a ejecutar en orden
+     */
+    public Migration(int version, String description, String... statements) {
+        if (version < 1) {
+            throw new IllegalArgumentException("La versión de una migración debe ser positiva");
+        }
+        this.version = version;
+        this.description = description;
+        this.statements = List.of(statements);
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public List<String> getStatements() {
+        return statements;
+    }
+    
+    @Override
+    public String toString() {
+        return "v" + version + " (" + description + ")";
+    }
+}
@@ -0,0 +1,144 @@
+package com.taller2solid.access;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecutor de migraciones de esquema
+ * Aplicando SRP (Single Responsibility Principle):
+ * - Responsabilidad única: Llevar el esquema a la última versión
+ * Aplicando OCP (Open/Closed Principle):
+ * - Los cambios de esquema se agregan como nuevas migraciones, sin tocar
+ *   el código que ya se aplicó
+ *
+ * La versión actual se guarda en la tabla schema_version junto con la
+ * fecha y la duración de cada migración. Cada migración pendiente se
+ * aplica en su propia transacción, en orden de versión. migrate() no
+ * escribe en la consola: devuelve las migraciones aplicadas con su duración
+ * para que cada aplicación las informe al iniciar.
+ */
+public class MigrationRunner {
+    
+    private static final String CREATE_VERSION_TABLE =
+            "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INTEGER PRIMARY KEY," +
+            "description TEXT NOT NULL," +
+            "applied_at TEXT NOT NULL," +
+            "duration_ms INTEGER NOT NULL)";
+    
+    private final List<Migration> migrations;
+    
+    public MigrationRunner(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Versión de migración repetida: " + sorted.get(i).getVersion());
+            }
+        }
+        this.migrations = sorted;
+    }
+    
+    /**
+     * Aplica las migraciones pendientes
+     * @param connection Conexión de escritura (con autocommit activado)
+     * @return Migraciones aplicadas, en orden, con su duración (vacía si no
+     *         había pendientes)
+     */
+    public List<AppliedMigration> migrate(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(CREATE_VERSION_TABLE);
+        }
+        int current = currentVersion(connection);
+        List<AppliedMigration> applied = new ArrayList<>();
+        for (Migration migration : migrations) {
+            if (migration.getVersion() <= current) {
+                continue;
+            }
+            applied.add(new AppliedMigration(migration, apply(connection, migration, System.nanoTime())));
+        }
+        return applied;
+    }
+    
+    /**
+     * @return Duración en milisegundos, la misma que queda en schema_version
+     */
+    private long apply(Connection connection, Migration migration, long start) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            try (Statement stmt = connection.createStatement()) {
+                for (String sql : migration.getStatements()) {
+                    stmt.execute(sql);
+                }
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            try (PreparedStatement pstmt = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description, applied_at, duration_ms) " +
+                    "VALUES (?, ?, ?, ?)")) {
+                pstmt.setInt(1, migration.getVersion());
+                pstmt.setString(2, migration.getDescription());
+                pstmt.setString(3, Instant.now().toString());
+                pstmt.setLong(4, millis);
+                pstmt.executeUpdate();
+            }
+            connection.commit();
+            return millis;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Error al aplicar la migración " + migration, e);
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+    
+    /**
+     * Última versión aplicada (0 si la base de datos es nueva)
+     */
+    public static int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    /**
+     * Versión más alta conocida por este ejecutor
+     */
+    public int latestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+    }
+    
+    /**
+     * Migración aplicada en esta ejecución y cuánto tardó
+     */
+    public static class AppliedMigration {
+        private final Migration migration;
+        private final long durationMillis;
+        
+        private AppliedMigration(Migration migration, long durationMillis) {
+            this.migration = migration;
+            this.durationMillis = durationMillis;
+        }
+        
+        public Migration getMigration() {
+            return migration;
+        }
+        
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+        
+        @Override
+        public String toString() {
+            return migration + " en " + durationMillis + " ms";
+        }
+    }
+}
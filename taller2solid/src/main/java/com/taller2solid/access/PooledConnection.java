@@ -0,0 +1,146 @@
+package com.taller2solid.access;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conexión del pool con su propia caché de sentencias preparadas
+ *
+ * Cada conexión se presta a un solo hilo a la vez, por lo que la caché
+ * no necesita sincronización. Las sentencias se indexan por el texto SQL
+ * y se desalojan en orden LRU cerrando la sentencia desalojada.
+ *
+ * Las sentencias obtenidas con {@link #prepare(String)} pertenecen a la
+ * caché: el llamador debe cerrar sus ResultSet pero nunca la sentencia.
+ *
+ * La conexión recuerda cuándo se devolvió al pool y si una operación falló
+ * con ella, para que el pool solo la valide cuando hace falta.
+ */
+public class PooledConnection {
+    
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private final StatementCacheStats stats;
+    private long lastReleasedNanos = System.nanoTime();
+    private boolean suspect;
+    
+    PooledConnection(Connection connection, int maxStatements, StatementCacheStats stats) {
+        this.connection = connection;
+        this.stats = stats;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxStatements) {
+                    closeQuietly(eldest.getValue());
+                    stats.recordEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Obtiene una sentencia preparada de la caché o la prepara si no existe
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, false);
+    }
+    
+    /**
+     * Igual que {@link #prepare(String)} pero solicitando las claves generadas
+     */
+    public PreparedStatement prepareReturningKeys(String sql) throws SQLException {
+        return prepare(sql, true);
+    }
+    
+    private PreparedStatement prepare(String sql, boolean returnKeys) throws SQLException {
+        String key = returnKeys ? "K:" + sql : sql;
+        PreparedStatement pstmt = statements.get(key);
+        if (pstmt != null && !pstmt.isClosed()) {
+            stats.recordHit();
+            pstmt.clearParameters();
+            return pstmt;
+        }
+        stats.recordMiss();
+        pstmt = returnKeys
+                ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(sql);
+        statements.put(key, pstmt);
+        return pstmt;
+    }
+    
+    /**
+     * Conexión JDBC subyacente, para sentencias que no se cachean
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+    
+    /**
+     * Marca la conexión como sospechosa tras un error; se validará en el próximo préstamo
+     */
+    void markSuspect() {
+        suspect = true;
+    }
+    
+    /**
+     * Registra que la conexión vuelve al pool sin errores pendientes de revisar
+     */
+    void markReleased() {
+        lastReleasedNanos = System.nanoTime();
+    }
+    
+    /**
+     * true si falló una operación con ella o estuvo ociosa más de {@code maxIdleNanos}
+     */
+    boolean needsValidation(long maxIdleNanos) {
+        return suspect || System.nanoTime() - lastReleasedNanos > maxIdleNanos;
+    }
+    
+    /**
+     * Registra que la conexión se validó correctamente
+     */
+    void markValidated() {
+        suspect = false;
+        lastReleasedNanos = System.nanoTime();
+    }
+    
+    /**
+     * Número de sentencias actualmente en caché
+     */
+    public int cachedStatements() {
+        return statements.size();
+    }
+    
+    /**
+     * Cierra las sentencias cacheadas y la conexión
+     */
+    void close() {
+        Iterator<PreparedStatement> it = statements.values().iterator();
+        while (it.hasNext()) {
+            closeQuietly(it.next());
+            it.remove();
+        }
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.taller2solid.access;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool de conexiones SQLite con separación lector/escritor
+ * Aplicando SRP (Single Responsibility Principle):
+ * - Responsabilidad única: Administrar el ciclo de vida de las conexiones
+ *
+ * SQLite admite un único escritor por archivo, pero en modo WAL los lectores
+ * no bloquean al escritor ni entre sí. Por eso el pool mantiene:
+ * - Una conexión de escritura protegida por un lock
+ * - N conexiones de solo lectura que se prestan en paralelo
+ *
+ * Validar una conexión con isValid() ejecuta una consulta, así que no se hace
+ * en cada préstamo: solo en {@link #healthCheck()}, tras una operación que
+ * lanzó SQLException o si la conexión estuvo ociosa más de
+ * {@link #VALIDATION_IDLE_MS}.
+ */
+public class SQLiteConnectionPool implements AutoCloseable {
+    
+    public static final int DEFAULT_READ_POOL_SIZE = 4;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 1;
+    private static final long ACQUIRE_TIMEOUT_MS = 30_000;
+    /** Filas por índice que lee ANALYZE al cerrar, para que el cierre sea rápido */
+    private static final int ANALYSIS_LIMIT = 400;
+    static final long VALIDATION_IDLE_MS = 30_000;
+    private static final long VALIDATION_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(VALIDATION_IDLE_MS);
+    
+    private final String url;
+    private final int readPoolSize;
+    private final int statementCacheSize;
+    private final StatementCacheStats statementStats = new StatementCacheStats();
+    private final BlockingQueue<PooledConnection> readers;
+    private final List<PooledConnection> allReaders = new ArrayList<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    private PooledConnection writer;
+    private volatile boolean closed;
+    
+    /**
+     * Operación JDBC que recibe una conexión prestada
+     */
+    @FunctionalInterface
+    public interface SqlFunction<T> {
+        T apply(PooledConnection connection) throws SQLException;
+    }
+    
+    public SQLiteConnectionPool(String dbPath, int readPoolSize) {
+        this(dbPath, readPoolSize, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+    
+    /**
+     * @param dbPath Ruta del archivo de base de datos
+     * @param readPoolSize Número de conexiones de lectura
+     * @param statementCacheSize Máximo de sentencias preparadas cacheadas por conexión
+     */
+    public SQLiteConnectionPool(String dbPath, int readPoolSize, int statementCacheSize) {
+        if (readPoolSize < 1) {
+            throw new IllegalArgumentException("El pool debe tener al menos una conexión de lectura");
+        }
+        this.url = "jdbc:sqlite:" + dbPath;
+        this.readPoolSize = readPoolSize;
+        this.statementCacheSize = statementCacheSize;
+        this.readers = new ArrayBlockingQueue<>(readPoolSize);
+    }
+    
+    /**
+     * Abre la conexión de escritura (activando WAL) y las conexiones de lectura
+     */
+    public synchronized void open() throws SQLException {
+        writer = openConnection(false);
+        for (int i = 0; i < readPoolSize; i++) {
+            PooledConnection reader = openConnection(true);
+            allReaders.add(reader);
+            readers.add(reader);
+        }
+        closed = false;
+    }
+    
+    /**
+     * Abre una conexión con su configuración; la del escritor también se usa
+     * al reemplazarlo, para que no pierda WAL ni synchronous=NORMAL
+     */
+    private PooledConnection openConnection(boolean readOnly) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS);
+            if (readOnly) {
+                stmt.execute("PRAGMA query_only=ON");
+            } else {
+                stmt.execute("PRAGMA journal_mode=WAL");
+                stmt.execute("PRAGMA synchronous=NORMAL");
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return new PooledConnection(connection, statementCacheSize, statementStats);
+    }
+    
+    /**
+     * Ejecuta una operación de lectura con una conexión del pool de lectores
+     */
+    public <T> T withReader(SqlFunction<T> work) throws SQLException {
+        PooledConnection connection = acquireReader();
+        try {
+            return work.apply(connection);
+        } catch (SQLException e) {
+            connection.markSuspect();
+            throw e;
+        } finally {
+            releaseReader(connection);
+        }
+    }
+    
+    /**
+     * Ejecuta una operación de escritura con la conexión exclusiva del escritor
+     */
+    public <T> T withWriter(SqlFunction<T> work) throws SQLException {
+        ensureOpen();
+        writeLock.lock();
+        try {
+            if (!isUsable(writer)) {
+                closeQuietly(writer);
+                writer = openConnection(false);
+            }
+            try {
+                return work.apply(writer);
+            } catch (SQLException e) {
+                writer.markSuspect();
+                throw e;
+            } finally {
+                writer.markReleased();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Presta una conexión de lectura por un tiempo indefinido (p.ej. para un
+     * cursor abierto). Debe devolverse con {@link #returnReader}.
+     */
+    PooledConnection borrowReader() throws SQLException {
+        return acquireReader();
+    }
+    
+    void returnReader(PooledConnection connection) {
+        releaseReader(connection);
+    }
+    
+    private PooledConnection acquireReader() throws SQLException {
+        ensureOpen();
+        PooledConnection connection;
+        try {
+            connection = readers.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión de lectura", e);
+        }
+        if (connection == null) {
+            throw new SQLException("Tiempo de espera agotado para obtener una conexión de lectura");
+        }
+        if (!isUsable(connection)) {
+            try {
+                connection = replaceReader(connection);
+            } catch (SQLException e) {
+                // Se devuelve el hueco al pool para reintentar en el próximo préstamo
+                readers.offer(connection);
+                throw e;
+            }
+        }
+        return connection;
+    }
+    
+    private void releaseReader(PooledConnection connection) {
+        if (closed) {
+            closeQuietly(connection);
+            return;
+        }
+        connection.markReleased();
+        readers.offer(connection);
+    }
+    
+    private synchronized PooledConnection replaceReader(PooledConnection broken) throws SQLException {
+        PooledConnection fresh = openConnection(true);
+        allReaders.remove(broken);
+        closeQuietly(broken);
+        allReaders.add(fresh);
+        return fresh;
+    }
+    
+    /**
+     * Verifica las conexiones ociosas y reemplaza las que no respondan
+     * @return Número de conexiones reemplazadas
+     */
+    public int healthCheck() throws SQLException {
+        ensureOpen();
+        int replaced = 0;
+        List<PooledConnection> idle = new ArrayList<>();
+        readers.drainTo(idle);
+        try {
+            for (int i = 0; i < idle.size(); i++) {
+                if (!isHealthy(idle.get(i))) {
+                    idle.set(i, replaceReader(idle.get(i)));
+                    replaced++;
+                }
+            }
+        } finally {
+            readers.addAll(idle);
+        }
+        return replaced;
+    }
+    
+    /**
+     * Comprobación al prestar: barata salvo que la conexión necesite validarse
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        if (pooled == null) {
+            return false;
+        }
+        try {
+            if (pooled.getConnection().isClosed()) {
+                return false;
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+        return !pooled.needsValidation(VALIDATION_IDLE_NANOS) || isHealthy(pooled);
+    }
+    
+    private boolean isHealthy(PooledConnection pooled) {
+        if (pooled == null) {
+            return false;
+        }
+        try {
+            Connection connection = pooled.getConnection();
+            boolean healthy = !connection.isClosed()
+                    && connection.isValid(HEALTH_CHECK_TIMEOUT_SECONDS);
+            if (healthy) {
+                pooled.markValidated();
+            }
+            return healthy;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    private void ensureOpen() throws SQLException {
+        if (closed || writer == null) {
+            throw new SQLException("El pool de conexiones no está abierto");
+        }
+    }
+    
+    public int getReadPoolSize() {
+        return readPoolSize;
+    }
+    
+    /**
+     * Estadísticas agregadas de la caché de sentencias de todas las conexiones
+     */
+    public StatementCacheStats getStatementCacheStats() {
+        return statementStats;
+    }
+    
+    /**
+     * Número de conexiones de lectura disponibles en este momento
+     */
+    public int getIdleReaders() {
+        return readers.size();
+    }
+    
+    /**
+     * Cierra todas las conexiones. Antes, cada conexión ociosa ejecuta
+     * PRAGMA optimize, que refresca las estadísticas del planificador solo de
+     * las tablas que esa conexión consultó y que lo necesitan; así se
+     * mantienen al día a medida que crecen los datos.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        List<PooledConnection> idle = new ArrayList<>();
+        readers.drainTo(idle);
+        for (PooledConnection reader : idle) {
+            optimizeQuietly(reader, true);
+        }
+        writeLock.lock();
+        try {
+            optimizeQuietly(writer, false);
+            closeQuietly(writer);
+        } finally {
+            writeLock.unlock();
+        }
+        for (PooledConnection reader : allReaders) {
+            closeQuietly(reader);
+        }
+        allReaders.clear();
+    }
+    
+    /**
+     * Los lectores son query_only y ANALYZE escribe sqlite_stat1, así que se
+     * habilita la escritura justo antes de cerrarlos
+     */
+    private void optimizeQuietly(PooledConnection connection, boolean readOnly) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (connection.getConnection().isClosed()) {
+                return;
+            }
+            try (Statement stmt = connection.getConnection().createStatement()) {
+                if (readOnly) {
+                    stmt.execute("PRAGMA query_only=OFF");
+                }
+                stmt.execute("PRAGMA analysis_limit=" + ANALYSIS_LIMIT);
+                stmt.execute("PRAGMA optimize");
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private void closeQuietly(PooledConnection connection) {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repositorio de usuarios repartido en varias bases de datos (shards)
+ * Aplicando OCP (Open/Closed Principle):
+ * - Cada shard es un IUserRepository normal; el reparto no modifica el
+ *   repositorio SQLite
+ *
+ * SQLite admite un solo escritor por archivo. Con N archivos, las escrituras
+ * de usuarios de distintos shards avanzan en paralelo.
+ *
+ * - Un usuario nuevo va al shard que indica el hash de su username.
+ * - El ID global codifica el shard: {@code idLocal * N + shard}. findById,
+ *   update y delete van directo al shard del ID, y los IDs son únicos entre
+ *   shards sin coordinación. Cada shard admite IDs locales hasta
+ *   {@link #maxLocalId()}; un ID mayor no entra en un int y se rechaza con
+ *   IllegalStateException en lugar de desbordar a otro usuario.
+ * - Las consultas de listado se envían a todos los shards en paralelo y los
+ *   resultados, ya ordenados por ID en cada shard, se fusionan en orden de ID
+ *   global. findPage traduce el afterId global al local de cada shard.
+ * - Los conteos se suman.
+ * - La búsqueda de texto intercala los mejores resultados de cada shard.
+ * - Los shards se inicializan en paralelo.
+ *
+ * El usuario queda en su shard aunque luego cambie de username: findByUsername
+ * busca primero en el shard del hash y, si no lo encuentra, en el resto. La
+ * cantidad de shards no puede cambiar sobre archivos existentes.
+ */
+public class ShardedUserRepository implements IUserRepository {
+    
+    private final List<IUserRepository> shards;
+    private final int shardCount;
+    private final ExecutorService executor;
+    
+    /**
+     * @param shards Repositorios de cada shard, siempre en el mismo orden
+     */
+    public ShardedUserRepository(List<? extends IUserRepository> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un shard");
+        }
+        this.shards = List.copyOf(shards);
+        this.shardCount = shards.size();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shardCount, r -> {
+            Thread t = new Thread(r, "user-shard-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+    
+    /**
+     * Crea N shards SQLite junto al archivo indicado:
+     * usuarios.db pasa a usuarios-0.db, usuarios-1.db, ...
+     */
+    public static ShardedUserRepository sqlite(String dbPath, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("La cantidad de shards debe ser positiva");
+        }
+        List<UserRepositorySQLite> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new UserRepositorySQLite(shardPath(dbPath, i)));
+        }
+        return new ShardedUserRepository(shards);
+    }
+    
+    static String shardPath(String dbPath, int shard) {
+        int dot = dbPath.lastIndexOf('.');
+        int separator = Math.max(dbPath.lastIndexOf('/'), dbPath.lastIndexOf('\\'));
+        if (dot <= separator) {
+            return dbPath + "-" + shard;
+        }
+        return dbPath.substring(0, dot) + "-" + shard + dbPath.substring(dot);
+    }
+    
+    public int getShardCount() {
+        return shardCount;
+    }
+    
+    // ========================================
+    // Enrutamiento
+    // ========================================
+    
+    /**
+     * Shard donde se crea un usuario con ese username
+     */
+    int shardFor(String username) {
+        // String.hashCode está especificado, así que el reparto es estable entre ejecuciones
+        int h = username.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shardCount);
+    }
+    
+    /**
+     * Shard codificado en un ID global
+     */
+    int shardOf(int globalId) {
+        return globalId % shardCount;
+    }
+    
+    /**
+     * Mayor ID local que se convierte a ID global en cualquier shard; es el
+     * mismo límite para todos para que no dependa del shard
+     */
+    int maxLocalId() {
+        return (Integer.MAX_VALUE - (shardCount - 1)) / shardCount;
+    }
+    
+    private int toGlobal(int localId, int shard) {
+        if (localId > maxLocalId()) {
+            throw new IllegalStateException("El ID " + localId + " del shard " + shard +
+                    " supera el máximo convertible a ID global (" + maxLocalId() + ")");
+        }
+        return localId * shardCount + shard;
+    }
+    
+    private int toLocal(int globalId) {
+        return globalId / shardCount;
+    }
+    
+    private static boolean isValidId(Integer id) {
+        return id != null && id > 0;
+    }
+    
+    /**
+     * Convierte el ID local de un usuario leído de un shard a ID global
+     */
+    private User globalize(User user, int shard) {
+        if (user.getId() != null) {
+            user.setId(toGlobal(user.getId(), shard));
+        }
+        return user;
+    }
+    
+    private List<User> globalize(List<User> users, int shard) {
+        for (User user : users) {
+            globalize(user, shard);
+        }
+        return users;
+    }
+    
+    /**
+     * Copia del usuario con el ID local, para no modificar el del llamador
+     */
+    private User localCopy(User user) {
+        User copy = new User(toLocal(user.getId()), user.getUsername(), user.getPassword(),
+                             user.getEmail(), user.getRole());
+        copy.setActive(user.isActive());
+        return copy;
+    }
+    
+    /**
+     * Ejecuta la consulta en todos los shards en paralelo
+     * @return Un resultado por shard, en el orden de los shards
+     */
+    private <T> List<T> scatter(IntFunction<T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shard = i;
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), executor));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Agrupa los elementos por shard (null para descartarlos) y procesa cada
+     * grupo en paralelo
+     * @return Suma de los resultados de cada grupo
+     */
+    private <E> int scatterGroups(Collection<E> items, Function<E, Integer> shardOfItem,
+                                  GroupWork<E> work) {
+        List<List<E>> groups = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (E item : items) {
+            Integer shard = shardOfItem.apply(item);
+            if (shard != null) {
+                groups.get(shard).add(item);
+            }
+        }
+        int total = 0;
+        for (int count : scatter(shard -> groups.get(shard).isEmpty()
+                ? 0 : work.apply(shards.get(shard), shard, groups.get(shard)))) {
+            total += count;
+        }
+        return total;
+    }
+    
+    @FunctionalInterface
+    private interface GroupWork<E> {
+        int apply(IUserRepository shard, int shardIndex, List<E> group);
+    }
+    
+    // ========================================
+    // Escrituras
+    // ========================================
+    
+    @Override
+    public boolean save(User user) {
+        int shard = shardFor(user.getUsername());
+        boolean saved = shards.get(shard).save(user);
+        if (saved) {
+            globalize(user, shard);
+        }
+        return saved;
+    }
+    
+    @Override
+    public int saveAll(Collection<User> users) {
+        return scatterGroups(users, user -> shardFor(user.getUsername()), (shard, shardIndex, group) -> {
+            int saved = shard.saveAll(group);
+            globalize(group, shardIndex);
+            return saved;
+        });
+    }
+    
+    @Override
+    public boolean update(User user) {
+        if (!isValidId(user.getId())) {
+            return false;
+        }
+        return shards.get(shardOf(user.getId())).update(localCopy(user));
+    }
+    
+    @Override
+    public int updateAll(Collection<User> users) {
+        return scatterGroups(users,
+                user -> isValidId(user.getId()) ? shardOf(user.getId()) : null,
+                (shard, shardIndex, group) -> {
+                    List<User> local = new ArrayList<>(group.size());
+                    for (User user : group) {
+                        local.add(localCopy(user));
+                    }
+                    return shard.updateAll(local);
+                });
+    }
+    
+    @Override
+    public boolean delete(Integer id) {
+        if (!isValidId(id)) {
+            return false;
+        }
+        return shards.get(shardOf(id)).delete(toLocal(id));
+    }
+    
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        return scatterGroups(ids,
+                id -> isValidId(id) ? shardOf(id) : null,
+                (shard, shardIndex, group) -> {
+                    List<Integer> local = new ArrayList<>(group.size());
+                    for (Integer id : group) {
+                        local.add(toLocal(id));
+                    }
+                    return shard.deleteAll(local);
+                });
+    }
+    
+    /**
+     * Agrupa las escrituras por shard y aplica cada grupo en paralelo, en
+     * una transacción por shard y conservando el orden dentro de cada uno
+     */
+    @Override
+    public boolean[] applyWrites(List<UserWrite> writes) {
+        boolean[] results = new boolean[writes.size()];
+        List<List<Integer>> indexesByShard = new ArrayList<>(shardCount);
+        List<List<UserWrite>> localByShard = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            indexesByShard.add(new ArrayList<>());
+            localByShard.add(new ArrayList<>());
+        }
+        for (int i = 0; i < writes.size(); i++) {
+            UserWrite write = writes.get(i);
+            int shard;
+            UserWrite local;
+            if (write.getKind() == UserWrite.Kind.SAVE) {
+                shard = shardFor(write.getUser().getUsername());
+                local = write;
+            } else if (!isValidId(write.getId())) {
+                continue;
+            } else if (write.getKind() == UserWrite.Kind.UPDATE) {
+                shard = shardOf(write.getId());
+                local = UserWrite.update(localCopy(write.getUser()));
+            } else {
+                shard = shardOf(write.getId());
+                local = UserWrite.delete(toLocal(write.getId()));
+            }
+            indexesByShard.get(shard).add(i);
+            localByShard.get(shard).add(local);
+        }
+        List<boolean[]> shardResults = scatter(shard -> localByShard.get(shard).isEmpty()
+                ? new boolean[0] : shards.get(shard).applyWrites(localByShard.get(shard)));
+        for (int shard = 0; shard < shardCount; shard++) {
+            List<Integer> indexes = indexesByShard.get(shard);
+            for (int j = 0; j < indexes.size(); j++) {
+                UserWrite write = writes.get(indexes.get(j));
+                results[indexes.get(j)] = shardResults.get(shard)[j];
+                if (write.getKind() == UserWrite.Kind.SAVE && shardResults.get(shard)[j]) {
+                    globalize(write.getUser(), shard);
+                }
+            }
+        }
+        return results;
+    }
+    
+    // ========================================
+    // Lecturas
+    // ========================================
+    
+    @Override
+    public Optional<User> findById(Integer id) {
+        if (!isValidId(id)) {
+            return Optional.empty();
+        }
+        int shard = shardOf(id);
+        return shards.get(shard).findById(toLocal(id)).map(user -> globalize(user, shard));
+    }
+    
+    @Override
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        int home = shardFor(username);
+        Optional<User> found = shards.get(home).findByUsername(username);
+        if (found.isPresent() || shardCount == 1) {
+            return found.map(user -> globalize(user, home));
+        }
+        // Usuarios renombrados después de crearse siguen en su shard original
+        for (Optional<User> other : scatter(shard -> shard == home
+                ? Optional.<User>empty()
+                : shards.get(shard).findByUsername(username).map(user -> globalize(user, shard)))) {
+            if (other.isPresent()) {
+                return other;
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Un username renombrado sigue en su shard original, así que basta con
+     * que algún shard no lo descarte
+     */
+    @Override
+    public boolean mightExist(String username) {
+        for (IUserRepository shard : shards) {
+            if (shard.mightExist(username)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public List<User> findAll() {
+        return mergeById(scatter(shard -> globalize(shards.get(shard).findAll(), shard)), Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<User> findPage(int afterId, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return mergeById(scatter(shard -> {
+            // IDs locales cuyo ID global es mayor que afterId
+            int localAfter = Math.max(0, Math.floorDiv(afterId - shard, shardCount));
+            return globalize(shards.get(shard).findPage(localAfter, limit), shard);
+        }), limit);
+    }
+    
+    @Override
+    public Stream<User> streamAll(UserProjection projection) {
+        List<Stream<User>> streams = new ArrayList<>(shardCount);
+        List<Iterator<User>> cursors = new ArrayList<>(shardCount);
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                int shard = i;
+                Stream<User> stream = shards.get(shard).streamAll(projection);
+                streams.add(stream);
+                cursors.add(stream.map(user -> globalize(user, shard)).iterator());
+            }
+        } catch (RuntimeException e) {
+            streams.forEach(Stream::close);
+            throw e;
+        }
+        Stream<User> merged = StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new MergingIterator(cursors), Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return merged.onClose(() -> streams.forEach(Stream::close));
+    }
+    
+    @Override
+    public long count() {
+        long total = 0;
+        for (long count : scatter(shard -> shards.get(shard).count())) {
+            total += count;
+        }
+        return total;
+    }
+    
+    @Override
+    public List<User> findByRole(Role role) {
+        return mergeById(scatter(shard -> globalize(shards.get(shard).findByRole(role), shard)), Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<User> findActive() {
+        return mergeById(scatter(shard -> globalize(shards.get(shard).findActive(), shard)), Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public long countActive() {
+        long total = 0;
+        for (long count : scatter(shard -> shards.get(shard).countActive())) {
+            total += count;
+        }
+        return total;
+    }
+    
+    @Override
+    public Map<Role, Long> countByRole() {
+        Map<Role, Long> totals = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            totals.put(role, 0L);
+        }
+        for (Map<Role, Long> counts : scatter(shard -> shards.get(shard).countByRole())) {
+            counts.forEach((role, count) -> totals.merge(role, count, Long::sum));
+        }
+        return totals;
+    }
+    
+    /**
+     * Cada shard devuelve sus mejores resultados y se intercalan por turno
+     * (el primero de cada shard, luego el segundo...). Las puntuaciones de
+     * bm25 dependen de las estadísticas de cada shard y no se comparan entre
+     * sí, así que el orden global es aproximado.
+     */
+    @Override
+    public List<User> search(String text, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<List<User>> ranked = scatter(shard -> globalize(shards.get(shard).search(text, limit), shard));
+        List<User> merged = new ArrayList<>(limit);
+        for (int position = 0; merged.size() < limit; position++) {
+            boolean any = false;
+            for (List<User> shardResults : ranked) {
+                if (position < shardResults.size() && merged.size() < limit) {
+                    merged.add(shardResults.get(position));
+                    any = true;
+                }
+            }
+            if (!any) {
+                break;
+            }
+        }
+        return merged;
+    }
+    
+    /**
+     * Fusiona listas ordenadas por ID en una sola lista ordenada
+     */
+    private static List<User> mergeById(List<List<User>> parts, int limit) {
+        List<Iterator<User>> cursors = new ArrayList<>(parts.size());
+        int size = 0;
+        for (List<User> part : parts) {
+            cursors.add(part.iterator());
+            size += part.size();
+        }
+        List<User> merged = new ArrayList<>(Math.min(size, limit));
+        Iterator<User> iterator = new MergingIterator(cursors);
+        while (merged.size() < limit && iterator.hasNext()) {
+            merged.add(iterator.next());
+        }
+        return merged;
+    }
+    
+    /**
+     * Fusión de k cursores ordenados por ID: mantiene el primer elemento de
+     * cada uno en un heap y avanza solo el cursor del menor
+     */
+    private static final class MergingIterator implements Iterator<User> {
+        
+        private static final class Head {
+            final Iterator<User> cursor;
+            User current;
+            
+            Head(Iterator<User> cursor) {
+                this.cursor = cursor;
+                this.current = cursor.next();
+            }
+        }
+        
+        private final PriorityQueue<Head> heads;
+        
+        MergingIterator(List<Iterator<User>> cursors) {
+            heads = new PriorityQueue<>(Math.max(1, cursors.size()),
+                                        Comparator.comparingInt((Head head) -> head.current.getId()));
+            for (Iterator<User> cursor : cursors) {
+                if (cursor.hasNext()) {
+                    heads.add(new Head(cursor));
+                }
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+        
+        @Override
+        public User next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            User user = head.current;
+            if (head.cursor.hasNext()) {
+                head.current = head.cursor.next();
+                heads.add(head);
+            }
+            return user;
+        }
+    }
+    
+    // ========================================
+    // Ciclo de vida
+    // ========================================
+    
+    @Override
+    public void initDatabase() {
+        scatter(shard -> {
+            shards.get(shard).initDatabase();
+            return null;
+        });
+    }
+    
+    @Override
+    public void closeConnection() {
+        try {
+            scatter(shard -> {
+                shards.get(shard).closeConnection();
+                return null;
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.taller2solid.access;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de la caché de sentencias preparadas
+ * Compartidos por todas las conexiones de un mismo pool para poder
+ * confirmar en producción que las consultas frecuentes no se re-parsean.
+ */
+public class StatementCacheStats {
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    void recordHit() {
+        hits.increment();
+    }
+    
+    void recordMiss() {
+        misses.increment();
+    }
+    
+    void recordEviction() {
+        evictions.increment();
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Proporción de aciertos sobre el total de solicitudes (0 si no hubo ninguna)
+     */
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+    
+    @Override
+    public String toString() {
+        return "StatementCacheStats{" +
+                "hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", evictions=" + getEvictions() +
+                ", hitRate=" + String.format("%.2f", getHitRate()) +
+                '}';
+    }
+}
@@ -0,0 +1,30 @@
+package com.taller2solid.access;
+
+/**
+ * Columnas a leer en un recorrido completo de usuarios
+ *
+ * Un recorrido que solo necesita usernames no tiene por qué leer ni
+ * transportar contraseñas y emails; los campos no proyectados quedan en
+ * null (y active en false).
+ */
+public enum UserProjection {
+    /** Todas las columnas */
+    FULL("id, username, password, email, role, active"),
+    /** Todo menos el hash de la contraseña */
+    WITHOUT_PASSWORD("id, username, email, role, active"),
+    /** Solo ID y username */
+    USERNAME("id, username");
+    
+    private final String columns;
+    
+    UserProjection(String columns) {
+        this.columns = columns;
+    }
+    
+    /**
+     * Lista de columnas SQL, en el orden en que se leen
+     */
+    public String getColumns() {
+        return columns;
+    }
+}
@@ -4,119 +4,415 @@ import com.taller2solid.domain.Role;
 import com.taller2solid.domain.User;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementación del repositorio de usuarios usando SQLite
  * Aplicando SRP (Single Responsibility Principle):
  * - Responsabilidad única: Gestión de persistencia de usuarios
+ *
+ * Las conexiones se obtienen de un {@link SQLiteConnectionPool} en modo WAL:
+ * las lecturas concurrentes se ejecutan en paralelo y las escrituras
+ * pasan por una única conexión de escritura. Cada conexión mantiene una
+ * caché de sentencias preparadas, de modo que el SQL de cada método se
+ * parsea una sola vez por conexión.
  */
 public class UserRepositorySQLite implements IUserRepository {
     
-    private Connection connection;
+    /** Filas por lote (y por transacción) en las operaciones masivas */
+    public static final int BATCH_SIZE = 500;
+    
+    /** Filas que el driver trae por vez al recorrer un cursor */
+    public static final int STREAM_FETCH_SIZE = 1000;
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO users (username, password, email, role, active) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE users SET username = ?, password = ?, email = ?, role = ?, active = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM users WHERE id = ?";
+    
+    // Consultas de lectura; package-private para verificar sus planes en las pruebas
+    static final String FIND_BY_ID_SQL = "SELECT * FROM users WHERE id = ?";
+    static final String FIND_BY_USERNAME_SQL = "SELECT * FROM users WHERE username = ?";
+    static final String FIND_PAGE_SQL = "SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?";
+    static final String FIND_ID_AT_OFFSET_SQL = "SELECT id FROM users ORDER BY id LIMIT 1 OFFSET ?";
+    static final String FIND_BY_ROLE_SQL = "SELECT * FROM users WHERE role = ? ORDER BY id";
+    static final String FIND_ACTIVE_SQL = "SELECT * FROM users WHERE active = 1 ORDER BY id";
+    static final String COUNT_ACTIVE_SQL = "SELECT COUNT(*) FROM users WHERE active = 1";
+    static final String COUNT_BY_ROLE_SQL = "SELECT role, COUNT(*) FROM users GROUP BY role";
+    
+    /**
+     * Búsqueda de texto completo. bm25 devuelve valores más negativos para
+     * las mejores coincidencias; el username pesa 10 veces más que el email.
+     */
+    private static final String SEARCH_SQL =
+            "SELECT u.* FROM users_fts JOIN users u ON u.id = users_fts.rowid " +
+            "WHERE users_fts MATCH ? ORDER BY bm25(users_fts, 10.0, 1.0), u.id LIMIT ?";
+    
     private final String dbPath;
+    private final int readPoolSize;
+    private final int statementCacheSize;
+    private SQLiteConnectionPool pool;
+    private List<MigrationRunner.AppliedMigration> appliedMigrations = new ArrayList<>();
     
     public UserRepositorySQLite(String dbPath) {
+        this(dbPath, SQLiteConnectionPool.DEFAULT_READ_POOL_SIZE);
+    }
+    
+    /**
+     * @param dbPath Ruta del archivo de base de datos
+     * @param readPoolSize Número de conexiones de lectura concurrentes
+     */
+    public UserRepositorySQLite(String dbPath, int readPoolSize) {
+        this(dbPath, readPoolSize, SQLiteConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+    
+    /**
+     * @param dbPath Ruta del archivo de base de datos
+     * @param readPoolSize Número de conexiones de lectura concurrentes
+     * @param statementCacheSize Máximo de sentencias preparadas cacheadas por conexión
+     */
+    public UserRepositorySQLite(String dbPath, int readPoolSize, int statementCacheSize) {
         this.dbPath = dbPath;
+        this.readPoolSize = readPoolSize;
+        this.statementCacheSize = statementCacheSize;
     }
     
     @Override
     public void initDatabase() {
         try {
-            connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
-            createTableIfNotExists();
+            pool = new SQLiteConnectionPool(dbPath, readPoolSize, statementCacheSize);
+            pool.open();
+            appliedMigrations = pool.withWriter(connection ->
+                    new MigrationRunner(UserSchemaMigrations.all()).migrate(connection.getConnection()));
         } catch (SQLException e) {
             throw new RuntimeException("Error al inicializar la base de datos", e);
         }
     }
     
-    private void createTableIfNotExists() throws SQLException {
-        String sql = "CREATE TABLE IF NOT EXISTS users (" +
-                     "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                     "username TEXT NOT NULL UNIQUE," +
-                     "password TEXT NOT NULL," +
-                     "email TEXT NOT NULL," +
-                     "role TEXT NOT NULL," +
-                     "active INTEGER NOT NULL)";
-        
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(sql);
+    @Override
+    public boolean save(User user) {
+        try {
+            return pool.withWriter(connection -> {
+                PreparedStatement pstmt = connection.prepareReturningKeys(INSERT_SQL);
+                bindInsert(pstmt, user);
+                
+                int affectedRows = pstmt.executeUpdate();
+                
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            user.setId(generatedKeys.getInt(1));
+                        }
+                    }
+                    return true;
+                }
+                return false;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
         }
     }
     
     @Override
-    public boolean save(User user) {
-        String sql = "INSERT INTO users (username, password, email, role, active) VALUES (?, ?, ?, ?, ?)";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, user.getUsername());
-            pstmt.setString(2, user.getPassword());
-            pstmt.setString(3, user.getEmail());
-            pstmt.setString(4, user.getRole().name());
-            pstmt.setInt(5, user.isActive() ? 1 : 0);
-            
-            int affectedRows = pstmt.executeUpdate();
-            
-            if (affectedRows > 0) {
+    public boolean update(User user) {
+        try {
+            return pool.withWriter(connection -> {
+                PreparedStatement pstmt = connection.prepare(UPDATE_SQL);
+                bindUpdate(pstmt, user);
+                
+                return pstmt.executeUpdate() > 0;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    @Override
+    public int saveAll(Collection<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        // Los lotes ya confirmados siguen contando aunque falle uno posterior
+        int[] saved = {0};
+        try {
+            pool.withWriter(connection -> inTransaction(connection, () -> {
+                Iterator<User> it = users.iterator();
+                List<User> chunk = new ArrayList<>(Math.min(BATCH_SIZE, users.size()));
+                while (it.hasNext()) {
+                    chunk.add(it.next());
+                    if (chunk.size() == BATCH_SIZE || !it.hasNext()) {
+                        saved[0] += insertChunk(connection, chunk);
+                        chunk.clear();
+                    }
+                }
+                return null;
+            }));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return saved[0];
+    }
+    
+    /**
+     * Inserta un lote con executeBatch y lo confirma. Con AUTOINCREMENT y un único
+     * escritor, los IDs del lote son consecutivos y terminan en last_insert_rowid().
+     * Si el lote falla (p.ej. username duplicado), se revierte y se reintenta fila
+     * por fila para guardar las válidas.
+     */
+    private int insertChunk(PooledConnection connection, List<User> chunk) throws SQLException {
+        Connection conn = connection.getConnection();
+        PreparedStatement pstmt = connection.prepare(INSERT_SQL);
+        try {
+            for (User user : chunk) {
+                bindInsert(pstmt, user);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            int lastId;
+            try (ResultSet rs = connection.prepare("SELECT last_insert_rowid()").executeQuery()) {
+                rs.next();
+                lastId = rs.getInt(1);
+            }
+            conn.commit();
+            int id = lastId - chunk.size() + 1;
+            for (User user : chunk) {
+                user.setId(id++);
+            }
+            return chunk.size();
+        } catch (SQLException e) {
+            pstmt.clearBatch();
+            conn.rollback();
+            return insertRowByRow(connection, chunk);
+        }
+    }
+    
+    private int insertRowByRow(PooledConnection connection, List<User> chunk) throws SQLException {
+        PreparedStatement pstmt = connection.prepareReturningKeys(INSERT_SQL);
+        List<User> inserted = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        for (User user : chunk) {
+            try {
+                bindInsert(pstmt, user);
+                pstmt.executeUpdate();
                 try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
-                        user.setId(generatedKeys.getInt(1));
+                        inserted.add(user);
+                        ids.add(generatedKeys.getInt(1));
                     }
                 }
-                return true;
+            } catch (SQLException e) {
+                // La fila se descarta (queda con ID nulo); SQLite solo revierte la sentencia fallida
+                e.printStackTrace();
             }
-            return false;
+        }
+        connection.getConnection().commit();
+        for (int i = 0; i < inserted.size(); i++) {
+            inserted.get(i).setId(ids.get(i));
+        }
+        return inserted.size();
+    }
+    
+    @Override
+    public int updateAll(Collection<User> users) {
+        return executeInChunks(UPDATE_SQL, users, this::bindUpdate);
+    }
+    
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        return executeInChunks(DELETE_SQL, ids, (pstmt, id) -> pstmt.setInt(1, id));
+    }
+    
+    /**
+     * Ejecuta una sentencia por elemento con executeBatch, confirmando cada
+     * {@link #BATCH_SIZE} filas. Si falla un lote se revierte solo ese lote.
+     * @return Filas afectadas en los lotes confirmados
+     */
+    private <T> int executeInChunks(String sql, Collection<T> items, Binder<T> binder) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        int[] affected = {0};
+        try {
+            pool.withWriter(connection -> inTransaction(connection, () -> {
+                Connection conn = connection.getConnection();
+                PreparedStatement pstmt = connection.prepare(sql);
+                int pending = 0;
+                Iterator<T> it = items.iterator();
+                while (it.hasNext()) {
+                    binder.bind(pstmt, it.next());
+                    pstmt.addBatch();
+                    if (++pending == BATCH_SIZE || !it.hasNext()) {
+                        int chunkAffected = countUpdated(pstmt.executeBatch());
+                        conn.commit();
+                        affected[0] += chunkAffected;
+                        pending = 0;
+                    }
+                }
+                return null;
+            }));
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
         }
+        return affected[0];
+    }
+    
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+    
+    private int countUpdated(int[] results) {
+        int count = 0;
+        for (int result : results) {
+            if (result > 0 || result == Statement.SUCCESS_NO_INFO) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Ejecuta un trabajo con autocommit desactivado; el trabajo confirma cada lote.
+     * Lo que quede sin confirmar se revierte y se restaura el autocommit.
+     */
+    private <T> T inTransaction(PooledConnection connection, SqlWork<T> work) throws SQLException {
+        Connection conn = connection.getConnection();
+        conn.setAutoCommit(false);
+        try {
+            return work.run();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T run() throws SQLException;
+    }
+    
+    private void bindInsert(PreparedStatement pstmt, User user) throws SQLException {
+        pstmt.setString(1, user.getUsername());
+        pstmt.setString(2, user.getPassword());
+        pstmt.setString(3, user.getEmail());
+        pstmt.setString(4, user.getRole().name());
+        pstmt.setInt(5, user.isActive() ? 1 : 0);
+    }
+    
+    private void bindUpdate(PreparedStatement pstmt, User user) throws SQLException {
+        bindInsert(pstmt, user);
+        pstmt.setInt(6, user.getId());
     }
     
     @Override
-    public boolean update(User user) {
-        String sql = "UPDATE users SET username = ?, password = ?, email = ?, role = ?, active = ? WHERE id = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, user.getUsername());
-            pstmt.setString(2, user.getPassword());
-            pstmt.setString(3, user.getEmail());
-            pstmt.setString(4, user.getRole().name());
-            pstmt.setInt(5, user.isActive() ? 1 : 0);
-            pstmt.setInt(6, user.getId());
-            
-            return pstmt.executeUpdate() > 0;
+    public boolean delete(Integer id) {
+        try {
+            return pool.withWriter(connection -> {
+                PreparedStatement pstmt = connection.prepare(DELETE_SQL);
+                pstmt.setInt(1, id);
+                return pstmt.executeUpdate() > 0;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
     
+    /**
+     * Aplica todas las escrituras en una sola transacción del escritor. Una
+     * fila rechazada (p.ej. username duplicado) solo revierte su sentencia y
+     * queda como fallida; el resultado de cada fila sale de su propio conteo
+     * de filas afectadas. Los IDs de las altas se asignan tras confirmar.
+     */
     @Override
-    public boolean delete(Integer id) {
-        String sql = "DELETE FROM users WHERE id = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
+    public boolean[] applyWrites(List<UserWrite> writes) {
+        boolean[] results = new boolean[writes.size()];
+        if (writes.isEmpty()) {
+            return results;
+        }
+        Integer[] generatedIds = new Integer[writes.size()];
+        try {
+            pool.withWriter(connection -> inTransaction(connection, () -> {
+                for (int i = 0; i < results.length; i++) {
+                    try {
+                        results[i] = applyWrite(connection, writes.get(i), generatedIds, i);
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
+                connection.getConnection().commit();
+                return null;
+            }));
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+            return new boolean[writes.size()];
+        }
+        for (int i = 0; i < results.length; i++) {
+            if (generatedIds[i] != null) {
+                writes.get(i).getUser().setId(generatedIds[i]);
+            }
+        }
+        return results;
+    }
+    
+    private boolean applyWrite(PooledConnection connection, UserWrite write, Integer[] generatedIds,
+                               int index) throws SQLException {
+        switch (write.getKind()) {
+            case SAVE:
+                PreparedStatement insert = connection.prepareReturningKeys(INSERT_SQL);
+                bindInsert(insert, write.getUser());
+                if (insert.executeUpdate() == 0) {
+                    return false;
+                }
+                try (ResultSet generatedKeys = insert.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        generatedIds[index] = generatedKeys.getInt(1);
+                        return true;
+                    }
+                }
+                return false;
+            case UPDATE:
+                PreparedStatement update = connection.prepare(UPDATE_SQL);
+                bindUpdate(update, write.getUser());
+                return update.executeUpdate() > 0;
+            case DELETE:
+                PreparedStatement delete = connection.prepare(DELETE_SQL);
+                delete.setInt(1, write.getId());
+                return delete.executeUpdate() > 0;
+            default:
+                return false;
         }
     }
     
     @Override
     public Optional<User> findById(Integer id) {
-        String sql = "SELECT * FROM users WHERE id = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToUser(rs));
+        try {
+            return pool.withReader(connection -> {
+                PreparedStatement pstmt = connection.prepare(FIND_BY_ID_SQL);
+                pstmt.setInt(1, id);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return Optional.of(mapResultSetToUser(rs));
+                    }
                 }
-            }
+                return Optional.<User>empty();
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -125,16 +421,18 @@ public class UserRepositorySQLite implements IUserRepository {
     
     @Override
     public Optional<User> findByUsername(String username) {
-        String sql = "SELECT * FROM users WHERE username = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToUser(rs));
+        try {
+            return pool.withReader(connection -> {
+                PreparedStatement pstmt = connection.prepare(FIND_BY_USERNAME_SQL);
+                pstmt.setString(1, username);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return Optional.of(mapResultSetToUser(rs));
+                    }
                 }
-            }
+                return Optional.<User>empty();
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -143,19 +441,297 @@ public class UserRepositorySQLite implements IUserRepository {
     
     @Override
     public List<User> findAll() {
-        List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM users";
         
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
+        try {
+            return pool.withReader(connection -> {
+                List<User> users = new ArrayList<>();
+                try (ResultSet rs = connection.prepare(sql).executeQuery()) {
+                    
+                    while (rs.next()) {
+                        users.add(mapResultSetToUser(rs));
+                    }
+                }
+                return users;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    @Override
+    public List<User> findPage(int afterId, int limit) {
+        try {
+            return pool.withReader(connection -> {
+                List<User> users = new ArrayList<>(limit);
+                PreparedStatement pstmt = connection.prepare(FIND_PAGE_SQL);
+                pstmt.setInt(1, afterId);
+                pstmt.setInt(2, limit);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        users.add(mapResultSetToUser(rs));
+                    }
+                }
+                return users;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    /**
+     * Recorre solo el árbol de la clave primaria, sin leer ni mapear filas
+     */
+    @Override
+    public Optional<Integer> findIdAtOffset(long offset) {
+        if (offset < 0) {
+            return Optional.empty();
+        }
+        try {
+            return pool.withReader(connection -> {
+                PreparedStatement pstmt = connection.prepare(FIND_ID_AT_OFFSET_SQL);
+                pstmt.setLong(1, offset);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return Optional.of(rs.getInt(1));
+                    }
+                }
+                return Optional.<Integer>empty();
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Optional.empty();
+    }
+    
+    @Override
+    public long count() {
+        String sql = "SELECT COUNT(*) FROM users";
+        
+        try {
+            return pool.withReader(connection -> {
+                try (ResultSet rs = connection.prepare(sql).executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : 0L;
+                }
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0L;
+    }
+    
+    @Override
+    public List<User> findByRole(Role role) {
+        try {
+            return pool.withReader(connection -> {
+                PreparedStatement pstmt = connection.prepare(FIND_BY_ROLE_SQL);
+                pstmt.setString(1, role.name());
+                return readUsers(pstmt);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    @Override
+    public List<User> findActive() {
+        try {
+            return pool.withReader(connection -> readUsers(connection.prepare(FIND_ACTIVE_SQL)));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    @Override
+    public long countActive() {
+        try {
+            return pool.withReader(connection -> {
+                try (ResultSet rs = connection.prepare(COUNT_ACTIVE_SQL).executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : 0L;
+                }
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0L;
+    }
+    
+    @Override
+    public Map<Role, Long> countByRole() {
+        Map<Role, Long> counts = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            counts.put(role, 0L);
+        }
+        try {
+            pool.withReader(connection -> {
+                try (ResultSet rs = connection.prepare(COUNT_BY_ROLE_SQL).executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(Role.valueOf(rs.getString(1)), rs.getLong(2));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+    
+    @Override
+    public List<User> search(String text, int limit) {
+        String query = toMatchQuery(text);
+        if (query.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        try {
+            return pool.withReader(connection -> {
+                PreparedStatement pstmt = connection.prepare(SEARCH_SQL);
+                pstmt.setString(1, query);
+                pstmt.setInt(2, limit);
+                return readUsers(pstmt);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    /**
+     * Convierte el texto escrito por el usuario en una consulta FTS5: cada
+     * palabra se busca como prefijo y deben aparecer todas
+     * ("juan gm" pasa a "juan"* "gm"*). Se descarta todo lo que no sea letra
+     * o dígito, así el texto nunca se interpreta como operadores de FTS5.
+     */
+    static String toMatchQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder query = new StringBuilder();
+        for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('"').append(token).append("\"*");
+            }
+        }
+        return query.toString();
+    }
+    
+    private List<User> readUsers(PreparedStatement pstmt) throws SQLException {
+        List<User> users = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
                 users.add(mapResultSetToUser(rs));
             }
+        }
+        return users;
+    }
+    
+    @Override
+    public Stream<User> streamAll(UserProjection projection) {
+        String sql = "SELECT " + projection.getColumns() + " FROM users ORDER BY id";
+        
+        PooledConnection connection;
+        try {
+            connection = pool.borrowReader();
         } catch (SQLException e) {
             e.printStackTrace();
+            return Stream.empty();
+        }
+        try {
+            PreparedStatement pstmt = connection.prepare(sql);
+            pstmt.setFetchSize(STREAM_FETCH_SIZE);
+            UserCursor cursor = new UserCursor(connection, pstmt.executeQuery(), projection);
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException e) {
+            pool.returnReader(connection);
+            e.printStackTrace();
+            return Stream.empty();
+        }
+    }
+    
+    /**
+     * Cursor sobre un ResultSet abierto. Retiene su conexión de lectura hasta
+     * agotarse o cerrarse; mientras tanto ve una instantánea fija de la base
+     * de datos (modo WAL), sin bloquear a los escritores.
+     */
+    private final class UserCursor extends Spliterators.AbstractSpliterator<User> {
+        private final PooledConnection connection;
+        private final ResultSet rs;
+        private final UserProjection projection;
+        private boolean closed;
+        
+        UserCursor(PooledConnection connection, ResultSet rs, UserProjection projection) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.rs = rs;
+            this.projection = projection;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super User> action) {
+            if (closed) {
+                return false;
+            }
+            User user;
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                user = mapProjection(rs, projection);
+            } catch (SQLException e) {
+                close();
+                throw new RuntimeException("Error al recorrer los usuarios", e);
+            }
+            action.accept(user);
+            return true;
+        }
+        
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                rs.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            pool.returnReader(connection);
         }
-        return users;
+    }
+    
+    /**
+     * Mapea una fila leída con {@link UserProjection#getColumns()}, por posición
+     */
+    private User mapProjection(ResultSet rs, UserProjection projection) throws SQLException {
+        User user = new User();
+        user.setId(rs.getInt(1));
+        user.setUsername(rs.getString(2));
+        switch (projection) {
+            case FULL:
+                user.setPassword(rs.getString(3));
+                user.setEmail(rs.getString(4));
+                user.setRole(Role.valueOf(rs.getString(5)));
+                user.setActive(rs.getInt(6) == 1);
+                break;
+            case WITHOUT_PASSWORD:
+                user.setEmail(rs.getString(3));
+                user.setRole(Role.valueOf(rs.getString(4)));
+                user.setActive(rs.getInt(5) == 1);
+                break;
+            default:
+                break;
+        }
+        return user;
     }
     
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
@@ -169,14 +745,38 @@ public class UserRepositorySQLite implements IUserRepository {
         return user;
     }
     
-    @Override
-    public void closeConnection() {
+    /**
+     * Estadísticas de aciertos/fallos de la caché de sentencias preparadas
+     */
+    public StatementCacheStats getStatementCacheStats() {
+        return pool.getStatementCacheStats();
+    }
+    
+    /**
+     * Migraciones que aplicó initDatabase() en esta ejecución, con su
+     * duración, para informarlas al iniciar la aplicación
+     */
+    public List<MigrationRunner.AppliedMigration> getAppliedMigrations() {
+        return appliedMigrations;
+    }
+    
+    /**
+     * Verifica las conexiones ociosas del pool y reemplaza las caídas
+     * @return Número de conexiones reemplazadas
+     */
+    public int checkConnections() {
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
+            return pool.healthCheck();
         } catch (SQLException e) {
             e.printStackTrace();
+            return 0;
+        }
+    }
+    
+    @Override
+    public void closeConnection() {
+        if (pool != null) {
+            pool.close();
         }
     }
-}
\ No newline at end of file
+}
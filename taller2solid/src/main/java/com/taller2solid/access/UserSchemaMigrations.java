@@ -0,0 +1,62 @@
+package com.taller2solid.access;
+
+import java.util.List;
+
+/**
+ * Migraciones del esquema de usuarios, en orden de versión
+ *
+ * Nunca se modifica una migración ya publicada: los cambios nuevos se
+ * agregan al final con la siguiente versión.
+ *
+ * Las estadísticas del planificador no son una migración: un ANALYZE único
+ * quedaría desactualizado al crecer la tabla, así que el pool ejecuta
+ * PRAGMA optimize al cerrarse (ver {@link SQLiteConnectionPool#close()}).
+ */
+public final class UserSchemaMigrations {
+    
+    private UserSchemaMigrations() {
+    }
+    
+    public static List<Migration> all() {
+        return List.of(
+            // Tabla original; IF NOT EXISTS para bases creadas antes de las migraciones
+            new Migration(1, "tabla users",
+                "CREATE TABLE IF NOT EXISTS users (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "username TEXT NOT NULL UNIQUE," +
+                "password TEXT NOT NULL," +
+                "email TEXT NOT NULL," +
+                "role TEXT NOT NULL," +
+                "active INTEGER NOT NULL)"),
+            
+            // username ya tiene el índice implícito de UNIQUE
+            new Migration(2, "índices de email, rol y activos",
+                "CREATE INDEX IF NOT EXISTS idx_users_email ON users(email)",
+                "CREATE INDEX IF NOT EXISTS idx_users_role ON users(role)",
+                "CREATE INDEX IF NOT EXISTS idx_users_active ON users(active)",
+                // Índice parcial: solo las filas activas, para buscar y contar activos por rol
+                "CREATE INDEX IF NOT EXISTS idx_users_active_role ON users(role) WHERE active = 1"),
+            
+            // Búsqueda por fragmentos de username y email. La tabla FTS5 no
+            // duplica el texto (content='users'); los triggers la mantienen
+            // al día y 'rebuild' indexa las filas existentes
+            new Migration(3, "índice de texto completo de username y email",
+                "CREATE VIRTUAL TABLE IF NOT EXISTS users_fts USING fts5(" +
+                "username, email, content='users', content_rowid='id', " +
+                "tokenize='unicode61 remove_diacritics 2', prefix='2 3')",
+                "CREATE TRIGGER IF NOT EXISTS users_fts_insert AFTER INSERT ON users BEGIN " +
+                "INSERT INTO users_fts(rowid, username, email) VALUES (new.id, new.username, new.email); " +
+                "END",
+                "CREATE TRIGGER IF NOT EXISTS users_fts_delete AFTER DELETE ON users BEGIN " +
+                "INSERT INTO users_fts(users_fts, rowid, username, email) " +
+                "VALUES ('delete', old.id, old.username, old.email); " +
+                "END",
+                "CREATE TRIGGER IF NOT EXISTS users_fts_update AFTER UPDATE OF username, email ON users BEGIN " +
+                "INSERT INTO users_fts(users_fts, rowid, username, email) " +
+                "VALUES ('delete', old.id, old.username, old.email); " +
+                "INSERT INTO users_fts(rowid, username, email) VALUES (new.id, new.username, new.email); " +
+                "END",
+                "INSERT INTO users_fts(users_fts) VALUES ('rebuild')")
+        );
+    }
+}
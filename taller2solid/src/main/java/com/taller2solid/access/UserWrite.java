@@ -0,0 +1,59 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.User;
+
+/**
+ * Escritura de un lote mixto para {@link IUserRepository#applyWrites}:
+ * un alta, una modificación o una baja
+ */
+public final class UserWrite {
+    
+    public enum Kind {
+        SAVE,
+        UPDATE,
+        DELETE
+    }
+    
+    private final Kind kind;
+    private final User user;
+    private final Integer id;
+    
+    private UserWrite(Kind kind, User user, Integer id) {
+        this.kind = kind;
+        this.user = user;
+        this.id = id;
+    }
+    
+    /**
+     * Alta; si se guarda, el usuario recibe el ID generado
+     */
+    public static UserWrite save(User user) {
+        return new UserWrite(Kind.SAVE, user, null);
+    }
+    
+    public static UserWrite update(User user) {
+        return new UserWrite(Kind.UPDATE, user, user.getId());
+    }
+    
+    public static UserWrite delete(Integer id) {
+        return new UserWrite(Kind.DELETE, null, id);
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    /**
+     * Usuario a guardar o actualizar (null en una baja)
+     */
+    public User getUser() {
+        return user;
+    }
+    
+    /**
+     * ID afectado (null en un alta)
+     */
+    public Integer getId() {
+        return id;
+    }
+}
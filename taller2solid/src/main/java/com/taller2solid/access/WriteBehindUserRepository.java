@@ -0,0 +1,645 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de IUserRepository con escritura diferida (write-behind)
+ * Aplicando OCP (Open/Closed Principle):
+ * - Agrupa las escrituras sin modificar la implementación de persistencia
+ * Aplicando LSP (Liskov Substitution Principle):
+ * - Se puede usar en cualquier lugar donde se espere un IUserRepository
+ *
+ * Cada save/update/delete del repositorio SQLite es su propia transacción,
+ * así que el rendimiento de escritura queda limitado por el fsync de cada
+ * commit. Aquí las escrituras se encolan y un único hilo las aplica en
+ * grupos (group commit) con applyWrites, en una sola transacción por grupo
+ * aunque mezcle altas, modificaciones y bajas: un grupo se confirma al
+ * juntar {@code maxBatchSize} escrituras o al pasar {@code maxDelay} desde
+ * la primera.
+ *
+ * - La cola es acotada: si se llena, los escritores esperan
+ * - Las lecturas por ID y por username devuelven el valor pendiente si lo
+ *   hay; findAll/findPage/count/streamAll esperan a que se aplique lo pendiente
+ * - Cada escritura puede ser SYNC (espera la confirmación de su grupo y
+ *   devuelve el resultado real) o ASYNC (retorna al encolar)
+ * - En un save ASYNC el ID se asigna al usuario cuando el grupo se confirma
+ * - closeConnection() deja de aceptar escrituras y aplica todas las pendientes
+ * - Si el hilo escritor muere (p.ej. por un Error), las escrituras pendientes
+ *   se completan con false y las nuevas se rechazan: nadie queda esperando
+ */
+public class WriteBehindUserRepository implements IUserRepository {
+    
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+    
+    private final IUserRepository delegate;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final WriteDurability defaultDurability;
+    
+    /** Último estado pendiente de cada ID (actualización o borrado) */
+    private final ConcurrentHashMap<Integer, PendingWrite> pendingById = new ConcurrentHashMap<>();
+    /** Último alta o actualización pendiente de cada username */
+    private final ConcurrentHashMap<String, PendingWrite> pendingByUsername = new ConcurrentHashMap<>();
+    
+    /** Los escritores lo toman en modo lectura; el cierre en modo escritura */
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+    private final Thread writer;
+    /** El hilo escritor terminó (cierre o fallo): ya nadie aplicará lo encolado */
+    private volatile boolean writerStopped;
+    
+    private final LongAdder groupCommits = new LongAdder();
+    private final LongAdder appliedWrites = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    
+    private enum Kind {
+        SAVE,
+        UPDATE,
+        DELETE,
+        FLUSH,
+        SHUTDOWN
+    }
+    
+    private static final class PendingWrite {
+        final Kind kind;
+        /** Usuario del llamador (en un alta, recibe el ID generado) */
+        final User target;
+        /** Copia tomada al encolar: es lo que se escribe y lo que ven las lecturas */
+        final User snapshot;
+        final Integer id;
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        
+        PendingWrite(Kind kind, User target, Integer id) {
+            this.kind = kind;
+            this.target = target;
+            this.snapshot = target != null ? copy(target) : null;
+            this.id = id;
+        }
+        
+        boolean isMarker() {
+            return kind == Kind.FLUSH || kind == Kind.SHUTDOWN;
+        }
+    }
+    
+    public WriteBehindUserRepository(IUserRepository delegate) {
+        this(delegate, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY,
+             WriteDurability.SYNC);
+    }
+    
+    /**
+     * @param delegate Repositorio real
+     * @param queueCapacity Máximo de escrituras en cola antes de bloquear a los escritores
+     * @param maxBatchSize Escrituras que disparan la confirmación de un grupo
+     * @param maxDelay Tiempo máximo que una escritura espera a su grupo
+     * @param defaultDurability Durabilidad de las operaciones sin durabilidad explícita
+     */
+    public WriteBehindUserRepository(IUserRepository delegate, int queueCapacity, int maxBatchSize,
+                                     Duration maxDelay, WriteDurability defaultDurability) {
+        if (queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("La cola y los grupos deben admitir al menos una escritura");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.defaultDurability = defaultDurability;
+        this.writer = new Thread(this::writeLoop, "write-behind-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    // ========================================
+    // Ciclo de vida
+    // ========================================
+    
+    @Override
+    public void initDatabase() {
+        delegate.initDatabase();
+    }
+    
+    /**
+     * Deja de aceptar escrituras, aplica todas las pendientes y cierra el repositorio real
+     */
+    @Override
+    public synchronized void closeConnection() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        if (writer.isAlive()) {
+            putUninterruptibly(new PendingWrite(Kind.SHUTDOWN, null, null));
+            joinUninterruptibly(writer);
+        }
+        delegate.closeConnection();
+    }
+    
+    /**
+     * Espera a que se apliquen todas las escrituras encoladas hasta ahora
+     */
+    public void flush() {
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+        PendingWrite marker = new PendingWrite(Kind.FLUSH, null, null);
+        if (enqueue(marker)) {
+            marker.result.join();
+        }
+    }
+    
+    // ========================================
+    // Escrituras
+    // ========================================
+    
+    @Override
+    public boolean save(User user) {
+        return save(user, defaultDurability);
+    }
+    
+    public boolean save(User user, WriteDurability durability) {
+        return submit(new PendingWrite(Kind.SAVE, user, null), durability);
+    }
+    
+    @Override
+    public boolean update(User user) {
+        return update(user, defaultDurability);
+    }
+    
+    public boolean update(User user, WriteDurability durability) {
+        return submit(new PendingWrite(Kind.UPDATE, user, user.getId()), durability);
+    }
+    
+    @Override
+    public boolean delete(Integer id) {
+        return delete(id, defaultDurability);
+    }
+    
+    public boolean delete(Integer id, WriteDurability durability) {
+        return submit(new PendingWrite(Kind.DELETE, null, id), durability);
+    }
+    
+    @Override
+    public int saveAll(Collection<User> users) {
+        List<PendingWrite> writes = new ArrayList<>(users.size());
+        for (User user : users) {
+            writes.add(new PendingWrite(Kind.SAVE, user, null));
+        }
+        return submitAll(writes, defaultDurability);
+    }
+    
+    @Override
+    public int updateAll(Collection<User> users) {
+        List<PendingWrite> writes = new ArrayList<>(users.size());
+        for (User user : users) {
+            writes.add(new PendingWrite(Kind.UPDATE, user, user.getId()));
+        }
+        return submitAll(writes, defaultDurability);
+    }
+    
+    @Override
+    public int deleteAll(Collection<Integer> ids) {
+        List<PendingWrite> writes = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            writes.add(new PendingWrite(Kind.DELETE, null, id));
+        }
+        return submitAll(writes, defaultDurability);
+    }
+    
+    /**
+     * Encola todas las escrituras; con durabilidad SYNC espera el resultado de cada una
+     */
+    @Override
+    public boolean[] applyWrites(List<UserWrite> writes) {
+        List<PendingWrite> pending = new ArrayList<>(writes.size());
+        for (UserWrite write : writes) {
+            switch (write.getKind()) {
+                case SAVE:
+                    pending.add(new PendingWrite(Kind.SAVE, write.getUser(), null));
+                    break;
+                case UPDATE:
+                    pending.add(new PendingWrite(Kind.UPDATE, write.getUser(), write.getId()));
+                    break;
+                default:
+                    pending.add(new PendingWrite(Kind.DELETE, null, write.getId()));
+                    break;
+            }
+        }
+        return submitEach(pending, defaultDurability);
+    }
+    
+    private boolean submit(PendingWrite write, WriteDurability durability) {
+        if (!enqueue(write)) {
+            return false;
+        }
+        return durability == WriteDurability.ASYNC || write.result.join();
+    }
+    
+    private int submitAll(List<PendingWrite> writes, WriteDurability durability) {
+        int succeeded = 0;
+        for (boolean result : submitEach(writes, durability)) {
+            if (result) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+    
+    /**
+     * @return Por escritura: si se encoló (ASYNC) o si se aplicó (SYNC)
+     */
+    private boolean[] submitEach(List<PendingWrite> writes, WriteDurability durability) {
+        boolean[] results = new boolean[writes.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = enqueue(writes.get(i));
+        }
+        if (durability == WriteDurability.ASYNC) {
+            return results;
+        }
+        for (int i = 0; i < results.length; i++) {
+            // Las rechazadas al encolar ya están completadas con false
+            results[i] = writes.get(i).result.join();
+        }
+        return results;
+    }
+    
+    /**
+     * Registra la escritura como pendiente y la encola
+     * @return false si el repositorio está cerrado o el hilo escritor ya no
+     *         corre (la escritura se descarta)
+     */
+    private boolean enqueue(PendingWrite write) {
+        closeLock.readLock().lock();
+        try {
+            if (closed || writerStopped) {
+                write.result.complete(false);
+                return false;
+            }
+            track(write);
+            try {
+                queue.put(write);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                untrack(write);
+                write.result.complete(false);
+                return false;
+            }
+            // Si el escritor se detuvo mientras tanto y no alcanzó a vaciar la
+            // cola con esta escritura dentro, descartarla aquí
+            if (writerStopped && queue.remove(write)) {
+                untrack(write);
+                write.result.complete(false);
+                return false;
+            }
+            return true;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+    
+    private void track(PendingWrite write) {
+        switch (write.kind) {
+            case SAVE:
+                pendingByUsername.put(write.snapshot.getUsername(), write);
+                break;
+            case UPDATE:
+                pendingById.put(write.id, write);
+                pendingByUsername.put(write.snapshot.getUsername(), write);
+                break;
+            case DELETE:
+                pendingById.put(write.id, write);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private void untrack(PendingWrite write) {
+        if (write.id != null) {
+            pendingById.remove(write.id, write);
+        }
+        if (write.snapshot != null) {
+            pendingByUsername.remove(write.snapshot.getUsername(), write);
+        }
+    }
+    
+    // ========================================
+    // Lecturas
+    // ========================================
+    
+    @Override
+    public Optional<User> findById(Integer id) {
+        PendingWrite pending = pendingById.get(id);
+        if (pending != null) {
+            return pending.kind == Kind.DELETE ? Optional.empty() : Optional.of(copy(pending.snapshot));
+        }
+        return delegate.findById(id);
+    }
+    
+    @Override
+    public Optional<User> findByUsername(String username) {
+        PendingWrite pending = pendingByUsername.get(username);
+        if (pending != null && (pending.kind == Kind.SAVE || pendingById.get(pending.id) == pending)) {
+            return Optional.of(copy(pending.snapshot));
+        }
+        Optional<User> stored = delegate.findByUsername(username);
+        if (stored.isPresent()) {
+            PendingWrite change = pendingById.get(stored.get().getId());
+            if (change != null) {
+                // Borrado o renombrado pendiente: el valor guardado ya no vale
+                if (change.kind == Kind.DELETE || !username.equals(change.snapshot.getUsername())) {
+                    return Optional.empty();
+                }
+                return Optional.of(copy(change.snapshot));
+            }
+        }
+        return stored;
+    }
+    
+    @Override
+    public boolean mightExist(String username) {
+        return pendingByUsername.containsKey(username) || delegate.mightExist(username);
+    }
+    
+    @Override
+    public List<User> findAll() {
+        flush();
+        return delegate.findAll();
+    }
+    
+    @Override
+    public List<User> findPage(int afterId, int limit) {
+        flush();
+        return delegate.findPage(afterId, limit);
+    }
+    
+    @Override
+    public Optional<Integer> findIdAtOffset(long offset) {
+        flush();
+        return delegate.findIdAtOffset(offset);
+    }
+    
+    @Override
+    public long count() {
+        flush();
+        return delegate.count();
+    }
+    
+    @Override
+    public List<User> findByRole(Role role) {
+        flush();
+        return delegate.findByRole(role);
+    }
+    
+    @Override
+    public List<User> findActive() {
+        flush();
+        return delegate.findActive();
+    }
+    
+    @Override
+    public long countActive() {
+        flush();
+        return delegate.countActive();
+    }
+    
+    @Override
+    public Map<Role, Long> countByRole() {
+        flush();
+        return delegate.countByRole();
+    }
+    
+    @Override
+    public List<User> search(String text, int limit) {
+        flush();
+        return delegate.search(text, limit);
+    }
+    
+    @Override
+    public Stream<User> streamAll(UserProjection projection) {
+        flush();
+        return delegate.streamAll(projection);
+    }
+    
+    // ========================================
+    // Hilo escritor
+    // ========================================
+    
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        boolean running = true;
+        try {
+            while (running) {
+                batch.clear();
+                try {
+                    collectBatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+                for (PendingWrite write : batch) {
+                    if (write.kind == Kind.SHUTDOWN) {
+                        running = false;
+                    }
+                }
+                if (!running) {
+                    // Nadie más puede encolar: aplicar también lo que quede
+                    queue.drainTo(batch);
+                }
+                apply(batch);
+            }
+        } finally {
+            // Tras un cierre normal no queda nada; si el hilo muere por un
+            // Error, libera a quienes esperan el grupo en curso o en la cola
+            writerStopped = true;
+            failOutstanding(batch);
+            List<PendingWrite> queued = new ArrayList<>();
+            queue.drainTo(queued);
+            failOutstanding(queued);
+        }
+    }
+    
+    private void failOutstanding(List<PendingWrite> writes) {
+        for (PendingWrite write : writes) {
+            if (write.result.isDone()) {
+                continue;
+            }
+            if (write.isMarker()) {
+                write.result.complete(false);
+            } else {
+                finish(write, false);
+            }
+        }
+    }
+    
+    /**
+     * Espera la primera escritura y junta más hasta completar el grupo,
+     * agotar el tiempo o encontrar una marca de flush/cierre
+     */
+    private void collectBatch(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = queue.take();
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize && !batch.get(batch.size() - 1).isMarker()) {
+            PendingWrite next = queue.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+            }
+            batch.add(next);
+        }
+    }
+    
+    /**
+     * Aplica un grupo en orden con una sola llamada a applyWrites; el
+     * resultado de cada escritura es el de su propia fila
+     */
+    private void apply(List<PendingWrite> batch) {
+        List<PendingWrite> writes = new ArrayList<>(batch.size());
+        List<UserWrite> userWrites = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            if (!write.isMarker()) {
+                writes.add(write);
+                userWrites.add(toUserWrite(write));
+            }
+        }
+        if (!writes.isEmpty()) {
+            boolean[] results = null;
+            try {
+                results = delegate.applyWrites(userWrites);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            // Antes de completar los resultados, para que quien espera ya vea el grupo contado
+            groupCommits.increment();
+            for (int i = 0; i < writes.size(); i++) {
+                PendingWrite write = writes.get(i);
+                boolean success = results != null && results[i];
+                if (success && write.kind == Kind.SAVE) {
+                    write.target.setId(write.snapshot.getId());
+                }
+                finish(write, success);
+            }
+        }
+        // Las marcas se liberan al final, cuando todo lo anterior ya se aplicó
+        for (PendingWrite write : batch) {
+            if (write.isMarker()) {
+                write.result.complete(true);
+            }
+        }
+    }
+    
+    private static UserWrite toUserWrite(PendingWrite write) {
+        switch (write.kind) {
+            case SAVE:
+                return UserWrite.save(write.snapshot);
+            case UPDATE:
+                return UserWrite.update(write.snapshot);
+            default:
+                return UserWrite.delete(write.id);
+        }
+    }
+    
+    private void finish(PendingWrite write, boolean success) {
+        if (success) {
+            appliedWrites.increment();
+        } else {
+            failedWrites.increment();
+        }
+        untrack(write);
+        write.result.complete(success);
+    }
+    
+    // ========================================
+    // Estadísticas
+    // ========================================
+    
+    /**
+     * Escrituras encoladas que todavía no se aplicaron
+     */
+    public int getQueuedWrites() {
+        return queue.size();
+    }
+    
+    /**
+     * Grupos confirmados por el hilo escritor
+     */
+    public long getGroupCommits() {
+        return groupCommits.sum();
+    }
+    
+    public long getAppliedWrites() {
+        return appliedWrites.sum();
+    }
+    
+    /**
+     * Escrituras que la base de datos no aplicó (p.ej. actualizar un ID inexistente)
+     */
+    public long getFailedWrites() {
+        return failedWrites.sum();
+    }
+    
+    // ========================================
+    // Internos
+    // ========================================
+    
+    private void putUninterruptibly(PendingWrite write) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(write);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static User copy(User user) {
+        User copy = new User(user.getId(), user.getUsername(), user.getPassword(),
+                user.getEmail(), user.getRole());
+        copy.setActive(user.isActive());
+        return copy;
+    }
+}
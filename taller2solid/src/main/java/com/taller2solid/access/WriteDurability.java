@@ -0,0 +1,12 @@
+package com.taller2solid.access;
+
+/**
+ * Garantía de durabilidad de una escritura diferida
+ * Ver {@link WriteBehindUserRepository}
+ */
+public enum WriteDurability {
+    /** Espera a que el grupo que contiene la escritura se confirme en la base de datos */
+    SYNC,
+    /** Retorna al encolar la escritura; se confirma en el siguiente grupo */
+    ASYNC
+}
@@ -0,0 +1,37 @@
+package com.taller2solid.audit;
+
+/**
+ * Operaciones que se registran en la auditoría
+ *
+ * Cada una se guarda con un código fijo de un byte: los códigos no cambian
+ * aunque se agreguen o reordenen valores, así los segmentos antiguos se
+ * siguen leyendo igual.
+ */
+public enum AuditAction {
+    CREATE(1),
+    UPDATE(2),
+    DELETE(3),
+    LOGIN(4);
+    
+    private final byte code;
+    
+    AuditAction(int code) {
+        this.code = (byte) code;
+    }
+    
+    public byte getCode() {
+        return code;
+    }
+    
+    /**
+     * @throws IllegalArgumentException Si el código no corresponde a ninguna acción
+     */
+    public static AuditAction fromCode(byte code) {
+        for (AuditAction action : values()) {
+            if (action.code == code) {
+                return action;
+            }
+        }
+        throw new IllegalArgumentException("Código de acción desconocido: " + code);
+    }
+}
@@ -0,0 +1,80 @@
+package com.taller2solid.audit;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Criterios para filtrar registros de auditoría
+ * Cada método agrega un criterio y devuelve el mismo filtro; un registro
+ * pasa si cumple todos. Sin criterios pasan todos.
+ */
+public class AuditFilter implements Predicate<AuditRecord> {
+    
+    private Set<AuditAction> actions = EnumSet.allOf(AuditAction.class);
+    private String username;
+    private Integer userId;
+    private Instant from;
+    private Instant to;
+    private Boolean success;
+    
+    public AuditFilter actions(Set<AuditAction> actions) {
+        this.actions = EnumSet.copyOf(actions);
+        return this;
+    }
+    
+    public AuditFilter username(String username) {
+        this.username = username;
+        return this;
+    }
+    
+    public AuditFilter userId(int userId) {
+        this.userId = userId;
+        return this;
+    }
+    
+    /**
+     * Registros desde esa fecha (inclusive)
+     */
+    public AuditFilter from(Instant from) {
+        this.from = from;
+        return this;
+    }
+    
+    /**
+     * Registros anteriores a esa fecha (exclusive)
+     */
+    public AuditFilter to(Instant to) {
+        this.to = to;
+        return this;
+    }
+    
+    /**
+     * Solo exitosos (true) o solo fallidos (false)
+     */
+    public AuditFilter success(boolean success) {
+        this.success = success;
+        return this;
+    }
+    
+    @Override
+    public boolean test(AuditRecord record) {
+        if (!actions.contains(record.getAction())) {
+            return false;
+        }
+        if (username != null && !username.equals(record.getUsername())) {
+            return false;
+        }
+        if (userId != null && userId != record.getUserId()) {
+            return false;
+        }
+        if (from != null && record.getTimestampMillis() < from.toEpochMilli()) {
+            return false;
+        }
+        if (to != null && record.getTimestampMillis() >= to.toEpochMilli()) {
+            return false;
+        }
+        return success == null || success == record.isSuccess();
+    }
+}
@@ -0,0 +1,116 @@
+package com.taller2solid.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lectura de los segmentos de auditoría
+ *
+ * Los segmentos se recorren en orden de secuencia, de a uno: cada uno se
+ * mapea en solo lectura y se libera al pasar al siguiente, así la memoria
+ * no depende del tamaño de la bitácora. Se puede leer mientras
+ * {@link MappedAuditLog} sigue escribiendo; el recorrido termina en el
+ * primer hueco libre del último segmento.
+ */
+public final class AuditLogReader {
+    
+    private AuditLogReader() {
+    }
+    
+    /**
+     * Segmentos del directorio, en orden de escritura
+     */
+    public static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(AuditSegment::isSegmentFile).sorted().collect(Collectors.toList());
+        }
+    }
+    
+    /**
+     * Recorre todos los registros. El stream mantiene un archivo abierto
+     * hasta cerrarse: usar siempre con try-with-resources.
+     */
+    public static Stream<AuditRecord> read(Path dir) throws IOException {
+        return read(dir, 1);
+    }
+    
+    /**
+     * Recorre los registros desde una secuencia, sin abrir los segmentos
+     * anteriores a ella. Los errores de E/S durante el recorrido se lanzan
+     * como UncheckedIOException.
+     * @param fromSequence Primera secuencia a devolver
+     */
+    public static Stream<AuditRecord> read(Path dir, long fromSequence) throws IOException {
+        List<Path> segments = segments(dir);
+        int first = 0;
+        // Cada segmento empieza donde termina el anterior
+        while (first + 1 < segments.size()
+                && AuditSegment.firstSequenceOf(segments.get(first + 1)) <= fromSequence) {
+            first++;
+        }
+        return segments.subList(first, segments.size()).stream()
+                .flatMap(file -> {
+                    try {
+                        return readSegment(file, fromSequence);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+    
+    /**
+     * Recorre los registros de un segmento desde una secuencia
+     */
+    static Stream<AuditRecord> readSegment(Path file, long fromSequence) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int capacity = AuditSegment.validateHeader(buffer, file);
+            long firstSequence = buffer.getLong(16);
+            int start = (int) Math.max(0, Math.min(capacity, fromSequence - firstSequence));
+            Spliterator<AuditRecord> records = new Spliterators.AbstractSpliterator<AuditRecord>(
+                    capacity - start, Spliterator.ORDERED | Spliterator.NONNULL) {
+                private int index = start;
+                
+                @Override
+                public boolean tryAdvance(Consumer<? super AuditRecord> action) {
+                    if (index >= capacity) {
+                        return false;
+                    }
+                    int offset = AuditSegment.offset(index);
+                    if (AuditRecord.sequenceAt(buffer, offset) == 0) {
+                        return false;
+                    }
+                    index++;
+                    action.accept(AuditRecord.read(buffer, offset));
+                    return true;
+                }
+            };
+            return StreamSupport.stream(records, false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.taller2solid.audit;
+
+import com.taller2solid.service.FailureReason;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Registro de auditoría con formato binario fijo de {@link #SIZE} bytes
+ *
+ * <pre>
+ * 0   long  secuencia (mayor que 0; se escribe al final, 0 = hueco libre)
+ * 8   long  fecha (milisegundos desde la época)
+ * 16  int   ID del usuario (0 si no se conoce)
+ * 20  byte  código de {@link AuditAction}
+ * 21  byte  resultado: 0 éxito, si no ordinal de FailureReason + 1
+ * 22  byte  longitud del username en bytes
+ * 23  byte  reservado
+ * 24  40 bytes  username en UTF-8 (truncado si no cabe)
+ * </pre>
+ *
+ * Todos los valores se guardan en big-endian. FailureReason solo admite
+ * valores nuevos al final para no cambiar el significado de los registros
+ * ya escritos.
+ */
+public final class AuditRecord {
+    
+    public static final int SIZE = 64;
+    public static final int MAX_USERNAME_BYTES = 40;
+    
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int USER_ID_OFFSET = 16;
+    private static final int ACTION_OFFSET = 20;
+    private static final int OUTCOME_OFFSET = 21;
+    private static final int USERNAME_LENGTH_OFFSET = 22;
+    private static final int USERNAME_OFFSET = 24;
+    
+    private static final FailureReason[] REASONS = FailureReason.values();
+    
+    private final long sequence;
+    private final long timestampMillis;
+    private final int userId;
+    private final AuditAction action;
+    private final FailureReason reason;
+    private final String username;
+    
+    public AuditRecord(long sequence, long timestampMillis, int userId, AuditAction action,
+                       FailureReason reason, String username) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.userId = userId;
+        this.action = action;
+        this.reason = reason;
+        this.username = username;
+    }
+    
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestampMillis);
+    }
+    
+    /**
+     * ID del usuario (0 si no se conoce, p.ej. un login con username inexistente)
+     */
+    public int getUserId() {
+        return userId;
+    }
+    
+    public AuditAction getAction() {
+        return action;
+    }
+    
+    /**
+     * Causa del fallo (null si la operación fue exitosa)
+     */
+    public FailureReason getReason() {
+        return reason;
+    }
+    
+    public boolean isSuccess() {
+        return reason == null;
+    }
+    
+    /**
+     * Username, posiblemente truncado a {@link #MAX_USERNAME_BYTES} bytes (vacío si no se conoce)
+     */
+    public String getUsername() {
+        return username;
+    }
+    
+    // ========================================
+    // Formato binario
+    // ========================================
+    
+    static byte outcomeCode(FailureReason reason) {
+        return reason == null ? 0 : (byte) (reason.ordinal() + 1);
+    }
+    
+    /**
+     * Escribe un registro en la posición indicada. La secuencia se escribe
+     * al final: un lector nunca ve un registro a medio escribir como válido.
+     */
+    static void write(ByteBuffer buffer, int offset, long sequence, long timestampMillis, int userId,
+                      byte actionCode, byte outcomeCode, String username) {
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestampMillis);
+        buffer.putInt(offset + USER_ID_OFFSET, userId);
+        buffer.put(offset + ACTION_OFFSET, actionCode);
+        buffer.put(offset + OUTCOME_OFFSET, outcomeCode);
+        int length = encodeUsername(buffer, offset + USERNAME_OFFSET, username);
+        buffer.put(offset + USERNAME_LENGTH_OFFSET, (byte) length);
+        buffer.putLong(offset + SEQUENCE_OFFSET, sequence);
+    }
+    
+    /**
+     * Copia el username en UTF-8 sin pasar de {@link #MAX_USERNAME_BYTES},
+     * cortando entre caracteres completos
+     * @return Bytes escritos
+     */
+    private static int encodeUsername(ByteBuffer buffer, int offset, String username) {
+        if (username == null) {
+            return 0;
+        }
+        int written = 0;
+        for (int i = 0; i < username.length(); ) {
+            int codePoint = username.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (written + size > MAX_USERNAME_BYTES) {
+                break;
+            }
+            if (size == 1) {
+                buffer.put(offset + written, (byte) codePoint);
+            } else {
+                byte[] bytes = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+                for (int b = 0; b < bytes.length; b++) {
+                    buffer.put(offset + written + b, bytes[b]);
+                }
+            }
+            written += size;
+            i += Character.charCount(codePoint);
+        }
+        return written;
+    }
+    
+    /**
+     * Secuencia del registro en esa posición (0 si el hueco está libre)
+     */
+    static long sequenceAt(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + SEQUENCE_OFFSET);
+    }
+    
+    /**
+     * Lee el registro en esa posición
+     * @throws IllegalArgumentException Si la acción o el resultado no son válidos
+     */
+    static AuditRecord read(ByteBuffer buffer, int offset) {
+        long sequence = buffer.getLong(offset + SEQUENCE_OFFSET);
+        long timestamp = buffer.getLong(offset + TIMESTAMP_OFFSET);
+        int userId = buffer.getInt(offset + USER_ID_OFFSET);
+        AuditAction action = AuditAction.fromCode(buffer.get(offset + ACTION_OFFSET));
+        int outcome = buffer.get(offset + OUTCOME_OFFSET) & 0xFF;
+        if (outcome > REASONS.length) {
+            throw new IllegalArgumentException("Código de resultado desconocido: " + outcome);
+        }
+        int length = Math.min(buffer.get(offset + USERNAME_LENGTH_OFFSET) & 0xFF, MAX_USERNAME_BYTES);
+        byte[] usernameBytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            usernameBytes[i] = buffer.get(offset + USERNAME_OFFSET + i);
+        }
+        return new AuditRecord(sequence, timestamp, userId, action,
+                outcome == 0 ? null : REASONS[outcome - 1],
+                new String(usernameBytes, StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    public String toString() {
+        return "AuditRecord{" +
+                "sequence=" + sequence +
+                ", timestamp=" + getTimestamp() +
+                ", action=" + action +
+                ", userId=" + userId +
+                ", username='" + username + '\'' +
+                ", result=" + (reason == null ? "OK" : reason) +
+                '}';
+    }
+}
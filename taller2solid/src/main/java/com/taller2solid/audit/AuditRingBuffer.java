@@ -0,0 +1,129 @@
+package com.taller2solid.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular sin locks con varios productores y un solo consumidor
+ *
+ * - Los huecos se crean al construir el buffer, en arreglos de primitivos:
+ *   publicar no crea objetos.
+ * - Un productor reserva la siguiente secuencia con un CAS, siempre que el
+ *   consumidor haya liberado ese hueco; luego llena el hueco y lo marca como
+ *   publicado escribiendo su secuencia en {@code published}. Esa escritura
+ *   volátil hace visibles los campos al consumidor.
+ * - El consumidor avanza mientras el hueco siguiente esté publicado con la
+ *   secuencia esperada, y libera los huecos al terminar cada tanda.
+ */
+final class AuditRingBuffer {
+    
+    /**
+     * Recibe los registros en orden de secuencia (en el hilo consumidor)
+     */
+    interface Handler {
+        void onRecord(long sequence, long timestampMillis, int userId, byte actionCode,
+                      byte outcomeCode, String username);
+    }
+    
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final int[] userIds;
+    private final byte[] actionCodes;
+    private final byte[] outcomeCodes;
+    private final String[] usernames;
+    private final AtomicLongArray published;
+    
+    /** Última secuencia reservada por un productor */
+    private final AtomicLong claimed = new AtomicLong();
+    /** Última secuencia leída por el consumidor; sus huecos ya se pueden reutilizar */
+    private final AtomicLong consumed = new AtomicLong();
+    
+    /**
+     * @param capacity Huecos del buffer; debe ser potencia de dos
+     */
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de dos: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.userIds = new int[capacity];
+        this.actionCodes = new byte[capacity];
+        this.outcomeCodes = new byte[capacity];
+        this.usernames = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+    }
+    
+    /**
+     * Publica un registro sin bloquear
+     * @return Secuencia asignada (desde 1), o -1 si el buffer está lleno
+     */
+    long tryPublish(long timestampMillis, int userId, byte actionCode, byte outcomeCode, String username) {
+        long current;
+        long next;
+        do {
+            current = claimed.get();
+            next = current + 1;
+            if (next - consumed.get() > capacity) {
+                return -1;
+            }
+        } while (!claimed.compareAndSet(current, next));
+        
+        int index = (int) (next & mask);
+        timestamps[index] = timestampMillis;
+        userIds[index] = userId;
+        actionCodes[index] = actionCode;
+        outcomeCodes[index] = outcomeCode;
+        usernames[index] = username;
+        published.set(index, next);
+        return next;
+    }
+    
+    /**
+     * Entrega al consumidor los registros publicados, en orden, hasta el
+     * primero que aún no lo esté. Solo debe llamarlo el hilo consumidor.
+     * @param max Máximo de registros a entregar
+     * @return Registros entregados
+     */
+    int drain(Handler handler, int max) {
+        long next = consumed.get() + 1;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                break;
+            }
+            String username = usernames[index];
+            usernames[index] = null;
+            handler.onRecord(next, timestamps[index], userIds[index], actionCodes[index],
+                             outcomeCodes[index], username);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            // Escritura ordenada: los productores ven el hueco libre después de leído
+            consumed.lazySet(next - 1);
+        }
+        return count;
+    }
+    
+    /**
+     * Última secuencia reservada (puede estar aún sin publicar)
+     */
+    long getClaimed() {
+        return claimed.get();
+    }
+    
+    /**
+     * Última secuencia entregada al consumidor
+     */
+    long getConsumed() {
+        return consumed.get();
+    }
+    
+    int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,192 @@
+package com.taller2solid.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Un archivo de la bitácora de auditoría, mapeado en memoria
+ *
+ * <pre>
+ * 0   int   firma "AUD1"
+ * 4   int   versión del formato
+ * 8   int   tamaño de registro
+ * 12  int   capacidad en registros
+ * 16  long  secuencia del primer registro
+ * 24..63    reservado
+ * 64  registros de {@link AuditRecord#SIZE} bytes
+ * </pre>
+ *
+ * El archivo se crea con su tamaño final (los huecos libres valen cero) y
+ * se llama {@code audit-<primera secuencia>.seg}, así el orden alfabético
+ * es el orden de escritura.
+ */
+final class AuditSegment implements AutoCloseable {
+    
+    static final int MAGIC = 0x41554431;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+    
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long firstSequence;
+    private int count;
+    
+    private AuditSegment(Path file, FileChannel channel, MappedByteBuffer buffer, int capacity,
+                         long firstSequence, int count) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.firstSequence = firstSequence;
+        this.count = count;
+    }
+    
+    static String fileName(long firstSequence) {
+        return String.format(Locale.ROOT, "%s%020d%s", PREFIX, firstSequence, SUFFIX);
+    }
+    
+    /**
+     * Secuencia del primer registro según el nombre del archivo
+     */
+    static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+    
+    static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX)
+                && name.length() == PREFIX.length() + 20 + SUFFIX.length();
+    }
+    
+    /**
+     * Crea un segmento vacío
+     */
+    static AuditSegment create(Path dir, long firstSequence, int capacity) throws IOException {
+        Path file = dir.resolve(fileName(firstSequence));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) capacity * AuditRecord.SIZE);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, AuditRecord.SIZE);
+            buffer.putInt(12, capacity);
+            buffer.putLong(16, firstSequence);
+            return new AuditSegment(file, channel, buffer, capacity, firstSequence, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Abre un segmento existente para seguir escribiendo al final
+     */
+    static AuditSegment openForAppend(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int capacity = validateHeader(buffer, file);
+            return new AuditSegment(file, channel, buffer, capacity, buffer.getLong(16),
+                                    countRecords(buffer, capacity));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Verifica la cabecera
+     * @return Capacidad en registros
+     * @throws IOException Si el archivo no es un segmento válido
+     */
+    static int validateHeader(ByteBuffer buffer, Path file) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("No es un segmento de auditoría: " + file);
+        }
+        if (buffer.getInt(4) != VERSION || buffer.getInt(8) != AuditRecord.SIZE) {
+            throw new IOException("Versión de segmento no soportada: " + file);
+        }
+        int capacity = buffer.getInt(12);
+        if (capacity < 1 || HEADER_SIZE + (long) capacity * AuditRecord.SIZE > buffer.limit()) {
+            throw new IOException("Segmento truncado: " + file);
+        }
+        return capacity;
+    }
+    
+    /**
+     * Registros escritos: se escriben en orden, así que terminan en el
+     * primer hueco libre
+     */
+    static int countRecords(ByteBuffer buffer, int capacity) {
+        int count = 0;
+        while (count < capacity && AuditRecord.sequenceAt(buffer, offset(count)) != 0) {
+            count++;
+        }
+        return count;
+    }
+    
+    static int offset(int index) {
+        return HEADER_SIZE + index * AuditRecord.SIZE;
+    }
+    
+    boolean isFull() {
+        return count == capacity;
+    }
+    
+    /**
+     * Escribe el siguiente registro; solo lo llama el hilo que vacía el buffer
+     */
+    void append(long sequence, long timestampMillis, int userId, byte actionCode,
+                byte outcomeCode, String username) {
+        AuditRecord.write(buffer, offset(count), sequence, timestampMillis, userId,
+                          actionCode, outcomeCode, username);
+        count++;
+    }
+    
+    /**
+     * Fuerza los cambios al disco
+     */
+    void force() {
+        buffer.force();
+    }
+    
+    long getFirstSequence() {
+        return firstSequence;
+    }
+    
+    /**
+     * Secuencia del último registro escrito (la anterior a la primera si está vacío)
+     */
+    long getLastSequence() {
+        return firstSequence + count - 1;
+    }
+    
+    int getCount() {
+        return count;
+    }
+    
+    Path getFile() {
+        return file;
+    }
+    
+    /**
+     * Cierra el canal. El mapeo se libera cuando el recolector descarta el
+     * buffer (Java 17 no ofrece una forma pública de liberarlo antes).
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,20 @@
+package com.taller2solid.audit;
+
+import com.taller2solid.service.FailureReason;
+
+/**
+ * Interface de la bitácora de auditoría
+ * Aplicando DIP (Dependency Inversion Principle):
+ * - UserService depende de esta abstracción y no de cómo se guardan los registros
+ */
+public interface IAuditLog {
+    
+    /**
+     * Registra una operación. No debe hacer E/S en el hilo del llamador.
+     * @param action Operación realizada
+     * @param userId ID del usuario (null si no se conoce)
+     * @param username Username (null si no se conoce)
+     * @param reason Causa del fallo, o null si fue exitosa
+     */
+    void record(AuditAction action, Integer userId, String username, FailureReason reason);
+}
@@ -0,0 +1,300 @@
+package com.taller2solid.audit;
+
+import com.taller2solid.service.FailureReason;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bitácora de auditoría en archivos mapeados en memoria, solo de agregado
+ *
+ * - {@link #record} copia el registro a un {@link AuditRingBuffer} sin locks
+ *   ni E/S. Si el buffer está lleno, el llamador espera a que se libere un
+ *   hueco en lugar de descartar el registro.
+ * - Un hilo de fondo vacía el buffer en el segmento actual (un
+ *   {@link AuditSegment} mapeado en memoria), así escribir un registro es
+ *   copiar 64 bytes. Cuando el segmento se llena, se abre el siguiente.
+ * - Los cambios se fuerzan al disco cada {@code forceInterval}, al rotar
+ *   de segmento, al cerrar y cuando se llama a {@link #flush()}.
+ * - Sin registros pendientes el hilo de fondo queda dormido sin plazo; el
+ *   productor que publica lo despierta solo si estaba dormido.
+ * - Si el hilo de fondo muere, record() descarta los registros (y los
+ *   cuenta) en lugar de bloquear al llamador.
+ * - Al abrir un directorio existente se continúa la secuencia del último
+ *   segmento.
+ *
+ * Los registros enviados mientras se ejecuta close() pueden perderse.
+ */
+public class MappedAuditLog implements IAuditLog, AutoCloseable {
+    
+    /** 65536 registros de 64 bytes: segmentos de 4 MB */
+    public static final int DEFAULT_SEGMENT_RECORDS = 1 << 16;
+    public static final int DEFAULT_BUFFER_CAPACITY = 1 << 13;
+    public static final Duration DEFAULT_FORCE_INTERVAL = Duration.ofSeconds(1);
+    
+    private static final int DRAIN_BATCH = 1024;
+    private static final long WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    
+    private final Path dir;
+    private final int segmentRecords;
+    private final long forceIntervalNanos;
+    private final AuditRingBuffer ring;
+    /** Última secuencia que ya estaba en disco al abrir; la del buffer se suma a esta */
+    private final long baseSequence;
+    private final AuditRingBuffer.Handler writer = this::append;
+    private final Thread flusher;
+    
+    /** Solo lo usa el hilo de fondo (y el constructor antes de iniciarlo) */
+    private AuditSegment segment;
+    
+    private volatile boolean closed;
+    /** true mientras el hilo de fondo está por dormirse o dormido */
+    private volatile boolean idle;
+    private final AtomicLong forceRequested = new AtomicLong();
+    /** Secuencia del buffer hasta la que los registros están forzados al disco */
+    private volatile long forced;
+    
+    private final LongAdder producerWaits = new LongAdder();
+    private final LongAdder lostRecords = new LongAdder();
+    
+    public MappedAuditLog(Path dir) throws IOException {
+        this(dir, DEFAULT_SEGMENT_RECORDS, DEFAULT_BUFFER_CAPACITY, DEFAULT_FORCE_INTERVAL);
+    }
+    
+    /**
+     * @param dir Directorio de los segmentos (se crea si no existe)
+     * @param segmentRecords Registros por segmento
+     * @param bufferCapacity Huecos del buffer circular (potencia de dos)
+     * @param forceInterval Cada cuánto forzar los cambios al disco
+     * @throws IOException Si no se puede crear el directorio o abrir el último segmento
+     */
+    public MappedAuditLog(Path dir, int segmentRecords, int bufferCapacity, Duration forceInterval)
+            throws IOException {
+        if (segmentRecords < 1) {
+            throw new IllegalArgumentException("Los registros por segmento deben ser positivos");
+        }
+        this.dir = dir;
+        this.segmentRecords = segmentRecords;
+        this.forceIntervalNanos = forceInterval.toNanos();
+        this.ring = new AuditRingBuffer(bufferCapacity);
+        
+        Files.createDirectories(dir);
+        List<Path> segments = AuditLogReader.segments(dir);
+        if (!segments.isEmpty()) {
+            segment = AuditSegment.openForAppend(segments.get(segments.size() - 1));
+        }
+        this.baseSequence = segment == null ? 0 : segment.getLastSequence();
+        
+        this.flusher = new Thread(this::flushLoop, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    @Override
+    public void record(AuditAction action, Integer userId, String username, FailureReason reason) {
+        if (closed) {
+            lostRecords.increment();
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        int id = userId == null ? 0 : userId;
+        byte actionCode = action.getCode();
+        byte outcomeCode = AuditRecord.outcomeCode(reason);
+        if (ring.tryPublish(timestamp, id, actionCode, outcomeCode, username) > 0) {
+            wakeFlusher();
+            return;
+        }
+        
+        // Buffer lleno: despertar al hilo de fondo y esperar un hueco
+        producerWaits.increment();
+        do {
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(WAIT_PARK_NANOS);
+            if (closed || !flusher.isAlive()) {
+                lostRecords.increment();
+                return;
+            }
+        } while (ring.tryPublish(timestamp, id, actionCode, outcomeCode, username) < 0);
+        wakeFlusher();
+    }
+    
+    /**
+     * Despierta al hilo de fondo si se durmió. La reserva del hueco (CAS) y
+     * la lectura de {@code idle} son volátiles, igual que la escritura de
+     * {@code idle} y la relectura del buffer en {@link #waitForWork}: al
+     * menos uno de los dos hilos ve al otro.
+     */
+    private void wakeFlusher() {
+        if (idle) {
+            LockSupport.unpark(flusher);
+        }
+    }
+    
+    /**
+     * Espera a que todo lo registrado hasta ahora esté escrito y forzado al disco
+     */
+    public void flush() {
+        long target = ring.getClaimed();
+        forceRequested.accumulateAndGet(target, Math::max);
+        while (forced < target && flusher.isAlive()) {
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(WAIT_PARK_NANOS);
+        }
+    }
+    
+    private void flushLoop() {
+        long lastForce = System.nanoTime();
+        boolean dirty = false;
+        while (true) {
+            boolean stopping = closed;
+            int drained = ring.drain(writer, DRAIN_BATCH);
+            dirty |= drained > 0;
+            
+            long now = System.nanoTime();
+            if (forceRequested.get() > forced || now - lastForce >= forceIntervalNanos) {
+                long consumed = ring.getConsumed();
+                if (dirty) {
+                    force();
+                    dirty = false;
+                }
+                forced = consumed;
+                lastForce = now;
+            }
+            
+            if (drained == 0) {
+                if (stopping && ring.getConsumed() == ring.getClaimed()) {
+                    break;
+                }
+                waitForWork(dirty, lastForce);
+            }
+        }
+        force();
+        forced = ring.getConsumed();
+        closeSegment();
+    }
+    
+    /**
+     * Duerme hasta que haya algo que hacer: sin plazo si no hay nada
+     * pendiente, o hasta el próximo force si quedan cambios sin forzar
+     */
+    private void waitForWork(boolean dirty, long lastForce) {
+        idle = true;
+        try {
+            // Un interrupt no debe convertir park() en una espera activa
+            Thread.interrupted();
+            if (ring.getClaimed() != ring.getConsumed()) {
+                // Un productor reservó un hueco y aún lo está llenando
+                LockSupport.parkNanos(WAIT_PARK_NANOS);
+            } else if (closed || forceRequested.get() > forced) {
+                return;
+            } else if (dirty) {
+                LockSupport.parkNanos(this, forceIntervalNanos - (System.nanoTime() - lastForce));
+            } else {
+                LockSupport.park(this);
+            }
+        } finally {
+            idle = false;
+        }
+    }
+    
+    private void append(long ringSequence, long timestampMillis, int userId, byte actionCode,
+                        byte outcomeCode, String username) {
+        long sequence = baseSequence + ringSequence;
+        try {
+            if (segment == null || segment.isFull()) {
+                rotate(sequence);
+            }
+            segment.append(sequence, timestampMillis, userId, actionCode, outcomeCode, username);
+        } catch (IOException | RuntimeException e) {
+            // El hilo de fondo debe sobrevivir: si muriera, nadie vaciaría el buffer
+            lostRecords.increment();
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Cierra el segmento lleno (forzándolo al disco) y abre el siguiente
+     */
+    private void rotate(long firstSequence) throws IOException {
+        if (segment != null) {
+            segment.force();
+            closeSegment();
+        }
+        segment = AuditSegment.create(dir, firstSequence, segmentRecords);
+    }
+    
+    private void force() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.force();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        segment = null;
+    }
+    
+    /**
+     * Escribe lo pendiente, lo fuerza al disco y detiene el hilo de fondo
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // ========================================
+    // Estadísticas
+    // ========================================
+    
+    /**
+     * Secuencia del último registro escrito en los segmentos
+     */
+    public long getLastSequence() {
+        return baseSequence + ring.getConsumed();
+    }
+    
+    /**
+     * Veces que un llamador encontró el buffer lleno y tuvo que esperar
+     */
+    public long getProducerWaits() {
+        return producerWaits.sum();
+    }
+    
+    /**
+     * Registros descartados por error de E/S o por llegar después de cerrar
+     */
+    public long getLostRecords() {
+        return lostRecords.sum();
+    }
+    
+    public Path getDirectory() {
+        return dir;
+    }
+}
@@ -0,0 +1,206 @@
+package com.taller2solid.presentation;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Ejecuta llamadas al servicio fuera del Event Dispatch Thread
+ *
+ * - El trabajo corre en un SwingWorker; el resultado o el error se entregan
+ *   de vuelta en el EDT.
+ * - Mientras haya tareas en curso se muestra la barra de progreso y el
+ *   cursor de espera, y se deshabilitan los controles indicados. Al terminar,
+ *   cada control recupera el estado que tenía (un botón deshabilitado por
+ *   permisos sigue deshabilitado).
+ * - Las tareas con la misma clave se reemplazan: al enviar una nueva, la
+ *   anterior se cancela y su resultado se descarta (cargas obsoletas).
+ *
+ * Todos los métodos deben llamarse desde el EDT.
+ */
+public class BackgroundTasks {
+
+    private final Component owner;
+    private final JProgressBar progressBar;
+
+    private final Map<String, Task<?>> tasksByKey = new HashMap<>();
+    private final Map<Component, Integer> busyCounts = new HashMap<>();
+    private final Map<Component, Boolean> savedEnabled = new HashMap<>();
+    private int running;
+
+    /**
+     * @param owner Ventana sobre la que se muestran el cursor de espera y los errores
+     */
+    public BackgroundTasks(Component owner) {
+        this.owner = owner;
+        this.progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+    }
+
+    /**
+     * Barra de progreso a ubicar en la ventana; solo es visible con tareas en curso
+     */
+    public JProgressBar getProgressBar() {
+        return progressBar;
+    }
+
+    /**
+     * Ejecuta un trabajo en segundo plano, mostrando los errores en un diálogo
+     * @param key Clave para reemplazar tareas obsoletas (null si no aplica)
+     * @param work Trabajo a ejecutar fuera del EDT
+     * @param onSuccess Recibe el resultado en el EDT
+     * @param disableWhileRunning Controles a deshabilitar mientras tanto
+     */
+    public <T> Task<T> submit(String key, Callable<T> work, Consumer<T> onSuccess,
+                              Component... disableWhileRunning) {
+        return submit(key, work, onSuccess, this::showError, disableWhileRunning);
+    }
+
+    /**
+     * Ejecuta un trabajo en segundo plano
+     * @param key Clave para reemplazar tareas obsoletas (null si no aplica)
+     * @param work Trabajo a ejecutar fuera del EDT
+     * @param onSuccess Recibe el resultado en el EDT
+     * @param onFailure Recibe el error en el EDT
+     * @param disableWhileRunning Controles a deshabilitar mientras tanto
+     */
+    public <T> Task<T> submit(String key, Callable<T> work, Consumer<T> onSuccess,
+                              Consumer<Exception> onFailure, Component... disableWhileRunning) {
+        if (key != null) {
+            cancel(key);
+        }
+        Task<T> task = new Task<>(key, work, onSuccess, onFailure, disableWhileRunning);
+        if (key != null) {
+            tasksByKey.put(key, task);
+        }
+        acquire(task.controls);
+        running++;
+        updateIndicators();
+        task.execute();
+        return task;
+    }
+
+    /**
+     * Cancela la tarea en curso con esa clave; su resultado se descarta
+     * @return true si había una tarea en curso
+     */
+    public boolean cancel(String key) {
+        Task<?> previous = tasksByKey.remove(key);
+        // Sin interrumpir: un hilo interrumpido a mitad de una consulta JDBC
+        // puede dejar la conexión inutilizable
+        return previous != null && previous.cancel(false);
+    }
+
+    /**
+     * Cancela todas las tareas con clave (p.ej. al cerrar la ventana)
+     */
+    public void cancelAll() {
+        for (String key : new ArrayList<>(tasksByKey.keySet())) {
+            cancel(key);
+        }
+    }
+
+    public boolean isRunning(String key) {
+        return tasksByKey.containsKey(key);
+    }
+
+    public boolean isBusy() {
+        return running > 0;
+    }
+
+    private void finished(Task<?> task) {
+        if (task.key != null && tasksByKey.get(task.key) == task) {
+            tasksByKey.remove(task.key);
+        }
+        release(task.controls);
+        running--;
+        updateIndicators();
+    }
+
+    private void acquire(List<Component> controls) {
+        for (Component control : controls) {
+            int count = busyCounts.merge(control, 1, Integer::sum);
+            if (count == 1) {
+                savedEnabled.put(control, control.isEnabled());
+                control.setEnabled(false);
+            }
+        }
+    }
+
+    private void release(List<Component> controls) {
+        for (Component control : controls) {
+            Integer count = busyCounts.merge(control, -1, Integer::sum);
+            if (count != null && count <= 0) {
+                busyCounts.remove(control);
+                control.setEnabled(savedEnabled.remove(control));
+            }
+        }
+    }
+
+    private void updateIndicators() {
+        boolean busy = running > 0;
+        progressBar.setVisible(busy);
+        if (owner != null) {
+            owner.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+        }
+    }
+
+    private void showError(Exception e) {
+        e.printStackTrace();
+        JOptionPane.showMessageDialog(owner, "Error: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    /**
+     * Tarea en curso; se puede cancelar con {@link #cancel(boolean)}
+     */
+    public class Task<T> extends SwingWorker<T, Void> {
+
+        private final String key;
+        private final Callable<T> work;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Exception> onFailure;
+        private final List<Component> controls;
+
+        private Task(String key, Callable<T> work, Consumer<T> onSuccess,
+                     Consumer<Exception> onFailure, Component[] controls) {
+            this.key = key;
+            this.work = work;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+            this.controls = List.of(controls);
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return work.call();
+        }
+
+        @Override
+        protected void done() {
+            finished(this);
+            if (isCancelled()) {
+                return;
+            }
+            T result;
+            try {
+                result = get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                onFailure.accept(cause instanceof Exception ? (Exception) cause : e);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            onSuccess.accept(result);
+        }
+    }
+}
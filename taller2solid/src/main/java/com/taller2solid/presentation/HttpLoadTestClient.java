@@ -0,0 +1,167 @@
+package com.taller2solid.presentation;
+
+import com.taller2solid.service.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cliente de carga para {@link HttpServerApp}
+ *
+ * Inicia sesión una vez y luego varios hilos repiten una petición GET con el
+ * token durante el tiempo indicado. El HttpClient reutiliza las conexiones
+ * (keep-alive), así que se mide el servidor y no el establecimiento de TCP.
+ * Informa peticiones por segundo, errores y percentiles de latencia.
+ *
+ * Uso: HttpLoadTestClient <url base> <usuario> <contraseña> [hilos] [segundos] [ruta]
+ * p.ej. HttpLoadTestClient http://localhost:8080 admin admin123 16 10 /api/users?limit=50
+ */
+public class HttpLoadTestClient {
+    
+    private static final int DEFAULT_THREADS = 16;
+    private static final int DEFAULT_SECONDS = 10;
+    private static final String DEFAULT_PATH = "/api/users?limit=" + UserHttpApi.DEFAULT_PAGE_SIZE;
+    
+    private final HttpClient client;
+    private final String baseUrl;
+    
+    public HttpLoadTestClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+    
+    /**
+     * Inicia sesión y devuelve el token
+     */
+    public String login(String username, String password) throws IOException, InterruptedException {
+        String body = "{\"username\":\"" + escape(username) + "\",\"password\":\"" + escape(password) + "\"}";
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Login rechazado (" + response.statusCode() + "): " + response.body());
+        }
+        int start = response.body().indexOf("\"token\":\"") + 9;
+        return response.body().substring(start, response.body().indexOf('"', start));
+    }
+    
+    /**
+     * Repite la petición desde varios hilos durante el tiempo indicado
+     * @return Resumen de la corrida
+     */
+    public LoadReport run(String path, String token, int threads, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        // Propios de cada corrida: dos corridas no mezclan sus mediciones
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.increment();
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latency.record(System.nanoTime() - sent);
+                }
+            }));
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+        return new LoadReport(latency.getCount(), errors.sum(), System.nanoTime() - start, latency);
+    }
+    
+    /**
+     * Resultado de una corrida de carga
+     */
+    public static class LoadReport {
+        private final long requests;
+        private final long errors;
+        private final long elapsedNanos;
+        private final LatencyHistogram latency;
+        
+        LoadReport(long requests, long errors, long elapsedNanos, LatencyHistogram latency) {
+            this.requests = requests;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latency = latency;
+        }
+        
+        public long getRequests() {
+            return requests;
+        }
+        
+        public long getErrors() {
+            return errors;
+        }
+        
+        public double getRequestsPerSecond() {
+            return requests * 1e9 / elapsedNanos;
+        }
+        
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d peticiones (%d errores) en %.1f s: %.0f req/s%n" +
+                    "latencia ms: p50=%.2f p99=%.2f p999=%.2f max=%.2f",
+                    requests, errors, elapsedNanos / 1e9, getRequestsPerSecond(),
+                    latency.getPercentile(0.50) / 1e6, latency.getPercentile(0.99) / 1e6,
+                    latency.getPercentile(0.999) / 1e6, latency.getMax() / 1e6);
+        }
+    }
+    
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Uso: HttpLoadTestClient <url base> <usuario> <contraseña> [hilos] [segundos] [ruta]");
+            System.exit(2);
+        }
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_THREADS;
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_SECONDS;
+        String path = args.length > 5 ? args[5] : DEFAULT_PATH;
+        
+        HttpLoadTestClient loadTest = new HttpLoadTestClient(args[0]);
+        String token = loadTest.login(args[1], args[2]);
+        System.out.println("Carga: " + threads + " hilos durante " + seconds + " s contra " + path);
+        System.out.println(loadTest.run(path, token, threads, Duration.ofSeconds(seconds)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.taller2solid.presentation;
+
+import com.sun.net.httpserver.HttpServer;
+import com.taller2solid.access.BloomFilterUserRepository;
+import com.taller2solid.access.CachingUserRepository;
+import com.taller2solid.access.IUserRepository;
+import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.audit.MappedAuditLog;
+import com.taller2solid.security.DelegatingPasswordEncoder;
+import com.taller2solid.security.IPasswordEncoder;
+import com.taller2solid.security.PBKDF2PasswordEncoder;
+import com.taller2solid.security.SHA256PasswordEncoder;
+import com.taller2solid.service.LoginThrottler;
+import com.taller2solid.service.ServiceExecutors;
+import com.taller2solid.service.SessionManager;
+import com.taller2solid.service.UserService;
+import com.taller2solid.service.UserServiceMetrics;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Punto de entrada sin interfaz gráfica: expone UserService por HTTP
+ * (ver {@link UserHttpApi})
+ *
+ * Uso: HttpServerApp [puerto] [archivo.db] [directorio de auditoría]
+ */
+public class HttpServerApp {
+    
+    public static final int DEFAULT_PORT = 8080;
+    
+    private static final int BACKLOG = 1024;
+    private static final int PLATFORM_THREADS = 64;
+    
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String dbPath = args.length > 1 ? args[1] : "usuarios.db";
+        String auditDir = args.length > 2 ? args[2] : "auditoria";
+        
+        // Mismas capas que la aplicación Swing
+        UserRepositorySQLite database = new UserRepositorySQLite(dbPath);
+        IUserRepository repository = new BloomFilterUserRepository(
+                new CachingUserRepository(
+                        database,
+                        CachingUserRepository.DEFAULT_MAX_ENTRIES,
+                        Duration.ofMinutes(5)),
+                BloomFilterUserRepository.DEFAULT_EXPECTED_USERS,
+                BloomFilterUserRepository.DEFAULT_FALSE_POSITIVE_RATE,
+                Duration.ofHours(1));
+        repository.initDatabase();
+        database.getAppliedMigrations().forEach(m -> System.out.println("Migración aplicada: " + m));
+        
+        IPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                PBKDF2PasswordEncoder.calibrated(Duration.ofMillis(100)),
+                new SHA256PasswordEncoder());
+        
+        MappedAuditLog auditLog = new MappedAuditLog(Paths.get(auditDir));
+        
+        UserService userService = new UserService(repository, passwordEncoder,
+                Executors.newSingleThreadExecutor(
+                        ServiceExecutors.daemonThreadFactory("user-service-background")),
+                new LoginThrottler(),
+                auditLog);
+        userService.getMetrics().registerMBean(UserServiceMetrics.DEFAULT_OBJECT_NAME);
+        
+        SessionManager sessionManager = new SessionManager();
+        userService.addUserChangeListener(sessionManager);
+        
+        // Un hilo virtual por petición si la JVM los ofrece; si no, un pool fijo
+        ExecutorService executor = ServiceExecutors.newVirtualThreadExecutor("http-worker", PLATFORM_THREADS);
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        new UserHttpApi(userService, sessionManager).register(server);
+        server.setExecutor(executor);
+        server.start();
+        System.out.println("API de usuarios escuchando en http://localhost:" + port + "/api");
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sessionManager.close();
+            auditLog.close();
+            userService.getMetrics().unregisterMBean();
+            repository.closeConnection();
+        }, "http-shutdown"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.taller2solid.presentation;
+
+import com.taller2solid.domain.User;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Escritor de JSON incremental para las respuestas HTTP
+ *
+ * Escribe directamente en la salida a medida que se llama, sin armar el
+ * documento en memoria: una lista de usuarios se envía mientras se recorre.
+ * Solo agrega las comas; el orden de llamadas (nombre, valor) es
+ * responsabilidad de quien lo usa.
+ */
+public class JsonResponseWriter implements Closeable {
+    
+    private final Writer out;
+    // Por cada objeto o arreglo abierto: true si aún no tiene elementos
+    private final Deque<Boolean> firstInScope = new ArrayDeque<>();
+    private boolean afterName;
+    
+    public JsonResponseWriter(Writer out) {
+        this.out = out;
+    }
+    
+    public JsonResponseWriter beginObject() throws IOException {
+        beforeValue();
+        out.write('{');
+        firstInScope.push(true);
+        return this;
+    }
+    
+    public JsonResponseWriter endObject() throws IOException {
+        firstInScope.pop();
+        out.write('}');
+        return this;
+    }
+    
+    public JsonResponseWriter beginArray() throws IOException {
+        beforeValue();
+        out.write('[');
+        firstInScope.push(true);
+        return this;
+    }
+    
+    public JsonResponseWriter endArray() throws IOException {
+        firstInScope.pop();
+        out.write(']');
+        return this;
+    }
+    
+    public JsonResponseWriter name(String name) throws IOException {
+        beforeValue();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+    
+    public JsonResponseWriter value(String value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            out.write("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+    
+    public JsonResponseWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+    
+    public JsonResponseWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+    
+    public JsonResponseWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+    
+    /**
+     * Escribe un usuario como objeto, sin la contraseña
+     */
+    public JsonResponseWriter user(User user) throws IOException {
+        beginObject();
+        name("id").value(user.getId());
+        name("username").value(user.getUsername());
+        name("email").value(user.getEmail());
+        name("role").value(user.getRole() != null ? user.getRole().name() : null);
+        name("active").value(user.isActive());
+        return endObject();
+    }
+    
+    private JsonResponseWriter value(Integer value) throws IOException {
+        return value == null ? nullValue() : value((long) value);
+    }
+    
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!firstInScope.isEmpty()) {
+            if (!firstInScope.pop()) {
+                out.write(',');
+            }
+            firstInScope.push(false);
+        }
+    }
+    
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -12,6 +12,8 @@ public class LoginFrame extends JFrame {
 
     private JTextField txtUsername;
     private JPasswordField txtPassword;
+    private JButton btnLogin;
+    private BackgroundTasks tasks;
 
     public LoginFrame(UserService userService) {
         this.userService = userService;
@@ -36,12 +38,16 @@ public class LoginFrame extends JFrame {
         txtPassword = new JPasswordField();
         panel.add(txtPassword);
 
-        JButton btnLogin = new JButton("Ingresar");
+        btnLogin = new JButton("Ingresar");
         panel.add(new JLabel());
         panel.add(btnLogin);
 
         add(panel, BorderLayout.CENTER);
 
+        // 🔹 El hash de la contraseña y la consulta corren fuera del EDT
+        tasks = new BackgroundTasks(this);
+        add(tasks.getProgressBar(), BorderLayout.SOUTH);
+
         btnLogin.addActionListener(e -> login());
     }
 
@@ -56,8 +62,13 @@ public class LoginFrame extends JFrame {
             return;
         }
 
-        UserService.ServiceResult result =
-                userService.authenticate(username, password);
+        tasks.submit("login",
+                () -> userService.authenticate(username, password),
+                this::onAuthenticated,
+                btnLogin, txtUsername, txtPassword);
+    }
+
+    private void onAuthenticated(UserService.ServiceResult result) {
 
         if (result.isSuccess()) {
 
@@ -1,20 +1,34 @@
 package com.taller2solid.presentation;
 
+import com.taller2solid.domain.Role;
 import com.taller2solid.domain.User;
+import com.taller2solid.service.UserChangeListener;
 import com.taller2solid.service.UserService;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
-import java.util.List;
+import java.util.Map;
 
 public class MainFrame extends JFrame {
 
+    private static final String SEARCH_TASK = "busqueda";
+    private static final int SEARCH_DELAY_MS = 300;
+    private static final int SEARCH_LIMIT = 50;
+
     private final UserService userService;
     private final User loggedUser;
 
     private JTable table;
-    private DefaultTableModel tableModel;
+    private PagedUserTableModel tableModel;
+    private UserSearchTableModel searchModel;
+    private JTextField txtSearch;
+    private Timer searchTimer;
+    private JLabel lblSummary;
+    private BackgroundTasks tasks;
+    private final UserChangeListener refreshListener =
+            event -> SwingUtilities.invokeLater(this::usersChanged);
 
     private JButton btnCreate;
     private JButton btnEdit;
@@ -27,6 +41,10 @@ public class MainFrame extends JFrame {
         initComponents();
         loadUsers();
         applyRolePermissions();
+
+        // 🔹 La tabla, el resumen y la búsqueda se actualizan con cada cambio, sin recargar todo
+        userService.addUserChangeListener(tableModel);
+        userService.addUserChangeListener(refreshListener);
     }
 
     private void initComponents() {
@@ -37,18 +55,53 @@ public class MainFrame extends JFrame {
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setLayout(new BorderLayout(10, 10));
 
+        // 🔹 Las llamadas al servicio corren fuera del EDT
+        tasks = new BackgroundTasks(this);
+
         // 🔹 Información del usuario logueado
         JLabel lblUserInfo = new JLabel(
                 "Usuario: " + loggedUser.getUsername() +
                         " | Rol: " + loggedUser.getRole()
         );
-        lblUserInfo.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-        add(lblUserInfo, BorderLayout.NORTH);
+
+        // 🔹 Resumen (conteos calculados en la base de datos)
+        lblSummary = new JLabel();
+
+        // 🔹 Búsqueda mientras se escribe: espera una pausa antes de consultar
+        txtSearch = new JTextField();
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> runSearch());
+        searchTimer.setRepeats(false);
+        txtSearch.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 0));
+        searchPanel.add(new JLabel("Buscar:"), BorderLayout.WEST);
+        searchPanel.add(txtSearch, BorderLayout.CENTER);
+
+        JPanel headerPanel = new JPanel(new GridLayout(3, 1));
+        headerPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+        headerPanel.add(lblUserInfo);
+        headerPanel.add(lblSummary);
+        headerPanel.add(searchPanel);
+        add(headerPanel, BorderLayout.NORTH);
 
         // 🔹 Tabla
-        tableModel = new DefaultTableModel(
-                new Object[]{"ID", "Username", "Email", "Rol"}, 0
-        );
+        tableModel = new PagedUserTableModel(userService, tasks);
+        searchModel = new UserSearchTableModel();
         table = new JTable(tableModel);
 
         JScrollPane scrollPane = new JScrollPane(table);
@@ -68,6 +121,7 @@ public class MainFrame extends JFrame {
         buttonPanel.add(btnDelete);
         buttonPanel.add(btnRefresh);
         buttonPanel.add(btnLogout);
+        buttonPanel.add(tasks.getProgressBar());
 
         add(buttonPanel, BorderLayout.SOUTH);
 
@@ -80,23 +134,71 @@ public class MainFrame extends JFrame {
     }
 
     private void loadUsers() {
-        tableModel.setRowCount(0);
+        tableModel.refresh();
+        loadSummary();
+        if (isSearching()) {
+            runSearch();
+        }
+    }
+
+    private void usersChanged() {
+        loadSummary();
+        // Los resultados de búsqueda no se actualizan fila a fila: se repite la consulta
+        if (isSearching()) {
+            runSearch();
+        }
+    }
+
+    private boolean isSearching() {
+        return table.getModel() == searchModel;
+    }
+
+    /**
+     * Ejecuta la búsqueda del texto actual; con el texto vacío vuelve a la
+     * lista completa. Enviarla con la misma clave cancela la anterior.
+     */
+    private void runSearch() {
+        String text = txtSearch.getText().trim();
+
+        if (text.isEmpty()) {
+            tasks.cancel(SEARCH_TASK);
+            if (isSearching()) {
+                table.setModel(tableModel);
+            }
+            return;
+        }
 
-        List<User> users = userService.findAllUsers();
+        tasks.submit(SEARCH_TASK, () -> userService.searchUsers(text, SEARCH_LIMIT), results -> {
+            // Una consulta que terminó justo antes de ser reemplazada se descarta
+            if (!text.equals(txtSearch.getText().trim())) {
+                return;
+            }
+            searchModel.setUsers(results);
+            if (!isSearching()) {
+                table.setModel(searchModel);
+            }
+        });
+    }
+
+    private void loadSummary() {
+        tasks.submit("resumen", this::buildSummary, lblSummary::setText);
+    }
 
-        for (User u : users) {
-            tableModel.addRow(new Object[]{
-                    u.getId(),
-                    u.getUsername(),
-                    u.getEmail(),
-                    u.getRole()
-            });
+    private String buildSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Total: ").append(userService.countUsers())
+                .append(" | Activos: ").append(userService.countActiveUsers());
+
+        for (Map.Entry<Role, Long> entry : userService.countUsersByRole().entrySet()) {
+            summary.append(" | ").append(entry.getKey().getDescription())
+                    .append(": ").append(entry.getValue());
         }
+
+        return summary.toString();
     }
 
     private void createUser() {
         new UserFormDialog(this, userService, null).setVisible(true);
-        loadUsers();
     }
 
     private void editUser() {
@@ -107,12 +209,15 @@ public class MainFrame extends JFrame {
             return;
         }
 
-        Integer id = (Integer) tableModel.getValueAt(selectedRow, 0);
+        Integer id = selectedId(selectedRow);
+        if (id == null) {
+            return;
+        }
 
-        userService.findUserById(id).ifPresent(user -> {
-            new UserFormDialog(this, userService, user).setVisible(true);
-            loadUsers();
-        });
+        tasks.submit("editar", () -> userService.findUserById(id),
+                found -> found.ifPresent(user ->
+                        new UserFormDialog(this, userService, user).setVisible(true)),
+                btnEdit);
     }
 
     private void deleteUser() {
@@ -123,7 +228,10 @@ public class MainFrame extends JFrame {
             return;
         }
 
-        Integer id = (Integer) tableModel.getValueAt(selectedRow, 0);
+        Integer id = selectedId(selectedRow);
+        if (id == null) {
+            return;
+        }
 
         int confirm = JOptionPane.showConfirmDialog(
                 this,
@@ -133,10 +241,20 @@ public class MainFrame extends JFrame {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            UserService.ServiceResult result = userService.deleteUser(id);
-            JOptionPane.showMessageDialog(this, result.getMessage());
-            loadUsers();
+            tasks.submit("eliminar", () -> userService.deleteUser(id),
+                    result -> JOptionPane.showMessageDialog(this, result.getMessage()),
+                    btnCreate, btnEdit, btnDelete);
+        }
+    }
+
+    private Integer selectedId(int selectedRow) {
+        Integer id = (Integer) table.getModel().getValueAt(selectedRow, 0);
+
+        if (id == null) {
+            // La página de la fila aún se está cargando
+            JOptionPane.showMessageDialog(this, "Espere a que se carguen los datos");
         }
+        return id;
     }
 
     private void applyRolePermissions() {
@@ -150,6 +268,10 @@ public class MainFrame extends JFrame {
     }
 
     private void logout() {
+        userService.removeUserChangeListener(tableModel);
+        userService.removeUserChangeListener(refreshListener);
+        searchTimer.stop();
+        tasks.cancelAll();
         dispose();
         new LoginFrame(userService).setVisible(true);
     }
@@ -0,0 +1,324 @@
+package com.taller2solid.presentation;
+
+import com.taller2solid.domain.User;
+import com.taller2solid.service.UserChangeEvent;
+import com.taller2solid.service.UserChangeListener;
+import com.taller2solid.service.UserService;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Modelo de tabla que carga los usuarios por páginas a medida que se hace scroll
+ *
+ * - Las páginas se piden con paginación por clave (findUsersPage) y solo se
+ *   mantienen en memoria las últimas {@code maxCachedPages} usadas (LRU).
+ * - Para cada página se recuerda el último ID de la anterior, de modo que
+ *   volver a una zona ya visitada cuesta una sola consulta. Una página
+ *   lejana se pide con findUsersPageAt, que ubica su inicio leyendo solo la
+ *   clave primaria en lugar de recorrer las páginas intermedias.
+ * - El total de filas se cachea y solo se recalcula en {@link #refresh()}.
+ * - Las consultas corren en segundo plano con {@link BackgroundTasks}: una
+ *   fila de una página aún no cargada se muestra vacía y se completa al
+ *   llegar la página. Un refresh descarta las cargas en curso.
+ * - Como UserChangeListener, aplica altas, modificaciones y bajas solo a las
+ *   filas afectadas, sin recargar la tabla (registrarlo con
+ *   {@code userService.addUserChangeListener}).
+ */
+public class PagedUserTableModel extends AbstractTableModel implements UserChangeListener {
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int DEFAULT_MAX_CACHED_PAGES = 10;
+
+    static final String[] COLUMNS = {"ID", "Username", "Email", "Rol"};
+    private static final String COUNT_TASK = "tabla-conteo";
+    private static final String PAGE_TASK = "tabla-pagina-";
+
+    private final UserService userService;
+    private final BackgroundTasks tasks;
+    private final int pageSize;
+    private final int maxCachedPages;
+
+    private final Map<Integer, List<User>> pages;
+    private final TreeMap<Integer, Integer> pageStartAfterId = new TreeMap<>();
+    private final Set<Integer> loadingPages = new LinkedHashSet<>();
+    private int rowCount;
+    private int generation;
+    private int changeVersion;
+
+    public PagedUserTableModel(UserService userService, BackgroundTasks tasks) {
+        this(userService, tasks, DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PAGES);
+    }
+
+    public PagedUserTableModel(UserService userService, BackgroundTasks tasks,
+                               int pageSize, int maxCachedPages) {
+        this.userService = userService;
+        this.tasks = tasks;
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<User>> eldest) {
+                return size() > PagedUserTableModel.this.maxCachedPages;
+            }
+        };
+        pageStartAfterId.put(0, 0);
+        refresh();
+    }
+
+    /**
+     * Descarta las páginas cargadas y vuelve a contar las filas en segundo plano
+     */
+    public void refresh() {
+        int current = ++generation;
+        cancelPageLoads();
+        tasks.submit(COUNT_TASK, userService::countUsers, count -> {
+            if (current != generation) {
+                return;
+            }
+            pages.clear();
+            pageStartAfterId.clear();
+            pageStartAfterId.put(0, 0);
+            rowCount = (int) Math.min(Integer.MAX_VALUE, count);
+            fireTableDataChanged();
+        });
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? Integer.class : Object.class;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return columnValue(getUserAt(rowIndex), columnIndex);
+    }
+
+    /**
+     * Valor de una columna de {@link #COLUMNS} para un usuario (null si no hay usuario)
+     */
+    static Object columnValue(User u, int columnIndex) {
+        if (u == null) {
+            return null;
+        }
+        switch (columnIndex) {
+            case 0:
+                return u.getId();
+            case 1:
+                return u.getUsername();
+            case 2:
+                return u.getEmail();
+            case 3:
+                return u.getRole();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Usuario de una fila; si su página no está cargada, la pide en segundo plano
+     * @return El usuario, o null si la página aún se está cargando o la fila ya no existe
+     */
+    public User getUserAt(int rowIndex) {
+        List<User> page = getPage(rowIndex / pageSize);
+        int offset = rowIndex % pageSize;
+        return page != null && offset < page.size() ? page.get(offset) : null;
+    }
+
+    /**
+     * Número de páginas retenidas en memoria (para diagnóstico)
+     */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    private List<User> getPage(int pageIndex) {
+        List<User> page = pages.get(pageIndex);
+        if (page == null) {
+            loadPage(pageIndex);
+        }
+        return page;
+    }
+
+    private void loadPage(int pageIndex) {
+        if (!loadingPages.add(pageIndex)) {
+            return;
+        }
+        // Con scroll rápido, las cargas más viejas ya no son visibles
+        if (loadingPages.size() > maxCachedPages) {
+            Integer oldest = loadingPages.iterator().next();
+            loadingPages.remove(oldest);
+            tasks.cancel(PAGE_TASK + oldest);
+        }
+        int current = generation;
+        int version = changeVersion;
+        Integer knownAfterId = pageStartAfterId.get(pageIndex);
+        tasks.submit(PAGE_TASK + pageIndex,
+                () -> knownAfterId != null
+                        ? userService.findUsersPage(knownAfterId, pageSize)
+                        : userService.findUsersPageAt((long) pageIndex * pageSize, pageSize),
+                page -> {
+                    loadingPages.remove(pageIndex);
+                    if (current != generation) {
+                        return;
+                    }
+                    if (version == changeVersion) {
+                        applyPage(pageIndex, page);
+                    } else {
+                        // Se leyó antes de un cambio: se vuelve a pedir si sigue visible
+                        fireRowsUpdated(pageIndex);
+                    }
+                },
+                e -> {
+                    loadingPages.remove(pageIndex);
+                    e.printStackTrace();
+                });
+    }
+
+    private void applyPage(int pageIndex, List<User> page) {
+        if (!page.isEmpty()) {
+            pageStartAfterId.put(pageIndex + 1, page.get(page.size() - 1).getId());
+        }
+        // También se guarda una página vacía (la tabla se encogió desde el
+        // último conteo), para no volver a pedirla en cada repintado
+        pages.put(pageIndex, new ArrayList<>(page));
+        fireRowsUpdated(pageIndex);
+    }
+
+    private void fireRowsUpdated(int pageIndex) {
+        int firstRow = pageIndex * pageSize;
+        int lastRow = Math.min(rowCount, firstRow + pageSize) - 1;
+        if (firstRow <= lastRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * Los eventos llegan en el hilo que hizo el cambio; se aplican en el EDT
+     */
+    @Override
+    public void userChanged(UserChangeEvent event) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            applyChange(event);
+        } else {
+            SwingUtilities.invokeLater(() -> applyChange(event));
+        }
+    }
+
+    private void applyChange(UserChangeEvent event) {
+        // Las páginas que se estaban leyendo podrían no incluir el cambio
+        changeVersion++;
+        if (tasks.isRunning(COUNT_TASK)) {
+            // El conteo en curso podría no incluirlo: se vuelve a contar
+            refresh();
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED:
+                applyCreated(event.getUser());
+                break;
+            case UPDATED:
+                applyUpdated(event.getUser());
+                break;
+            case DELETED:
+                applyDeleted(event.getUserId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void applyCreated(User user) {
+        // Los IDs son crecientes: el usuario nuevo va en la última fila
+        int row = rowCount;
+        int pageIndex = row / pageSize;
+        List<User> page = pages.get(pageIndex);
+        if (page != null) {
+            boolean fits = page.size() == row % pageSize
+                    && (page.isEmpty() || page.get(page.size() - 1).getId() < user.getId());
+            if (!fits) {
+                refresh();
+                return;
+            }
+            page.add(user);
+        }
+        forgetPagesAfter(pageIndex);
+        rowCount++;
+        fireTableRowsInserted(row, row);
+    }
+
+    private void applyUpdated(User user) {
+        int row = findCachedRow(user.getId());
+        if (row < 0) {
+            // Su página no está en memoria; se leerá actualizada al mostrarse
+            return;
+        }
+        pages.get(row / pageSize).set(row % pageSize, user);
+        fireTableRowsUpdated(row, row);
+    }
+
+    private void applyDeleted(Integer userId) {
+        int row = findCachedRow(userId);
+        if (row < 0) {
+            // Sin la fila en memoria no se sabe su posición: se recalcula todo
+            refresh();
+            return;
+        }
+        int pageIndex = row / pageSize;
+        // Las filas siguientes se corren una posición: esa página y las
+        // posteriores se vuelven a leer cuando se muestren
+        pages.remove(pageIndex);
+        forgetPagesAfter(pageIndex);
+        pages.keySet().removeIf(index -> index > pageIndex);
+        rowCount--;
+        fireTableRowsDeleted(row, row);
+    }
+
+    private int findCachedRow(Integer userId) {
+        for (Map.Entry<Integer, List<User>> entry : pages.entrySet()) {
+            List<User> page = entry.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                if (page.get(i).getId().equals(userId)) {
+                    return entry.getKey() * pageSize + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Olvida dónde empiezan las páginas posteriores (su ID inicial puede cambiar)
+     */
+    private void forgetPagesAfter(int pageIndex) {
+        pageStartAfterId.tailMap(pageIndex, false).clear();
+    }
+
+    private void cancelPageLoads() {
+        for (Integer pageIndex : loadingPages) {
+            tasks.cancel(PAGE_TASK + pageIndex);
+        }
+        loadingPages.clear();
+    }
+}
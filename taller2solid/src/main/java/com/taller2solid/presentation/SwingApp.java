@@ -1,17 +1,32 @@
 package com.taller2solid.presentation;
 
+import com.taller2solid.access.BloomFilterUserRepository;
+import com.taller2solid.access.CachingUserRepository;
 import com.taller2solid.access.IUserRepository;
 import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.audit.MappedAuditLog;
+import com.taller2solid.security.DelegatingPasswordEncoder;
 import com.taller2solid.security.IPasswordEncoder;
+import com.taller2solid.security.PBKDF2PasswordEncoder;
 import com.taller2solid.security.SHA256PasswordEncoder;
+import com.taller2solid.service.LoginThrottler;
+import com.taller2solid.service.ServiceExecutors;
+import com.taller2solid.service.SessionManager;
 import com.taller2solid.service.UserService;
+import com.taller2solid.service.UserServiceMetrics;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.Executors;
 
 public class SwingApp {
     
     // Service ya configurado y listo para usar
     private static UserService userService;
+    private static SessionManager sessionManager;
+    private static MappedAuditLog auditLog;
     
     public static void main(String[] args) {
         // Configurar Look and Feel nativo del sistema
@@ -35,15 +50,54 @@ public class SwingApp {
      */
     private static void initializeServices() {
         
-        // Configurar repositorio (capa de acceso a datos)
-        IUserRepository repository = new UserRepositorySQLite("usuarios.db");
+        // Configurar repositorio (capa de acceso a datos) con caché de lectura
+        // y filtro de Bloom para las verificaciones de username disponible
+        UserRepositorySQLite database = new UserRepositorySQLite("usuarios.db");
+        IUserRepository repository = new BloomFilterUserRepository(
+                new CachingUserRepository(
+                        database,
+                        CachingUserRepository.DEFAULT_MAX_ENTRIES,
+                        Duration.ofMinutes(5)),
+                BloomFilterUserRepository.DEFAULT_EXPECTED_USERS,
+                BloomFilterUserRepository.DEFAULT_FALSE_POSITIVE_RATE,
+                Duration.ofHours(1));
         repository.initDatabase();
+        database.getAppliedMigrations().forEach(m -> System.out.println("Migración aplicada: " + m));
+        // La ventana termina con EXIT_ON_CLOSE: cerrar el repositorio al salir
+        // para que el pool ejecute PRAGMA optimize y las estadísticas del
+        // planificador se mantengan al día
+        Runtime.getRuntime().addShutdownHook(new Thread(repository::closeConnection, "repository-shutdown"));
         
-        // Configurar encriptador de contraseñas
-        IPasswordEncoder passwordEncoder = new SHA256PasswordEncoder();
+        // Configurar encriptador de contraseñas: PBKDF2 calibrado a ~100 ms por hash,
+        // aceptando los hashes SHA-256 antiguos (se regeneran al iniciar sesión)
+        IPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                PBKDF2PasswordEncoder.calibrated(Duration.ofMillis(100)),
+                new SHA256PasswordEncoder());
         
-        // Crear el servicio (capa de lógica de negocio)
-        userService = new UserService(repository, passwordEncoder);
+        // Bitácora de auditoría de altas, cambios, bajas y logins; si no se
+        // puede abrir, la aplicación sigue sin auditar
+        try {
+            auditLog = new MappedAuditLog(Paths.get("auditoria"));
+            Runtime.getRuntime().addShutdownHook(new Thread(auditLog::close, "audit-shutdown"));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        
+        // Crear el servicio (capa de lógica de negocio), limitando los intentos
+        // de login para que una ráfaga no llegue a la base de datos
+        userService = new UserService(repository, passwordEncoder,
+                Executors.newSingleThreadExecutor(
+                        ServiceExecutors.daemonThreadFactory("user-service-background")),
+                new LoginThrottler(),
+                auditLog);
+        
+        // Publicar las métricas del servicio por JMX (jconsole, VisualVM)
+        userService.getMetrics().registerMBean(UserServiceMetrics.DEFAULT_OBJECT_NAME);
+        
+        // Sesiones para clientes que no deben autenticarse en cada operación;
+        // se revocan cuando el usuario se modifica o elimina
+        sessionManager = new SessionManager();
+        userService.addUserChangeListener(sessionManager);
     }
     
     /**
@@ -52,4 +106,11 @@ public class SwingApp {
     public static UserService getUserService() {
         return userService;
     }
+    
+    /**
+     * Obtener el administrador de sesiones
+     */
+    public static SessionManager getSessionManager() {
+        return sessionManager;
+    }
 }
\ No newline at end of file
@@ -16,6 +16,8 @@ public class UserFormDialog extends JDialog {
     private JTextField txtEmail;
     private JPasswordField txtPassword;
     private JComboBox<Role> cmbRole;
+    private JButton btnSave;
+    private BackgroundTasks tasks;
 
     public UserFormDialog(JFrame parent,
                           UserService userService,
@@ -30,7 +32,7 @@ public class UserFormDialog extends JDialog {
         setTitle(user == null ? "Crear Usuario" : "Editar Usuario");
         setSize(350, 250);
         setLocationRelativeTo(getParent());
-        setLayout(new GridLayout(5, 2, 5, 5));
+        setLayout(new GridLayout(6, 2, 5, 5));
 
         add(new JLabel("Username:"));
         txtUsername = new JTextField();
@@ -48,10 +50,15 @@ public class UserFormDialog extends JDialog {
         cmbRole = new JComboBox<>(Role.values());
         add(cmbRole);
 
-        JButton btnSave = new JButton("Guardar");
+        btnSave = new JButton("Guardar");
         add(new JLabel());
         add(btnSave);
 
+        // 🔹 El guardado (hash y base de datos) corre fuera del EDT
+        tasks = new BackgroundTasks(this);
+        add(new JLabel());
+        add(tasks.getProgressBar());
+
         if (user != null) {
             txtUsername.setText(user.getUsername());
             txtEmail.setText(user.getEmail());
@@ -75,14 +82,14 @@ public class UserFormDialog extends JDialog {
                 role
         );
 
-        UserService.ServiceResult result;
-
-        if (user == null) {
-            result = userService.createUser(newUser);
-        } else {
-            result = userService.updateUser(newUser);
-        }
+        tasks.submit("guardar", () -> user == null
+                        ? userService.createUser(newUser)
+                        : userService.updateUser(newUser),
+                this::onSaved,
+                btnSave, txtUsername, txtEmail, txtPassword, cmbRole);
+    }
 
+    private void onSaved(UserService.ServiceResult result) {
         JOptionPane.showMessageDialog(this, result.getMessage());
 
         if (result.isSuccess()) {
@@ -0,0 +1,380 @@
+package com.taller2solid.presentation;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import com.taller2solid.service.FailureReason;
+import com.taller2solid.service.SessionManager;
+import com.taller2solid.service.SessionManager.Session;
+import com.taller2solid.service.UserService;
+import com.taller2solid.service.UserService.ServiceResult;
+import com.taller2solid.tools.JsonUserReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * API HTTP/JSON sobre UserService
+ * Aplicando SRP (Single Responsibility Principle):
+ * - Responsabilidad única: Traducir HTTP a llamadas del servicio (sin lógica de negocio)
+ *
+ * Rutas (todas bajo /api):
+ * - POST   /login          {username, password} → {token, user}
+ * - POST   /logout         cierra la sesión del token
+ * - GET    /users?afterId=&limit=  página por clave → {users, nextAfterId}
+ * - GET    /users/{id}
+ * - POST   /users          crear (solo ADMIN)
+ * - PUT    /users/{id}     modificar los campos enviados (solo ADMIN)
+ * - DELETE /users/{id}     eliminar (solo ADMIN)
+ *
+ * Salvo el login, todas requieren {@code Authorization: Bearer <token>}. Las
+ * respuestas se escriben en streaming (chunked) y la conexión se mantiene
+ * abierta entre peticiones (keep-alive de HTTP/1.1).
+ */
+public class UserHttpApi implements HttpHandler {
+    
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    private static final String CONTEXT = "/api";
+    
+    private final UserService userService;
+    private final SessionManager sessionManager;
+    
+    public UserHttpApi(UserService userService, SessionManager sessionManager) {
+        this.userService = userService;
+        this.sessionManager = sessionManager;
+    }
+    
+    /**
+     * Registra la API en el servidor bajo /api
+     */
+    public void register(HttpServer server) {
+        server.createContext(CONTEXT, this);
+    }
+    
+    /**
+     * Error que se responde al cliente con un código HTTP
+     */
+    private static class HttpError extends Exception {
+        final int status;
+        
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+    
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (HttpError e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            sendError(exchange, 500, "Error interno del servidor");
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void route(HttpExchange exchange) throws IOException, HttpError {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+        
+        if (path.equals("/login")) {
+            requireMethod(method, "POST");
+            login(exchange);
+        } else if (path.equals("/logout")) {
+            requireMethod(method, "POST");
+            logout(exchange);
+        } else if (path.equals("/users") || path.equals("/users/")) {
+            Session session = authenticate(exchange);
+            if (method.equals("GET")) {
+                listUsers(exchange);
+            } else if (method.equals("POST")) {
+                requireAdmin(session);
+                createUser(exchange);
+            } else {
+                throw new HttpError(405, "Método no permitido");
+            }
+        } else if (path.startsWith("/users/")) {
+            Session session = authenticate(exchange);
+            Integer id = parseId(path.substring("/users/".length()));
+            switch (method) {
+                case "GET":
+                    getUser(exchange, id);
+                    break;
+                case "PUT":
+                    requireAdmin(session);
+                    updateUser(exchange, id);
+                    break;
+                case "DELETE":
+                    requireAdmin(session);
+                    deleteUser(exchange, id);
+                    break;
+                default:
+                    throw new HttpError(405, "Método no permitido");
+            }
+        } else {
+            throw new HttpError(404, "Ruta no encontrada");
+        }
+    }
+    
+    // ========================================
+    // Sesión
+    // ========================================
+    
+    private void login(HttpExchange exchange) throws IOException, HttpError {
+        Map<String, String> body = readBody(exchange);
+        ServiceResult result = userService.authenticate(body.get("username"), body.get("password"));
+        if (!result.isSuccess()) {
+            throw new HttpError(statusFor(result.getReason()), result.getMessage());
+        }
+        String token = sessionManager.createSession(result.getUser());
+        try (JsonResponseWriter json = startJson(exchange, 200)) {
+            json.beginObject();
+            json.name("token").value(token);
+            json.name("user").user(result.getUser());
+            json.endObject();
+        }
+    }
+    
+    private void logout(HttpExchange exchange) throws IOException, HttpError {
+        if (!sessionManager.invalidate(bearerToken(exchange))) {
+            throw new HttpError(401, "Sesión inválida o expirada");
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+    
+    private Session authenticate(HttpExchange exchange) throws HttpError {
+        return sessionManager.validate(bearerToken(exchange))
+                .orElseThrow(() -> new HttpError(401, "Sesión inválida o expirada"));
+    }
+    
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return header.substring(7).trim();
+    }
+    
+    private static void requireAdmin(Session session) throws HttpError {
+        if (session.getRole() != Role.ADMIN) {
+            throw new HttpError(403, "Permiso denegado");
+        }
+    }
+    
+    // ========================================
+    // Usuarios
+    // ========================================
+    
+    private void listUsers(HttpExchange exchange) throws IOException, HttpError {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        int afterId = parseInt(query.get("afterId"), 0, "afterId");
+        int limit = parseInt(query.get("limit"), DEFAULT_PAGE_SIZE, "limit");
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new HttpError(400, "limit debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        List<User> page = userService.findUsersPage(afterId, limit);
+        try (JsonResponseWriter json = startJson(exchange, 200)) {
+            json.beginObject();
+            json.name("users").beginArray();
+            for (User user : page) {
+                json.user(user);
+            }
+            json.endArray();
+            json.name("nextAfterId");
+            if (page.size() == limit) {
+                json.value(page.get(page.size() - 1).getId());
+            } else {
+                json.nullValue();
+            }
+            json.endObject();
+        }
+    }
+    
+    private void getUser(HttpExchange exchange, Integer id) throws IOException, HttpError {
+        User user = userService.findUserById(id)
+                .orElseThrow(() -> new HttpError(404, "Usuario no encontrado"));
+        sendUser(exchange, 200, user);
+    }
+    
+    private void createUser(HttpExchange exchange) throws IOException, HttpError {
+        Map<String, String> body = readBody(exchange);
+        User user = new User(null, body.get("username"), body.get("password"), body.get("email"),
+                             parseRole(body.get("role")));
+        ServiceResult result = userService.createUser(user);
+        if (!result.isSuccess()) {
+            throw new HttpError(statusFor(result.getReason()), result.getMessage());
+        }
+        sendUser(exchange, 201, result.getUser());
+    }
+    
+    /**
+     * Modifica solo los campos presentes en el cuerpo; sin password se conserva la actual
+     */
+    private void updateUser(HttpExchange exchange, Integer id) throws IOException, HttpError {
+        Map<String, String> body = readBody(exchange);
+        User existing = userService.findUserById(id)
+                .orElseThrow(() -> new HttpError(404, "Usuario no encontrado"));
+        User user = new User(id,
+                body.containsKey("username") ? body.get("username") : existing.getUsername(),
+                body.containsKey("password") ? body.get("password") : existing.getPassword(),
+                body.containsKey("email") ? body.get("email") : existing.getEmail(),
+                body.containsKey("role") ? parseRole(body.get("role")) : existing.getRole());
+        user.setActive(body.containsKey("active") ? parseBoolean(body.get("active")) : existing.isActive());
+        ServiceResult result = userService.updateUser(user);
+        if (!result.isSuccess()) {
+            throw new HttpError(statusFor(result.getReason()), result.getMessage());
+        }
+        sendUser(exchange, 200, result.getUser());
+    }
+    
+    private void deleteUser(HttpExchange exchange, Integer id) throws IOException, HttpError {
+        ServiceResult result = userService.deleteUser(id);
+        if (!result.isSuccess()) {
+            throw new HttpError(statusFor(result.getReason()), result.getMessage());
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+    
+    // ========================================
+    // Entrada y salida
+    // ========================================
+    
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException, HttpError {
+        JsonUserReader reader = new JsonUserReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        try {
+            Map<String, String> fields = reader.nextFields();
+            if (fields == null) {
+                throw new HttpError(400, "Se requiere un objeto JSON en el cuerpo");
+            }
+            return fields;
+        } catch (IOException e) {
+            throw new HttpError(400, e.getMessage());
+        }
+    }
+    
+    private static JsonResponseWriter startJson(HttpExchange exchange, int status) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        // Longitud 0: cuerpo chunked, se envía mientras se escribe
+        exchange.sendResponseHeaders(status, 0);
+        return new JsonResponseWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)));
+    }
+    
+    private static void sendUser(HttpExchange exchange, int status, User user) throws IOException {
+        try (JsonResponseWriter json = startJson(exchange, status)) {
+            json.user(user);
+        }
+    }
+    
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            // La respuesta ya empezó: solo queda cortar la conexión
+            return;
+        }
+        try (JsonResponseWriter json = startJson(exchange, status)) {
+            json.beginObject().name("error").value(message).endObject();
+        }
+    }
+    
+    /**
+     * Código HTTP para cada causa de fallo del servicio
+     */
+    static int statusFor(FailureReason reason) {
+        if (reason == null) {
+            return 200;
+        }
+        switch (reason) {
+            case VALIDATION:
+                return 400;
+            case INVALID_CREDENTIALS:
+                return 401;
+            case ACCOUNT_DISABLED:
+                return 403;
+            case NOT_FOUND:
+                return 404;
+            case DUPLICATE_USERNAME:
+                return 409;
+            case THROTTLED:
+                return 429;
+            default:
+                return 500;
+        }
+    }
+    
+    private static void requireMethod(String method, String expected) throws HttpError {
+        if (!method.equals(expected)) {
+            throw new HttpError(405, "Método no permitido");
+        }
+    }
+    
+    private static Integer parseId(String text) throws HttpError {
+        try {
+            return Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, "ID inválido: " + text);
+        }
+    }
+    
+    private static int parseInt(String text, int defaultValue, String name) throws HttpError {
+        if (text == null || text.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, name + " inválido: " + text);
+        }
+    }
+    
+    private static Role parseRole(String text) throws HttpError {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Role.valueOf(text.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new HttpError(400, "Rol inválido: " + text);
+        }
+    }
+    
+    private static boolean parseBoolean(String text) throws HttpError {
+        if ("true".equals(text)) {
+            return true;
+        }
+        if ("false".equals(text)) {
+            return false;
+        }
+        throw new HttpError(400, "active debe ser true o false");
+    }
+    
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                       URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
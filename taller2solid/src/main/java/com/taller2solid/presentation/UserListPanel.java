@@ -1,19 +1,16 @@
 package com.taller2solid.presentation;
 
-import com.taller2solid.domain.User;
 import com.taller2solid.service.UserService;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 public class UserListPanel extends JPanel {
 
     private final UserService userService;
 
     private JTable table;
-    private DefaultTableModel tableModel;
+    private PagedUserTableModel tableModel;
 
     public UserListPanel(UserService userService) {
         this.userService = userService;
@@ -24,26 +21,30 @@ public class UserListPanel extends JPanel {
     private void initComponents() {
         setLayout(new BorderLayout());
 
-        tableModel = new DefaultTableModel(
-                new Object[]{"ID", "Username", "Email", "Rol"}, 0);
+        BackgroundTasks tasks = new BackgroundTasks(this);
+        tableModel = new PagedUserTableModel(userService, tasks);
 
         table = new JTable(tableModel);
 
         add(new JScrollPane(table), BorderLayout.CENTER);
+        add(tasks.getProgressBar(), BorderLayout.SOUTH);
     }
 
     public void loadUsers() {
-        tableModel.setRowCount(0);
-
-        List<User> users = userService.findAllUsers();
-
-        for (User u : users) {
-            tableModel.addRow(new Object[]{
-                    u.getId(),
-                    u.getUsername(),
-                    u.getEmail(),
-                    u.getRole()
-            });
-        }
+        tableModel.refresh();
+    }
+
+    // 🔹 Recibe los cambios de usuarios solo mientras el panel está en pantalla
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        userService.addUserChangeListener(tableModel);
+    }
+
+    @Override
+    public void removeNotify() {
+        userService.removeUserChangeListener(tableModel);
+        super.removeNotify();
     }
 }
@@ -0,0 +1,56 @@
+package com.taller2solid.presentation;
+
+import com.taller2solid.domain.User;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modelo de tabla con los resultados de una búsqueda, en orden de relevancia
+ *
+ * Usa las mismas columnas que {@link PagedUserTableModel}. Los resultados
+ * son pocos (acotados por UserService.MAX_SEARCH_RESULTS), así que se
+ * guardan completos.
+ */
+public class UserSearchTableModel extends AbstractTableModel {
+
+    private List<User> users = new ArrayList<>();
+
+    /**
+     * Reemplaza los resultados mostrados
+     */
+    public void setUsers(List<User> users) {
+        this.users = new ArrayList<>(users);
+        fireTableDataChanged();
+    }
+
+    public User getUserAt(int rowIndex) {
+        return rowIndex < users.size() ? users.get(rowIndex) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return users.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return PagedUserTableModel.COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return PagedUserTableModel.COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? Integer.class : Object.class;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return PagedUserTableModel.columnValue(getUserAt(rowIndex), columnIndex);
+    }
+}
@@ -0,0 +1,50 @@
+package com.taller2solid.security;
+/**
+ * Encriptador que migra hashes antiguos a uno nuevo
+ * Aplicando OCP (Open/Closed Principle):
+ * - Combina implementaciones existentes sin modificarlas
+ * 
+ * - Los hashes nuevos siempre se generan con el encriptador actual
+ * - Los hashes antiguos se siguen verificando con el encriptador heredado
+ * - needsRehash indica cuándo un hash almacenado debe regenerarse
+ */
+public class DelegatingPasswordEncoder implements IPasswordEncoder {
+    
+    private final IPasswordEncoder current;
+    private final IPasswordEncoder legacy;
+    
+    /**
+     * @param current Encriptador para los hashes nuevos
+     * @param legacy Encriptador con el que se generaron los hashes antiguos
+     */
+    public DelegatingPasswordEncoder(IPasswordEncoder current, IPasswordEncoder legacy) {
+        this.current = current;
+        this.legacy = legacy;
+    }
+    
+    @Override
+    public String encode(String rawPassword) {
+        return current.encode(rawPassword);
+    }
+    
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (current.isEncoded(encodedPassword)) {
+            return current.matches(rawPassword, encodedPassword);
+        }
+        if (legacy.isEncoded(encodedPassword)) {
+            return legacy.matches(rawPassword, encodedPassword);
+        }
+        return false;
+    }
+    
+    @Override
+    public boolean isEncoded(String value) {
+        return current.isEncoded(value) || legacy.isEncoded(value);
+    }
+    
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return !current.isEncoded(encodedPassword) || current.needsRehash(encodedPassword);
+    }
+}
@@ -15,4 +15,20 @@ public interface IPasswordEncoder {
      * Verifica si una contraseña coincide con el hash
      */
     boolean matches(String rawPassword, String encodedPassword);
+    
+    /**
+     * Indica si un valor ya es un hash producido por este encriptador
+     * (y por tanto no debe volver a encriptarse)
+     */
+    default boolean isEncoded(String value) {
+        return false;
+    }
+    
+    /**
+     * Indica si un hash almacenado debería regenerarse con la configuración
+     * actual (algoritmo antiguo o factor de trabajo menor)
+     */
+    default boolean needsRehash(String encodedPassword) {
+        return false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.taller2solid.security;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.time.Duration;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+/**
+ * Implementación de encriptación usando PBKDF2 con HMAC-SHA256 (incluido en el JDK)
+ * Aplicando OCP (Open/Closed Principle):
+ * - Nueva implementación de IPasswordEncoder sin modificar las existentes
+ * 
+ * Cada hash lleva sal aleatoria y es autodescriptivo:
+ * {@code $pbkdf2-sha256$<iteraciones>$<sal base64>$<hash base64>}
+ * así se puede verificar aunque el factor de trabajo cambie después.
+ * 
+ * El número de iteraciones puede calibrarse al arrancar con
+ * {@link #calibrated(Duration)} para que cada hash tarde lo que se desee
+ * en la máquina actual. La calibración se redondea a múltiplos de
+ * {@link #MIN_ITERATIONS} y un hash solo se considera obsoleto si tiene
+ * menos del {@link #REHASH_THRESHOLD} de las iteraciones actuales: así el
+ * ruido de medición entre un arranque y otro no provoca regeneraciones.
+ * 
+ * Los hashes con más de {@link #MAX_ITERATIONS} iteraciones no se reconocen
+ * (p.ej. uno importado con un factor de trabajo desmedido): verificarlos
+ * consumiría la CPU en cada intento de login.
+ */
+public class PBKDF2PasswordEncoder implements IPasswordEncoder {
+    
+    public static final String PREFIX = "$pbkdf2-sha256$";
+    public static final int MIN_ITERATIONS = 10_000;
+    /** Máximo de iteraciones aceptado, tanto al calibrar como en un hash almacenado */
+    public static final int MAX_ITERATIONS = 2_000_000;
+    /** Fracción de las iteraciones actuales por debajo de la cual se regenera un hash */
+    public static final double REHASH_THRESHOLD = 0.8;
+    
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int CALIBRATION_ROUNDS = 3;
+    
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+    
+    public PBKDF2PasswordEncoder(int iterations) {
+        if (iterations < 1 || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException(
+                    "El número de iteraciones debe estar entre 1 y " + MAX_ITERATIONS);
+        }
+        this.iterations = iterations;
+    }
+    
+    /**
+     * Crea un encriptador cuyo factor de trabajo hace que cada hash tarde
+     * aproximadamente {@code targetLatency} en esta máquina
+     * (entre {@link #MIN_ITERATIONS} y {@link #MAX_ITERATIONS})
+     */
+    public static PBKDF2PasswordEncoder calibrated(Duration targetLatency) {
+        return new PBKDF2PasswordEncoder(calibrateIterations(targetLatency));
+    }
+    
+    /**
+     * Mide el costo de {@link #MIN_ITERATIONS} iteraciones (tomando la mejor
+     * de varias rondas para descontar el calentamiento de la JVM) y escala
+     * linealmente hasta la latencia objetivo, redondeando al múltiplo de
+     * {@link #MIN_ITERATIONS} más cercano
+     */
+    public static int calibrateIterations(Duration targetLatency) {
+        byte[] salt = new byte[SALT_BYTES];
+        char[] sample = "calibracion123".toCharArray();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            derive(sample, salt, MIN_ITERATIONS);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double scale = (double) targetLatency.toNanos() / Math.max(1, best);
+        long iterations = Math.round(scale) * (long) MIN_ITERATIONS;
+        return (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, iterations));
+    }
+    
+    @Override
+    public String encode(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(rawPassword.toCharArray(), salt, iterations);
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+    }
+    
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        ParsedHash parsed = ParsedHash.parse(encodedPassword);
+        if (parsed == null) {
+            return false;
+        }
+        byte[] candidate = derive(rawPassword.toCharArray(), parsed.salt, parsed.iterations);
+        // Comparación en tiempo constante
+        return MessageDigest.isEqual(candidate, parsed.hash);
+    }
+    
+    @Override
+    public boolean isEncoded(String value) {
+        return ParsedHash.parse(value) != null;
+    }
+    
+    /**
+     * Se debe regenerar si el hash no es PBKDF2 o usa claramente menos
+     * iteraciones que las actuales (menos del {@link #REHASH_THRESHOLD})
+     */
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        ParsedHash parsed = ParsedHash.parse(encodedPassword);
+        return parsed == null || parsed.iterations < iterations * REHASH_THRESHOLD;
+    }
+    
+    public int getIterations() {
+        return iterations;
+    }
+    
+    private static byte[] derive(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new RuntimeException("Error al encriptar la contraseña", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+    
+    /**
+     * Partes de un hash con formato {@code $pbkdf2-sha256$iter$sal$hash}
+     */
+    private static final class ParsedHash {
+        final int iterations;
+        final byte[] salt;
+        final byte[] hash;
+        
+        private ParsedHash(int iterations, byte[] salt, byte[] hash) {
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+        
+        static ParsedHash parse(String encoded) {
+            if (encoded == null || !encoded.startsWith(PREFIX)) {
+                return null;
+            }
+            String[] parts = encoded.substring(PREFIX.length()).split("\\$");
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                int iterations = Integer.parseInt(parts[0]);
+                byte[] salt = Base64.getDecoder().decode(parts[1]);
+                byte[] hash = Base64.getDecoder().decode(parts[2]);
+                if (iterations < 1 || iterations > MAX_ITERATIONS
+                        || salt.length == 0 || hash.length == 0) {
+                    return null;
+                }
+                return new ParsedHash(iterations, salt, hash);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
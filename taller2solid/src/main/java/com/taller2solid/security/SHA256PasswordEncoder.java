@@ -27,6 +27,23 @@ public class SHA256PasswordEncoder implements IPasswordEncoder {
         return encodedRaw.equals(encodedPassword);
     }
     
+    /**
+     * Un hash SHA-256 son exactamente 64 caracteres hexadecimales en minúscula
+     */
+    @Override
+    public boolean isEncoded(String value) {
+        if (value == null || value.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     private String bytesToHex(byte[] hash) {
         StringBuilder hexString = new StringBuilder(2 * hash.length);
         for (byte b : hash) {
@@ -0,0 +1,141 @@
+package com.taller2solid.service;
+
+import com.taller2solid.domain.User;
+import com.taller2solid.service.UserService.ServiceResult;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fachada asíncrona de UserService
+ * Aplicando SRP (Single Responsibility Principle):
+ * - La lógica de negocio sigue en UserService; esta clase solo decide
+ *   en qué hilo y con qué límites se ejecuta
+ *
+ * - Cada operación devuelve un CompletableFuture y se ejecuta en un hilo
+ *   virtual cuando la JVM los soporta (ver {@link ServiceExecutors})
+ * - Un semáforo limita las operaciones simultáneas, para no agotar las
+ *   conexiones de SQLite con miles de solicitudes en vuelo
+ * - Cada operación tiene un tiempo máximo; al vencer, o si el llamador
+ *   cancela el future, se interrumpe la tarea en curso
+ */
+public class AsyncUserService implements AutoCloseable {
+    
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    
+    private final UserService userService;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    
+    public AsyncUserService(UserService userService) {
+        this(userService, DEFAULT_MAX_CONCURRENCY, DEFAULT_TIMEOUT);
+    }
+    
+    /**
+     * @param userService Servicio síncrono
+     * @param maxConcurrency Máximo de operaciones ejecutándose a la vez
+     * @param timeout Tiempo máximo de cada operación
+     */
+    public AsyncUserService(UserService userService, int maxConcurrency, Duration timeout) {
+        this(userService,
+             ServiceExecutors.newVirtualThreadExecutor("async-user-service", maxConcurrency),
+             maxConcurrency, timeout);
+    }
+    
+    /**
+     * Constructor con inyección del ejecutor
+     */
+    public AsyncUserService(UserService userService, ExecutorService executor,
+                            int maxConcurrency, Duration timeout) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("La concurrencia máxima debe ser al menos 1");
+        }
+        this.userService = userService;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timeoutMillis = timeout.toMillis();
+    }
+    
+    public CompletableFuture<ServiceResult> createUser(User user) {
+        return submit(() -> userService.createUser(user));
+    }
+    
+    public CompletableFuture<ServiceResult> updateUser(User user) {
+        return submit(() -> userService.updateUser(user));
+    }
+    
+    public CompletableFuture<ServiceResult> deleteUser(Integer id) {
+        return submit(() -> userService.deleteUser(id));
+    }
+    
+    public CompletableFuture<ServiceResult> authenticate(String username, String password) {
+        return submit(() -> userService.authenticate(username, password));
+    }
+    
+    public CompletableFuture<Optional<User>> findUserById(Integer id) {
+        return submit(() -> userService.findUserById(id));
+    }
+    
+    public CompletableFuture<Optional<User>> findUserByUsername(String username) {
+        return submit(() -> userService.findUserByUsername(username));
+    }
+    
+    /**
+     * Permisos libres (operaciones que aún pueden empezar sin esperar)
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+    
+    private <T> CompletableFuture<T> submit(Callable<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = executor.submit(() -> {
+            if (result.isDone()) {
+                return; // Cancelada o vencida antes de empezar
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                result.cancel(false);
+                return;
+            }
+            try {
+                if (!result.isDone()) {
+                    result.complete(operation.call());
+                }
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                permits.release();
+            }
+        });
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                // Cancelación o vencimiento: se interrumpe la tarea si sigue viva
+                running.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
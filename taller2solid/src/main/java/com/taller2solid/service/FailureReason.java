@@ -0,0 +1,26 @@
+package com.taller2solid.service;
+
+/**
+ * Causa de un resultado fallido de UserService
+ *
+ * Permite a los llamadores y a las métricas distinguir los fallos sin
+ * interpretar el mensaje, que está pensado para mostrarse al usuario.
+ */
+public enum FailureReason {
+    /** Datos incompletos o que no cumplen las reglas de negocio */
+    VALIDATION,
+    /** El nombre de usuario ya está en uso */
+    DUPLICATE_USERNAME,
+    /** El usuario no existe */
+    NOT_FOUND,
+    /** Usuario o contraseña incorrectos */
+    INVALID_CREDENTIALS,
+    /** La cuenta está desactivada */
+    ACCOUNT_DISABLED,
+    /** Demasiados intentos de inicio de sesión */
+    THROTTLED,
+    /** La base de datos no aplicó el cambio */
+    PERSISTENCE,
+    /** Excepción inesperada u otra causa */
+    ERROR
+}
@@ -0,0 +1,222 @@
+package com.taller2solid.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de intentos de inicio de sesión
+ * Aplicando SRP (Single Responsibility Principle):
+ * - Responsabilidad única: Decidir si un intento de login puede continuar
+ *
+ * Usa cubetas de tokens por username y una global. Cada cubeta es un único
+ * AtomicLong con el instante en que vuelve a estar llena (algoritmo GCRA),
+ * así que consumir un token es una comparación y un CAS, sin locks.
+ *
+ * - Un intento rechazado por su username no consume token global, para que
+ *   atacar una cuenta no bloquee el login de las demás
+ * - Las cubetas que volvieron a estar llenas no aportan nada y se eliminan
+ *   periódicamente
+ * - Si se alcanza el máximo de usernames registrados, los nuevos comparten
+ *   un conjunto fijo de cubetas elegidas por hash, de modo que la memoria
+ *   queda acotada aunque lleguen usernames aleatorios
+ */
+public class LoginThrottler {
+    
+    public static final int DEFAULT_USER_BURST = 5;
+    public static final Duration DEFAULT_USER_REFILL = Duration.ofSeconds(2);
+    public static final int DEFAULT_GLOBAL_BURST = 200;
+    public static final Duration DEFAULT_GLOBAL_REFILL = Duration.ofMillis(10);
+    public static final int DEFAULT_MAX_TRACKED_USERS = 10_000;
+    
+    private static final int OVERFLOW_STRIPES = 64;
+    
+    private final int userBurst;
+    private final long userIntervalNanos;
+    private final int maxTrackedUsers;
+    private final LongSupplier clock;
+    
+    private final ConcurrentHashMap<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final TokenBucket[] overflowBuckets;
+    private final TokenBucket globalBucket;
+    private final AtomicLong lastSweep;
+    
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByUser = new LongAdder();
+    private final LongAdder rejectedGlobal = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    
+    /**
+     * Cubeta de tokens sin locks: guarda el instante (en nanos) a partir del
+     * cual la cubeta está llena. Cada token consumido lo adelanta un intervalo;
+     * se rechaza si quedaría más de {@code burst} intervalos en el futuro.
+     */
+    static final class TokenBucket {
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final AtomicLong fullAt;
+        
+        TokenBucket(int burst, long intervalNanos, long now) {
+            this.intervalNanos = intervalNanos;
+            this.capacityNanos = intervalNanos * burst;
+            this.fullAt = new AtomicLong(now);
+        }
+        
+        boolean tryAcquire(long now) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + intervalNanos;
+                if (next - now > capacityNanos) {
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+        
+        boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+    
+    public LoginThrottler() {
+        this(DEFAULT_USER_BURST, DEFAULT_USER_REFILL, DEFAULT_GLOBAL_BURST,
+             DEFAULT_GLOBAL_REFILL, DEFAULT_MAX_TRACKED_USERS);
+    }
+    
+    /**
+     * @param userBurst Intentos seguidos permitidos por username
+     * @param userRefill Tiempo para recuperar un intento por username
+     * @param globalBurst Intentos seguidos permitidos en total
+     * @param globalRefill Tiempo para recuperar un intento global
+     * @param maxTrackedUsers Máximo de usernames con cubeta propia
+     */
+    public LoginThrottler(int userBurst, Duration userRefill, int globalBurst,
+                          Duration globalRefill, int maxTrackedUsers) {
+        this(userBurst, userRefill, globalBurst, globalRefill, maxTrackedUsers, System::nanoTime);
+    }
+    
+    LoginThrottler(int userBurst, Duration userRefill, int globalBurst,
+                   Duration globalRefill, int maxTrackedUsers, LongSupplier clock) {
+        if (userBurst < 1 || globalBurst < 1) {
+            throw new IllegalArgumentException("Las cubetas deben admitir al menos un intento");
+        }
+        if (userRefill.isZero() || userRefill.isNegative()
+                || globalRefill.isZero() || globalRefill.isNegative()) {
+            throw new IllegalArgumentException("El tiempo de recuperación debe ser positivo");
+        }
+        this.userBurst = userBurst;
+        this.userIntervalNanos = userRefill.toNanos();
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.lastSweep = new AtomicLong(now);
+        this.globalBucket = new TokenBucket(globalBurst, globalRefill.toNanos(), now);
+        this.overflowBuckets = new TokenBucket[OVERFLOW_STRIPES];
+        for (int i = 0; i < OVERFLOW_STRIPES; i++) {
+            overflowBuckets[i] = new TokenBucket(userBurst, userIntervalNanos, now);
+        }
+    }
+    
+    /**
+     * Intenta consumir un intento de login para el username
+     * @return true si el intento puede continuar, false si debe rechazarse
+     */
+    public boolean tryAcquire(String username) {
+        long now = clock.getAsLong();
+        maybeEvictIdle(now);
+        if (!bucketFor(username, now).tryAcquire(now)) {
+            rejectedByUser.increment();
+            return false;
+        }
+        if (!globalBucket.tryAcquire(now)) {
+            rejectedGlobal.increment();
+            return false;
+        }
+        allowed.increment();
+        return true;
+    }
+    
+    private TokenBucket bucketFor(String username, long now) {
+        TokenBucket bucket = userBuckets.get(username);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (userBuckets.size() >= maxTrackedUsers) {
+            return overflowBuckets[Math.floorMod(username.hashCode(), OVERFLOW_STRIPES)];
+        }
+        return userBuckets.computeIfAbsent(username,
+                key -> new TokenBucket(userBurst, userIntervalNanos, now));
+    }
+    
+    /**
+     * Recorre el mapa como mucho una vez por cada tiempo de llenado de una
+     * cubeta (burst * intervalo), que es lo que tarda una cubeta en quedar ociosa
+     */
+    private void maybeEvictIdle(long now) {
+        long last = lastSweep.get();
+        if (now - last >= userIntervalNanos * userBurst && lastSweep.compareAndSet(last, now)) {
+            evictIdle(now);
+        }
+    }
+    
+    /**
+     * Elimina las cubetas que ya están llenas (sin intentos recientes)
+     * @return Número de cubetas eliminadas
+     */
+    public int evictIdle() {
+        return evictIdle(clock.getAsLong());
+    }
+    
+    private int evictIdle(long now) {
+        int removed = 0;
+        for (Map.Entry<String, TokenBucket> entry : userBuckets.entrySet()) {
+            if (entry.getValue().isFull(now) && userBuckets.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        evicted.add(removed);
+        return removed;
+    }
+    
+    // ========================================
+    // Métricas
+    // ========================================
+    
+    public long getAllowed() {
+        return allowed.sum();
+    }
+    
+    /**
+     * Intentos rechazados por superar el límite de su username
+     */
+    public long getRejectedByUser() {
+        return rejectedByUser.sum();
+    }
+    
+    /**
+     * Intentos rechazados por superar el límite global
+     */
+    public long getRejectedGlobal() {
+        return rejectedGlobal.sum();
+    }
+    
+    public long getRejected() {
+        return getRejectedByUser() + getRejectedGlobal();
+    }
+    
+    public long getEvicted() {
+        return evicted.sum();
+    }
+    
+    /**
+     * Número de usernames con cubeta propia en este momento
+     */
+    public int getTrackedUsers() {
+        return userBuckets.size();
+    }
+}
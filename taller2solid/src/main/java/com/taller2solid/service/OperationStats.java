@@ -0,0 +1,88 @@
+package com.taller2solid.service;
+
+import java.beans.ConstructorProperties;
+import java.util.Map;
+
+/**
+ * Instantánea inmutable de las métricas de una operación de UserService
+ * Las latencias se expresan en microsegundos.
+ */
+public class OperationStats {
+    
+    private final String operation;
+    private final long successCount;
+    private final long failureCount;
+    private final Map<String, Long> failuresByReason;
+    private final double meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+    
+    @ConstructorProperties({"operation", "successCount", "failureCount", "failuresByReason",
+                            "meanMicros", "p50Micros", "p99Micros", "p999Micros", "maxMicros"})
+    public OperationStats(String operation, long successCount, long failureCount,
+                          Map<String, Long> failuresByReason, double meanMicros,
+                          long p50Micros, long p99Micros, long p999Micros, long maxMicros) {
+        this.operation = operation;
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.failuresByReason = failuresByReason;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+    }
+    
+    public String getOperation() {
+        return operation;
+    }
+    
+    public long getSuccessCount() {
+        return successCount;
+    }
+    
+    public long getFailureCount() {
+        return failureCount;
+    }
+    
+    /**
+     * Fallos agrupados por {@link FailureReason} (solo las causas con fallos)
+     */
+    public Map<String, Long> getFailuresByReason() {
+        return failuresByReason;
+    }
+    
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+    
+    public long getP50Micros() {
+        return p50Micros;
+    }
+    
+    public long getP99Micros() {
+        return p99Micros;
+    }
+    
+    public long getP999Micros() {
+        return p999Micros;
+    }
+    
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+    
+    @Override
+    public String toString() {
+        return "OperationStats{" +
+                "operation=" + operation +
+                ", success=" + successCount +
+                ", failure=" + failureCount +
+                ", p50=" + p50Micros + "us" +
+                ", p99=" + p99Micros + "us" +
+                ", p999=" + p999Micros + "us" +
+                '}';
+    }
+}
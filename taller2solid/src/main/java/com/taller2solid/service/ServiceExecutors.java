@@ -0,0 +1,69 @@
+package com.taller2solid.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fábrica de ejecutores para las fachadas asíncronas
+ *
+ * El proyecto compila con Java 17, donde los hilos virtuales no existen.
+ * Si la JVM en ejecución los ofrece (Java 21+), se usa un ejecutor de un
+ * hilo virtual por tarea; si no, un pool fijo de hilos daemon del tamaño
+ * indicado, que es el mismo límite de concurrencia que aplican los llamadores.
+ */
+public final class ServiceExecutors {
+    
+    private ServiceExecutors() {
+    }
+    
+    /**
+     * @param name Prefijo para los nombres de los hilos de plataforma
+     * @param fallbackThreads Hilos del pool si no hay hilos virtuales
+     */
+    public static ExecutorService newVirtualThreadExecutor(String name, int fallbackThreads) {
+        ExecutorService virtual = tryVirtualThreadExecutor();
+        if (virtual != null) {
+            return virtual;
+        }
+        return Executors.newFixedThreadPool(fallbackThreads, daemonThreadFactory(name));
+    }
+    
+    /**
+     * Indica si la JVM actual soporta hilos virtuales
+     */
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Fábrica de hilos daemon con nombre numerado
+     */
+    public static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+    
+    private static ExecutorService tryVirtualThreadExecutor() {
+        if (!virtualThreadsAvailable()) {
+            return null;
+        }
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
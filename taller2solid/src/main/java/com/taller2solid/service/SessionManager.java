@@ -0,0 +1,289 @@
+package com.taller2solid.service;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Administrador de sesiones en memoria
+ * Aplicando SRP (Single Responsibility Principle):
+ * - Responsabilidad única: Emitir, validar y revocar sesiones
+ * Aplicando OCP (Open/Closed Principle):
+ * - Se entera de los cambios de usuarios como UserChangeListener, sin que
+ *   UserService lo conozca
+ *
+ * Tras un login exitoso se emite un token opaco; validarlo es una búsqueda
+ * en memoria, sin base de datos ni hash de contraseña.
+ *
+ * - El token tiene la forma {@code selector.verificador}. El selector es la
+ *   clave del mapa; del verificador solo se guarda su SHA-256, que se compara
+ *   en tiempo constante (un volcado de memoria no revela tokens válidos)
+ * - La sesión expira tras un tiempo sin uso; cada validación la renueva
+ * - Modificar o eliminar el usuario revoca todas sus sesiones
+ * - Un hilo en segundo plano elimina periódicamente las sesiones expiradas
+ */
+public class SessionManager implements UserChangeListener, AutoCloseable {
+    
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_CLEANUP_INTERVAL = Duration.ofMinutes(1);
+    
+    private static final int SELECTOR_BYTES = 16;
+    private static final int VERIFIER_BYTES = 32;
+    
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Set<String>> selectorsByUser = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService cleaner;
+    
+    /**
+     * Sesión de un usuario autenticado
+     */
+    public static class Session {
+        private final String selector;
+        private final byte[] verifierHash;
+        private final Integer userId;
+        private final String username;
+        private final Role role;
+        private volatile long expiresAt;
+        
+        Session(String selector, byte[] verifierHash, User user, long expiresAt) {
+            this.selector = selector;
+            this.verifierHash = verifierHash;
+            this.userId = user.getId();
+            this.username = user.getUsername();
+            this.role = user.getRole();
+            this.expiresAt = expiresAt;
+        }
+        
+        public Integer getUserId() {
+            return userId;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public Role getRole() {
+            return role;
+        }
+        
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+        
+        @Override
+        public String toString() {
+            return "Session{userId=" + userId + ", username='" + username + "', role=" + role + "}";
+        }
+    }
+    
+    public SessionManager() {
+        this(DEFAULT_IDLE_TIMEOUT, DEFAULT_CLEANUP_INTERVAL);
+    }
+    
+    /**
+     * @param idleTimeout Tiempo sin uso tras el cual expira una sesión
+     * @param cleanupInterval Cada cuánto eliminar sesiones expiradas (null para no hacerlo)
+     */
+    public SessionManager(Duration idleTimeout, Duration cleanupInterval) {
+        this(idleTimeout, cleanupInterval, System::nanoTime);
+    }
+    
+    SessionManager(Duration idleTimeout, Duration cleanupInterval, LongSupplier clock) {
+        if (idleTimeout.isZero() || idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("El tiempo de expiración debe ser positivo");
+        }
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.clock = clock;
+        if (cleanupInterval != null && !cleanupInterval.isZero()) {
+            cleaner = Executors.newSingleThreadScheduledExecutor(
+                    ServiceExecutors.daemonThreadFactory("session-cleanup"));
+            long millis = cleanupInterval.toMillis();
+            cleaner.scheduleWithFixedDelay(this::purgeExpiredSafely, millis, millis, TimeUnit.MILLISECONDS);
+        } else {
+            cleaner = null;
+        }
+    }
+    
+    /**
+     * Crea una sesión para un usuario ya autenticado
+     * @param user Usuario autenticado (debe tener ID)
+     * @return Token opaco para presentar en las siguientes operaciones
+     */
+    public String createSession(User user) {
+        if (user == null || user.getId() == null) {
+            throw new IllegalArgumentException("La sesión requiere un usuario con ID");
+        }
+        byte[] verifier = randomBytes(VERIFIER_BYTES);
+        String verifierText = encoder.encodeToString(verifier);
+        Session session = new Session(newSelector(), sha256(verifierText), user,
+                                      clock.getAsLong() + idleTimeoutNanos);
+        // El alta en el índice y en el mapa es atómica respecto de invalidateUser
+        selectorsByUser.compute(user.getId(), (id, selectors) -> {
+            Set<String> result = selectors != null ? selectors : ConcurrentHashMap.newKeySet();
+            result.add(session.selector);
+            sessions.put(session.selector, session);
+            return result;
+        });
+        return session.selector + "." + verifierText;
+    }
+    
+    /**
+     * Valida un token y renueva su expiración
+     * @param token Token devuelto por createSession
+     * @return La sesión si el token es válido y no expiró
+     */
+    public Optional<Session> validate(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        Session session = sessions.get(token.substring(0, dot));
+        byte[] presented = sha256(token.substring(dot + 1));
+        if (session == null || !MessageDigest.isEqual(presented, session.verifierHash)) {
+            return Optional.empty();
+        }
+        long now = clock.getAsLong();
+        if (session.isExpired(now)) {
+            remove(session);
+            return Optional.empty();
+        }
+        session.expiresAt = now + idleTimeoutNanos;
+        return Optional.of(session);
+    }
+    
+    /**
+     * Cierra una sesión (logout)
+     * @return true si el token correspondía a una sesión activa
+     */
+    public boolean invalidate(String token) {
+        Optional<Session> session = validate(token);
+        session.ifPresent(this::remove);
+        return session.isPresent();
+    }
+    
+    /**
+     * Revoca todas las sesiones de un usuario
+     * @return Número de sesiones revocadas
+     */
+    public int invalidateUser(Integer userId) {
+        Set<String> selectors = selectorsByUser.remove(userId);
+        if (selectors == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (String selector : selectors) {
+            if (sessions.remove(selector) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * Las modificaciones y bajas revocan las sesiones del usuario, para que
+     * un cambio de contraseña o de rol no deje sesiones con permisos viejos
+     */
+    @Override
+    public void userChanged(UserChangeEvent event) {
+        if (event.getType() != UserChangeEvent.Type.CREATED) {
+            invalidateUser(event.getUserId());
+        }
+    }
+    
+    /**
+     * Elimina las sesiones expiradas
+     * @return Número de sesiones eliminadas
+     */
+    public int purgeExpired() {
+        long now = clock.getAsLong();
+        int removed = 0;
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            if (entry.getValue().isExpired(now) && remove(entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    private void purgeExpiredSafely() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Número de sesiones en memoria (incluye expiradas aún no eliminadas)
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+    
+    @Override
+    public void close() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+        }
+        sessions.clear();
+        selectorsByUser.clear();
+    }
+    
+    // ========================================
+    // Internos
+    // ========================================
+    
+    private boolean remove(Session session) {
+        if (!sessions.remove(session.selector, session)) {
+            return false;
+        }
+        selectorsByUser.computeIfPresent(session.userId, (id, selectors) -> {
+            selectors.remove(session.selector);
+            return selectors.isEmpty() ? null : selectors;
+        });
+        return true;
+    }
+    
+    private String newSelector() {
+        String selector;
+        do {
+            selector = encoder.encodeToString(randomBytes(SELECTOR_BYTES));
+        } while (sessions.containsKey(selector));
+        return selector;
+    }
+    
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+    
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error al generar el token de sesión", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.taller2solid.service;
+
+import com.taller2solid.domain.User;
+
+/**
+ * Evento emitido por UserService al crear, actualizar o eliminar un usuario
+ */
+public class UserChangeEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private final Type type;
+    private final Integer userId;
+    private final User user;
+    
+    /**
+     * @param type Tipo de cambio
+     * @param userId ID del usuario afectado
+     * @param user Estado nuevo del usuario (null si se eliminó)
+     */
+    public UserChangeEvent(Type type, Integer userId, User user) {
+        this.type = type;
+        this.userId = userId;
+        this.user = user;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Integer getUserId() {
+        return userId;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    @Override
+    public String toString() {
+        return "UserChangeEvent{type=" + type + ", userId=" + userId + "}";
+    }
+}
@@ -0,0 +1,20 @@
+package com.taller2solid.service;
+
+/**
+ * Observador de cambios en los usuarios
+ * Aplicando OCP (Open/Closed Principle):
+ * - Otros componentes reaccionan a los cambios sin modificar UserService
+ * Aplicando ISP (Interface Segregation Principle):
+ * - Interfaz mínima con un único método
+ *
+ * Se invoca en el hilo que hizo el cambio, después de persistirlo.
+ */
+@FunctionalInterface
+public interface UserChangeListener {
+    
+    /**
+     * Notifica un cambio ya guardado en la base de datos
+     * @param event Evento con el tipo de cambio y el usuario afectado
+     */
+    void userChanged(UserChangeEvent event);
+}
@@ -1,10 +1,24 @@
 package com.taller2solid.service;
 
 import com.taller2solid.access.IUserRepository;
+import com.taller2solid.audit.AuditAction;
+import com.taller2solid.audit.IAuditLog;
+import com.taller2solid.domain.Role;
 import com.taller2solid.domain.User;
 import com.taller2solid.security.IPasswordEncoder;
+import com.taller2solid.service.UserServiceMetrics.Operation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Servicio de usuarios con lógica de negocio
@@ -13,12 +27,27 @@ import java.util.Optional;
  * SRP: Responsabilidad única de gestionar lógica de negocio de usuarios
  * DIP: Depende de abstracciones (IUserRepository, IPasswordEncoder)
  * OCP: Abierto a extensión mediante inyección de dependencias
+ * 
+ * Cada operación pública registra su latencia y su resultado (éxito o
+ * FailureReason) en {@link UserServiceMetrics}. Las altas, modificaciones,
+ * bajas y logins, exitosos o no, se registran además en la bitácora de
+ * auditoría si se inyecta una.
  */
 public class UserService {
     
+    /** Máximo de resultados de una búsqueda de texto */
+    public static final int MAX_SEARCH_RESULTS = 100;
+    
     private final IUserRepository repository;
     private final IPasswordEncoder passwordEncoder;
     private final UserValidator validator;
+    private final Executor backgroundExecutor;
+    private final LoginThrottler loginThrottler;
+    private final IAuditLog auditLog;
+    private final List<UserChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final UserServiceMetrics metrics = new UserServiceMetrics();
+    /** Hash contra el que se verifica la contraseña de un username inexistente */
+    private volatile String dummyHash;
     
     /**
      * Constructor con inyección de dependencias
@@ -26,9 +55,107 @@ public class UserService {
      * @param passwordEncoder Encriptador de contraseñas
      */
     public UserService(IUserRepository repository, IPasswordEncoder passwordEncoder) {
+        this(repository, passwordEncoder, DefaultBackgroundExecutor.INSTANCE);
+    }
+    
+    /**
+     * Constructor con inyección de dependencias
+     * @param repository Repositorio de usuarios
+     * @param passwordEncoder Encriptador de contraseñas
+     * @param backgroundExecutor Ejecutor para tareas fuera del camino crítico
+     *                           (p.ej. regenerar hashes antiguos tras un login)
+     */
+    public UserService(IUserRepository repository, IPasswordEncoder passwordEncoder,
+                       Executor backgroundExecutor) {
+        this(repository, passwordEncoder, backgroundExecutor, null);
+    }
+    
+    /**
+     * Constructor con inyección de dependencias
+     * @param repository Repositorio de usuarios
+     * @param passwordEncoder Encriptador de contraseñas
+     * @param backgroundExecutor Ejecutor para tareas fuera del camino crítico
+     * @param loginThrottler Limitador de intentos de login (null para no limitar)
+     */
+    public UserService(IUserRepository repository, IPasswordEncoder passwordEncoder,
+                       Executor backgroundExecutor, LoginThrottler loginThrottler) {
+        this(repository, passwordEncoder, backgroundExecutor, loginThrottler, null);
+    }
+    
+    /**
+     * Constructor con inyección de dependencias
+     * @param repository Repositorio de usuarios
+     * @param passwordEncoder Encriptador de contraseñas
+     * @param backgroundExecutor Ejecutor para tareas fuera del camino crítico
+     * @param loginThrottler Limitador de intentos de login (null para no limitar)
+     * @param auditLog Bitácora de auditoría (null para no auditar)
+     */
+    public UserService(IUserRepository repository, IPasswordEncoder passwordEncoder,
+                       Executor backgroundExecutor, LoginThrottler loginThrottler,
+                       IAuditLog auditLog) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
         this.validator = new UserValidator();
+        this.backgroundExecutor = backgroundExecutor;
+        this.loginThrottler = loginThrottler;
+        this.auditLog = auditLog;
+    }
+    
+    /**
+     * Hilo daemon compartido, creado solo si se usa el constructor por defecto
+     */
+    private static final class DefaultBackgroundExecutor {
+        static final Executor INSTANCE = Executors.newSingleThreadExecutor(
+                ServiceExecutors.daemonThreadFactory("user-service-background"));
+    }
+    
+    /**
+     * Métricas de cada operación pública (contadores por resultado y latencias)
+     */
+    public UserServiceMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Registra un observador que será notificado tras cada alta, modificación
+     * o baja exitosa
+     */
+    public void addUserChangeListener(UserChangeListener listener) {
+        changeListeners.add(listener);
+    }
+    
+    public void removeUserChangeListener(UserChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+    
+    private void fireUserChanged(UserChangeEvent.Type type, Integer userId, User user) {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        UserChangeEvent event = new UserChangeEvent(type, userId, user);
+        for (UserChangeListener listener : changeListeners) {
+            try {
+                listener.userChanged(event);
+            } catch (RuntimeException e) {
+                // Un observador defectuoso no debe deshacer una operación ya guardada
+                e.printStackTrace();
+            }
+        }
+    }
+    
+    /**
+     * Registra una operación en la bitácora de auditoría, si hay una
+     */
+    private void audit(AuditAction action, Integer userId, String username, FailureReason reason) {
+        if (auditLog == null) {
+            return;
+        }
+        try {
+            auditLog.record(action, userId, username, reason);
+        } catch (RuntimeException e) {
+            // Un fallo de la auditoría no debe cambiar el resultado de la operación
+            e.printStackTrace();
+        }
     }
     
     /**
@@ -42,16 +169,30 @@ public class UserService {
      * @return Resultado de la operación
      */
     public ServiceResult createUser(User user) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            ServiceResult result = doCreateUser(user);
+            reason = result.getReason();
+            return result;
+        } finally {
+            metrics.record(Operation.CREATE, start, reason);
+            if (user != null) {
+                audit(AuditAction.CREATE, user.getId(), user.getUsername(), reason);
+            }
+        }
+    }
+    
+    private ServiceResult doCreateUser(User user) {
         // 1. Validar datos del usuario
         List<String> validationErrors = validator.validate(user);
         if (!validationErrors.isEmpty()) {
-            return ServiceResult.failure(String.join(", ", validationErrors));
+            return ServiceResult.failure(FailureReason.VALIDATION, String.join(", ", validationErrors));
         }
         
         // 2. Verificar que el username no exista
-        Optional<User> existingUser = repository.findByUsername(user.getUsername());
-        if (existingUser.isPresent()) {
-            return ServiceResult.failure("El nombre de usuario ya está en uso");
+        if (isUsernameTaken(user.getUsername())) {
+            return ServiceResult.failure(FailureReason.DUPLICATE_USERNAME, "El nombre de usuario ya está en uso");
         }
         
         // 3. Encriptar contraseña
@@ -65,12 +206,102 @@ public class UserService {
         boolean saved = repository.save(user);
         
         if (saved) {
+            fireUserChanged(UserChangeEvent.Type.CREATED, user.getId(), user);
             return ServiceResult.success("Usuario creado exitosamente", user);
         } else {
-            return ServiceResult.failure("Error al guardar el usuario en la base de datos");
+            return ServiceResult.failure(FailureReason.PERSISTENCE, "Error al guardar el usuario en la base de datos");
         }
     }
     
+    /**
+     * Crea varios usuarios en una sola operación masiva
+     * - Valida cada usuario y descarta los inválidos
+     * - Descarta usernames repetidos dentro del lote o ya existentes
+     * - Encripta las contraseñas en paralelo
+     * - Guarda los válidos en lotes transaccionales
+     * 
+     * @param users Usuarios a crear
+     * @return Resultado con los usuarios creados y los fallos por fila
+     */
+    public BulkResult createUsers(Collection<User> users) {
+        return createUsers(users, false);
+    }
+    
+    /**
+     * Crea varios usuarios en una sola operación masiva
+     * 
+     * @param users Usuarios a crear
+     * @param importing Modo migración entre entornos: las contraseñas que ya son
+     *        un hash reconocido por el encriptador se guardan tal cual (el resto
+     *        se encripta) y se conserva el estado activo de cada usuario
+     * @return Resultado con los usuarios creados y los fallos por fila
+     */
+    public BulkResult createUsers(Collection<User> users, boolean importing) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            BulkResult result = doCreateUsers(users, importing);
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.CREATE_BULK, start, reason);
+        }
+    }
+    
+    private BulkResult doCreateUsers(Collection<User> users, boolean importing) {
+        List<User> candidates = new ArrayList<>(users.size());
+        List<Integer> candidateIndexes = new ArrayList<>(users.size());
+        List<RowFailure> failures = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        
+        // 1. Validar (en paralelo si el lote es grande) y verificar usernames
+        List<User> input = new ArrayList<>(users);
+        List<List<String>> allErrors = validator.validateAll(input);
+        for (int index = 0; index < input.size(); index++) {
+            User user = input.get(index);
+            List<String> validationErrors = allErrors.get(index);
+            if (!validationErrors.isEmpty()) {
+                failures.add(new RowFailure(index, user, String.join(", ", validationErrors)));
+            } else if (!seenUsernames.add(user.getUsername())
+                    || isUsernameTaken(user.getUsername())) {
+                failures.add(new RowFailure(index, user, "El nombre de usuario ya está en uso"));
+            } else {
+                candidates.add(user);
+                candidateIndexes.add(index);
+            }
+        }
+        
+        // 2. Encriptar contraseñas en paralelo y activar (salvo al importar)
+        candidates.parallelStream().forEach(user -> {
+            user.setId(null);
+            if (!importing || !passwordEncoder.isEncoded(user.getPassword())) {
+                user.setPassword(passwordEncoder.encode(user.getPassword()));
+            }
+            if (!importing) {
+                user.setActive(true);
+            }
+        });
+        
+        // 3. Guardar en lotes
+        repository.saveAll(candidates);
+        
+        // 4. Los que no recibieron ID no se guardaron
+        List<User> created = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            User user = candidates.get(i);
+            if (user.getId() != null) {
+                created.add(user);
+                audit(AuditAction.CREATE, user.getId(), user.getUsername(), null);
+                fireUserChanged(UserChangeEvent.Type.CREATED, user.getId(), user);
+            } else {
+                failures.add(new RowFailure(candidateIndexes.get(i), user,
+                        "Error al guardar el usuario en la base de datos"));
+            }
+        }
+        failures.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return new BulkResult(created, failures);
+    }
+    
     /**
      * Actualiza un usuario existente
      * - Valida el usuario
@@ -82,76 +313,118 @@ public class UserService {
      * @return Resultado de la operación
      */
     public ServiceResult updateUser(User user) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            ServiceResult result = doUpdateUser(user);
+            reason = result.getReason();
+            return result;
+        } finally {
+            metrics.record(Operation.UPDATE, start, reason);
+            if (user != null) {
+                audit(AuditAction.UPDATE, user.getId(), user.getUsername(), reason);
+            }
+        }
+    }
+    
+    private ServiceResult doUpdateUser(User user) {
         // 1. Verificar que el usuario tenga ID
         if (user.getId() == null) {
-            return ServiceResult.failure("El ID del usuario es requerido para actualizar");
+            return ServiceResult.failure(FailureReason.VALIDATION, "El ID del usuario es requerido para actualizar");
         }
         
         // 2. Validar datos del usuario
         List<String> validationErrors = validator.validate(user);
         if (!validationErrors.isEmpty()) {
-            return ServiceResult.failure(String.join(", ", validationErrors));
+            return ServiceResult.failure(FailureReason.VALIDATION, String.join(", ", validationErrors));
         }
         
         // 3. Verificar que el usuario exista
         Optional<User> existingUser = repository.findById(user.getId());
         if (!existingUser.isPresent()) {
-            return ServiceResult.failure("El usuario no existe");
+            return ServiceResult.failure(FailureReason.NOT_FOUND, "El usuario no existe");
         }
         
         // 4. Verificar si el username cambió y si está disponible
         User existing = existingUser.get();
         if (!existing.getUsername().equals(user.getUsername())) {
-            Optional<User> userWithSameUsername = repository.findByUsername(user.getUsername());
-            if (userWithSameUsername.isPresent()) {
-                return ServiceResult.failure("El nombre de usuario ya está en uso");
+            if (isUsernameTaken(user.getUsername())) {
+                return ServiceResult.failure(FailureReason.DUPLICATE_USERNAME, "El nombre de usuario ya está en uso");
             }
         }
         
         // 5. Si la contraseña cambió, encriptarla
-        // (Verificamos si es diferente del hash almacenado)
+        // (Verificamos si es diferente del hash almacenado; cualquier otro valor
+        // se encripta aunque parezca un hash, para no aceptar hashes elegidos
+        // por el llamador)
         if (!user.getPassword().equals(existing.getPassword())) {
-            // Si la contraseña no parece estar encriptada (muy corta), encriptarla
-            if (user.getPassword().length() < 40) { // SHA-256 produce 64 caracteres hex
-                String encodedPassword = passwordEncoder.encode(user.getPassword());
-                user.setPassword(encodedPassword);
-            }
+            String encodedPassword = passwordEncoder.encode(user.getPassword());
+            user.setPassword(encodedPassword);
         }
         
         // 6. Actualizar en base de datos
         boolean updated = repository.update(user);
         
         if (updated) {
+            fireUserChanged(UserChangeEvent.Type.UPDATED, user.getId(), user);
             return ServiceResult.success("Usuario actualizado exitosamente", user);
         } else {
-            return ServiceResult.failure("Error al actualizar el usuario");
+            return ServiceResult.failure(FailureReason.PERSISTENCE, "Error al actualizar el usuario");
         }
     }
     
+    /**
+     * Verificación de disponibilidad de un username para altas y cambios.
+     * El repositorio puede descartar usernames nuevos sin ir a la base
+     * ({@link IUserRepository#mightExist}); la autenticación no usa este
+     * atajo y siempre busca en la base.
+     */
+    private boolean isUsernameTaken(String username) {
+        return repository.mightExist(username) && repository.findByUsername(username).isPresent();
+    }
+    
     /**
      * Elimina un usuario por su ID
      * 
      * @param id ID del usuario a eliminar
-     * @return Resultado de la operación
+     * @return Resultado de la operación, con el usuario eliminado si fue exitosa
      */
     public ServiceResult deleteUser(Integer id) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        String username = null;
+        try {
+            ServiceResult result = doDeleteUser(id);
+            reason = result.getReason();
+            if (result.getUser() != null) {
+                username = result.getUser().getUsername();
+            }
+            return result;
+        } finally {
+            metrics.record(Operation.DELETE, start, reason);
+            audit(AuditAction.DELETE, id, username, reason);
+        }
+    }
+    
+    private ServiceResult doDeleteUser(Integer id) {
         if (id == null) {
-            return ServiceResult.failure("El ID es requerido");
+            return ServiceResult.failure(FailureReason.VALIDATION, "El ID es requerido");
         }
         
         // Verificar que el usuario exista
         Optional<User> user = repository.findById(id);
         if (!user.isPresent()) {
-            return ServiceResult.failure("El usuario no existe");
+            return ServiceResult.failure(FailureReason.NOT_FOUND, "El usuario no existe");
         }
         
         // Eliminar
         boolean deleted = repository.delete(id);
         
         if (deleted) {
-            return ServiceResult.success("Usuario eliminado exitosamente");
+            fireUserChanged(UserChangeEvent.Type.DELETED, id, null);
+            return ServiceResult.success("Usuario eliminado exitosamente", user.get());
         } else {
-            return ServiceResult.failure("Error al eliminar el usuario");
+            return ServiceResult.failure(FailureReason.PERSISTENCE, "Error al eliminar el usuario");
         }
     }
     
@@ -162,6 +435,18 @@ public class UserService {
      * @return Optional con el usuario si existe
      */
     public Optional<User> findUserById(Integer id) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            Optional<User> result = doFindUserById(id);
+            reason = result.isPresent() ? null : FailureReason.NOT_FOUND;
+            return result;
+        } finally {
+            metrics.record(Operation.FIND_BY_ID, start, reason);
+        }
+    }
+    
+    private Optional<User> doFindUserById(Integer id) {
         if (id == null) {
             return Optional.empty();
         }
@@ -175,6 +460,18 @@ public class UserService {
      * @return Optional con el usuario si existe
      */
     public Optional<User> findUserByUsername(String username) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            Optional<User> result = doFindUserByUsername(username);
+            reason = result.isPresent() ? null : FailureReason.NOT_FOUND;
+            return result;
+        } finally {
+            metrics.record(Operation.FIND_BY_USERNAME, start, reason);
+        }
+    }
+    
+    private Optional<User> doFindUserByUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
             return Optional.empty();
         }
@@ -187,9 +484,207 @@ public class UserService {
      * @return Lista de usuarios
      */
     public List<User> findAllUsers() {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            List<User> result = doFindAllUsers();
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.FIND_ALL, start, reason);
+        }
+    }
+    
+    private List<User> doFindAllUsers() {
         return repository.findAll();
     }
     
+    /**
+     * Lista una página de usuarios ordenados por ID
+     * 
+     * @param afterId Último ID de la página anterior (null o 0 para la primera)
+     * @param limit Tamaño máximo de la página
+     * @return Usuarios de la página (vacía si no hay más)
+     */
+    public List<User> findUsersPage(Integer afterId, int limit) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            List<User> result = doFindUsersPage(afterId, limit);
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.FIND_PAGE, start, reason);
+        }
+    }
+    
+    private List<User> doFindUsersPage(Integer afterId, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return repository.findPage(afterId == null ? 0 : afterId, limit);
+    }
+    
+    /**
+     * Lista la página de usuarios que empieza en una posición del orden por ID,
+     * sin recorrer las páginas anteriores: ubica el ID previo leyendo solo la
+     * clave primaria y luego lee la página por clave
+     * 
+     * @param offset Posición (desde 0) del primer usuario de la página
+     * @param limit Tamaño máximo de la página
+     * @return Usuarios de la página (vacía si no hay tantos usuarios)
+     */
+    public List<User> findUsersPageAt(long offset, int limit) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            List<User> result = doFindUsersPageAt(offset, limit);
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.FIND_PAGE, start, reason);
+        }
+    }
+    
+    private List<User> doFindUsersPageAt(long offset, int limit) {
+        if (limit <= 0 || offset < 0) {
+            return new ArrayList<>();
+        }
+        if (offset == 0) {
+            return repository.findPage(0, limit);
+        }
+        Optional<Integer> afterId = repository.findIdAtOffset(offset - 1);
+        if (!afterId.isPresent()) {
+            return new ArrayList<>();
+        }
+        return repository.findPage(afterId.get(), limit);
+    }
+    
+    /**
+     * Cuenta el total de usuarios del sistema
+     * 
+     * @return Número de usuarios
+     */
+    public long countUsers() {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            long result = doCountUsers();
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.COUNT, start, reason);
+        }
+    }
+    
+    private long doCountUsers() {
+        return repository.count();
+    }
+    
+    /**
+     * Lista los usuarios de un rol
+     * 
+     * @param role Rol buscado
+     * @return Usuarios del rol ordenados por ID (vacía si el rol es null)
+     */
+    public List<User> findUsersByRole(Role role) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            List<User> result = doFindUsersByRole(role);
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.FIND_BY_ROLE, start, reason);
+        }
+    }
+    
+    private List<User> doFindUsersByRole(Role role) {
+        if (role == null) {
+            return new ArrayList<>();
+        }
+        return repository.findByRole(role);
+    }
+    
+    /**
+     * Lista los usuarios activos
+     * 
+     * @return Usuarios activos ordenados por ID
+     */
+    public List<User> findActiveUsers() {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            List<User> result = repository.findActive();
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.FIND_ACTIVE, start, reason);
+        }
+    }
+    
+    /**
+     * Cuenta los usuarios activos
+     * 
+     * @return Número de usuarios activos
+     */
+    public long countActiveUsers() {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            long result = repository.countActive();
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.COUNT_ACTIVE, start, reason);
+        }
+    }
+    
+    /**
+     * Cuenta los usuarios de cada rol
+     * 
+     * @return Total por rol, incluidos los roles sin usuarios
+     */
+    public Map<Role, Long> countUsersByRole() {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            Map<Role, Long> result = repository.countByRole();
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.COUNT_BY_ROLE, start, reason);
+        }
+    }
+    
+    /**
+     * Busca usuarios por fragmentos de username o email
+     * Cada palabra del texto se busca como prefijo ("juan gm" encuentra a
+     * juan.perez@gmail.com)
+     * 
+     * @param text Texto de búsqueda
+     * @param limit Máximo de resultados (se acota a {@link #MAX_SEARCH_RESULTS})
+     * @return Usuarios ordenados por relevancia (vacía si el texto está en blanco)
+     */
+    public List<User> searchUsers(String text, int limit) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        try {
+            List<User> result = doSearchUsers(text, limit);
+            reason = null;
+            return result;
+        } finally {
+            metrics.record(Operation.SEARCH, start, reason);
+        }
+    }
+    
+    private List<User> doSearchUsers(String text, int limit) {
+        if (text == null || text.trim().isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return repository.search(text.trim(), Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+    
     /**
      * Autentica un usuario
      * - Verifica que el usuario exista
@@ -201,38 +696,178 @@ public class UserService {
      * @return Resultado con el usuario autenticado si es exitoso
      */
     public ServiceResult authenticate(String username, String password) {
+        long start = System.nanoTime();
+        FailureReason reason = FailureReason.ERROR;
+        Integer userId = null;
+        try {
+            ServiceResult result = doAuthenticate(username, password);
+            reason = result.getReason();
+            if (result.getUser() != null) {
+                userId = result.getUser().getId();
+            }
+            return result;
+        } finally {
+            metrics.record(Operation.AUTHENTICATE, start, reason);
+            audit(AuditAction.LOGIN, userId, username, reason);
+        }
+    }
+    
+    private ServiceResult doAuthenticate(String username, String password) {
         // 1. Validar parámetros
         if (username == null || username.trim().isEmpty()) {
-            return ServiceResult.failure("El nombre de usuario es requerido");
+            return ServiceResult.failure(FailureReason.VALIDATION, "El nombre de usuario es requerido");
         }
         
         if (password == null || password.isEmpty()) {
-            return ServiceResult.failure("La contraseña es requerida");
+            return ServiceResult.failure(FailureReason.VALIDATION, "La contraseña es requerida");
+        }
+        
+        // 2. Limitar intentos antes de tocar la base de datos o el encriptador
+        if (loginThrottler != null && !loginThrottler.tryAcquire(username)) {
+            return ServiceResult.failure(FailureReason.THROTTLED, "Demasiados intentos de inicio de sesión, intente más tarde");
         }
         
-        // 2. Buscar usuario
+        // 3. Buscar usuario. Si no existe se verifica igual contra un hash
+        // ficticio, para que la demora no revele qué usernames existen
         Optional<User> userOptional = repository.findByUsername(username);
         if (!userOptional.isPresent()) {
-            return ServiceResult.failure("Usuario o contraseña incorrectos");
+            passwordEncoder.matches(password, dummyHash());
+            return ServiceResult.failure(FailureReason.INVALID_CREDENTIALS, "Usuario o contraseña incorrectos");
         }
         
         User user = userOptional.get();
         
-        // 3. Verificar que esté activo
-        if (!user.isActive()) {
-            return ServiceResult.failure("La cuenta está desactivada");
-        }
-        
         // 4. Verificar contraseña
         boolean passwordMatches = passwordEncoder.matches(password, user.getPassword());
         if (!passwordMatches) {
-            return ServiceResult.failure("Usuario o contraseña incorrectos");
+            return ServiceResult.failure(FailureReason.INVALID_CREDENTIALS, "Usuario o contraseña incorrectos");
         }
         
-        // 5. Autenticación exitosa
+        // 5. Verificar que esté activo (solo con la contraseña correcta, para
+        // no revelar qué cuentas están desactivadas)
+        if (!user.isActive()) {
+            return ServiceResult.failure(FailureReason.ACCOUNT_DISABLED, "La cuenta está desactivada");
+        }
+        
+        // 6. Si el hash es antiguo, regenerarlo en segundo plano
+        if (passwordEncoder.needsRehash(user.getPassword())) {
+            scheduleRehash(user.getId(), user.getPassword(), password);
+        }
+        
+        // 7. Autenticación exitosa
         return ServiceResult.success("Autenticación exitosa", user);
     }
     
+    /**
+     * Regenera el hash de un usuario con la configuración actual del encriptador,
+     * fuera del camino del login. Si el hash almacenado cambió mientras tanto
+     * (otra actualización), no se sobrescribe.
+     */
+    /**
+     * Hash de una contraseña aleatoria con la configuración actual del
+     * encriptador; se calcula en el primer intento con un username inexistente
+     */
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+    
+    private void scheduleRehash(Integer userId, String oldHash, String rawPassword) {
+        backgroundExecutor.execute(() -> {
+            try {
+                String newHash = passwordEncoder.encode(rawPassword);
+                repository.findById(userId)
+                        .filter(stored -> oldHash.equals(stored.getPassword()))
+                        .ifPresent(stored -> {
+                            stored.setPassword(newHash);
+                            repository.update(stored);
+                        });
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+    
+    // ============================================
+    // Resultados de operaciones masivas
+    // ============================================
+    
+    /**
+     * Resultado de una operación masiva: usuarios procesados y fallos por fila
+     */
+    public static class BulkResult {
+        private final List<User> succeeded;
+        private final List<RowFailure> failures;
+        
+        private BulkResult(List<User> succeeded, List<RowFailure> failures) {
+            this.succeeded = Collections.unmodifiableList(succeeded);
+            this.failures = Collections.unmodifiableList(failures);
+        }
+        
+        public List<User> getSucceeded() {
+            return succeeded;
+        }
+        
+        public List<RowFailure> getFailures() {
+            return failures;
+        }
+        
+        public boolean isAllSucceeded() {
+            return failures.isEmpty();
+        }
+        
+        @Override
+        public String toString() {
+            return "BulkResult{" +
+                    "succeeded=" + succeeded.size() +
+                    ", failures=" + failures.size() +
+                    '}';
+        }
+    }
+    
+    /**
+     * Fallo de una fila dentro de una operación masiva
+     */
+    public static class RowFailure {
+        private final int index;
+        private final User user;
+        private final String message;
+        
+        private RowFailure(int index, User user, String message) {
+            this.index = index;
+            this.user = user;
+            this.message = message;
+        }
+        
+        /**
+         * Posición de la fila en la colección de entrada
+         */
+        public int getIndex() {
+            return index;
+        }
+        
+        public User getUser() {
+            return user;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        @Override
+        public String toString() {
+            return "RowFailure{" +
+                    "index=" + index +
+                    ", username='" + (user != null ? user.getUsername() : null) + '\'' +
+                    ", message='" + message + '\'' +
+                    '}';
+        }
+    }
+    
     // ============================================
     // Clase interna ServiceResult
     // ============================================
@@ -245,32 +880,41 @@ public class UserService {
         private final boolean success;
         private final String message;
         private final User user;
+        private final FailureReason reason;
         
-        private ServiceResult(boolean success, String message, User user) {
+        private ServiceResult(boolean success, String message, User user, FailureReason reason) {
             this.success = success;
             this.message = message;
             this.user = user;
+            this.reason = reason;
         }
         
         /**
          * Crea un resultado exitoso sin usuario
          */
         public static ServiceResult success(String message) {
-            return new ServiceResult(true, message, null);
+            return new ServiceResult(true, message, null, null);
         }
         
         /**
          * Crea un resultado exitoso con usuario
          */
         public static ServiceResult success(String message, User user) {
-            return new ServiceResult(true, message, user);
+            return new ServiceResult(true, message, user, null);
         }
         
         /**
-         * Crea un resultado fallido
+         * Crea un resultado fallido sin causa específica
          */
         public static ServiceResult failure(String message) {
-            return new ServiceResult(false, message, null);
+            return failure(FailureReason.ERROR, message);
+        }
+        
+        /**
+         * Crea un resultado fallido con su causa
+         */
+        public static ServiceResult failure(FailureReason reason, String message) {
+            return new ServiceResult(false, message, null, reason);
         }
         
         // Getters
@@ -286,10 +930,18 @@ public class UserService {
             return user;
         }
         
+        /**
+         * Causa del fallo (null si la operación fue exitosa)
+         */
+        public FailureReason getReason() {
+            return reason;
+        }
+        
         @Override
         public String toString() {
             return "ServiceResult{" +
                     "success=" + success +
+                    (reason != null ? ", reason=" + reason : "") +
                     ", message='" + message + '\'' +
                     ", user=" + (user != null ? user.getUsername() : "null") +
                     '}';
@@ -0,0 +1,214 @@
+package com.taller2solid.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas por operación de UserService
+ * Aplicando SRP (Single Responsibility Principle):
+ * - Responsabilidad única: Acumular y publicar contadores y latencias
+ *
+ * Todas las estructuras se crean al construir el objeto; registrar una
+ * operación solo incrementa LongAdders y un AtomicLongArray, sin locks ni
+ * objetos nuevos, para poder dejarlo activo en producción. Se publica como
+ * MXBean y como volcado de texto.
+ */
+public class UserServiceMetrics implements UserServiceMetricsMXBean {
+    
+    public static final String DEFAULT_OBJECT_NAME = "com.taller2solid:type=UserServiceMetrics";
+    
+    private static final FailureReason[] REASONS = FailureReason.values();
+    
+    /**
+     * Operaciones públicas instrumentadas
+     */
+    public enum Operation {
+        CREATE,
+        CREATE_BULK,
+        UPDATE,
+        DELETE,
+        FIND_BY_ID,
+        FIND_BY_USERNAME,
+        FIND_ALL,
+        FIND_PAGE,
+        COUNT,
+        FIND_BY_ROLE,
+        FIND_ACTIVE,
+        COUNT_ACTIVE,
+        COUNT_BY_ROLE,
+        SEARCH,
+        AUTHENTICATE
+    }
+    
+    private static final class OperationMetrics {
+        final LongAdder successes = new LongAdder();
+        final LongAdder[] failures = new LongAdder[REASONS.length];
+        final LatencyHistogram latency = new LatencyHistogram();
+        
+        OperationMetrics() {
+            for (int i = 0; i < failures.length; i++) {
+                failures[i] = new LongAdder();
+            }
+        }
+    }
+    
+    private final OperationMetrics[] operations = new OperationMetrics[Operation.values().length];
+    private ObjectName registeredName;
+    
+    public UserServiceMetrics() {
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = new OperationMetrics();
+        }
+    }
+    
+    /**
+     * Registra una operación terminada
+     * @param operation Operación ejecutada
+     * @param startNanos Valor de System.nanoTime() al empezar
+     * @param reason Causa del fallo, o null si fue exitosa
+     */
+    public void record(Operation operation, long startNanos, FailureReason reason) {
+        OperationMetrics metrics = operations[operation.ordinal()];
+        metrics.latency.record(System.nanoTime() - startNanos);
+        if (reason == null) {
+            metrics.successes.increment();
+        } else {
+            metrics.failures[reason.ordinal()].increment();
+        }
+    }
+    
+    public long getSuccessCount(Operation operation) {
+        return operations[operation.ordinal()].successes.sum();
+    }
+    
+    public long getFailureCount(Operation operation, FailureReason reason) {
+        return operations[operation.ordinal()].failures[reason.ordinal()].sum();
+    }
+    
+    public long getFailureCount(Operation operation) {
+        long total = 0;
+        for (LongAdder failures : operations[operation.ordinal()].failures) {
+            total += failures.sum();
+        }
+        return total;
+    }
+    
+    /**
+     * Histograma de latencias de una operación (éxitos y fallos)
+     */
+    public LatencyHistogram getLatency(Operation operation) {
+        return operations[operation.ordinal()].latency;
+    }
+    
+    /**
+     * Instantánea de una operación, con latencias en microsegundos
+     */
+    public OperationStats snapshot(Operation operation) {
+        OperationMetrics metrics = operations[operation.ordinal()];
+        Map<String, Long> byReason = new LinkedHashMap<>();
+        long failureCount = 0;
+        for (FailureReason reason : REASONS) {
+            long count = metrics.failures[reason.ordinal()].sum();
+            if (count > 0) {
+                byReason.put(reason.name(), count);
+                failureCount += count;
+            }
+        }
+        LatencyHistogram latency = metrics.latency;
+        return new OperationStats(operation.name(), metrics.successes.sum(), failureCount,
+                Collections.unmodifiableMap(byReason),
+                latency.getMean() / 1000.0,
+                toMicros(latency.getPercentile(0.50)),
+                toMicros(latency.getPercentile(0.99)),
+                toMicros(latency.getPercentile(0.999)),
+                toMicros(latency.getMax()));
+    }
+    
+    @Override
+    public List<OperationStats> getOperations() {
+        List<OperationStats> stats = new ArrayList<>(operations.length);
+        for (Operation operation : Operation.values()) {
+            stats.add(snapshot(operation));
+        }
+        return stats;
+    }
+    
+    @Override
+    public String getDump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-17s %9s %9s %10s %10s %10s %10s%n",
+                "Operación", "Éxitos", "Fallos", "p50(us)", "p99(us)", "p999(us)", "max(us)"));
+        for (OperationStats stats : getOperations()) {
+            sb.append(String.format("%-17s %9d %9d %10d %10d %10d %10d%n",
+                    stats.getOperation(), stats.getSuccessCount(), stats.getFailureCount(),
+                    stats.getP50Micros(), stats.getP99Micros(), stats.getP999Micros(),
+                    stats.getMaxMicros()));
+            for (Map.Entry<String, Long> entry : stats.getFailuresByReason().entrySet()) {
+                sb.append(String.format("    %-23s %9d%n", entry.getKey(), entry.getValue()));
+            }
+        }
+        return sb.toString();
+    }
+    
+    @Override
+    public void reset() {
+        for (OperationMetrics metrics : operations) {
+            metrics.successes.reset();
+            for (LongAdder failures : metrics.failures) {
+                failures.reset();
+            }
+            metrics.latency.reset();
+        }
+    }
+    
+    // ========================================
+    // JMX
+    // ========================================
+    
+    /**
+     * Publica las métricas en el servidor MBean de la plataforma
+     * @param objectName Nombre JMX (p.ej. {@link #DEFAULT_OBJECT_NAME})
+     * @return true si se registró correctamente
+     */
+    public synchronized boolean registerMBean(String objectName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            server.registerMBean(this, name);
+            registeredName = name;
+            return true;
+        } catch (JMException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    /**
+     * Retira las métricas del servidor MBean si estaban publicadas
+     */
+    public synchronized void unregisterMBean() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            e.printStackTrace();
+        } finally {
+            registeredName = null;
+        }
+    }
+    
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
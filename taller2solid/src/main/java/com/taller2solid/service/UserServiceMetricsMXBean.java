@@ -0,0 +1,26 @@
+package com.taller2solid.service;
+
+import java.util.List;
+
+/**
+ * Interfaz de gestión (JMX) de las métricas de UserService
+ * Aplicando ISP (Interface Segregation Principle):
+ * - Expone solo lo que necesita una consola JMX, no la API de registro
+ */
+public interface UserServiceMetricsMXBean {
+    
+    /**
+     * Contadores y percentiles de cada operación
+     */
+    List<OperationStats> getOperations();
+    
+    /**
+     * Las mismas métricas en forma de tabla de texto
+     */
+    String getDump();
+    
+    /**
+     * Pone todas las métricas a cero
+     */
+    void reset();
+}
@@ -4,11 +4,18 @@ import com.taller2solid.domain.User;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Clase para validar usuarios
  * Aplicando SRP (Single Responsibility Principle):
  * - Responsabilidad única: Validar reglas de negocio de usuarios
+ *
+ * Username y contraseña se validan recorriendo sus caracteres una sola vez
+ * (sin String.matches, que compila una expresión regular en cada llamada).
+ * La lista de errores solo se llena cuando aparece el primer error; para un
+ * usuario válido se devuelve un ArrayList vacío (sin arreglo interno), que
+ * el llamador puede modificar como antes.
  */
 public class UserValidator {
     
@@ -22,117 +29,216 @@ public class UserValidator {
     private static final int MIN_USERNAME_LENGTH = 3;
     private static final int MAX_USERNAME_LENGTH = 20;
     
+    // Por debajo de este tamaño validateAll no compensa paralelizar
+    private static final int PARALLEL_THRESHOLD = 256;
+    
     /**
      * Valida un usuario completo
      * @param user Usuario a validar
      * @return Lista de errores (vacía si es válido)
      */
     public List<String> validate(User user) {
-        List<String> errors = new ArrayList<>();
-        
         if (user == null) {
+            List<String> errors = new ArrayList<>(1);
             errors.add("El usuario no puede ser nulo");
             return errors;
         }
         
+        List<String> errors = null;
+        
         // Validar username
-        errors.addAll(validateUsername(user.getUsername()));
+        errors = addUsernameErrors(user.getUsername(), errors);
         
         // Validar password
-        errors.addAll(validatePassword(user.getPassword()));
+        errors = addPasswordErrors(user.getPassword(), errors);
         
         // Validar email
-        errors.addAll(validateEmail(user.getEmail()));
+        errors = addEmailErrors(user.getEmail(), errors);
         
         // Validar role
         if (user.getRole() == null) {
-            errors.add("El rol es obligatorio");
+            errors = add(errors, "El rol es obligatorio");
         }
         
-        return errors;
+        return orEmpty(errors);
+    }
+    
+    /**
+     * Valida varios usuarios, en paralelo si el lote es grande
+     * @param users Usuarios a validar
+     * @return Lista de errores de cada usuario, en el mismo orden de entrada
+     */
+    public List<List<String>> validateAll(List<User> users) {
+        if (users.size() < PARALLEL_THRESHOLD) {
+            List<List<String>> results = new ArrayList<>(users.size());
+            for (User user : users) {
+                results.add(validate(user));
+            }
+            return results;
+        }
+        return users.parallelStream()
+                .map(this::validate)
+                .collect(Collectors.toList());
     }
     
     /**
      * Valida solo el username
      */
     public List<String> validateUsername(String username) {
-        List<String> errors = new ArrayList<>();
+        return orEmpty(addUsernameErrors(username, null));
+    }
+    
+    /**
+     * Valida solo la contraseña
+     */
+    public List<String> validatePassword(String password) {
+        return orEmpty(addPasswordErrors(password, null));
+    }
+    
+    /**
+     * Valida solo el email
+     */
+    public List<String> validateEmail(String email) {
+        return orEmpty(addEmailErrors(email, null));
+    }
+    
+    /**
+     * Verifica si un usuario es válido
+     * @param user Usuario a validar
+     * @return true si es válido, false si tiene errores
+     */
+    public boolean isValid(User user) {
+        return validate(user).isEmpty();
+    }
+    
+    // ========================================
+    // Reglas (agregan a la lista, creándola si hace falta)
+    // ========================================
+    
+    private List<String> addUsernameErrors(String username, List<String> errors) {
+        if (username == null) {
+            return add(errors, "El nombre de usuario es obligatorio");
+        }
         
-        if (username == null || username.trim().isEmpty()) {
-            errors.add("El nombre de usuario es obligatorio");
-            return errors;
+        // Límites equivalentes a username.trim(), sin crear otro String
+        int start = 0;
+        int end = username.length();
+        while (start < end && username.charAt(start) <= ' ') {
+            start++;
         }
+        while (end > start && username.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
         
-        String trimmedUsername = username.trim();
+        if (length == 0) {
+            return add(errors, "El nombre de usuario es obligatorio");
+        }
         
-        if (trimmedUsername.length() < MIN_USERNAME_LENGTH) {
-            errors.add("El nombre de usuario debe tener al menos " + MIN_USERNAME_LENGTH + " caracteres");
+        if (length < MIN_USERNAME_LENGTH) {
+            errors = add(errors, "El nombre de usuario debe tener al menos " + MIN_USERNAME_LENGTH + " caracteres");
         }
         
-        if (trimmedUsername.length() > MAX_USERNAME_LENGTH) {
-            errors.add("El nombre de usuario no puede exceder " + MAX_USERNAME_LENGTH + " caracteres");
+        if (length > MAX_USERNAME_LENGTH) {
+            errors = add(errors, "El nombre de usuario no puede exceder " + MAX_USERNAME_LENGTH + " caracteres");
         }
         
         // Solo letras, números y guión bajo
-        if (!trimmedUsername.matches("^[a-zA-Z0-9_]+$")) {
-            errors.add("El nombre de usuario solo puede contener letras, números y guión bajo");
+        for (int i = start; i < end; i++) {
+            if (!isAsciiLetterOrDigit(username.charAt(i)) && username.charAt(i) != '_') {
+                errors = add(errors, "El nombre de usuario solo puede contener letras, números y guión bajo");
+                break;
+            }
         }
         
         return errors;
     }
     
-    /**
-     * Valida solo la contraseña
-     */
-    public List<String> validatePassword(String password) {
-        List<String> errors = new ArrayList<>();
-        
+    private List<String> addPasswordErrors(String password, List<String> errors) {
         if (password == null || password.isEmpty()) {
-            errors.add("La contraseña es obligatoria");
-            return errors;
+            return add(errors, "La contraseña es obligatoria");
         }
         
         if (password.length() < MIN_PASSWORD_LENGTH) {
-            errors.add("La contraseña debe tener al menos " + MIN_PASSWORD_LENGTH + " caracteres");
+            errors = add(errors, "La contraseña debe tener al menos " + MIN_PASSWORD_LENGTH + " caracteres");
+        }
+        
+        boolean hasDigit = false;
+        boolean hasLetter = false;
+        boolean hasLineTerminator = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (isAsciiLetter(c)) {
+                hasLetter = true;
+            } else if (isLineTerminator(c)) {
+                hasLineTerminator = true;
+            }
+        }
+        // Se conserva la semántica de las expresiones anteriores (".*\\d.*"):
+        // '.' no acepta fines de línea, así que con uno ninguna regla se cumplía
+        if (hasLineTerminator) {
+            hasDigit = false;
+            hasLetter = false;
         }
         
         // Validar que tenga al menos un número
-        if (!password.matches(".*\\d.*")) {
-            errors.add("La contraseña debe contener al menos un número");
+        if (!hasDigit) {
+            errors = add(errors, "La contraseña debe contener al menos un número");
         }
         
         // Validar que tenga al menos una letra
-        if (!password.matches(".*[a-zA-Z].*")) {
-            errors.add("La contraseña debe contener al menos una letra");
+        if (!hasLetter) {
+            errors = add(errors, "La contraseña debe contener al menos una letra");
         }
         
         return errors;
     }
     
-    /**
-     * Valida solo el email
-     */
-    public List<String> validateEmail(String email) {
-        List<String> errors = new ArrayList<>();
+    private List<String> addEmailErrors(String email, List<String> errors) {
+        if (email == null) {
+            return add(errors, "El correo electrónico es obligatorio");
+        }
         
-        if (email == null || email.trim().isEmpty()) {
-            errors.add("El correo electrónico es obligatorio");
-            return errors;
+        // trim() devuelve la misma instancia si no hay espacios que quitar
+        String trimmed = email.trim();
+        if (trimmed.isEmpty()) {
+            return add(errors, "El correo electrónico es obligatorio");
         }
         
-        if (!EMAIL_PATTERN.matcher(email.trim()).matches()) {
-            errors.add("El formato del correo electrónico no es válido");
+        if (!EMAIL_PATTERN.matcher(trimmed).matches()) {
+            errors = add(errors, "El formato del correo electrónico no es válido");
         }
         
         return errors;
     }
     
-    /**
-     * Verifica si un usuario es válido
-     * @param user Usuario a validar
-     * @return true si es válido, false si tiene errores
-     */
-    public boolean isValid(User user) {
-        return validate(user).isEmpty();
+    // ========================================
+    // Auxiliares
+    // ========================================
+    
+    private static List<String> add(List<String> errors, String error) {
+        if (errors == null) {
+            errors = new ArrayList<>(4);
+        }
+        errors.add(error);
+        return errors;
+    }
+    
+    private static List<String> orEmpty(List<String> errors) {
+        return errors == null ? new ArrayList<>() : errors;
+    }
+    
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+    
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+    
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.audit.AuditAction;
+import com.taller2solid.audit.AuditFilter;
+import com.taller2solid.audit.AuditLogReader;
+import com.taller2solid.audit.AuditRecord;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Herramienta de línea de comandos para consultar la bitácora de auditoría
+ *
+ * Recorre los segmentos en orden con {@link AuditLogReader} (uno mapeado a
+ * la vez) y escribe los registros que pasan el {@link AuditFilter}, como
+ * texto o como CSV. Con --desde-secuencia no se abren los segmentos
+ * anteriores, lo que permite leer solo lo nuevo desde la última consulta.
+ */
+public class AuditLogViewer {
+    
+    static final String CSV_HEADER = "secuencia,fecha,accion,id,username,resultado";
+    
+    private AuditLogViewer() {
+    }
+    
+    /**
+     * Escribe los registros que pasan el filtro
+     * @param records Registros a recorrer (no se cierran aquí)
+     * @param filter Criterios a cumplir
+     * @param limit Máximo de registros a escribir (0 = sin límite)
+     * @param csv true para CSV con encabezado, false para texto
+     * @return Registros escritos
+     */
+    static long print(Stream<AuditRecord> records, AuditFilter filter, long limit, boolean csv,
+                      PrintStream out) {
+        if (csv) {
+            out.println(CSV_HEADER);
+        }
+        long written = 0;
+        Iterator<AuditRecord> matching = records.filter(filter).iterator();
+        while (matching.hasNext() && (limit == 0 || written < limit)) {
+            out.println(csv ? toCsv(matching.next()) : toText(matching.next()));
+            written++;
+        }
+        return written;
+    }
+    
+    private static String toText(AuditRecord record) {
+        return String.format(Locale.ROOT, "%10d  %s  %-6s  %6d  %-20s  %s",
+                record.getSequence(), record.getTimestamp(), record.getAction(), record.getUserId(),
+                record.getUsername(), result(record));
+    }
+    
+    private static String toCsv(AuditRecord record) {
+        return record.getSequence() + "," + record.getTimestamp() + "," + record.getAction() + ","
+                + record.getUserId() + "," + csvField(record.getUsername()) + ","
+                + result(record);
+    }
+    
+    private static String result(AuditRecord record) {
+        return record.isSuccess() ? "OK" : String.valueOf(record.getReason());
+    }
+    
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    // ========================================
+    // Línea de comandos
+    // ========================================
+    
+    private static final String USAGE =
+            "Uso: AuditLogViewer [directorio] [--accion CREATE,UPDATE,DELETE,LOGIN] [--usuario u] [--id N]\n" +
+            "                    [--desde 2026-01-01T00:00:00Z] [--hasta ...] [--fallidos|--exitosos]\n" +
+            "                    [--desde-secuencia N] [--limite N] [--csv]\n" +
+            "Sin directorio se lee \"auditoria\".";
+    
+    public static void main(String[] args) {
+        Path dir = Paths.get("auditoria");
+        AuditFilter filter = new AuditFilter();
+        long fromSequence = 1;
+        long limit = 0;
+        boolean csv = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--accion":
+                        Set<AuditAction> actions = EnumSet.noneOf(AuditAction.class);
+                        for (String action : args[++i].split(",")) {
+                            actions.add(AuditAction.valueOf(action.trim().toUpperCase(Locale.ROOT)));
+                        }
+                        filter.actions(actions);
+                        break;
+                    case "--usuario":
+                        filter.username(args[++i]);
+                        break;
+                    case "--id":
+                        filter.userId(Integer.parseInt(args[++i]));
+                        break;
+                    case "--desde":
+                        filter.from(Instant.parse(args[++i]));
+                        break;
+                    case "--hasta":
+                        filter.to(Instant.parse(args[++i]));
+                        break;
+                    case "--fallidos":
+                        filter.success(false);
+                        break;
+                    case "--exitosos":
+                        filter.success(true);
+                        break;
+                    case "--desde-secuencia":
+                        fromSequence = Long.parseLong(args[++i]);
+                        break;
+                    case "--limite":
+                        limit = Long.parseLong(args[++i]);
+                        break;
+                    case "--csv":
+                        csv = true;
+                        break;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                        }
+                        dir = Paths.get(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException | DateTimeParseException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Falta un valor" : e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        
+        try (Stream<AuditRecord> records = AuditLogReader.read(dir, fromSequence)) {
+            long written = print(records, filter, limit, csv, System.out);
+            System.err.println(written + " registros");
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.access.BloomFilterUserRepository;
+import com.taller2solid.access.CachingUserRepository;
+import com.taller2solid.access.IUserRepository;
+import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import com.taller2solid.security.DelegatingPasswordEncoder;
+import com.taller2solid.security.IPasswordEncoder;
+import com.taller2solid.security.PBKDF2PasswordEncoder;
+import com.taller2solid.security.SHA256PasswordEncoder;
+import com.taller2solid.service.FailureReason;
+import com.taller2solid.service.LatencyHistogram;
+import com.taller2solid.service.LoginThrottler;
+import com.taller2solid.service.ServiceExecutors;
+import com.taller2solid.service.UserService;
+import com.taller2solid.service.UserService.ServiceResult;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Generador de carga de inicios de sesión para reproducir picos de login
+ *
+ * - {@link #seed(int)} crea N usuarios sintéticos (carga000000, carga000001...)
+ *   directamente en el repositorio, en lotes transaccionales. Todos comparten
+ *   la contraseña {@link #PASSWORD}: se encripta una sola vez y se reutiliza
+ *   el hash, porque verificarlo cuesta lo mismo que uno por usuario y así la
+ *   siembra no depende del costo del encriptador.
+ * - {@link #run} llama a UserService.authenticate desde M hilos durante el
+ *   tiempo indicado, con una mezcla configurable de credenciales correctas,
+ *   contraseñas erróneas y usuarios inexistentes.
+ * - El resultado incluye intentos por segundo, percentiles de latencia, el
+ *   resultado de cada intento por causa y la tasa de errores (intentos cuyo
+ *   resultado no es el esperado), y puede agregarse a un CSV para comparar
+ *   corridas.
+ */
+public class AuthLoadGenerator {
+    
+    public static final String PASSWORD = "Carga123";
+    
+    private static final String USERNAME_FORMAT = "carga%06d";
+    private static final String UNKNOWN_FORMAT = "nadie%06d";
+    private static final String WRONG_PASSWORD = PASSWORD + "x";
+    private static final int SEED_BATCH_SIZE = 5_000;
+    private static final Role[] ROLES = Role.values();
+    private static final FailureReason[] REASONS = FailureReason.values();
+    
+    private final UserService userService;
+    private final IUserRepository repository;
+    private final IPasswordEncoder passwordEncoder;
+    private final PrintStream log;
+    private int seededUsers;
+    
+    /**
+     * @param userService Servicio cuyo authenticate se mide
+     * @param repository Repositorio donde se siembran los usuarios
+     * @param passwordEncoder Encriptador con el que se guarda la contraseña común
+     * @param log Destino de los mensajes de avance (null para no informar)
+     */
+    public AuthLoadGenerator(UserService userService, IUserRepository repository,
+                             IPasswordEncoder passwordEncoder, PrintStream log) {
+        this.userService = userService;
+        this.repository = repository;
+        this.passwordEncoder = passwordEncoder;
+        this.log = log;
+    }
+    
+    /**
+     * Nombre del usuario sintético con ese índice
+     */
+    public static String username(int index) {
+        return String.format(Locale.ROOT, USERNAME_FORMAT, index);
+    }
+    
+    /**
+     * Crea los usuarios sintéticos; se espera una base de datos vacía
+     * @param users Cantidad de usuarios
+     * @return Usuarios guardados
+     */
+    public int seed(int users) {
+        if (users < 1) {
+            throw new IllegalArgumentException("La cantidad de usuarios debe ser positiva");
+        }
+        long start = System.nanoTime();
+        String hash = passwordEncoder.encode(PASSWORD);
+        int saved = 0;
+        List<User> batch = new ArrayList<>(Math.min(users, SEED_BATCH_SIZE));
+        for (int i = 0; i < users; i++) {
+            String username = username(i);
+            batch.add(new User(null, username, hash, username + "@carga.test", ROLES[i % ROLES.length]));
+            if (batch.size() == SEED_BATCH_SIZE || i == users - 1) {
+                saved += repository.saveAll(batch);
+                batch.clear();
+                if (log != null) {
+                    log.printf(Locale.ROOT, "Sembrados %d de %d usuarios%n", saved, users);
+                }
+            }
+        }
+        seededUsers = users;
+        if (log != null) {
+            log.printf(Locale.ROOT, "Siembra terminada en %.1f s%n", (System.nanoTime() - start) / 1e9);
+        }
+        return saved;
+    }
+    
+    /**
+     * Ejecuta la carga
+     * @param threads Hilos que inician sesión en paralelo
+     * @param duration Duración de la corrida
+     * @param badRatio Fracción de intentos con credenciales incorrectas (0 a 1)
+     * @param unknownRatio Fracción de los intentos incorrectos que usan un
+     *        usuario inexistente; el resto usa una contraseña errónea
+     * @return Resumen de la corrida
+     */
+    public LoadReport run(int threads, Duration duration, double badRatio, double unknownRatio)
+            throws InterruptedException {
+        if (seededUsers == 0) {
+            throw new IllegalStateException("Primero se deben sembrar los usuarios");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Los hilos deben ser positivos");
+        }
+        if (badRatio < 0 || badRatio > 1 || unknownRatio < 0 || unknownRatio > 1) {
+            throw new IllegalArgumentException("Las proporciones deben estar entre 0 y 1");
+        }
+        
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder successes = new LongAdder();
+        LongAdder[] failures = new LongAdder[REASONS.length];
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+        LongAdder unexpected = new LongAdder();
+        
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int index = random.nextInt(seededUsers);
+                    boolean good = random.nextDouble() >= badRatio;
+                    String username;
+                    String password;
+                    if (good) {
+                        username = username(index);
+                        password = PASSWORD;
+                    } else if (random.nextDouble() < unknownRatio) {
+                        username = String.format(Locale.ROOT, UNKNOWN_FORMAT, index);
+                        password = PASSWORD;
+                    } else {
+                        username = username(index);
+                        password = WRONG_PASSWORD;
+                    }
+                    
+                    long sent = System.nanoTime();
+                    FailureReason reason;
+                    try {
+                        ServiceResult result = userService.authenticate(username, password);
+                        reason = result.isSuccess() ? null : result.getReason();
+                    } catch (RuntimeException e) {
+                        reason = FailureReason.ERROR;
+                    }
+                    latency.record(System.nanoTime() - sent);
+                    
+                    if (reason == null) {
+                        successes.increment();
+                    } else {
+                        failures[reason.ordinal()].increment();
+                    }
+                    // El limitador rechaza a propósito: se informa aparte, no como error
+                    boolean expected = reason == FailureReason.THROTTLED
+                            || (good ? reason == null : reason == FailureReason.INVALID_CREDENTIALS);
+                    if (!expected) {
+                        unexpected.increment();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+        long elapsed = System.nanoTime() - start;
+        
+        Map<FailureReason, Long> byReason = new LinkedHashMap<>();
+        for (FailureReason reason : REASONS) {
+            long count = failures[reason.ordinal()].sum();
+            if (count > 0) {
+                byReason.put(reason, count);
+            }
+        }
+        return new LoadReport(seededUsers, threads, badRatio, unknownRatio, elapsed, latency,
+                successes.sum(), Collections.unmodifiableMap(byReason), unexpected.sum());
+    }
+    
+    // ========================================
+    // Resultado
+    // ========================================
+    
+    /**
+     * Resultado de una corrida, con la configuración usada para poder
+     * comparar corridas en el CSV
+     */
+    public static class LoadReport {
+        
+        static final String CSV_HEADER = "fecha,usuarios,hilos,fallidos,inexistentes,segundos,intentos," +
+                "intentos_por_s,p50_ms,p99_ms,p999_ms,max_ms,exitos,rechazados,limitados,errores,tasa_error";
+        
+        private final int users;
+        private final int threads;
+        private final double badRatio;
+        private final double unknownRatio;
+        private final long elapsedNanos;
+        private final LatencyHistogram latency;
+        private final long successes;
+        private final Map<FailureReason, Long> failuresByReason;
+        private final long errors;
+        private final Instant finishedAt = Instant.now();
+        
+        LoadReport(int users, int threads, double badRatio, double unknownRatio, long elapsedNanos,
+                   LatencyHistogram latency, long successes, Map<FailureReason, Long> failuresByReason,
+                   long errors) {
+            this.users = users;
+            this.threads = threads;
+            this.badRatio = badRatio;
+            this.unknownRatio = unknownRatio;
+            this.elapsedNanos = elapsedNanos;
+            this.latency = latency;
+            this.successes = successes;
+            this.failuresByReason = failuresByReason;
+            this.errors = errors;
+        }
+        
+        public long getAttempts() {
+            return latency.getCount();
+        }
+        
+        public long getSuccesses() {
+            return successes;
+        }
+        
+        /**
+         * Intentos fallidos por causa (solo las causas que ocurrieron)
+         */
+        public Map<FailureReason, Long> getFailuresByReason() {
+            return failuresByReason;
+        }
+        
+        public long getFailures(FailureReason reason) {
+            return failuresByReason.getOrDefault(reason, 0L);
+        }
+        
+        /**
+         * Intentos con un resultado distinto del esperado: credenciales
+         * correctas rechazadas, incorrectas aceptadas o excepciones. Los
+         * rechazos del limitador no cuentan como error.
+         */
+        public long getErrors() {
+            return errors;
+        }
+        
+        public double getErrorRate() {
+            long attempts = getAttempts();
+            return attempts == 0 ? 0.0 : (double) errors / attempts;
+        }
+        
+        public double getAttemptsPerSecond() {
+            return getAttempts() * 1e9 / elapsedNanos;
+        }
+        
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+        
+        /**
+         * Fila CSV con la configuración y los resultados (latencias en ms)
+         */
+        String toCsvRow() {
+            return String.format(Locale.ROOT,
+                    "%s,%d,%d,%.2f,%.2f,%.1f,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%d,%.5f",
+                    finishedAt, users, threads, badRatio, unknownRatio, elapsedNanos / 1e9,
+                    getAttempts(), getAttemptsPerSecond(),
+                    latency.getPercentile(0.50) / 1e6, latency.getPercentile(0.99) / 1e6,
+                    latency.getPercentile(0.999) / 1e6, latency.getMax() / 1e6,
+                    successes, getFailures(FailureReason.INVALID_CREDENTIALS),
+                    getFailures(FailureReason.THROTTLED), errors, getErrorRate());
+        }
+        
+        /**
+         * Agrega la corrida al final del CSV; si el archivo no existe o está
+         * vacío, escribe antes la cabecera
+         */
+        public void appendCsv(Path file) throws IOException {
+            boolean header = !Files.exists(file) || Files.size(file) == 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (header) {
+                    writer.write(CSV_HEADER);
+                    writer.newLine();
+                }
+                writer.write(toCsvRow());
+                writer.newLine();
+            }
+        }
+        
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+                    "%d intentos en %.1f s: %.0f intentos/s%n" +
+                    "latencia ms: p50=%.2f p99=%.2f p999=%.2f max=%.2f%n" +
+                    "éxitos=%d errores=%d (%.3f%%)",
+                    getAttempts(), elapsedNanos / 1e9, getAttemptsPerSecond(),
+                    latency.getPercentile(0.50) / 1e6, latency.getPercentile(0.99) / 1e6,
+                    latency.getPercentile(0.999) / 1e6, latency.getMax() / 1e6,
+                    successes, errors, getErrorRate() * 100));
+            for (Map.Entry<FailureReason, Long> entry : failuresByReason.entrySet()) {
+                sb.append(String.format(Locale.ROOT, "%n    %-23s %9d", entry.getKey(), entry.getValue()));
+            }
+            return sb.toString();
+        }
+    }
+    
+    // ========================================
+    // Línea de comandos
+    // ========================================
+    
+    private static final String USAGE =
+            "Uso: AuthLoadGenerator [--usuarios 10000] [--hilos N] [--segundos 10] [--calentamiento 2]\n" +
+            "                       [--fallidos 0.2] [--inexistentes 0.5] [--csv resultados.csv]\n" +
+            "                       [--encriptador pbkdf2|sha256] [--limitador] [--db archivo]\n" +
+            "Sin --db se usa un usuarios.db temporal que se borra al terminar.";
+    
+    public static void main(String[] args) throws Exception {
+        int users = 10_000;
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        int seconds = 10;
+        int warmupSeconds = 2;
+        double badRatio = 0.2;
+        double unknownRatio = 0.5;
+        Path csv = null;
+        String encoder = "pbkdf2";
+        boolean throttled = false;
+        String db = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--usuarios":
+                        users = Integer.parseInt(args[++i]);
+                        break;
+                    case "--hilos":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--segundos":
+                        seconds = Integer.parseInt(args[++i]);
+                        break;
+                    case "--calentamiento":
+                        warmupSeconds = Integer.parseInt(args[++i]);
+                        break;
+                    case "--fallidos":
+                        badRatio = Double.parseDouble(args[++i]);
+                        break;
+                    case "--inexistentes":
+                        unknownRatio = Double.parseDouble(args[++i]);
+                        break;
+                    case "--csv":
+                        csv = Paths.get(args[++i]);
+                        break;
+                    case "--encriptador":
+                        encoder = args[++i];
+                        if (!encoder.equals("pbkdf2") && !encoder.equals("sha256")) {
+                            throw new IllegalArgumentException("Encriptador desconocido: " + encoder);
+                        }
+                        break;
+                    case "--limitador":
+                        throttled = true;
+                        break;
+                    case "--db":
+                        db = args[++i];
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Falta un valor" : e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        
+        Path tempDir = null;
+        if (db == null) {
+            tempDir = Files.createTempDirectory("carga-auth");
+            db = tempDir.resolve("usuarios.db").toString();
+        }
+        
+        // Mismas capas que la aplicación, para medir lo que verá producción
+        IUserRepository repository = new BloomFilterUserRepository(
+                new CachingUserRepository(
+                        new UserRepositorySQLite(db),
+                        CachingUserRepository.DEFAULT_MAX_ENTRIES,
+                        Duration.ofMinutes(5)),
+                Math.max(users, BloomFilterUserRepository.DEFAULT_EXPECTED_USERS),
+                BloomFilterUserRepository.DEFAULT_FALSE_POSITIVE_RATE,
+                Duration.ofHours(1));
+        repository.initDatabase();
+        IPasswordEncoder passwordEncoder = encoder.equals("sha256")
+                ? new SHA256PasswordEncoder()
+                : new DelegatingPasswordEncoder(PBKDF2PasswordEncoder.calibrated(Duration.ofMillis(100)),
+                                                new SHA256PasswordEncoder());
+        UserService userService = new UserService(repository, passwordEncoder,
+                Executors.newSingleThreadExecutor(
+                        ServiceExecutors.daemonThreadFactory("user-service-background")),
+                throttled ? new LoginThrottler() : null);
+        
+        int exitCode = 0;
+        try {
+            AuthLoadGenerator generator = new AuthLoadGenerator(userService, repository, passwordEncoder, System.out);
+            generator.seed(users);
+            if (warmupSeconds > 0) {
+                System.out.println("Calentamiento: " + warmupSeconds + " s");
+                generator.run(threads, Duration.ofSeconds(warmupSeconds), badRatio, unknownRatio);
+            }
+            System.out.printf(Locale.ROOT, "Carga: %d hilos durante %d s (%.0f%% fallidos, %.0f%% de ellos inexistentes)%n",
+                    threads, seconds, badRatio * 100, unknownRatio * 100);
+            LoadReport report = generator.run(threads, Duration.ofSeconds(seconds), badRatio, unknownRatio);
+            System.out.println(report);
+            if (csv != null) {
+                report.appendCsv(csv);
+                System.out.println("Resultados agregados a " + csv);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            exitCode = 1;
+        } finally {
+            repository.closeConnection();
+            if (tempDir != null) {
+                deleteRecursively(tempDir);
+            }
+        }
+        System.exit(exitCode);
+    }
+    
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
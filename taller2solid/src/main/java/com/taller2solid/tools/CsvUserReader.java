@@ -0,0 +1,153 @@
+package com.taller2solid.tools;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector de usuarios en CSV (RFC 4180)
+ *
+ * La primera fila es el encabezado; las columnas se identifican por nombre
+ * (username, password, email, role y opcionalmente active; id se ignora).
+ * Acepta campos entre comillas con comas, comillas dobladas y saltos de
+ * línea. Una fila con otra cantidad de columnas se rechaza y se sigue con
+ * la siguiente.
+ */
+public class CsvUserReader implements UserRecordReader {
+    
+    private static final String[] REQUIRED_COLUMNS = {"username", "password", "email", "role"};
+    private static final int END = -1;
+    
+    private final Reader in;
+    private final String[] columns;
+    private int pushedBack = -2;
+    private long number;
+    private long line = 1;
+    
+    /**
+     * @param in Origen (conviene que tenga buffer); se cierra al cerrar el lector
+     * @throws IOException Si falta el encabezado o alguna columna obligatoria
+     */
+    public CsvUserReader(Reader in) throws IOException {
+        this.in = in;
+        int first = read();
+        if (first != '\uFEFF') {
+            unread(first);
+        }
+        List<String> header = readRow();
+        if (header == null) {
+            throw new IOException("El archivo CSV está vacío");
+        }
+        columns = new String[header.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = header.get(i).trim().toLowerCase(Locale.ROOT);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!List.of(columns).contains(required)) {
+                throw new IOException("Falta la columna '" + required + "' en el encabezado CSV");
+            }
+        }
+    }
+    
+    @Override
+    public UserRecord next() throws IOException {
+        List<String> row;
+        long startLine;
+        do {
+            startLine = line;
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isEmpty());
+        
+        number++;
+        if (row.size() != columns.length) {
+            return UserRecord.rejected(number, null,
+                    "Se esperaban " + columns.length + " columnas y hay " + row.size()
+                    + " (línea " + startLine + ")");
+        }
+        Map<String, String> fields = new HashMap<>(columns.length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            fields.put(columns[i], row.get(i));
+        }
+        return UserRecord.fromFields(number, fields);
+    }
+    
+    /**
+     * Lee una fila completa
+     * @return Los campos, o null al final del archivo
+     */
+    private List<String> readRow() throws IOException {
+        int c = read();
+        if (c == END) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == END) {
+                    throw new IOException("Comillas sin cerrar en la línea " + line);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == END) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (c != END) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+    
+    private void unread(int c) {
+        pushedBack = c;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,65 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.domain.User;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escritor de usuarios en CSV (RFC 4180), legible por {@link CsvUserReader}
+ */
+public class CsvUserWriter implements UserRecordWriter {
+    
+    private final Writer out;
+    private final boolean includePassword;
+    
+    /**
+     * @param out Destino (conviene que tenga buffer); se cierra al cerrar el escritor
+     * @param includePassword Si es false se omite la columna password
+     */
+    public CsvUserWriter(Writer out, boolean includePassword) throws IOException {
+        this.out = out;
+        this.includePassword = includePassword;
+        out.write(includePassword ? "id,username,password,email,role,active\n" : "id,username,email,role,active\n");
+    }
+    
+    @Override
+    public void write(User user) throws IOException {
+        out.write(user.getId() != null ? user.getId().toString() : "");
+        out.write(',');
+        writeField(user.getUsername());
+        if (includePassword) {
+            out.write(',');
+            writeField(user.getPassword());
+        }
+        out.write(',');
+        writeField(user.getEmail());
+        out.write(',');
+        writeField(user.getRole() != null ? user.getRole().name() : null);
+        out.write(',');
+        out.write(user.isActive() ? "true" : "false");
+        out.write('\n');
+    }
+    
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
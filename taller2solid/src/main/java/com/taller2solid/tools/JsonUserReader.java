@@ -0,0 +1,255 @@
+package com.taller2solid.tools;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector de usuarios en JSON
+ *
+ * Acepta un arreglo de objetos ({@code [{...}, {...}]}) o un objeto por línea
+ * (JSON Lines). Cada objeto debe ser plano: sus valores son textos, números,
+ * booleanos o null. El archivo se recorre con un analizador incremental, un
+ * objeto a la vez, sin construir el documento completo en memoria.
+ *
+ * Un error de sintaxis detiene la lectura (no se puede saber dónde empieza
+ * el siguiente objeto); un valor inválido solo rechaza su registro.
+ */
+public class JsonUserReader implements UserRecordReader {
+    
+    private static final int END = -1;
+    
+    private final Reader in;
+    private int pushedBack = -2;
+    private boolean inArray;
+    private boolean started;
+    private boolean finished;
+    private long number;
+    private long line = 1;
+    
+    /**
+     * @param in Origen (conviene que tenga buffer); se cierra al cerrar el lector
+     */
+    public JsonUserReader(Reader in) {
+        this.in = in;
+    }
+    
+    @Override
+    public UserRecord next() throws IOException {
+        Map<String, String> fields = nextFields();
+        if (fields == null) {
+            return null;
+        }
+        number++;
+        return UserRecord.fromFields(number, fields);
+    }
+    
+    /**
+     * Lee el siguiente objeto sin convertirlo en usuario
+     * @return Los campos (nombres en minúsculas; los null se conservan como
+     *         claves con valor null), o null al llegar al final
+     * @throws IOException Si no se puede leer o el JSON está mal formado
+     */
+    public Map<String, String> nextFields() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int c = skipWhitespace();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = skipWhitespace();
+            }
+            if (c == '[') {
+                inArray = true;
+                c = skipWhitespace();
+                if (c == ']') {
+                    return finish();
+                }
+            }
+        } else if (inArray) {
+            if (c == ']') {
+                return finish();
+            }
+            if (c != ',') {
+                throw syntaxError("se esperaba ',' o ']'");
+            }
+            c = skipWhitespace();
+        } else if (c == ',') {
+            c = skipWhitespace();
+        }
+        if (c == END) {
+            if (inArray) {
+                throw syntaxError("falta ']' al final del arreglo");
+            }
+            finished = true;
+            return null;
+        }
+        if (c != '{') {
+            throw syntaxError("se esperaba '{'");
+        }
+        return readObject();
+    }
+    
+    private Map<String, String> finish() throws IOException {
+        finished = true;
+        if (skipWhitespace() != END) {
+            throw syntaxError("contenido después del final del arreglo");
+        }
+        return null;
+    }
+    
+    /**
+     * Lee los pares de un objeto (ya consumida la llave de apertura)
+     */
+    private Map<String, String> readObject() throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        int c = skipWhitespace();
+        if (c == '}') {
+            return fields;
+        }
+        while (true) {
+            if (c != '"') {
+                throw syntaxError("se esperaba el nombre de un campo");
+            }
+            String name = readString().toLowerCase(Locale.ROOT);
+            if (skipWhitespace() != ':') {
+                throw syntaxError("se esperaba ':'");
+            }
+            fields.put(name, readValue(skipWhitespace()));
+            c = skipWhitespace();
+            if (c == '}') {
+                return fields;
+            }
+            if (c != ',') {
+                throw syntaxError("se esperaba ',' o '}'");
+            }
+            c = skipWhitespace();
+        }
+    }
+    
+    private String readValue(int c) throws IOException {
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            throw syntaxError("los valores anidados no están soportados");
+        }
+        StringBuilder literal = new StringBuilder();
+        while (c != END && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+            literal.append((char) c);
+            c = read();
+        }
+        unread(c);
+        String value = literal.toString();
+        if (value.equals("null")) {
+            return null;
+        }
+        if (value.equals("true") || value.equals("false") || isNumber(value)) {
+            return value;
+        }
+        throw syntaxError("valor inválido '" + value + "'");
+    }
+    
+    private String readString() throws IOException {
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == END || c == '\n') {
+                throw syntaxError("texto sin cerrar");
+            }
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append((char) c);
+                continue;
+            }
+            int escaped = read();
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    value.append((char) escaped);
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    value.append(readUnicodeEscape());
+                    break;
+                default:
+                    throw syntaxError("secuencia de escape inválida");
+            }
+        }
+    }
+    
+    private char readUnicodeEscape() throws IOException {
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw syntaxError("escape \\u inválido");
+            }
+            code = code * 16 + digit;
+        }
+        return (char) code;
+    }
+    
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != END && Character.isWhitespace(c));
+        return c;
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        int c = in.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+    
+    private void unread(int c) {
+        pushedBack = c;
+    }
+    
+    private IOException syntaxError(String detail) {
+        return new IOException("JSON inválido en la línea " + line + ": " + detail);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
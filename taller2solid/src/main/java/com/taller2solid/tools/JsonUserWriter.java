@@ -0,0 +1,93 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.domain.User;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escritor de usuarios como arreglo JSON, un objeto por línea
+ *
+ * El arreglo se abre al crear el escritor y se cierra en {@link #close()},
+ * así que el archivo solo es JSON válido una vez cerrado.
+ */
+public class JsonUserWriter implements UserRecordWriter {
+    
+    private final Writer out;
+    private final boolean includePassword;
+    private boolean first = true;
+    
+    /**
+     * @param out Destino (conviene que tenga buffer); se cierra al cerrar el escritor
+     * @param includePassword Si es false se omite el campo password
+     */
+    public JsonUserWriter(Writer out, boolean includePassword) throws IOException {
+        this.out = out;
+        this.includePassword = includePassword;
+        out.write('[');
+    }
+    
+    @Override
+    public void write(User user) throws IOException {
+        out.write(first ? "\n" : ",\n");
+        first = false;
+        out.write("{\"id\":");
+        out.write(user.getId() != null ? user.getId().toString() : "null");
+        out.write(",\"username\":");
+        writeString(user.getUsername());
+        if (includePassword) {
+            out.write(",\"password\":");
+            writeString(user.getPassword());
+        }
+        out.write(",\"email\":");
+        writeString(user.getEmail());
+        out.write(",\"role\":");
+        writeString(user.getRole() != null ? user.getRole().name() : null);
+        out.write(",\"active\":");
+        out.write(user.isActive() ? "true" : "false");
+        out.write('}');
+    }
+    
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            out.write(first ? "]\n" : "\n]\n");
+        } finally {
+            out.close();
+        }
+    }
+}
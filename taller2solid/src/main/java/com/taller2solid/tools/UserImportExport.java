@@ -0,0 +1,404 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.access.BloomFilterUserRepository;
+import com.taller2solid.access.IUserRepository;
+import com.taller2solid.access.UserProjection;
+import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.domain.User;
+import com.taller2solid.security.DelegatingPasswordEncoder;
+import com.taller2solid.security.PBKDF2PasswordEncoder;
+import com.taller2solid.security.SHA256PasswordEncoder;
+import com.taller2solid.service.UserService;
+import com.taller2solid.service.UserService.BulkResult;
+import com.taller2solid.service.UserService.RowFailure;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Herramienta de línea de comandos para importar y exportar usuarios
+ * (CSV o JSON, según la extensión del archivo)
+ *
+ * Importación:
+ * - El archivo se lee registro a registro y se procesa por lotes de
+ *   {@code chunkSize}, así que la memoria no depende del tamaño del archivo.
+ * - Cada lote pasa por UserService.createUsers: UserValidator, encriptado de
+ *   contraseñas en paralelo y guardado en lotes transaccionales. El lote se
+ *   ejecuta dentro de un ForkJoinPool propio, de modo que el encriptado en
+ *   paralelo usa {@code hashThreads} hilos y no el pool común.
+ * - Los hashes ya encriptados (exportados de otro entorno) se guardan tal cual.
+ * - Los registros rechazados se escriben, con su motivo, en un archivo aparte.
+ *
+ * Exportación:
+ * - Recorre la tabla con el cursor de streamAll y escribe en un FileChannel
+ *   con buffer: la memoria es constante aunque haya millones de filas.
+ *
+ * En ambos sentidos informa el avance y los registros por segundo.
+ */
+public class UserImportExport implements AutoCloseable {
+    
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+    
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final UserService userService;
+    private final IUserRepository repository;
+    private final PrintStream log;
+    private final int chunkSize;
+    private final ForkJoinPool hashPool;
+    
+    /**
+     * @param userService Servicio para crear los usuarios importados
+     * @param repository Repositorio del que se exporta
+     * @param log Destino de los mensajes de avance (null para no informar)
+     * @param chunkSize Registros por lote de importación
+     * @param hashThreads Hilos para encriptar contraseñas
+     */
+    public UserImportExport(UserService userService, IUserRepository repository, PrintStream log,
+                            int chunkSize, int hashThreads) {
+        if (chunkSize < 1 || hashThreads < 1) {
+            throw new IllegalArgumentException("El tamaño de lote y los hilos deben ser positivos");
+        }
+        this.userService = userService;
+        this.repository = repository;
+        this.log = log;
+        this.chunkSize = chunkSize;
+        this.hashPool = new ForkJoinPool(hashThreads);
+    }
+    
+    /**
+     * Formatos soportados
+     */
+    public enum Format {
+        CSV,
+        JSON;
+        
+        /**
+         * Formato según la extensión (.csv, .json, .jsonl o .ndjson)
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return JSON;
+            }
+            throw new IllegalArgumentException("Formato no soportado (use .csv o .json): " + file);
+        }
+    }
+    
+    // ========================================
+    // Importación
+    // ========================================
+    
+    /**
+     * Importa los usuarios de un archivo
+     * @param source Archivo CSV o JSON
+     * @param rejects Archivo de rechazos (CSV: registro, username, motivo); solo
+     *        se crea si hay algún rechazo
+     * @return Resumen de la importación
+     * @throws IOException Si no se puede leer el archivo o su estructura está dañada
+     */
+    public TransferReport importUsers(Path source, Path rejects) throws IOException {
+        Progress progress = new Progress("Importados");
+        List<UserRecord> chunk = new ArrayList<>(chunkSize);
+        try (UserRecordReader reader = openReader(source);
+             RejectWriter rejectWriter = new RejectWriter(rejects)) {
+            UserRecord record;
+            while ((record = reader.next()) != null) {
+                if (record.isValid()) {
+                    chunk.add(record);
+                    if (chunk.size() == chunkSize) {
+                        importChunk(chunk, progress, rejectWriter);
+                    }
+                } else {
+                    rejectWriter.write(record.getNumber(), record.getUsername(), record.getError());
+                    progress.rejected(1);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, progress, rejectWriter);
+            }
+        }
+        return progress.finish();
+    }
+    
+    private void importChunk(List<UserRecord> chunk, Progress progress, RejectWriter rejectWriter)
+            throws IOException {
+        List<User> users = new ArrayList<>(chunk.size());
+        for (UserRecord record : chunk) {
+            users.add(record.getUser());
+        }
+        // Un stream paralelo lanzado desde una tarea de un ForkJoinPool usa ese pool
+        BulkResult result = hashPool.submit(() -> userService.createUsers(users, true)).join();
+        for (RowFailure failure : result.getFailures()) {
+            UserRecord record = chunk.get(failure.getIndex());
+            rejectWriter.write(record.getNumber(), record.getUsername(), failure.getMessage());
+        }
+        progress.succeeded(result.getSucceeded().size());
+        progress.rejected(result.getFailures().size());
+        chunk.clear();
+    }
+    
+    private UserRecordReader openReader(Path source) throws IOException {
+        Reader in = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+        try {
+            return Format.of(source) == Format.CSV ? new CsvUserReader(in) : new JsonUserReader(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
+    // ========================================
+    // Exportación
+    // ========================================
+    
+    /**
+     * Exporta todos los usuarios ordenados por ID
+     * @param target Archivo CSV o JSON (se reemplaza si existe)
+     * @param includePasswords Si es true se exportan los hashes de contraseña,
+     *        para poder importarlos en otro entorno sin que cambien
+     * @return Resumen de la exportación
+     */
+    public TransferReport exportUsers(Path target, boolean includePasswords) throws IOException {
+        Format format = Format.of(target);
+        UserProjection projection = includePasswords ? UserProjection.FULL : UserProjection.WITHOUT_PASSWORD;
+        Progress progress = new Progress("Exportados");
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), WRITE_BUFFER_BYTES);
+             UserRecordWriter writer = format == Format.CSV
+                     ? new CsvUserWriter(out, includePasswords)
+                     : new JsonUserWriter(out, includePasswords);
+             Stream<User> users = repository.streamAll(projection)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                progress.succeeded(1);
+            }
+        }
+        return progress.finish();
+    }
+    
+    @Override
+    public void close() {
+        hashPool.shutdown();
+    }
+    
+    // ========================================
+    // Avance y resumen
+    // ========================================
+    
+    /**
+     * Resultado de una importación o exportación
+     */
+    public static class TransferReport {
+        private final long succeeded;
+        private final long rejected;
+        private final long elapsedNanos;
+        
+        TransferReport(long succeeded, long rejected, long elapsedNanos) {
+            this.succeeded = succeeded;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        public long getSucceeded() {
+            return succeeded;
+        }
+        
+        public long getRejected() {
+            return rejected;
+        }
+        
+        public long getProcessed() {
+            return succeeded + rejected;
+        }
+        
+        public Duration getElapsed() {
+            return Duration.ofNanos(elapsedNanos);
+        }
+        
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : getProcessed() * 1e9 / elapsedNanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d registros (%d correctos, %d rechazados) en %.1f s, %.0f reg/s",
+                    getProcessed(), succeeded, rejected, elapsedNanos / 1e9, getRecordsPerSecond());
+        }
+    }
+    
+    private final class Progress {
+        private final String label;
+        private final long start = System.nanoTime();
+        private long lastReport = start;
+        private long succeeded;
+        private long rejected;
+        
+        Progress(String label) {
+            this.label = label;
+        }
+        
+        void succeeded(long count) {
+            succeeded += count;
+            maybeReport();
+        }
+        
+        void rejected(long count) {
+            rejected += count;
+            maybeReport();
+        }
+        
+        private void maybeReport() {
+            long now = System.nanoTime();
+            if (log == null || now - lastReport < PROGRESS_INTERVAL_NANOS) {
+                return;
+            }
+            lastReport = now;
+            long processed = succeeded + rejected;
+            log.printf(Locale.ROOT, "  %s: %d (rechazados %d), %.0f reg/s%n",
+                    label, succeeded, rejected, processed * 1e9 / (now - start));
+        }
+        
+        TransferReport finish() {
+            return new TransferReport(succeeded, rejected, System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Archivo de rechazos; se crea con el primer rechazo
+     */
+    private static final class RejectWriter implements AutoCloseable {
+        private final Path path;
+        private BufferedWriter out;
+        
+        RejectWriter(Path path) {
+            this.path = path;
+        }
+        
+        void write(long number, String username, String reason) throws IOException {
+            if (out == null) {
+                out = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                out.write("registro,username,motivo\n");
+            }
+            out.write(Long.toString(number));
+            out.write(',');
+            out.write(quote(username));
+            out.write(',');
+            out.write(quote(reason));
+            out.write('\n');
+        }
+        
+        private static String quote(String value) {
+            return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+    
+    // ========================================
+    // Línea de comandos
+    // ========================================
+    
+    private static final String USAGE =
+            "Uso:\n" +
+            "  UserImportExport import <archivo.csv|.json> [--db usuarios.db] [--rechazos archivo]\n" +
+            "                          [--lote " + DEFAULT_CHUNK_SIZE + "] [--hilos N]\n" +
+            "  UserImportExport export <archivo.csv|.json> [--db usuarios.db] [--sin-password]";
+    
+    public static void main(String[] args) {
+        if (args.length < 2 || !(args[0].equals("import") || args[0].equals("export"))) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        boolean importing = args[0].equals("import");
+        Path file = Paths.get(args[1]);
+        String db = "usuarios.db";
+        Path rejects = Paths.get(args[1] + ".rechazos.csv");
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean includePasswords = true;
+        try {
+            for (int i = 2; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--db":
+                        db = args[++i];
+                        break;
+                    case "--rechazos":
+                        rejects = Paths.get(args[++i]);
+                        break;
+                    case "--lote":
+                        chunkSize = Integer.parseInt(args[++i]);
+                        break;
+                    case "--hilos":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--sin-password":
+                        includePasswords = false;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Falta un valor" : e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        
+        UserRepositorySQLite database = new UserRepositorySQLite(db);
+        IUserRepository repository = new BloomFilterUserRepository(database);
+        repository.initDatabase();
+        database.getAppliedMigrations().forEach(m -> System.out.println("Migración aplicada: " + m));
+        // Misma configuración de encriptado que la aplicación
+        UserService userService = new UserService(repository, new DelegatingPasswordEncoder(
+                PBKDF2PasswordEncoder.calibrated(Duration.ofMillis(100)),
+                new SHA256PasswordEncoder()));
+        int exitCode = 0;
+        try (UserImportExport tool = new UserImportExport(userService, repository, System.out, chunkSize, threads)) {
+            if (importing) {
+                TransferReport report = tool.importUsers(file, rejects);
+                System.out.println("Importación terminada: " + report);
+                if (report.getRejected() > 0) {
+                    System.out.println("Rechazos en " + rejects);
+                }
+            } else {
+                TransferReport report = tool.exportUsers(file, includePasswords);
+                System.out.println("Exportación terminada: " + report);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            exitCode = 1;
+        } finally {
+            repository.closeConnection();
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,102 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registro leído de un archivo de importación
+ *
+ * Es válido (tiene usuario) o rechazado (tiene el motivo). Las reglas de
+ * negocio las aplica después UserValidator; aquí solo se rechazan los
+ * valores que no se pueden convertir, como un rol inexistente.
+ */
+public class UserRecord {
+    
+    private final long number;
+    private final User user;
+    private final String username;
+    private final String error;
+    
+    private UserRecord(long number, User user, String username, String error) {
+        this.number = number;
+        this.user = user;
+        this.username = username;
+        this.error = error;
+    }
+    
+    public static UserRecord rejected(long number, String username, String error) {
+        return new UserRecord(number, null, username, error);
+    }
+    
+    /**
+     * Convierte los campos de un registro (por nombre de columna) en un usuario.
+     * El ID se ignora: la base de datos destino asigna uno nuevo.
+     * @param number Número de registro (desde 1), para los rechazos
+     * @param fields Valores por nombre de columna; los ausentes son null
+     */
+    public static UserRecord fromFields(long number, Map<String, String> fields) {
+        String username = fields.get("username");
+        Role role = null;
+        String roleText = fields.get("role");
+        if (roleText != null && !roleText.isEmpty()) {
+            try {
+                role = Role.valueOf(roleText.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return rejected(number, username, "Rol inválido: " + roleText);
+            }
+        }
+        boolean active = true;
+        String activeText = fields.get("active");
+        if (activeText != null && !activeText.isEmpty()) {
+            switch (activeText.trim().toLowerCase(Locale.ROOT)) {
+                case "true":
+                case "1":
+                    active = true;
+                    break;
+                case "false":
+                case "0":
+                    active = false;
+                    break;
+                default:
+                    return rejected(number, username, "Valor de active inválido: " + activeText);
+            }
+        }
+        User user = new User(null, username, fields.get("password"), fields.get("email"), role);
+        user.setActive(active);
+        return new UserRecord(number, user, username, null);
+    }
+    
+    /**
+     * Número de registro en el archivo (desde 1, sin contar el encabezado)
+     */
+    public long getNumber() {
+        return number;
+    }
+    
+    /**
+     * Usuario leído, o null si el registro fue rechazado
+     */
+    public User getUser() {
+        return user;
+    }
+    
+    /**
+     * Username tal como venía en el archivo (puede ser null)
+     */
+    public String getUsername() {
+        return username;
+    }
+    
+    /**
+     * Motivo del rechazo, o null si el registro es válido
+     */
+    public String getError() {
+        return error;
+    }
+    
+    public boolean isValid() {
+        return error == null;
+    }
+}
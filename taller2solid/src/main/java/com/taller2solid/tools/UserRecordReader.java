@@ -0,0 +1,21 @@
+package com.taller2solid.tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lector secuencial de usuarios desde un archivo de importación
+ * Aplicando OCP (Open/Closed Principle):
+ * - Cada formato es una implementación; la herramienta no depende del formato
+ *
+ * Las implementaciones leen un registro a la vez, sin cargar el archivo.
+ */
+public interface UserRecordReader extends Closeable {
+    
+    /**
+     * Lee el siguiente registro
+     * @return El registro (válido o rechazado), o null al llegar al final
+     * @throws IOException Si no se puede leer o la estructura del archivo está dañada
+     */
+    UserRecord next() throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.domain.User;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Escritor secuencial de usuarios a un archivo de exportación
+ *
+ * Al cerrarse completa el formato (si hace falta) y cierra el destino.
+ */
+public interface UserRecordWriter extends Closeable {
+    
+    /**
+     * Escribe un usuario; los campos null se escriben vacíos
+     */
+    void write(User user) throws IOException;
+}
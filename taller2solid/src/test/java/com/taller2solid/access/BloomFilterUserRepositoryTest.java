@@ -0,0 +1,122 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para BloomFilterUserRepository y UsernameBloomFilter
+ */
+@DisplayName("Pruebas unitarias del filtro de Bloom de usernames")
+class BloomFilterUserRepositoryTest {
+    
+    @Mock
+    private IUserRepository mockDelegate;
+    
+    private BloomFilterUserRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockDelegate.count()).thenReturn(1L);
+        when(mockDelegate.streamAll(UserProjection.USERNAME))
+            .thenAnswer(inv -> Stream.of(new User(1, "existente", null, null, null)));
+        doCallRealMethod().when(mockDelegate).forEachUser(any(), any());
+        doCallRealMethod().when(mockDelegate).mightExist(any());
+        repository = new BloomFilterUserRepository(mockDelegate, 100, 0.01, null);
+        repository.initDatabase();
+    }
+    
+    @Test
+    @DisplayName("Debe descartar un username nuevo sin consultar la base")
+    void testUsernameNuevoNoConsultaBase() {
+        // Act
+        boolean result = repository.mightExist("nuevo_usuario");
+        
+        // Assert
+        assertFalse(result);
+        verify(mockDelegate, never()).findByUsername(anyString());
+        assertEquals(1, repository.getDefiniteMisses());
+    }
+    
+    @Test
+    @DisplayName("findByUsername debe consultar la base aunque el filtro no conozca el username")
+    void testBusquedaIgnoraElFiltro() {
+        // Arrange: usuario creado por otro proceso después de construir el filtro
+        User otro = new User(2, "de_otro_proceso", "hash", "o@test.com", Role.USER);
+        when(mockDelegate.findByUsername("de_otro_proceso")).thenReturn(Optional.of(otro));
+        
+        // Act
+        Optional<User> result = repository.findByUsername("de_otro_proceso");
+        
+        // Assert
+        assertTrue(result.isPresent());
+        verify(mockDelegate).findByUsername("de_otro_proceso");
+    }
+    
+    @Test
+    @DisplayName("Debe consultar la base para un username cargado al inicializar")
+    void testUsernameExistenteConsultaBase() {
+        // Arrange
+        when(mockDelegate.findByUsername("existente"))
+            .thenReturn(Optional.of(new User(1, "existente", "hash", "e@test.com", Role.USER)));
+        
+        // Act
+        boolean mightExist = repository.mightExist("existente");
+        Optional<User> result = repository.findByUsername("existente");
+        
+        // Assert
+        assertTrue(mightExist);
+        assertTrue(result.isPresent());
+        verify(mockDelegate).findByUsername("existente");
+    }
+    
+    @Test
+    @DisplayName("Debe agregar al filtro los usernames guardados")
+    void testSaveActualizaFiltro() {
+        // Arrange
+        User user = new User(null, "recien", "hash", "r@test.com", Role.USER);
+        when(mockDelegate.save(user)).thenReturn(true);
+        
+        // Act
+        repository.save(user);
+        boolean result = repository.mightExist("recien");
+        
+        // Assert
+        assertTrue(result, "Un username guardado no puede darse por libre");
+    }
+    
+    @Test
+    @DisplayName("La tasa de falsos positivos debe mantenerse cerca de la configurada")
+    void testTasaDeFalsosPositivos() {
+        // Arrange
+        UsernameBloomFilter filter = new UsernameBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i);
+        }
+        
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("otro" + i)) {
+                falsePositives++;
+            }
+        }
+        
+        // Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i), "No debe haber falsos negativos");
+        }
+        assertTrue(falsePositives < 300, "Falsos positivos: " + falsePositives);
+    }
+}
@@ -0,0 +1,144 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para CachingUserRepository
+ * Usa Mockito para simular el repositorio real
+ */
+@DisplayName("Pruebas unitarias de CachingUserRepository")
+class CachingUserRepositoryTest {
+    
+    @Mock
+    private IUserRepository mockDelegate;
+    
+    private CachingUserRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new CachingUserRepository(mockDelegate, 2, null);
+    }
+    
+    private User user(int id, String username) {
+        return new User(id, username, "hash", username + "@test.com", Role.USER);
+    }
+    
+    @Test
+    @DisplayName("Debe consultar el repositorio una sola vez para lecturas repetidas por ID y username")
+    void testLecturasRepetidasUsanCache() {
+        // Arrange
+        when(mockDelegate.findById(1)).thenReturn(Optional.of(user(1, "juan")));
+        
+        // Act
+        repository.findById(1);
+        Optional<User> porId = repository.findById(1);
+        Optional<User> porUsername = repository.findByUsername("juan");
+        
+        // Assert
+        assertEquals("juan", porId.get().getUsername());
+        assertEquals(1, porUsername.get().getId());
+        verify(mockDelegate, times(1)).findById(1);
+        verify(mockDelegate, never()).findByUsername(anyString());
+        assertEquals(2, repository.getHits());
+        assertEquals(1, repository.getMisses());
+    }
+    
+    @Test
+    @DisplayName("Debe devolver copias para que el llamador no altere la caché")
+    void testDevuelveCopias() {
+        // Arrange
+        when(mockDelegate.findById(1)).thenReturn(Optional.of(user(1, "juan")));
+        
+        // Act
+        repository.findById(1).get().setEmail("cambiado@test.com");
+        
+        // Assert
+        assertEquals("juan@test.com", repository.findById(1).get().getEmail());
+    }
+    
+    @Test
+    @DisplayName("Debe invalidar la entrada y el índice por username al actualizar")
+    void testUpdateInvalida() {
+        // Arrange
+        when(mockDelegate.findById(1)).thenReturn(Optional.of(user(1, "juan")));
+        when(mockDelegate.findByUsername("juan")).thenReturn(Optional.empty());
+        when(mockDelegate.update(any())).thenReturn(true);
+        repository.findById(1);
+        
+        // Act
+        repository.update(user(1, "juanito"));
+        Optional<User> viejo = repository.findByUsername("juan");
+        
+        // Assert
+        assertFalse(viejo.isPresent(), "El username anterior no debe seguir en caché");
+        verify(mockDelegate).findByUsername("juan");
+        assertEquals(0, repository.size());
+    }
+    
+    @Test
+    @DisplayName("Debe invalidar la entrada al eliminar")
+    void testDeleteInvalida() {
+        // Arrange
+        when(mockDelegate.findById(1)).thenReturn(Optional.of(user(1, "juan")));
+        when(mockDelegate.delete(1)).thenReturn(true);
+        repository.findById(1);
+        
+        // Act
+        repository.delete(1);
+        repository.findById(1);
+        
+        // Assert
+        verify(mockDelegate, times(2)).findById(1);
+    }
+    
+    @Test
+    @DisplayName("Debe desalojar la entrada menos usada al superar el tamaño máximo")
+    void testDesalojoLRU() {
+        // Arrange
+        when(mockDelegate.findById(1)).thenReturn(Optional.of(user(1, "a")));
+        when(mockDelegate.findById(2)).thenReturn(Optional.of(user(2, "b")));
+        when(mockDelegate.findById(3)).thenReturn(Optional.of(user(3, "c")));
+        
+        // Act
+        repository.findById(1);
+        repository.findById(2);
+        repository.findById(1);   // 1 pasa a ser el más reciente
+        repository.findById(3);   // desaloja a 2
+        repository.findById(2);
+        
+        // Assert
+        assertEquals(2, repository.getEvictions());
+        verify(mockDelegate, times(1)).findById(1);
+        verify(mockDelegate, times(2)).findById(2);
+    }
+    
+    @Test
+    @DisplayName("Debe expirar las entradas cuando vence el TTL")
+    void testExpiracionTTL() throws InterruptedException {
+        // Arrange
+        CachingUserRepository conTtl = new CachingUserRepository(mockDelegate, 10, Duration.ofMillis(20));
+        when(mockDelegate.findById(1)).thenReturn(Optional.of(user(1, "juan")));
+        conTtl.findById(1);
+        
+        // Act
+        Thread.sleep(50);
+        conTtl.findById(1);
+        
+        // Assert
+        verify(mockDelegate, times(2)).findById(1);
+        assertEquals(1, conTtl.getEvictions());
+    }
+}
@@ -0,0 +1,229 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para MigrationRunner y las migraciones de usuarios
+ * Usa un archivo SQLite temporal por prueba
+ */
+@DisplayName("Pruebas de integración de MigrationRunner")
+class MigrationRunnerTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private String dbPath;
+    private Connection connection;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        dbPath = tempDir.resolve("usuarios-test.db").toString();
+        UserRepositorySQLite repository = new UserRepositorySQLite(dbPath, 1);
+        repository.initDatabase();
+        for (int i = 0; i < 20; i++) {
+            User user = new User(null, "user" + i, "hash123", "user" + i + "@test.com",
+                                 i % 5 == 0 ? Role.ADMIN : Role.USER);
+            user.setActive(i % 4 != 0);
+            repository.save(user);
+        }
+        repository.closeConnection();
+        connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+    }
+    
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+    
+    private String queryPlan(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString("detail")).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+    
+    @Test
+    @DisplayName("Debe registrar la última versión en schema_version")
+    void testRegistraVersion() throws SQLException {
+        // Arrange
+        MigrationRunner runner = new MigrationRunner(UserSchemaMigrations.all());
+        
+        // Act & Assert
+        assertEquals(runner.latestVersion(), MigrationRunner.currentVersion(connection));
+    }
+    
+    @Test
+    @DisplayName("El repositorio debe informar las migraciones aplicadas al iniciar")
+    void testRepositorioInformaMigraciones() {
+        // Arrange
+        UserRepositorySQLite nueva = new UserRepositorySQLite(tempDir.resolve("nueva.db").toString(), 1);
+        UserRepositorySQLite existente = new UserRepositorySQLite(dbPath, 1);
+        
+        // Act
+        nueva.initDatabase();
+        existente.initDatabase();
+        List<MigrationRunner.AppliedMigration> aplicadas = nueva.getAppliedMigrations();
+        nueva.closeConnection();
+        existente.closeConnection();
+        
+        // Assert
+        assertEquals(UserSchemaMigrations.all().size(), aplicadas.size());
+        assertEquals(1, aplicadas.get(0).getMigration().getVersion());
+        assertTrue(aplicadas.get(0).toString().endsWith(" ms"));
+        assertTrue(existente.getAppliedMigrations().isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Una base ya migrada no debe volver a aplicar migraciones")
+    void testIdempotente() throws SQLException {
+        // Arrange
+        MigrationRunner runner = new MigrationRunner(UserSchemaMigrations.all());
+        
+        // Act
+        List<MigrationRunner.AppliedMigration> applied = runner.migrate(connection);
+        
+        // Assert
+        assertTrue(applied.isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe aplicar solo las migraciones nuevas")
+    void testAplicaPendientes() throws SQLException {
+        // Arrange
+        int current = MigrationRunner.currentVersion(connection);
+        MigrationRunner runner = new MigrationRunner(List.of(
+            new Migration(current + 1, "tabla de prueba", "CREATE TABLE prueba (x INTEGER)")));
+        
+        // Act
+        List<MigrationRunner.AppliedMigration> applied = runner.migrate(connection);
+        
+        // Assert
+        assertEquals(1, applied.size());
+        assertEquals(current + 1, applied.get(0).getMigration().getVersion());
+        assertTrue(applied.get(0).getDurationMillis() >= 0);
+        assertEquals(current + 1, MigrationRunner.currentVersion(connection));
+    }
+    
+    @Test
+    @DisplayName("Una migración fallida debe revertirse por completo")
+    void testMigracionFallidaSeRevierte() throws SQLException {
+        // Arrange
+        int current = MigrationRunner.currentVersion(connection);
+        MigrationRunner runner = new MigrationRunner(List.of(
+            new Migration(current + 1, "rota", "CREATE TABLE parcial (x INTEGER)", "SENTENCIA INVALIDA")));
+        
+        // Act & Assert
+        assertThrows(SQLException.class, () -> runner.migrate(connection));
+        assertEquals(current, MigrationRunner.currentVersion(connection));
+        assertTrue(connection.getAutoCommit());
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COUNT(*) FROM sqlite_master WHERE name = 'parcial'")) {
+            assertEquals(0, rs.getInt(1), "La tabla parcial no debe quedar creada");
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar versiones repetidas")
+    void testVersionRepetida() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new MigrationRunner(List.of(
+            new Migration(1, "a", "SELECT 1"), new Migration(1, "b", "SELECT 1"))));
+    }
+    
+    @Test
+    @DisplayName("Las consultas del repositorio deben usar índices")
+    void testPlanesDeConsulta() throws SQLException {
+        // Act & Assert
+        assertTrue(queryPlan(UserRepositorySQLite.FIND_BY_ID_SQL).contains("INTEGER PRIMARY KEY"));
+        assertTrue(queryPlan(UserRepositorySQLite.FIND_BY_USERNAME_SQL).contains("sqlite_autoindex_users_1"));
+        assertTrue(queryPlan(UserRepositorySQLite.FIND_PAGE_SQL).contains("INTEGER PRIMARY KEY"));
+        assertFalse(queryPlan(UserRepositorySQLite.FIND_ID_AT_OFFSET_SQL).contains("TEMP B-TREE"));
+        assertTrue(queryPlan(UserRepositorySQLite.FIND_BY_ROLE_SQL).contains("idx_users_role"));
+        assertTrue(queryPlan(UserRepositorySQLite.COUNT_BY_ROLE_SQL).contains("COVERING INDEX idx_users_role"));
+    }
+    
+    @Test
+    @DisplayName("Las consultas de usuarios activos deben usar el índice de activos sin ordenar aparte")
+    void testPlanesDeActivos() throws SQLException {
+        // Act
+        String findActive = queryPlan(UserRepositorySQLite.FIND_ACTIVE_SQL);
+        String countActive = queryPlan(UserRepositorySQLite.COUNT_ACTIVE_SQL);
+        
+        // Assert
+        assertTrue(findActive.contains("idx_users_active"), findActive);
+        assertFalse(findActive.contains("TEMP B-TREE"), findActive);
+        assertTrue(countActive.contains("COVERING INDEX idx_users_active"), countActive);
+    }
+    
+    @Test
+    @DisplayName("Cerrar el repositorio debe dejar estadísticas de las tablas consultadas")
+    void testOptimizaAlCerrar() throws SQLException {
+        // Arrange
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS sqlite_stat1");
+        }
+        assertFalse(hasStatistics());
+        UserRepositorySQLite repository = new UserRepositorySQLite(dbPath, 1);
+        repository.initDatabase();
+        repository.findByRole(Role.ADMIN);
+        repository.countActive();
+        
+        // Act
+        repository.closeConnection();
+        
+        // Assert
+        assertTrue(hasStatistics());
+    }
+    
+    private boolean hasStatistics() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COUNT(*) FROM sqlite_master WHERE name = 'sqlite_stat1'")) {
+            return rs.getInt(1) > 0;
+        }
+    }
+    
+    @Test
+    @DisplayName("El índice de texto completo debe incluir las filas creadas antes de la migración")
+    void testIndiceDeTextoSobreFilasExistentes() throws SQLException {
+        // Arrange: base en la versión 2 con usuarios ya cargados
+        List<Migration> all = UserSchemaMigrations.all();
+        try (Connection old = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("v2.db"))) {
+            new MigrationRunner(all.subList(0, 2)).migrate(old);
+            try (Statement stmt = old.createStatement()) {
+                stmt.executeUpdate("INSERT INTO users (username, password, email, role, active) " +
+                                   "VALUES ('antiguo', 'hash123', 'antiguo@viejo.com', 'USER', 1)");
+            }
+            
+            // Act
+            new MigrationRunner(all).migrate(old);
+            
+            // Assert
+            try (Statement stmt = old.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users_fts WHERE users_fts MATCH 'viej*'")) {
+                assertEquals(1, rs.getInt(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para ShardedUserRepository
+ * Usa tres archivos SQLite temporales por prueba
+ */
+@DisplayName("Pruebas de integración de ShardedUserRepository")
+class ShardedUserRepositoryTest {
+    
+    private static final int SHARDS = 3;
+    
+    @TempDir
+    Path tempDir;
+    
+    private List<UserRepositorySQLite> shards;
+    private ShardedUserRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(new UserRepositorySQLite(tempDir.resolve("usuarios-" + i + ".db").toString(), 2));
+        }
+        repository = new ShardedUserRepository(shards);
+        repository.initDatabase();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        repository.closeConnection();
+    }
+    
+    private User newUser(String username, Role role) {
+        return new User(null, username, "hash123", username + "@test.com", role);
+    }
+    
+    private List<User> saveUsers(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(newUser("user" + i, Role.values()[i % Role.values().length]));
+        }
+        assertEquals(count, repository.saveAll(users));
+        return users;
+    }
+    
+    @Test
+    @DisplayName("Debe guardar en el shard del username con un ID global único")
+    void testSaveEnruta() {
+        // Arrange
+        User user = newUser("juan", Role.USER);
+        
+        // Act
+        assertTrue(repository.save(user));
+        
+        // Assert
+        int shard = repository.shardFor("juan");
+        assertEquals(shard, repository.shardOf(user.getId()));
+        assertTrue(shards.get(shard).findByUsername("juan").isPresent(), "Debe estar en su shard");
+        assertEquals("juan", repository.findById(user.getId()).get().getUsername());
+        assertEquals(user.getId(), repository.findByUsername("juan").get().getId());
+    }
+    
+    @Test
+    @DisplayName("Los IDs deben ser únicos y repartirse entre todos los shards")
+    void testIdsUnicos() {
+        // Act
+        List<User> users = saveUsers(60);
+        
+        // Assert
+        Set<Integer> ids = users.stream().map(User::getId).collect(Collectors.toSet());
+        assertEquals(60, ids.size());
+        Set<Integer> usedShards = new HashSet<>();
+        ids.forEach(id -> usedShards.add(repository.shardOf(id)));
+        assertEquals(SHARDS, usedShards.size());
+        assertEquals(60, repository.count());
+    }
+    
+    @Test
+    @DisplayName("findAll y streamAll deben fusionar los shards en orden de ID")
+    void testFusionOrdenada() {
+        // Arrange
+        List<User> users = saveUsers(40);
+        List<Integer> expected = users.stream().map(User::getId).sorted().collect(Collectors.toList());
+        
+        // Act
+        List<Integer> all = repository.findAll().stream().map(User::getId).collect(Collectors.toList());
+        List<Integer> streamed;
+        try (Stream<User> stream = repository.streamAll(UserProjection.USERNAME)) {
+            streamed = stream.map(User::getId).collect(Collectors.toList());
+        }
+        
+        // Assert
+        assertEquals(expected, all);
+        assertEquals(expected, streamed);
+    }
+    
+    @Test
+    @DisplayName("Recorrer por páginas debe devolver lo mismo que findAll")
+    void testPaginacion() {
+        // Arrange
+        saveUsers(25);
+        
+        // Act
+        List<User> paged = new ArrayList<>();
+        int afterId = 0;
+        List<User> page;
+        while (!(page = repository.findPage(afterId, 4)).isEmpty()) {
+            assertTrue(page.size() <= 4);
+            paged.addAll(page);
+            afterId = page.get(page.size() - 1).getId();
+        }
+        
+        // Assert
+        assertEquals(repository.findAll().stream().map(User::getId).collect(Collectors.toList()),
+                     paged.stream().map(User::getId).collect(Collectors.toList()));
+    }
+    
+    @Test
+    @DisplayName("update y delete deben ir al shard del ID")
+    void testUpdateDelete() {
+        // Arrange
+        List<User> users = saveUsers(10);
+        User target = users.get(7);
+        Integer globalId = target.getId();
+        target.setEmail("nuevo@test.com");
+        
+        // Act
+        boolean updated = repository.update(target);
+        
+        // Assert
+        assertTrue(updated);
+        assertEquals(globalId, target.getId(), "No debe cambiar el ID del llamador");
+        assertEquals("nuevo@test.com", repository.findById(globalId).get().getEmail());
+        
+        // Act
+        assertTrue(repository.delete(globalId));
+        int deleted = repository.deleteAll(List.of(users.get(0).getId(), users.get(1).getId(), 999_999));
+        
+        // Assert
+        assertFalse(repository.findById(globalId).isPresent());
+        assertEquals(2, deleted);
+        assertEquals(7, repository.count());
+    }
+    
+    @Test
+    @DisplayName("Un usuario renombrado debe encontrarse aunque cambie el shard de su hash")
+    void testRenombrado() {
+        // Arrange
+        User user = newUser("ana", Role.USER);
+        assertTrue(repository.save(user));
+        String otherName = "ana0";
+        for (int i = 1; repository.shardFor(otherName) == repository.shardFor("ana"); i++) {
+            otherName = "ana" + i;
+        }
+        user.setUsername(otherName);
+        
+        // Act
+        assertTrue(repository.update(user));
+        
+        // Assert
+        assertEquals(user.getId(), repository.findByUsername(otherName).get().getId());
+        assertFalse(repository.findByUsername("ana").isPresent());
+    }
+    
+    @Test
+    @DisplayName("Los filtros y conteos deben combinar todos los shards")
+    void testFiltrosYConteos() {
+        // Arrange
+        List<User> users = saveUsers(20);
+        User inactive = users.get(3);
+        inactive.setActive(false);
+        assertTrue(repository.update(inactive));
+        
+        // Act
+        Map<Role, Long> byRole = repository.countByRole();
+        List<User> admins = repository.findByRole(Role.ADMIN);
+        
+        // Assert
+        assertEquals(20, byRole.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(byRole.get(Role.ADMIN).longValue(), admins.size());
+        assertTrue(admins.stream().allMatch(u -> u.getRole() == Role.ADMIN));
+        assertEquals(19, repository.countActive());
+        assertEquals(19, repository.findActive().size());
+    }
+    
+    @Test
+    @DisplayName("La búsqueda debe reunir resultados de todos los shards")
+    void testBusqueda() {
+        // Arrange
+        saveUsers(30);
+        
+        // Act
+        List<User> all = repository.search("user", 100);
+        List<User> limited = repository.search("user1", 5);
+        
+        // Assert
+        assertEquals(30, all.size());
+        assertEquals(30, all.stream().map(User::getId).distinct().count());
+        assertEquals(5, limited.size());
+        assertTrue(limited.stream().allMatch(u -> u.getUsername().startsWith("user1")));
+        limited.forEach(u -> assertEquals(u.getUsername(), repository.findById(u.getId()).get().getUsername()));
+    }
+    
+    @Test
+    @DisplayName("IDs inválidos no deben consultar ningún shard")
+    void testIdsInvalidos() {
+        // Act & Assert
+        assertFalse(repository.findById(null).isPresent());
+        assertFalse(repository.findById(0).isPresent());
+        assertFalse(repository.delete(-3));
+        assertFalse(repository.update(newUser("sinid", Role.USER)));
+    }
+    
+    @Test
+    @DisplayName("Un ID local que no entra en un ID global debe fallar en lugar de desbordar")
+    void testIdLocalMaximo() throws SQLException {
+        // Arrange: filas insertadas a mano con IDs en el límite del shard
+        int shard = repository.shardFor("limite");
+        int max = repository.maxLocalId();
+        String dbPath = tempDir.resolve("usuarios-" + shard + ".db").toString();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("INSERT INTO users (id, username, password, email, role, active) " +
+                               "VALUES (" + max + ", 'limite', 'hash123', 'limite@test.com', 'USER', 1)");
+            stmt.executeUpdate("INSERT INTO users (id, username, password, email, role, active) " +
+                               "VALUES (" + (max + 1) + ", 'excedido', 'hash123', 'excedido@test.com', 'USER', 1)");
+        }
+        
+        // Act
+        User limite = repository.findByUsername("limite").get();
+        
+        // Assert
+        assertTrue(limite.getId() > 0);
+        assertEquals(shard, repository.shardOf(limite.getId()));
+        assertEquals("limite", repository.findById(limite.getId()).get().getUsername());
+        assertThrows(IllegalStateException.class, () -> repository.findAll());
+    }
+    
+    @Test
+    @DisplayName("Debe nombrar los archivos de cada shard junto al original")
+    void testShardPath() {
+        // Act & Assert
+        assertEquals("usuarios-2.db", ShardedUserRepository.shardPath("usuarios.db", 2));
+        assertEquals("/tmp/a.b/datos-0", ShardedUserRepository.shardPath("/tmp/a.b/datos", 0));
+    }
+}
@@ -0,0 +1,494 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para UserRepositorySQLite
+ * Usa un archivo SQLite temporal por prueba
+ */
+@DisplayName("Pruebas de integración de UserRepositorySQLite")
+class UserRepositorySQLiteTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private UserRepositorySQLite repository;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new UserRepositorySQLite(tempDir.resolve("usuarios-test.db").toString(), 4);
+        repository.initDatabase();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        repository.closeConnection();
+    }
+    
+    private User newUser(String username) {
+        return new User(null, username, "hash123", username + "@test.com", Role.USER);
+    }
+    
+    @Test
+    @DisplayName("Debe guardar un usuario y asignarle el ID generado")
+    void testSaveAsignaId() {
+        // Arrange
+        User user = newUser("juan");
+        
+        // Act
+        boolean saved = repository.save(user);
+        
+        // Assert
+        assertTrue(saved, "El usuario debe guardarse");
+        assertNotNull(user.getId(), "El ID debe asignarse tras guardar");
+        assertEquals("juan", repository.findById(user.getId()).get().getUsername());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar usernames duplicados")
+    void testSaveUsernameDuplicado() {
+        // Arrange
+        repository.save(newUser("juan"));
+        
+        // Act
+        boolean saved = repository.save(newUser("juan"));
+        
+        // Assert
+        assertFalse(saved, "No debe permitir dos usuarios con el mismo username");
+    }
+    
+    @Test
+    @DisplayName("Debe actualizar y eliminar un usuario")
+    void testUpdateYDelete() {
+        // Arrange
+        User user = newUser("maria");
+        repository.save(user);
+        
+        // Act
+        user.setEmail("nuevo@test.com");
+        user.setActive(false);
+        boolean updated = repository.update(user);
+        Optional<User> afterUpdate = repository.findByUsername("maria");
+        boolean deleted = repository.delete(user.getId());
+        
+        // Assert
+        assertTrue(updated);
+        assertEquals("nuevo@test.com", afterUpdate.get().getEmail());
+        assertFalse(afterUpdate.get().isActive());
+        assertTrue(deleted);
+        assertFalse(repository.findById(user.getId()).isPresent(), "El usuario debe haberse eliminado");
+    }
+    
+    @Test
+    @DisplayName("Debe guardar en lote asignando IDs consecutivos a cada usuario")
+    void testSaveAll() {
+        // Arrange
+        List<User> usuarios = new ArrayList<>();
+        for (int i = 0; i < UserRepositorySQLite.BATCH_SIZE + 10; i++) {
+            usuarios.add(newUser("lote" + i));
+        }
+        
+        // Act
+        int saved = repository.saveAll(usuarios);
+        
+        // Assert
+        assertEquals(usuarios.size(), saved);
+        for (User user : usuarios) {
+            assertEquals(user.getUsername(), repository.findById(user.getId()).get().getUsername(),
+                    "El ID asignado debe corresponder a la fila guardada");
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe guardar las filas válidas de un lote con duplicados")
+    void testSaveAllConDuplicado() {
+        // Arrange
+        repository.save(newUser("existe"));
+        List<User> usuarios = List.of(newUser("a1"), newUser("existe"), newUser("a2"));
+        
+        // Act
+        int saved = repository.saveAll(usuarios);
+        
+        // Assert
+        assertEquals(2, saved);
+        assertNotNull(usuarios.get(0).getId());
+        assertNull(usuarios.get(1).getId(), "El duplicado no debe recibir ID");
+        assertEquals("a2", repository.findById(usuarios.get(2).getId()).get().getUsername());
+    }
+    
+    @Test
+    @DisplayName("Debe actualizar en lote")
+    void testUpdateAll() {
+        // Arrange
+        List<User> usuarios = List.of(newUser("u1"), newUser("u2"));
+        repository.saveAll(usuarios);
+        usuarios.forEach(u -> u.setRole(Role.ADMIN));
+        
+        // Act
+        int updated = repository.updateAll(usuarios);
+        
+        // Assert
+        assertEquals(2, updated);
+        assertEquals(Role.ADMIN, repository.findByUsername("u2").get().getRole());
+    }
+    
+    @Test
+    @DisplayName("Debe paginar por clave y contar los usuarios")
+    void testFindPageYCount() {
+        // Arrange
+        for (int i = 0; i < 25; i++) {
+            repository.save(newUser("p" + i));
+        }
+        
+        // Act
+        List<User> primera = repository.findPage(0, 10);
+        List<User> segunda = repository.findPage(primera.get(9).getId(), 10);
+        List<User> ultima = repository.findPage(segunda.get(9).getId(), 10);
+        
+        // Assert
+        assertEquals(25, repository.count());
+        assertEquals(10, primera.size());
+        assertEquals("p10", segunda.get(0).getUsername());
+        assertEquals(5, ultima.size(), "La última página debe tener las filas restantes");
+    }
+    
+    @Test
+    @DisplayName("Debe atender lecturas concurrentes mientras se escribe")
+    void testLecturasConcurrentes() throws Exception {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            repository.save(newUser("user" + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        
+        // Act
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int thread = t;
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    if (!repository.findByUsername("user" + (i % 20)).isPresent()) {
+                        return false;
+                    }
+                    if (i % 10 == 0) {
+                        repository.save(newUser("w" + thread + "_" + i));
+                    }
+                }
+                return true;
+            }));
+        }
+        
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(), "Todas las lecturas deben encontrar al usuario");
+        }
+        executor.shutdown();
+        assertEquals(60, repository.findAll().size());
+    }
+    
+    @Test
+    @DisplayName("Debe reutilizar las sentencias preparadas en consultas repetidas")
+    void testCacheDeSentencias() {
+        // Arrange
+        repository.save(newUser("juan"));
+        StatementCacheStats stats = repository.getStatementCacheStats();
+        long hitsAntes = stats.getHits();
+        long missesAntes = stats.getMisses();
+        
+        // Act
+        for (int i = 0; i < 20; i++) {
+            repository.findByUsername("juan");
+        }
+        
+        // Assert
+        assertTrue(stats.getMisses() - missesAntes <= 4,
+                "Solo debe prepararse la sentencia una vez por conexión de lectura");
+        assertTrue(stats.getHits() - hitsAntes >= 16, "Las demás consultas deben ser aciertos");
+    }
+    
+    @Test
+    @DisplayName("Debe desalojar sentencias cuando la caché se llena")
+    void testDesalojoDeSentencias() {
+        // Arrange
+        UserRepositorySQLite small = new UserRepositorySQLite(
+                tempDir.resolve("small.db").toString(), 1, 1);
+        small.initDatabase();
+        
+        // Act
+        small.findByUsername("a");
+        small.findById(1);
+        small.findByUsername("b");
+        
+        // Assert
+        assertEquals(2, small.getStatementCacheStats().getEvictions());
+        assertEquals(3, small.getStatementCacheStats().getMisses());
+        small.closeConnection();
+    }
+    
+    @Test
+    @DisplayName("El chequeo de salud no debe reemplazar conexiones sanas")
+    void testCheckConnections() {
+        assertEquals(0, repository.checkConnections());
+    }
+    
+    @Test
+    @DisplayName("deleteAll debe eliminar en lote y contar solo los existentes")
+    void testDeleteAll() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(newUser("borrar" + i));
+        }
+        repository.saveAll(users);
+        List<Integer> ids = new ArrayList<>();
+        users.forEach(u -> ids.add(u.getId()));
+        ids.add(9999);
+        
+        // Act
+        int deleted = repository.deleteAll(ids);
+        
+        // Assert
+        assertEquals(5, deleted);
+        assertEquals(0, repository.count());
+    }
+    
+    @Test
+    @DisplayName("updateAll debe contar los lotes ya confirmados si falla uno posterior")
+    void testUpdateAllFalloParcial() throws Exception {
+        // Arrange
+        int total = UserRepositorySQLite.BATCH_SIZE + 100;
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            users.add(newUser("lote" + i));
+        }
+        repository.saveAll(users);
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:sqlite:" + tempDir.resolve("usuarios-test.db"));
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TRIGGER falla BEFORE UPDATE ON users WHEN NEW.email = 'falla@test.com' "
+                    + "BEGIN SELECT RAISE(ABORT, 'rechazado'); END");
+        }
+        users.forEach(u -> u.setEmail("nuevo" + u.getId() + "@test.com"));
+        users.get(total - 1).setEmail("falla@test.com");
+        
+        // Act
+        int updated = repository.updateAll(users);
+        
+        // Assert
+        assertEquals(UserRepositorySQLite.BATCH_SIZE, updated);
+        assertEquals("nuevo" + users.get(0).getId() + "@test.com",
+                repository.findById(users.get(0).getId()).get().getEmail());
+        assertEquals("lote" + (total - 2) + "@test.com",
+                repository.findById(users.get(total - 2).getId()).get().getEmail());
+    }
+    
+    @Test
+    @DisplayName("findIdAtOffset debe devolver el ID de cada posición en orden de ID")
+    void testFindIdAtOffset() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(newUser("pos" + i));
+        }
+        repository.saveAll(users);
+        repository.delete(users.get(3).getId());
+        
+        // Act & Assert
+        assertEquals(users.get(0).getId(), repository.findIdAtOffset(0).get());
+        assertEquals(users.get(4).getId(), repository.findIdAtOffset(3).get());
+        assertEquals(users.get(9).getId(), repository.findIdAtOffset(8).get());
+        assertFalse(repository.findIdAtOffset(9).isPresent());
+        assertFalse(repository.findIdAtOffset(-1).isPresent());
+    }
+    
+    @Test
+    @DisplayName("streamAll debe recorrer todos los usuarios en orden de ID")
+    void testStreamAll() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            users.add(newUser("cursor" + i));
+        }
+        repository.saveAll(users);
+        
+        // Act
+        List<Integer> ids = new ArrayList<>();
+        User primero;
+        try (Stream<User> stream = repository.streamAll(UserProjection.FULL)) {
+            Iterator<User> it = stream.iterator();
+            primero = it.next();
+            ids.add(primero.getId());
+            it.forEachRemaining(u -> ids.add(u.getId()));
+        }
+        
+        // Assert
+        assertEquals(2500, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i), "Los IDs deben estar ordenados");
+        }
+        assertEquals("cursor0", primero.getUsername());
+        assertEquals("hash123", primero.getPassword());
+        assertEquals(Role.USER, primero.getRole());
+    }
+    
+    @Test
+    @DisplayName("La proyección USERNAME no debe leer las demás columnas")
+    void testStreamProyeccion() {
+        // Arrange
+        repository.save(newUser("proyectado"));
+        
+        // Act
+        List<User> leidos = new ArrayList<>();
+        repository.forEachUser(UserProjection.USERNAME, leidos::add);
+        
+        // Assert
+        assertEquals(1, leidos.size());
+        assertEquals("proyectado", leidos.get(0).getUsername());
+        assertNotNull(leidos.get(0).getId());
+        assertNull(leidos.get(0).getPassword());
+        assertNull(leidos.get(0).getEmail());
+        assertNull(leidos.get(0).getRole());
+    }
+    
+    @Test
+    @DisplayName("Cerrar un stream a medio recorrer debe devolver la conexión al pool")
+    void testStreamDevuelveConexion() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            repository.save(newUser("parcial" + i));
+        }
+        
+        // Act & Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // Más streams que conexiones de lectura: si alguna no se devolviera, se bloquearía
+            for (int i = 0; i < 20; i++) {
+                try (Stream<User> stream = repository.streamAll(UserProjection.WITHOUT_PASSWORD)) {
+                    assertEquals(3, stream.limit(3).count());
+                }
+            }
+            assertTrue(repository.findByUsername("parcial0").isPresent());
+        });
+    }
+    
+    @Test
+    @DisplayName("Debe filtrar y contar por rol y por estado en SQL")
+    void testConsultasPorRolYActivos() {
+        // Arrange
+        for (int i = 0; i < 6; i++) {
+            User user = newUser("filtro" + i);
+            user.setRole(i < 2 ? Role.ADMIN : Role.USER);
+            user.setActive(i % 3 != 0);
+            repository.save(user);
+        }
+        
+        // Act
+        List<User> admins = repository.findByRole(Role.ADMIN);
+        List<User> activos = repository.findActive();
+        Map<Role, Long> porRol = repository.countByRole();
+        
+        // Assert
+        assertEquals(List.of("filtro0", "filtro1"), admins.stream().map(User::getUsername).toList());
+        assertEquals(4, activos.size());
+        assertTrue(activos.stream().allMatch(User::isActive));
+        assertTrue(activos.get(0).getId() < activos.get(3).getId(), "Debe ordenar por ID");
+        assertEquals(4, repository.countActive());
+        assertEquals(2L, porRol.get(Role.ADMIN));
+        assertEquals(4L, porRol.get(Role.USER));
+        assertEquals(0L, porRol.get(Role.GUEST), "Los roles sin usuarios deben aparecer con 0");
+        assertEquals(Role.values().length, porRol.size());
+    }
+    
+    @Test
+    @DisplayName("Debe buscar por prefijos de username y email")
+    void testBusquedaPorPrefijo() {
+        // Arrange
+        repository.save(new User(null, "juan.perez", "hash123", "jp@empresa.com", Role.USER));
+        repository.save(new User(null, "maria", "hash123", "maria.lopez@gmail.com", Role.USER));
+        repository.save(new User(null, "pedro", "hash123", "pedro@gmail.com", Role.ADMIN));
+        
+        // Act & Assert
+        assertEquals(List.of("juan.perez"), usernames(repository.search("jua", 10)));
+        assertEquals(List.of("juan.perez"), usernames(repository.search("PER", 10)), "No distingue mayúsculas");
+        assertEquals(2, repository.search("gmail", 10).size());
+        assertEquals(List.of("maria"), usernames(repository.search("gmail lop", 10)), "Todas las palabras deben aparecer");
+        assertEquals(1, repository.search("gmail", 1).size(), "Debe respetar el límite");
+        assertTrue(repository.search("zzz", 10).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Las coincidencias en el username deben ir antes que las del email")
+    void testBusquedaOrdenaPorRelevancia() {
+        // Arrange
+        repository.save(new User(null, "otro", "hash123", "ana@test.com", Role.USER));
+        repository.save(new User(null, "ana", "hash123", "a1@test.com", Role.USER));
+        
+        // Act
+        List<User> result = repository.search("ana", 10);
+        
+        // Assert
+        assertEquals(List.of("ana", "otro"), usernames(result));
+    }
+    
+    @Test
+    @DisplayName("La búsqueda debe reflejar modificaciones y bajas")
+    void testBusquedaSincronizada() {
+        // Arrange
+        User user = newUser("carlos");
+        repository.save(user);
+        
+        // Act
+        user.setUsername("ricardo");
+        user.setEmail("ricardo@test.com");
+        repository.update(user);
+        
+        // Assert
+        assertTrue(repository.search("carl", 10).isEmpty());
+        assertEquals(List.of("ricardo"), usernames(repository.search("ricar", 10)));
+        
+        // Act
+        repository.delete(user.getId());
+        
+        // Assert
+        assertTrue(repository.search("ricar", 10).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Los operadores de FTS5 en el texto deben tratarse como texto")
+    void testBusquedaSinSintaxis() {
+        // Arrange
+        repository.save(newUser("luis"));
+        
+        // Act & Assert
+        assertEquals(1, repository.search("luis\"", 10).size());
+        assertEquals(1, repository.search("(luis*) ^", 10).size());
+        assertTrue(repository.search("\"*()", 10).isEmpty());
+        assertEquals("\"luis\"* \"gm\"*", UserRepositorySQLite.toMatchQuery(" luis@gm "));
+    }
+    
+    private static List<String> usernames(List<User> users) {
+        return users.stream().map(User::getUsername).toList();
+    }
+}
@@ -0,0 +1,269 @@
+package com.taller2solid.access;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para WriteBehindUserRepository
+ * Usa un archivo SQLite temporal por prueba
+ */
+@DisplayName("Pruebas de integración de WriteBehindUserRepository")
+class WriteBehindUserRepositoryTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private UserRepositorySQLite sqlite;
+    private WriteBehindUserRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        sqlite = new UserRepositorySQLite(tempDir.resolve("usuarios-test.db").toString(), 2);
+        repository = new WriteBehindUserRepository(sqlite);
+        repository.initDatabase();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        repository.closeConnection();
+    }
+    
+    private User newUser(String username) {
+        return new User(null, username, "hash123", username + "@test.com", Role.USER);
+    }
+    
+    /**
+     * Repositorio que no confirma nada hasta flush(), para observar lo pendiente
+     */
+    private WriteBehindUserRepository holdingRepository() {
+        repository.closeConnection();
+        sqlite = new UserRepositorySQLite(tempDir.resolve("usuarios-test.db").toString(), 2);
+        repository = new WriteBehindUserRepository(sqlite, 1000, 1000, Duration.ofHours(1),
+                                                   WriteDurability.ASYNC);
+        repository.initDatabase();
+        return repository;
+    }
+    
+    @Test
+    @DisplayName("Un save SYNC debe asignar el ID y quedar guardado al retornar")
+    void testSaveSync() {
+        // Arrange
+        User user = newUser("juan");
+        
+        // Act
+        boolean saved = repository.save(user);
+        
+        // Assert
+        assertTrue(saved);
+        assertNotNull(user.getId());
+        assertTrue(sqlite.findById(user.getId()).isPresent(), "Debe estar en la base de datos");
+    }
+    
+    @Test
+    @DisplayName("Un update SYNC de un ID inexistente debe devolver false")
+    void testUpdateSyncInexistente() {
+        // Arrange
+        User fantasma = new User(999, "fantasma", "hash123", "f@test.com", Role.USER);
+        
+        // Act & Assert
+        assertFalse(repository.update(fantasma));
+        assertEquals(1, repository.getFailedWrites());
+    }
+    
+    @Test
+    @DisplayName("Debe agrupar escrituras concurrentes en menos commits")
+    void testGroupCommit() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        
+        // Act
+        for (int i = 0; i < 200; i++) {
+            User user = newUser("user" + i);
+            results.add(executor.submit(() -> repository.save(user)));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+        
+        // Assert
+        assertEquals(200, repository.count());
+        assertEquals(200, repository.getAppliedWrites());
+        assertTrue(repository.getGroupCommits() < 200,
+                   "Se esperaban menos grupos que escrituras: " + repository.getGroupCommits());
+    }
+    
+    @Test
+    @DisplayName("Las lecturas deben ver las escrituras pendientes")
+    void testLecturasVenPendientes() {
+        // Arrange
+        User user = newUser("ana");
+        assertTrue(repository.save(user));
+        holdingRepository();
+        User renombrado = new User(user.getId(), "ana2", "hash123", "ana@test.com", Role.ADMIN);
+        
+        // Act
+        repository.update(renombrado, WriteDurability.ASYNC);
+        
+        // Assert
+        assertEquals("ana", sqlite.findById(user.getId()).get().getUsername(), "Aún no se confirma");
+        assertEquals("ana2", repository.findById(user.getId()).get().getUsername());
+        assertEquals(Role.ADMIN, repository.findByUsername("ana2").get().getRole());
+        assertFalse(repository.findByUsername("ana").isPresent(), "El username anterior ya no existe");
+        
+        // Act
+        repository.flush();
+        
+        // Assert
+        assertEquals("ana2", sqlite.findById(user.getId()).get().getUsername());
+    }
+    
+    @Test
+    @DisplayName("Un borrado pendiente debe ocultar al usuario")
+    void testBorradoPendiente() {
+        // Arrange
+        User user = newUser("luis");
+        assertTrue(repository.save(user));
+        holdingRepository();
+        
+        // Act
+        repository.delete(user.getId(), WriteDurability.ASYNC);
+        
+        // Assert
+        assertTrue(sqlite.findById(user.getId()).isPresent(), "Aún no se confirma");
+        assertFalse(repository.findById(user.getId()).isPresent());
+        assertFalse(repository.findByUsername("luis").isPresent());
+        assertEquals(0, repository.count(), "count() debe aplicar lo pendiente primero");
+    }
+    
+    @Test
+    @DisplayName("Un alta pendiente debe encontrarse por username")
+    void testAltaPendiente() {
+        // Arrange
+        holdingRepository();
+        User user = newUser("eva");
+        
+        // Act
+        assertTrue(repository.save(user));
+        
+        // Assert
+        assertNull(user.getId(), "El ID se asigna al confirmarse");
+        assertTrue(repository.findByUsername("eva").isPresent());
+        repository.flush();
+        assertNotNull(user.getId());
+    }
+    
+    @Test
+    @DisplayName("Debe aplicar las escrituras pendientes al cerrar")
+    void testCierreDrenaLaCola() {
+        // Arrange
+        holdingRepository();
+        for (int i = 0; i < 50; i++) {
+            repository.save(newUser("pendiente" + i));
+        }
+        
+        // Act
+        repository.closeConnection();
+        
+        // Assert
+        UserRepositorySQLite reopened = new UserRepositorySQLite(tempDir.resolve("usuarios-test.db").toString(), 1);
+        reopened.initDatabase();
+        try {
+            assertEquals(50, reopened.count());
+        } finally {
+            reopened.closeConnection();
+        }
+        assertFalse(repository.save(newUser("tarde")), "No debe aceptar escrituras tras cerrar");
+    }
+    
+    @Test
+    @DisplayName("Operaciones masivas SYNC deben informar cuántas se aplicaron")
+    void testOperacionesMasivas() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(newUser("masivo" + i));
+        }
+        
+        // Act
+        int saved = repository.saveAll(users);
+        List<Integer> ids = new ArrayList<>();
+        users.forEach(u -> ids.add(u.getId()));
+        int deleted = repository.deleteAll(ids);
+        
+        // Assert
+        assertEquals(10, saved);
+        assertEquals(10, deleted);
+        assertEquals(0, repository.count());
+    }
+    
+    @Test
+    @DisplayName("Si el hilo escritor muere, las escrituras SYNC deben devolver false sin bloquearse")
+    void testHiloEscritorMuere() {
+        // Arrange
+        repository.closeConnection();
+        sqlite = new UserRepositorySQLite(tempDir.resolve("usuarios-test.db").toString(), 2) {
+            @Override
+            public boolean[] applyWrites(List<UserWrite> writes) {
+                throw new Error("Fallo simulado del hilo escritor");
+            }
+        };
+        repository = new WriteBehindUserRepository(sqlite);
+        repository.initDatabase();
+        User primero = newUser("primero");
+        User segundo = newUser("segundo");
+        
+        // Act & Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertFalse(repository.save(primero), "El grupo en curso debe fallar");
+            assertFalse(repository.save(segundo), "Debe rechazar nuevas escrituras");
+            repository.flush();
+        });
+        assertNull(primero.getId());
+        assertEquals(1, repository.getFailedWrites(), "La segunda se rechaza sin llegar a la cola");
+        assertFalse(repository.findByUsername("primero").isPresent());
+    }
+    
+    @Test
+    @DisplayName("Un grupo mixto debe confirmarse una vez con el resultado de cada fila")
+    void testGrupoMixto() {
+        // Arrange
+        User existente = newUser("existente");
+        assertTrue(repository.save(existente));
+        long gruposAntes = repository.getGroupCommits();
+        User nuevo = newUser("nuevo");
+        User duplicado = newUser("existente");
+        User modificado = new User(existente.getId(), "existente", "hash123", "otro@test.com", Role.ADMIN);
+        
+        // Act
+        boolean[] results = repository.applyWrites(List.of(
+                UserWrite.save(nuevo),
+                UserWrite.update(modificado),
+                UserWrite.save(duplicado),
+                UserWrite.delete(9999)));
+        
+        // Assert
+        assertArrayEquals(new boolean[] {true, true, false, false}, results);
+        assertEquals(gruposAntes + 1, repository.getGroupCommits());
+        assertNotNull(nuevo.getId());
+        assertNull(duplicado.getId());
+        assertEquals("otro@test.com", sqlite.findById(existente.getId()).get().getEmail());
+        assertEquals(2, sqlite.count());
+    }
+}
@@ -0,0 +1,111 @@
+package com.taller2solid.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para AuditRingBuffer
+ */
+@DisplayName("Pruebas de AuditRingBuffer")
+class AuditRingBufferTest {
+    
+    @Test
+    @DisplayName("Debe entregar los registros en orden de secuencia")
+    void testOrden() {
+        // Arrange
+        AuditRingBuffer ring = new AuditRingBuffer(8);
+        List<String> received = new ArrayList<>();
+        
+        // Act
+        assertEquals(1, ring.tryPublish(10, 1, (byte) 1, (byte) 0, "ana"));
+        assertEquals(2, ring.tryPublish(20, 2, (byte) 4, (byte) 3, "luis"));
+        int drained = ring.drain((seq, ts, id, action, outcome, username) ->
+                received.add(seq + ":" + ts + ":" + id + ":" + action + ":" + outcome + ":" + username), 10);
+        
+        // Assert
+        assertEquals(2, drained);
+        assertEquals(List.of("1:10:1:1:0:ana", "2:20:2:4:3:luis"), received);
+        assertEquals(2, ring.getConsumed());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar publicaciones con el buffer lleno hasta que se vacíe")
+    void testLleno() {
+        // Arrange
+        AuditRingBuffer ring = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.tryPublish(i, i, (byte) 1, (byte) 0, "u") > 0);
+        }
+        
+        // Act & Assert
+        assertEquals(-1, ring.tryPublish(5, 5, (byte) 1, (byte) 0, "u"));
+        assertEquals(2, ring.drain((seq, ts, id, action, outcome, username) -> { }, 2));
+        assertEquals(5, ring.tryPublish(5, 5, (byte) 1, (byte) 0, "u"));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar capacidades que no son potencia de dos")
+    void testCapacidadInvalida() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(6));
+    }
+    
+    @Test
+    @DisplayName("Debe entregar todos los registros de varios productores concurrentes")
+    void testProductoresConcurrentes() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer ring = new AuditRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (ring.tryPublish(i, producer, (byte) 1, (byte) 0, null) < 0) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        
+        // Act
+        long[] lastByProducer = {-1, -1, -1, -1};
+        long[] expectedSequence = {1};
+        boolean[] ordered = {true};
+        start.countDown();
+        long total = (long) producers * perProducer;
+        while (ring.getConsumed() < total) {
+            ring.drain((seq, ts, id, action, outcome, username) -> {
+                // Secuencias consecutivas y, por productor, en el orden publicado
+                ordered[0] &= seq == expectedSequence[0]++ && ts == lastByProducer[id] + 1;
+                lastByProducer[id] = ts;
+            }, 128);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        
+        // Assert
+        assertTrue(ordered[0]);
+        for (long last : lastByProducer) {
+            assertEquals(perProducer - 1, last);
+        }
+    }
+}
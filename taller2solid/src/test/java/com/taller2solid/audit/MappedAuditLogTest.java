@@ -0,0 +1,265 @@
+package com.taller2solid.audit;
+
+import com.taller2solid.service.FailureReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para MappedAuditLog, AuditLogReader y AuditFilter
+ * Usa un directorio temporal por prueba
+ */
+@DisplayName("Pruebas de integración de la bitácora de auditoría")
+class MappedAuditLogTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private MappedAuditLog log;
+    
+    @AfterEach
+    void tearDown() {
+        if (log != null) {
+            log.close();
+        }
+    }
+    
+    private MappedAuditLog open(int segmentRecords, int bufferCapacity) throws IOException {
+        return new MappedAuditLog(tempDir, segmentRecords, bufferCapacity, Duration.ofMillis(50));
+    }
+    
+    private List<AuditRecord> readAll() throws IOException {
+        try (Stream<AuditRecord> records = AuditLogReader.read(tempDir)) {
+            return records.collect(Collectors.toList());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe leer los registros escritos tras flush")
+    void testEscribirYLeer() throws IOException {
+        // Arrange
+        log = open(100, 16);
+        
+        // Act
+        log.record(AuditAction.CREATE, 7, "juan", null);
+        log.record(AuditAction.LOGIN, null, "pedro", FailureReason.INVALID_CREDENTIALS);
+        log.flush();
+        List<AuditRecord> records = readAll();
+        
+        // Assert
+        assertEquals(2, records.size());
+        AuditRecord created = records.get(0);
+        assertEquals(1, created.getSequence());
+        assertEquals(AuditAction.CREATE, created.getAction());
+        assertEquals(7, created.getUserId());
+        assertEquals("juan", created.getUsername());
+        assertTrue(created.isSuccess());
+        AuditRecord login = records.get(1);
+        assertEquals(2, login.getSequence());
+        assertEquals(0, login.getUserId());
+        assertEquals(FailureReason.INVALID_CREDENTIALS, login.getReason());
+        assertFalse(login.isSuccess());
+        assertEquals(2, log.getLastSequence());
+    }
+    
+    @Test
+    @DisplayName("Debe rotar a un segmento nuevo al llenarse el actual")
+    void testRotacion() throws IOException {
+        // Arrange
+        log = open(10, 16);
+        
+        // Act
+        for (int i = 0; i < 25; i++) {
+            log.record(AuditAction.UPDATE, i, "user" + i, null);
+        }
+        log.flush();
+        
+        // Assert
+        assertEquals(3, AuditLogReader.segments(tempDir).size());
+        List<AuditRecord> records = readAll();
+        assertEquals(25, records.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i + 1, records.get(i).getSequence());
+            assertEquals("user" + i, records.get(i).getUsername());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe continuar la secuencia al reabrir el directorio")
+    void testReabrir() throws IOException {
+        // Arrange
+        log = open(10, 16);
+        for (int i = 0; i < 15; i++) {
+            log.record(AuditAction.CREATE, i, "user" + i, null);
+        }
+        log.close();
+        
+        // Act
+        log = open(10, 16);
+        for (int i = 15; i < 22; i++) {
+            log.record(AuditAction.DELETE, i, "user" + i, null);
+        }
+        log.flush();
+        
+        // Assert
+        List<AuditRecord> records = readAll();
+        assertEquals(22, records.size());
+        for (int i = 0; i < 22; i++) {
+            assertEquals(i + 1, records.get(i).getSequence());
+        }
+        assertEquals(AuditAction.DELETE, records.get(21).getAction());
+        assertEquals(3, AuditLogReader.segments(tempDir).size());
+    }
+    
+    @Test
+    @DisplayName("No debe perder registros con muchos productores y un buffer chico")
+    void testProductoresConcurrentes() throws Exception {
+        // Arrange
+        log = open(1000, 16);
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    log.record(AuditAction.LOGIN, thread, "hilo" + thread, null);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        log.flush();
+        
+        // Assert
+        List<AuditRecord> records = readAll();
+        assertEquals(threads * perThread, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i + 1, records.get(i).getSequence());
+        }
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            assertEquals(perThread, records.stream().filter(r -> r.getUserId() == thread).count());
+        }
+        assertEquals(0, log.getLostRecords());
+    }
+    
+    @Test
+    @DisplayName("Debe leer desde una secuencia sin recorrer los segmentos anteriores")
+    void testLeerDesdeSecuencia() throws IOException {
+        // Arrange
+        log = open(10, 16);
+        for (int i = 0; i < 35; i++) {
+            log.record(AuditAction.LOGIN, i, "user" + i, null);
+        }
+        log.flush();
+        
+        // Act
+        List<Long> sequences;
+        try (Stream<AuditRecord> records = AuditLogReader.read(tempDir, 23)) {
+            sequences = records.map(AuditRecord::getSequence).collect(Collectors.toList());
+        }
+        
+        // Assert
+        assertEquals(13, sequences.size());
+        assertEquals(23L, sequences.get(0));
+        assertEquals(35L, sequences.get(12));
+    }
+    
+    @Test
+    @DisplayName("Debe filtrar por acción, usuario, resultado y fecha")
+    void testFiltro() throws IOException {
+        // Arrange
+        log = open(100, 16);
+        log.record(AuditAction.CREATE, 1, "ana", null);
+        log.record(AuditAction.LOGIN, 1, "ana", null);
+        log.record(AuditAction.LOGIN, null, "ana", FailureReason.INVALID_CREDENTIALS);
+        log.record(AuditAction.LOGIN, 2, "luis", null);
+        log.record(AuditAction.DELETE, 2, "luis", null);
+        log.flush();
+        List<AuditRecord> records = readAll();
+        
+        // Act & Assert
+        assertEquals(3, records.stream()
+                .filter(new AuditFilter().actions(EnumSet.of(AuditAction.LOGIN))).count());
+        assertEquals(3, records.stream().filter(new AuditFilter().username("ana")).count());
+        assertEquals(1, records.stream()
+                .filter(new AuditFilter().username("ana").success(false)).count());
+        assertEquals(2, records.stream().filter(new AuditFilter().userId(2)).count());
+        assertEquals(0, records.stream()
+                .filter(new AuditFilter().from(Instant.now().plusSeconds(60))).count());
+        assertEquals(5, records.stream()
+                .filter(new AuditFilter().to(Instant.now().plusSeconds(60))).count());
+    }
+    
+    @Test
+    @DisplayName("Debe truncar usernames largos sin cortar un carácter a la mitad")
+    void testUsernameLargo() throws IOException {
+        // Arrange
+        log = open(100, 16);
+        String username = "ñ".repeat(30);
+        
+        // Act
+        log.record(AuditAction.CREATE, 1, username, null);
+        log.flush();
+        
+        // Assert
+        String stored = readAll().get(0).getUsername();
+        assertEquals("ñ".repeat(20), stored);
+        assertTrue(stored.getBytes(StandardCharsets.UTF_8).length <= AuditRecord.MAX_USERNAME_BYTES);
+    }
+    
+    @Test
+    @DisplayName("El hilo de fondo debe dormir sin plazo sin trabajo y despertar al publicar")
+    void testFlusherDuermeSinTrabajo() throws Exception {
+        // Arrange
+        log = open(100, 16);
+        log.record(AuditAction.CREATE, 1, "juan", null);
+        log.flush();
+        Thread flusher = Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().equals("audit-flusher"))
+                .findFirst()
+                .orElseThrow();
+        
+        // Act
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flusher.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.State idleState = flusher.getState();
+        log.record(AuditAction.DELETE, 1, "juan", null);
+        log.flush();
+        
+        // Assert
+        assertEquals(Thread.State.WAITING, idleState);
+        assertEquals(2, readAll().size());
+    }
+}
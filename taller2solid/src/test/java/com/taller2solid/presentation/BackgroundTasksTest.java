@@ -0,0 +1,229 @@
+package com.taller2solid.presentation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para BackgroundTasks
+ * Sin ventanas: todo se invoca en el EDT con invokeAndWait y los trabajos
+ * se bloquean con latches para observar el estado mientras están en curso.
+ * Siempre se pasa onFailure para no abrir el diálogo de error.
+ */
+@DisplayName("Pruebas unitarias de BackgroundTasks")
+class BackgroundTasksTest {
+    
+    private BackgroundTasks tasks;
+    private JButton button;
+    private final List<String> results = new ArrayList<>();
+    private final List<Exception> failures = new ArrayList<>();
+    private final List<CountDownLatch> gates = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        onEdt(() -> {
+            tasks = new BackgroundTasks(null);
+            button = new JButton("Guardar");
+            return null;
+        });
+    }
+    
+    @AfterEach
+    void tearDown() {
+        // Libera los trabajos que hayan quedado bloqueados
+        gates.forEach(CountDownLatch::countDown);
+    }
+    
+    @Test
+    @DisplayName("Debe deshabilitar los controles y mostrar la barra mientras la tarea está en curso")
+    void testControlesDeshabilitadosDuranteLaTarea() throws Exception {
+        // Arrange
+        CountDownLatch gate = gate();
+        
+        // Act
+        submit(null, blockedUntil(gate, "resultado"), button);
+        
+        // Assert
+        assertFalse(onEdt(button::isEnabled));
+        assertTrue(onEdt(() -> tasks.getProgressBar().isVisible()));
+        assertTrue(onEdt(tasks::isBusy));
+        
+        gate.countDown();
+        waitForTasks();
+        assertTrue(onEdt(button::isEnabled));
+        assertFalse(onEdt(() -> tasks.getProgressBar().isVisible()));
+        assertEquals(List.of("resultado"), onEdt(() -> new ArrayList<>(results)));
+    }
+    
+    @Test
+    @DisplayName("Debe dejar deshabilitado un control que ya lo estaba antes de la tarea")
+    void testControlDeshabilitadoSeMantiene() throws Exception {
+        // Arrange
+        CountDownLatch gate = gate();
+        onEdt(() -> {
+            button.setEnabled(false);
+            return null;
+        });
+        
+        // Act
+        submit(null, blockedUntil(gate, "resultado"), button);
+        gate.countDown();
+        waitForTasks();
+        
+        // Assert
+        assertFalse(onEdt(button::isEnabled));
+    }
+    
+    @Test
+    @DisplayName("Debe rehabilitar un control compartido solo cuando terminan todas sus tareas")
+    void testControlCompartidoEntreTareas() throws Exception {
+        // Arrange
+        CountDownLatch first = gate();
+        CountDownLatch second = gate();
+        submit("a", blockedUntil(first, "a"), button);
+        submit("b", blockedUntil(second, "b"), button);
+        
+        // Act
+        first.countDown();
+        waitUntil(() -> results.contains("a"));
+        
+        // Assert
+        assertFalse(onEdt(button::isEnabled));
+        assertTrue(onEdt(tasks::isBusy));
+        
+        second.countDown();
+        waitForTasks();
+        assertTrue(onEdt(button::isEnabled));
+    }
+    
+    @Test
+    @DisplayName("Debe cancelar la tarea anterior con la misma clave y descartar su resultado")
+    void testMismaClaveCancelaTareaAnterior() throws Exception {
+        // Arrange
+        CountDownLatch stale = gate();
+        CountDownLatch fresh = gate();
+        CountDownLatch staleStarted = new CountDownLatch(1);
+        CountDownLatch staleFinished = new CountDownLatch(1);
+        submit("pagina", () -> {
+            staleStarted.countDown();
+            stale.await(5, TimeUnit.SECONDS);
+            staleFinished.countDown();
+            return "obsoleta";
+        }, button);
+        // El trabajo ya corre: su resultado llegará después de cancelarlo
+        assertTrue(staleStarted.await(5, TimeUnit.SECONDS));
+        
+        // Act
+        submit("pagina", blockedUntil(fresh, "actual"), button);
+        
+        // Assert
+        assertTrue(onEdt(() -> tasks.isRunning("pagina")));
+        assertFalse(onEdt(button::isEnabled));
+        
+        stale.countDown();
+        assertTrue(staleFinished.await(5, TimeUnit.SECONDS));
+        fresh.countDown();
+        waitForTasks();
+        assertEquals(List.of("actual"), onEdt(() -> new ArrayList<>(results)));
+        assertFalse(onEdt(() -> tasks.isRunning("pagina")));
+        assertTrue(onEdt(button::isEnabled));
+    }
+    
+    @Test
+    @DisplayName("Debe rehabilitar los controles al cancelar una tarea sin entregar su resultado")
+    void testCancelarTarea() throws Exception {
+        // Arrange
+        CountDownLatch gate = gate();
+        submit("busqueda", blockedUntil(gate, "resultado"), button);
+        
+        // Act
+        boolean cancelled = onEdt(() -> tasks.cancel("busqueda"));
+        
+        // Assert
+        assertTrue(cancelled);
+        waitForTasks();
+        assertTrue(onEdt(button::isEnabled));
+        assertFalse(onEdt(() -> tasks.isRunning("busqueda")));
+        
+        gate.countDown();
+        assertTrue(onEdt(() -> results.isEmpty()));
+        assertFalse(onEdt(() -> tasks.cancel("busqueda")));
+    }
+    
+    @Test
+    @DisplayName("Debe entregar el error del trabajo a onFailure y rehabilitar los controles")
+    void testErrorSeEntregaAOnFailure() throws Exception {
+        // Arrange
+        IllegalStateException error = new IllegalStateException("Fallo de prueba");
+        
+        // Act
+        submit(null, () -> {
+            throw error;
+        }, button);
+        waitForTasks();
+        
+        // Assert
+        assertEquals(List.of(error), onEdt(() -> new ArrayList<>(failures)));
+        assertTrue(onEdt(() -> results.isEmpty()));
+        assertTrue(onEdt(button::isEnabled));
+    }
+    
+    private CountDownLatch gate() {
+        CountDownLatch gate = new CountDownLatch(1);
+        gates.add(gate);
+        return gate;
+    }
+    
+    private static Callable<String> blockedUntil(CountDownLatch gate, String result) {
+        return () -> {
+            gate.await(5, TimeUnit.SECONDS);
+            return result;
+        };
+    }
+    
+    private void submit(String key, Callable<String> work, JComponent... controls) throws Exception {
+        onEdt(() -> tasks.submit(key, work, results::add, failures::add, controls));
+    }
+    
+    private static <T> T onEdt(Callable<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Exception> error = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result.set(action.call());
+            } catch (Exception e) {
+                error.set(e);
+            }
+        });
+        if (error.get() != null) {
+            throw error.get();
+        }
+        return result.get();
+    }
+    
+    private void waitUntil(Callable<Boolean> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!onEdt(condition)) {
+            assertTrue(System.nanoTime() < deadline, "La condición no se cumplió a tiempo");
+            Thread.sleep(5);
+        }
+    }
+    
+    /**
+     * Espera a que terminen las tareas; onSuccess/onFailure ya se ejecutaron
+     */
+    private void waitForTasks() throws Exception {
+        waitUntil(() -> !tasks.isBusy());
+    }
+}
@@ -0,0 +1,350 @@
+package com.taller2solid.presentation;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import com.taller2solid.service.UserChangeEvent;
+import com.taller2solid.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para PagedUserTableModel
+ * Sin ventanas: el modelo se usa en el EDT con invokeAndWait y el servicio
+ * es un mock que pagina una lista en memoria. Páginas de 3 filas y 7
+ * usuarios (IDs 1 a 7): [1, 2, 3] [4, 5, 6] [7]
+ */
+@DisplayName("Pruebas unitarias de PagedUserTableModel")
+class PagedUserTableModelTest {
+    
+    private static final int PAGE_SIZE = 3;
+    
+    @Mock
+    private UserService mockService;
+    
+    private final List<User> stored = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private BackgroundTasks tasks;
+    private PagedUserTableModel model;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        for (int id = 1; id <= 7; id++) {
+            stored.add(user(id, "user" + id));
+        }
+        when(mockService.countUsers()).thenAnswer(inv -> (long) stored.size());
+        when(mockService.findUsersPage(anyInt(), anyInt())).thenAnswer(this::pageAfter);
+        when(mockService.findUsersPageAt(anyLong(), anyInt())).thenAnswer(inv -> {
+            List<User> all = snapshot();
+            int from = (int) Math.min(all.size(), (long) inv.getArgument(0));
+            int to = Math.min(all.size(), from + (int) inv.getArgument(1));
+            return new ArrayList<>(all.subList(from, to));
+        });
+        
+        model = onEdt(() -> {
+            tasks = new BackgroundTasks(null);
+            PagedUserTableModel created = new PagedUserTableModel(mockService, tasks, PAGE_SIZE, 10);
+            created.addTableModelListener(e -> events.add(describe(e)));
+            return created;
+        });
+        waitForTasks();
+        events.clear();
+    }
+    
+    private List<User> pageAfter(InvocationOnMock inv) {
+        int afterId = inv.getArgument(0);
+        int limit = inv.getArgument(1);
+        List<User> page = new ArrayList<>();
+        for (User u : snapshot()) {
+            if (u.getId() > afterId && page.size() < limit) {
+                page.add(u);
+            }
+        }
+        return page;
+    }
+    
+    private static User user(int id, String username) {
+        return new User(id, username, "hash123", username + "@test.com", Role.USER);
+    }
+    
+    private List<User> snapshot() {
+        synchronized (stored) {
+            return new ArrayList<>(stored);
+        }
+    }
+    
+    private static String describe(TableModelEvent e) {
+        String type = e.getType() == TableModelEvent.INSERT ? "INSERT"
+                : e.getType() == TableModelEvent.DELETE ? "DELETE" : "UPDATE";
+        if (e.getLastRow() == Integer.MAX_VALUE) {
+            return "DATA_CHANGED";
+        }
+        return type + " " + e.getFirstRow() + "-" + e.getLastRow();
+    }
+    
+    private static <T> T onEdt(Callable<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Exception> error = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result.set(action.call());
+            } catch (Exception e) {
+                error.set(e);
+            }
+        });
+        if (error.get() != null) {
+            throw error.get();
+        }
+        return result.get();
+    }
+    
+    /**
+     * Espera a que terminen las cargas en segundo plano y se entreguen en el EDT
+     */
+    private void waitForTasks() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (onEdt(tasks::isBusy)) {
+            assertTrue(System.nanoTime() < deadline, "Las tareas en segundo plano no terminaron");
+            Thread.sleep(5);
+        }
+    }
+    
+    /**
+     * Pide la fila (dispara la carga de su página) y la devuelve ya cargada
+     */
+    private User loadRow(int row) throws Exception {
+        onEdt(() -> model.getUserAt(row));
+        waitForTasks();
+        return onEdt(() -> model.getUserAt(row));
+    }
+    
+    private void change(UserChangeEvent.Type type, Integer id, User user) throws Exception {
+        onEdt(() -> {
+            model.userChanged(new UserChangeEvent(type, id, user));
+            return null;
+        });
+    }
+    
+    @Test
+    @DisplayName("Debe cargar la página de una fila y avisar las filas actualizadas")
+    void testCargaPorPaginas() throws Exception {
+        // Act
+        User first = onEdt(() -> model.getUserAt(4));
+        User loaded = loadRow(4);
+        
+        // Assert
+        assertNull(first, "La fila se muestra vacía hasta que llega su página");
+        assertEquals(5, loaded.getId());
+        assertEquals(7, (int) onEdt(model::getRowCount));
+        assertEquals(List.of("UPDATE 3-5"), events);
+        verify(mockService).findUsersPageAt(3, PAGE_SIZE);
+    }
+    
+    @Test
+    @DisplayName("Un alta que encaja al final de la última página se inserta sin recargar")
+    void testAltaAlFinal() throws Exception {
+        // Arrange
+        loadRow(6);
+        events.clear();
+        User nuevo = user(8, "user8");
+        stored.add(nuevo);
+        
+        // Act
+        change(UserChangeEvent.Type.CREATED, 8, nuevo);
+        
+        // Assert
+        assertEquals(List.of("INSERT 7-7"), events);
+        assertEquals(8, (int) onEdt(model::getRowCount));
+        assertSame(nuevo, onEdt(() -> model.getUserAt(7)));
+        verify(mockService, times(1)).countUsers();
+    }
+    
+    @Test
+    @DisplayName("Un alta en una página llena abre una página nueva sin consultar")
+    void testAltaEnPaginaNueva() throws Exception {
+        // Arrange: con 6 usuarios la última página está completa
+        stored.remove(6);
+        onEdt(() -> {
+            model.refresh();
+            return null;
+        });
+        waitForTasks();
+        loadRow(5);
+        events.clear();
+        User nuevo = user(7, "user7");
+        stored.add(nuevo);
+        
+        // Act
+        change(UserChangeEvent.Type.CREATED, 7, nuevo);
+        User loaded = loadRow(6);
+        
+        // Assert
+        assertEquals("INSERT 6-6", events.get(0));
+        assertEquals(7, (int) onEdt(model::getRowCount));
+        assertEquals(7, loaded.getId());
+        // La página 2 empieza después del último ID conocido de la página 1
+        verify(mockService).findUsersPage(6, PAGE_SIZE);
+    }
+    
+    @Test
+    @DisplayName("Un alta que no encaja en la última página recarga la tabla")
+    void testAltaQueNoEncajaRecarga() throws Exception {
+        // Arrange
+        loadRow(6);
+        events.clear();
+        
+        // Act: un ID menor que el último no puede ir al final
+        change(UserChangeEvent.Type.CREATED, 5, user(5, "repetido"));
+        waitForTasks();
+        
+        // Assert
+        assertEquals(List.of("DATA_CHANGED"), events);
+        assertEquals(0, (int) onEdt(model::getCachedPageCount));
+        verify(mockService, times(2)).countUsers();
+    }
+    
+    @Test
+    @DisplayName("Una modificación de una fila en memoria actualiza solo esa fila")
+    void testModificacionEnMemoria() throws Exception {
+        // Arrange
+        loadRow(4);
+        events.clear();
+        User modificado = user(5, "renombrado");
+        
+        // Act
+        change(UserChangeEvent.Type.UPDATED, 5, modificado);
+        
+        // Assert
+        assertEquals(List.of("UPDATE 4-4"), events);
+        assertEquals("renombrado", onEdt(() -> model.getUserAt(4)).getUsername());
+    }
+    
+    @Test
+    @DisplayName("Una modificación de una fila fuera de memoria no dispara eventos")
+    void testModificacionFueraDeMemoria() throws Exception {
+        // Arrange
+        loadRow(0);
+        events.clear();
+        
+        // Act
+        change(UserChangeEvent.Type.UPDATED, 7, user(7, "renombrado"));
+        
+        // Assert
+        assertTrue(events.isEmpty());
+        assertEquals(1, (int) onEdt(model::getCachedPageCount));
+        verify(mockService, times(1)).countUsers();
+    }
+    
+    @Test
+    @DisplayName("Una baja borra la fila y olvida su página y las siguientes")
+    void testBaja() throws Exception {
+        // Arrange
+        loadRow(0);
+        loadRow(3);
+        loadRow(6);
+        events.clear();
+        stored.remove(4);
+        
+        // Act: se elimina el ID 5 (fila 4, página 1)
+        change(UserChangeEvent.Type.DELETED, 5, null);
+        
+        // Assert
+        assertEquals(List.of("DELETE 4-4"), events);
+        assertEquals(6, (int) onEdt(model::getRowCount));
+        assertEquals(1, (int) onEdt(model::getCachedPageCount), "Solo queda la página anterior a la baja");
+        assertEquals(3, onEdt(() -> model.getUserAt(2)).getId());
+        // Las filas siguientes se corrieron una posición; la página 1 conserva su inicio
+        assertEquals(6, loadRow(4).getId());
+        assertEquals(7, onEdt(() -> model.getUserAt(5)).getId());
+        verify(mockService, times(2)).findUsersPage(3, PAGE_SIZE);
+    }
+    
+    @Test
+    @DisplayName("Tras una baja, las páginas siguientes se ubican de nuevo por posición")
+    void testBajaOlvidaInicios() throws Exception {
+        // Arrange
+        loadRow(0);
+        loadRow(3);
+        events.clear();
+        stored.remove(1);
+        
+        // Act: se elimina el ID 2 (fila 1, página 0)
+        change(UserChangeEvent.Type.DELETED, 2, null);
+        User row3 = loadRow(3);
+        
+        // Assert
+        assertEquals("DELETE 1-1", events.get(0));
+        assertEquals(5, row3.getId());
+        // El inicio conocido de la página 1 (después del ID 3) ya no vale
+        verify(mockService).findUsersPageAt(3, PAGE_SIZE);
+        verify(mockService, times(1)).findUsersPage(3, PAGE_SIZE);
+    }
+    
+    @Test
+    @DisplayName("Una baja de una fila fuera de memoria recarga la tabla")
+    void testBajaFueraDeMemoria() throws Exception {
+        // Arrange
+        loadRow(0);
+        events.clear();
+        stored.remove(6);
+        
+        // Act
+        change(UserChangeEvent.Type.DELETED, 7, null);
+        waitForTasks();
+        
+        // Assert
+        assertEquals(List.of("DATA_CHANGED"), events);
+        assertEquals(6, (int) onEdt(model::getRowCount));
+        assertEquals(0, (int) onEdt(model::getCachedPageCount));
+    }
+    
+    @Test
+    @DisplayName("Una página leída antes de un cambio se descarta y se vuelve a pedir")
+    void testPaginaObsoleta() throws Exception {
+        // Arrange: la carga de la página 0 queda bloqueada en el servicio
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<User> stale = snapshot().subList(0, PAGE_SIZE);
+        doAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ArrayList<>(stale);
+        }).doAnswer(this::pageAfter).when(mockService).findUsersPage(0, PAGE_SIZE);
+        onEdt(() -> model.getUserAt(0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        User modificado = user(2, "renombrado");
+        synchronized (stored) {
+            stored.set(1, modificado);
+        }
+        
+        // Act: el cambio llega mientras la página está en vuelo
+        change(UserChangeEvent.Type.UPDATED, 2, modificado);
+        release.countDown();
+        waitForTasks();
+        
+        // Assert
+        assertEquals(List.of("UPDATE 0-2"), events);
+        assertEquals(0, (int) onEdt(model::getCachedPageCount), "La página obsoleta no se guarda");
+        assertNull(onEdt(() -> model.getUserAt(1)));
+        waitForTasks();
+        assertEquals("renombrado", onEdt(() -> model.getUserAt(1)).getUsername());
+    }
+}
@@ -0,0 +1,209 @@
+package com.taller2solid.presentation;
+
+import com.sun.net.httpserver.HttpServer;
+import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import com.taller2solid.security.SHA256PasswordEncoder;
+import com.taller2solid.service.SessionManager;
+import com.taller2solid.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para UserHttpApi
+ * Levanta el servidor en un puerto libre con un archivo SQLite temporal
+ */
+@DisplayName("Pruebas de integración de UserHttpApi")
+class UserHttpApiTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private UserRepositorySQLite repository;
+    private UserService userService;
+    private SessionManager sessionManager;
+    private HttpServer server;
+    private ExecutorService executor;
+    private HttpClient client;
+    private String baseUrl;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = new UserRepositorySQLite(tempDir.resolve("usuarios-test.db").toString(), 2);
+        repository.initDatabase();
+        userService = new UserService(repository, new SHA256PasswordEncoder());
+        sessionManager = new SessionManager(Duration.ofMinutes(5), null);
+        userService.addUserChangeListener(sessionManager);
+        assertTrue(userService.createUser(new User(null, "admin", "admin123", "admin@test.com", Role.ADMIN)).isSuccess());
+        assertTrue(userService.createUser(new User(null, "juan", "pass123", "juan@test.com", Role.USER)).isSuccess());
+        
+        executor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        new UserHttpApi(userService, sessionManager).register(server);
+        server.setExecutor(executor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+        sessionManager.close();
+        repository.closeConnection();
+    }
+    
+    private HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                                             : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private String login(String username, String password) throws Exception {
+        return new HttpLoadTestClient(baseUrl).login(username, password);
+    }
+    
+    @Test
+    @DisplayName("El login debe devolver un token y el usuario sin contraseña")
+    void testLogin() throws Exception {
+        // Act
+        HttpResponse<String> ok = send("POST", "/api/login", null, "{\"username\":\"admin\",\"password\":\"admin123\"}");
+        HttpResponse<String> bad = send("POST", "/api/login", null, "{\"username\":\"admin\",\"password\":\"mala123\"}");
+        
+        // Assert
+        assertEquals(200, ok.statusCode());
+        assertTrue(ok.body().contains("\"token\":\""));
+        assertTrue(ok.body().contains("\"username\":\"admin\""));
+        assertFalse(ok.body().contains("password"));
+        assertEquals(401, bad.statusCode());
+        assertTrue(bad.body().contains("\"error\""));
+    }
+    
+    @Test
+    @DisplayName("Sin token válido debe responder 401")
+    void testSinToken() throws Exception {
+        // Act & Assert
+        assertEquals(401, send("GET", "/api/users", null, null).statusCode());
+        assertEquals(401, send("GET", "/api/users", "falso.token", null).statusCode());
+    }
+    
+    @Test
+    @DisplayName("Debe paginar por clave indicando el siguiente afterId")
+    void testPaginacion() throws Exception {
+        // Arrange
+        String token = login("admin", "admin123");
+        
+        // Act
+        HttpResponse<String> first = send("GET", "/api/users?limit=1", token, null);
+        HttpResponse<String> last = send("GET", "/api/users?afterId=1&limit=5", token, null);
+        HttpResponse<String> invalid = send("GET", "/api/users?limit=0", token, null);
+        
+        // Assert
+        assertEquals(200, first.statusCode());
+        assertTrue(first.body().contains("\"username\":\"admin\""));
+        assertTrue(first.body().endsWith("\"nextAfterId\":1}"), first.body());
+        assertTrue(last.body().contains("\"username\":\"juan\""));
+        assertTrue(last.body().endsWith("\"nextAfterId\":null}"), last.body());
+        assertEquals(400, invalid.statusCode());
+    }
+    
+    @Test
+    @DisplayName("Un ADMIN debe poder crear, modificar y eliminar")
+    void testCrudAdmin() throws Exception {
+        // Arrange
+        String token = login("admin", "admin123");
+        
+        // Act & Assert
+        HttpResponse<String> created = send("POST", "/api/users", token,
+                "{\"username\":\"maria\",\"password\":\"pass123\",\"email\":\"maria@test.com\",\"role\":\"MEDICO\"}");
+        assertEquals(201, created.statusCode(), created.body());
+        Integer id = userService.findUserByUsername("maria").get().getId();
+        
+        HttpResponse<String> duplicated = send("POST", "/api/users", token,
+                "{\"username\":\"maria\",\"password\":\"pass123\",\"email\":\"otra@test.com\",\"role\":\"USER\"}");
+        assertEquals(409, duplicated.statusCode());
+        
+        HttpResponse<String> updated = send("PUT", "/api/users/" + id, token, "{\"email\":\"nueva@test.com\"}");
+        assertEquals(200, updated.statusCode(), updated.body());
+        assertEquals("nueva@test.com", userService.findUserById(id).get().getEmail());
+        assertTrue(userService.authenticate("maria", "pass123").isSuccess(),
+                   "Sin password en el cuerpo, la contraseña no cambia");
+        
+        assertEquals(204, send("DELETE", "/api/users/" + id, token, null).statusCode());
+        assertEquals(404, send("GET", "/api/users/" + id, token, null).statusCode());
+    }
+    
+    @Test
+    @DisplayName("Un USER solo debe poder leer")
+    void testPermisosUser() throws Exception {
+        // Arrange
+        String token = login("juan", "pass123");
+        
+        // Act & Assert
+        assertEquals(200, send("GET", "/api/users/1", token, null).statusCode());
+        assertEquals(403, send("DELETE", "/api/users/1", token, null).statusCode());
+        assertEquals(403, send("POST", "/api/users", token, "{}").statusCode());
+    }
+    
+    @Test
+    @DisplayName("Cuerpos y rutas inválidos deben responder 400 y 404")
+    void testPeticionesInvalidas() throws Exception {
+        // Arrange
+        String token = login("admin", "admin123");
+        
+        // Act & Assert
+        assertEquals(400, send("POST", "/api/users", token, "{\"username\": ").statusCode());
+        assertEquals(400, send("PUT", "/api/users/1", token, "{\"role\":\"JEFE\"}").statusCode());
+        assertEquals(400, send("GET", "/api/users/abc", token, null).statusCode());
+        assertEquals(404, send("GET", "/api/otra", token, null).statusCode());
+        assertEquals(405, send("GET", "/api/login", null, null).statusCode());
+    }
+    
+    @Test
+    @DisplayName("El logout debe invalidar el token")
+    void testLogout() throws Exception {
+        // Arrange
+        String token = login("admin", "admin123");
+        
+        // Act & Assert
+        assertEquals(204, send("POST", "/api/logout", token, null).statusCode());
+        assertEquals(401, send("GET", "/api/users", token, null).statusCode());
+    }
+    
+    @Test
+    @DisplayName("El cliente de carga debe informar peticiones sin errores")
+    void testClienteDeCarga() throws Exception {
+        // Arrange
+        HttpLoadTestClient loadTest = new HttpLoadTestClient(baseUrl);
+        String token = loadTest.login("admin", "admin123");
+        
+        // Act
+        HttpLoadTestClient.LoadReport report = loadTest.run("/api/users?limit=10", token, 2, Duration.ofMillis(300));
+        
+        // Assert
+        assertTrue(report.getRequests() > 0);
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getLatency().getPercentile(0.99) > 0);
+    }
+}
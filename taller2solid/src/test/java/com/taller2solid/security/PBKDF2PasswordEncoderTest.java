@@ -0,0 +1,152 @@
+package com.taller2solid.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para PBKDF2PasswordEncoder y DelegatingPasswordEncoder
+ * Valida el formato del hash, la sal, la calibración y la migración de hashes antiguos
+ */
+@DisplayName("Pruebas unitarias de PBKDF2PasswordEncoder")
+class PBKDF2PasswordEncoderTest {
+    
+    private PBKDF2PasswordEncoder encoder;
+    
+    @BeforeEach
+    void setUp() {
+        encoder = new PBKDF2PasswordEncoder(PBKDF2PasswordEncoder.MIN_ITERATIONS);
+    }
+    
+    @Test
+    @DisplayName("Debe generar un hash autodescriptivo con prefijo e iteraciones")
+    void testFormatoDelHash() {
+        // Act
+        String hash = encoder.encode("miPassword123");
+        
+        // Assert
+        assertTrue(hash.startsWith(PBKDF2PasswordEncoder.PREFIX + PBKDF2PasswordEncoder.MIN_ITERATIONS + "$"));
+        assertTrue(encoder.isEncoded(hash));
+        assertFalse(encoder.isEncoded("miPassword123"));
+    }
+    
+    @Test
+    @DisplayName("Debe usar sal: la misma contraseña produce hashes diferentes")
+    void testHashConSal() {
+        // Act
+        String hash1 = encoder.encode("password123");
+        String hash2 = encoder.encode("password123");
+        
+        // Assert
+        assertNotEquals(hash1, hash2, "Cada hash debe tener su propia sal");
+        assertTrue(encoder.matches("password123", hash1));
+        assertTrue(encoder.matches("password123", hash2));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar contraseñas incorrectas y hashes mal formados")
+    void testMatchesIncorrecto() {
+        // Arrange
+        String hash = encoder.encode("password123");
+        
+        // Assert
+        assertFalse(encoder.matches("password124", hash));
+        assertFalse(encoder.matches("password123", "$pbkdf2-sha256$abc$$"));
+        assertFalse(encoder.matches("password123", null));
+    }
+    
+    @Test
+    @DisplayName("Debe verificar hashes creados con otro número de iteraciones y pedir regenerarlos")
+    void testHashConMenosIteraciones() {
+        // Arrange
+        PBKDF2PasswordEncoder mayor = new PBKDF2PasswordEncoder(PBKDF2PasswordEncoder.MIN_ITERATIONS * 2);
+        String hashViejo = encoder.encode("password123");
+        
+        // Assert
+        assertTrue(mayor.matches("password123", hashViejo));
+        assertTrue(mayor.needsRehash(hashViejo));
+        assertFalse(mayor.needsRehash(mayor.encode("password123")));
+    }
+    
+    @Test
+    @DisplayName("No debe pedir regenerar hashes con pocas iteraciones menos que las actuales")
+    void testToleranciaDeIteraciones() {
+        // Arrange
+        PBKDF2PasswordEncoder recalibrado = new PBKDF2PasswordEncoder(
+                PBKDF2PasswordEncoder.MIN_ITERATIONS * 11 / 10);
+        String hash = encoder.encode("password123");
+        
+        // Act & Assert
+        assertFalse(recalibrado.needsRehash(hash));
+        assertEquals(0, PBKDF2PasswordEncoder.calibrateIterations(Duration.ofMillis(50))
+                % PBKDF2PasswordEncoder.MIN_ITERATIONS);
+    }
+    
+    @Test
+    @DisplayName("La calibración nunca debe bajar del mínimo de iteraciones")
+    void testCalibracionMinima() {
+        // Act
+        int iteraciones = PBKDF2PasswordEncoder.calibrateIterations(Duration.ofNanos(1));
+        
+        // Assert
+        assertEquals(PBKDF2PasswordEncoder.MIN_ITERATIONS, iteraciones);
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar hashes con más iteraciones que el máximo sin derivarlos")
+    void testHashConDemasiadasIteraciones() {
+        // Arrange
+        String hash = encoder.encode("password123");
+        String desmedido = hash.replaceFirst("\\$" + PBKDF2PasswordEncoder.MIN_ITERATIONS + "\\$",
+                "\\$" + Integer.MAX_VALUE + "\\$");
+        
+        // Act & Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            assertFalse(encoder.isEncoded(desmedido));
+            assertFalse(encoder.matches("password123", desmedido));
+        });
+        assertTrue(encoder.needsRehash(desmedido));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PBKDF2PasswordEncoder(PBKDF2PasswordEncoder.MAX_ITERATIONS + 1));
+        assertEquals(PBKDF2PasswordEncoder.MAX_ITERATIONS,
+                PBKDF2PasswordEncoder.calibrateIterations(Duration.ofDays(1)));
+    }
+    
+    // ========================================
+    // PRUEBAS DE MIGRACIÓN DESDE SHA-256
+    // ========================================
+    
+    @Test
+    @DisplayName("Debe verificar hashes SHA-256 antiguos y marcarlos para regenerar")
+    void testDelegatingAceptaHashAntiguo() {
+        // Arrange
+        SHA256PasswordEncoder legacy = new SHA256PasswordEncoder();
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoder, legacy);
+        String hashAntiguo = legacy.encode("password123");
+        
+        // Assert
+        assertTrue(delegating.matches("password123", hashAntiguo));
+        assertFalse(delegating.matches("otra123", hashAntiguo));
+        assertTrue(delegating.isEncoded(hashAntiguo));
+        assertTrue(delegating.needsRehash(hashAntiguo));
+    }
+    
+    @Test
+    @DisplayName("Debe generar hashes nuevos con el encriptador actual")
+    void testDelegatingEncodeUsaActual() {
+        // Arrange
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoder, new SHA256PasswordEncoder());
+        
+        // Act
+        String hash = delegating.encode("password123");
+        
+        // Assert
+        assertTrue(hash.startsWith(PBKDF2PasswordEncoder.PREFIX));
+        assertFalse(delegating.needsRehash(hash));
+        assertTrue(delegating.matches("password123", hash));
+    }
+}
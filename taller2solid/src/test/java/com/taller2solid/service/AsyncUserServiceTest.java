@@ -0,0 +1,146 @@
+package com.taller2solid.service;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import com.taller2solid.service.UserService.ServiceResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para AsyncUserService
+ * Usa Mockito para simular el servicio síncrono
+ */
+@DisplayName("Pruebas unitarias de AsyncUserService")
+class AsyncUserServiceTest {
+    
+    @Mock
+    private UserService mockService;
+    
+    private AsyncUserService asyncService;
+    
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        asyncService = new AsyncUserService(mockService,
+                Executors.newCachedThreadPool(), 2, Duration.ofMillis(500));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        asyncService.close();
+    }
+    
+    @Test
+    @DisplayName("Debe completar el future con el resultado del servicio")
+    void testAutenticacionAsincrona() throws Exception {
+        // Arrange
+        User user = new User(1, "juan", "hash", "juan@test.com", Role.USER);
+        when(mockService.authenticate("juan", "pass123"))
+            .thenReturn(ServiceResult.success("Autenticación exitosa", user));
+        when(mockService.findUserById(1)).thenReturn(Optional.of(user));
+        
+        // Act
+        ServiceResult result = asyncService.authenticate("juan", "pass123").get(1, TimeUnit.SECONDS);
+        Optional<User> found = asyncService.findUserById(1).get(1, TimeUnit.SECONDS);
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("juan", found.get().getUsername());
+    }
+    
+    @Test
+    @DisplayName("Debe vencer por tiempo e interrumpir la operación")
+    void testTimeoutInterrumpe() throws Exception {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(mockService.deleteUser(1)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return ServiceResult.success("tarde");
+        });
+        
+        // Act
+        CompletableFuture<ServiceResult> future = asyncService.deleteUser(1);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        
+        // Assert
+        assertTrue(error.getCause() instanceof TimeoutException);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "La tarea debe ser interrumpida");
+    }
+    
+    @Test
+    @DisplayName("Debe propagar la cancelación a la tarea en curso")
+    void testCancelacion() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch finished = new CountDownLatch(1);
+        when(mockService.updateUser(any())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return ServiceResult.success("tarde");
+        });
+        
+        // Act
+        CompletableFuture<ServiceResult> future = asyncService.updateUser(new User());
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        future.cancel(true);
+        
+        // Assert
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertTrue(interrupted.get(), "La cancelación debe interrumpir la tarea");
+    }
+    
+    @Test
+    @DisplayName("No debe ejecutar más operaciones simultáneas que el límite configurado")
+    void testLimiteDeConcurrencia() throws Exception {
+        // Arrange
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(mockService.findUserByUsername(anyString())).thenAnswer(invocation -> {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return Optional.empty();
+        });
+        
+        // Act
+        List<CompletableFuture<Optional<User>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(asyncService.findUserByUsername("u" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(2, TimeUnit.SECONDS);
+        
+        // Assert
+        assertTrue(maxRunning.get() <= 2, "Máximo simultáneo: " + maxRunning.get());
+    }
+}
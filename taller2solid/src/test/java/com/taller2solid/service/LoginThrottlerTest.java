@@ -0,0 +1,174 @@
+package com.taller2solid.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para LoginThrottler
+ * Usa un reloj simulado para controlar la recuperación de intentos
+ */
+@DisplayName("Pruebas unitarias de LoginThrottler")
+class LoginThrottlerTest {
+    
+    private AtomicLong clock;
+    
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000_000L);
+    }
+    
+    private LoginThrottler throttler(int userBurst, int globalBurst, int maxTrackedUsers) {
+        return new LoginThrottler(userBurst, Duration.ofSeconds(1), globalBurst,
+                                  Duration.ofMillis(10), maxTrackedUsers, clock::get);
+    }
+    
+    @Test
+    @DisplayName("Debe permitir la ráfaga por username y rechazar el siguiente intento")
+    void testLimitePorUsuario() {
+        // Arrange
+        LoginThrottler throttler = throttler(3, 100, 100);
+        
+        // Act & Assert
+        assertTrue(throttler.tryAcquire("usuario"));
+        assertTrue(throttler.tryAcquire("usuario"));
+        assertTrue(throttler.tryAcquire("usuario"));
+        assertFalse(throttler.tryAcquire("usuario"), "El cuarto intento seguido debe rechazarse");
+        assertTrue(throttler.tryAcquire("otro"), "Otro username no debe verse afectado");
+        assertEquals(4, throttler.getAllowed());
+        assertEquals(1, throttler.getRejectedByUser());
+    }
+    
+    @Test
+    @DisplayName("Debe recuperar intentos con el paso del tiempo")
+    void testRecuperacion() {
+        // Arrange
+        LoginThrottler throttler = throttler(2, 100, 100);
+        throttler.tryAcquire("usuario");
+        throttler.tryAcquire("usuario");
+        assertFalse(throttler.tryAcquire("usuario"));
+        
+        // Act
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        
+        // Assert
+        assertTrue(throttler.tryAcquire("usuario"), "Tras un intervalo debe haber un intento disponible");
+        assertFalse(throttler.tryAcquire("usuario"), "Solo se recupera un intento por intervalo");
+    }
+    
+    @Test
+    @DisplayName("Debe aplicar el límite global a todos los usernames")
+    void testLimiteGlobal() {
+        // Arrange
+        LoginThrottler throttler = throttler(5, 3, 100);
+        
+        // Act
+        int permitidos = 0;
+        for (int i = 0; i < 10; i++) {
+            if (throttler.tryAcquire("usuario" + i)) {
+                permitidos++;
+            }
+        }
+        
+        // Assert
+        assertEquals(3, permitidos);
+        assertEquals(7, throttler.getRejectedGlobal());
+        assertEquals(0, throttler.getRejectedByUser());
+    }
+    
+    @Test
+    @DisplayName("Un username bloqueado no debe consumir el límite global")
+    void testRechazoPorUsuarioNoConsumeGlobal() {
+        // Arrange
+        LoginThrottler throttler = throttler(1, 2, 100);
+        
+        // Act
+        throttler.tryAcquire("atacado");
+        for (int i = 0; i < 50; i++) {
+            throttler.tryAcquire("atacado");
+        }
+        
+        // Assert
+        assertTrue(throttler.tryAcquire("legitimo"), "Debe quedar capacidad global para otros usuarios");
+    }
+    
+    @Test
+    @DisplayName("Debe eliminar las cubetas ociosas")
+    void testEvictIdle() {
+        // Arrange
+        LoginThrottler throttler = throttler(2, 100, 100);
+        throttler.tryAcquire("a");
+        throttler.tryAcquire("b");
+        assertEquals(2, throttler.getTrackedUsers());
+        
+        // Act
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        int eliminadas = throttler.evictIdle();
+        
+        // Assert
+        assertEquals(2, eliminadas);
+        assertEquals(0, throttler.getTrackedUsers());
+        assertEquals(2, throttler.getEvicted());
+    }
+    
+    @Test
+    @DisplayName("No debe registrar más usernames que el máximo configurado")
+    void testMemoriaAcotada() {
+        // Arrange
+        LoginThrottler throttler = throttler(1, 10_000, 10);
+        
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            throttler.tryAcquire("aleatorio" + i);
+        }
+        
+        // Assert
+        assertEquals(10, throttler.getTrackedUsers());
+        assertTrue(throttler.getRejectedByUser() > 0, "Los usernames excedentes comparten cubetas");
+    }
+    
+    @Test
+    @DisplayName("No debe conceder más intentos que la ráfaga con hilos concurrentes")
+    void testConcurrencia() throws InterruptedException {
+        // Arrange
+        LoginThrottler throttler = throttler(50, 10_000, 100);
+        AtomicInteger permitidos = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread hilo = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 100; j++) {
+                    if (throttler.tryAcquire("usuario")) {
+                        permitidos.incrementAndGet();
+                    }
+                }
+            });
+            hilos.add(hilo);
+            hilo.start();
+        }
+        
+        // Act
+        inicio.countDown();
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        
+        // Assert
+        assertEquals(50, permitidos.get());
+        assertEquals(750, throttler.getRejectedByUser());
+    }
+}
@@ -0,0 +1,156 @@
+package com.taller2solid.service;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import com.taller2solid.service.SessionManager.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para SessionManager
+ * Usa un reloj simulado para controlar la expiración
+ */
+@DisplayName("Pruebas unitarias de SessionManager")
+class SessionManagerTest {
+    
+    private AtomicLong clock;
+    private SessionManager sessions;
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+        sessions = new SessionManager(Duration.ofMinutes(10), null, clock::get);
+        user = new User(1, "usuario", "hash", "test@test.com", Role.USER);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        sessions.close();
+    }
+    
+    @Test
+    @DisplayName("Debe validar un token recién emitido")
+    void testValidarToken() {
+        // Act
+        String token = sessions.createSession(user);
+        Optional<Session> session = sessions.validate(token);
+        
+        // Assert
+        assertTrue(session.isPresent());
+        assertEquals(1, session.get().getUserId());
+        assertEquals("usuario", session.get().getUsername());
+        assertEquals(Role.USER, session.get().getRole());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar tokens alterados o mal formados")
+    void testTokenInvalido() {
+        // Arrange
+        String token = sessions.createSession(user);
+        String selector = token.substring(0, token.indexOf('.'));
+        
+        // Act & Assert
+        assertFalse(sessions.validate(selector + ".otroVerificador").isPresent());
+        assertFalse(sessions.validate("otroSelector" + token.substring(token.indexOf('.'))).isPresent());
+        assertFalse(sessions.validate(selector).isPresent());
+        assertFalse(sessions.validate("").isPresent());
+        assertFalse(sessions.validate(null).isPresent());
+    }
+    
+    @Test
+    @DisplayName("Debe expirar la sesión tras el tiempo sin uso y renovarla al usarla")
+    void testExpiracion() {
+        // Arrange
+        String token = sessions.createSession(user);
+        
+        // Act & Assert
+        clock.addAndGet(Duration.ofMinutes(9).toNanos());
+        assertTrue(sessions.validate(token).isPresent(), "Usarla debe renovar la expiración");
+        clock.addAndGet(Duration.ofMinutes(9).toNanos());
+        assertTrue(sessions.validate(token).isPresent());
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertFalse(sessions.validate(token).isPresent());
+        assertEquals(0, sessions.getSessionCount(), "La sesión expirada debe eliminarse");
+    }
+    
+    @Test
+    @DisplayName("Debe eliminar las sesiones expiradas en la limpieza")
+    void testPurgeExpired() {
+        // Arrange
+        sessions.createSession(user);
+        sessions.createSession(new User(2, "otro", "hash", "otro@test.com", Role.ADMIN));
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+        String reciente = sessions.createSession(user);
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+        
+        // Act
+        int eliminadas = sessions.purgeExpired();
+        
+        // Assert
+        assertEquals(2, eliminadas);
+        assertEquals(1, sessions.getSessionCount());
+        assertTrue(sessions.validate(reciente).isPresent());
+    }
+    
+    @Test
+    @DisplayName("Debe cerrar solo la sesión indicada en el logout")
+    void testInvalidate() {
+        // Arrange
+        String primera = sessions.createSession(user);
+        String segunda = sessions.createSession(user);
+        
+        // Act
+        boolean cerrada = sessions.invalidate(primera);
+        
+        // Assert
+        assertTrue(cerrada);
+        assertFalse(sessions.validate(primera).isPresent());
+        assertTrue(sessions.validate(segunda).isPresent());
+        assertFalse(sessions.invalidate(primera), "No se puede cerrar dos veces");
+    }
+    
+    @Test
+    @DisplayName("Debe revocar las sesiones del usuario al modificarlo o eliminarlo")
+    void testRevocarPorCambios() {
+        // Arrange
+        String token1 = sessions.createSession(user);
+        String token2 = sessions.createSession(user);
+        User otro = new User(2, "otro", "hash", "otro@test.com", Role.USER);
+        String tokenOtro = sessions.createSession(otro);
+        
+        // Act
+        sessions.userChanged(new UserChangeEvent(UserChangeEvent.Type.UPDATED, 1, user));
+        
+        // Assert
+        assertFalse(sessions.validate(token1).isPresent());
+        assertFalse(sessions.validate(token2).isPresent());
+        assertTrue(sessions.validate(tokenOtro).isPresent(), "Las sesiones de otros usuarios se conservan");
+        
+        // Act
+        sessions.userChanged(new UserChangeEvent(UserChangeEvent.Type.DELETED, 2, null));
+        
+        // Assert
+        assertFalse(sessions.validate(tokenOtro).isPresent());
+        assertEquals(0, sessions.getSessionCount());
+    }
+    
+    @Test
+    @DisplayName("Debe emitir tokens distintos para cada sesión")
+    void testTokensUnicos() {
+        // Act
+        String token1 = sessions.createSession(user);
+        String token2 = sessions.createSession(user);
+        
+        // Assert
+        assertNotEquals(token1, token2);
+    }
+}
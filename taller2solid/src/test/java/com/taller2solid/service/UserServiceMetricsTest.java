@@ -0,0 +1,125 @@
+package com.taller2solid.service;
+
+import com.taller2solid.service.UserServiceMetrics.Operation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para UserServiceMetrics y LatencyHistogram
+ */
+@DisplayName("Pruebas unitarias de UserServiceMetrics")
+class UserServiceMetricsTest {
+    
+    private UserServiceMetrics metrics;
+    
+    @BeforeEach
+    void setUp() {
+        metrics = new UserServiceMetrics();
+    }
+    
+    @Test
+    @DisplayName("Debe contar éxitos y fallos por causa")
+    void testContadores() {
+        // Arrange
+        long start = System.nanoTime();
+        
+        // Act
+        metrics.record(Operation.AUTHENTICATE, start, null);
+        metrics.record(Operation.AUTHENTICATE, start, FailureReason.INVALID_CREDENTIALS);
+        metrics.record(Operation.AUTHENTICATE, start, FailureReason.INVALID_CREDENTIALS);
+        metrics.record(Operation.AUTHENTICATE, start, FailureReason.THROTTLED);
+        
+        // Assert
+        assertEquals(1, metrics.getSuccessCount(Operation.AUTHENTICATE));
+        assertEquals(3, metrics.getFailureCount(Operation.AUTHENTICATE));
+        assertEquals(2, metrics.getFailureCount(Operation.AUTHENTICATE, FailureReason.INVALID_CREDENTIALS));
+        assertEquals(0, metrics.getSuccessCount(Operation.CREATE));
+        OperationStats stats = metrics.snapshot(Operation.AUTHENTICATE);
+        assertEquals(2L, stats.getFailuresByReason().get("INVALID_CREDENTIALS"));
+        assertFalse(stats.getFailuresByReason().containsKey("NOT_FOUND"));
+    }
+    
+    @Test
+    @DisplayName("Debe calcular percentiles con un error relativo acotado")
+    void testPercentiles() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        
+        // Act
+        long p50 = histogram.getPercentile(0.50);
+        long p99 = histogram.getPercentile(0.99);
+        long p999 = histogram.getPercentile(0.999);
+        
+        // Assert
+        assertEquals(1000, histogram.getCount());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), histogram.getMax());
+        assertEquals(500_000, p50, 500_000 * 0.125);
+        assertEquals(990_000, p99, 990_000 * 0.125);
+        assertEquals(999_000, p999, 999_000 * 0.125);
+        assertTrue(p50 <= p99 && p99 <= p999);
+    }
+    
+    @Test
+    @DisplayName("Los buckets del histograma deben cubrir todos los valores sin huecos")
+    void testBuckets() {
+        // Act & Assert
+        for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index), "Valor " + value);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.bucketUpperBound(index - 1), "Valor " + value);
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe volcar las métricas como texto y reiniciarlas")
+    void testDumpYReset() {
+        // Arrange
+        metrics.record(Operation.DELETE, System.nanoTime(), FailureReason.NOT_FOUND);
+        
+        // Act
+        String dump = metrics.getDump();
+        metrics.reset();
+        
+        // Assert
+        assertTrue(dump.contains("DELETE"));
+        assertTrue(dump.contains("NOT_FOUND"));
+        assertEquals(0, metrics.getFailureCount(Operation.DELETE));
+        assertEquals(0, metrics.getLatency(Operation.DELETE).getCount());
+    }
+    
+    @Test
+    @DisplayName("Debe publicarse como MXBean en el servidor de la plataforma")
+    void testRegistroJmx() throws Exception {
+        // Arrange
+        String name = "com.taller2solid:type=UserServiceMetrics,name=test";
+        metrics.record(Operation.CREATE, System.nanoTime(), null);
+        
+        // Act
+        assertTrue(metrics.registerMBean(name));
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Object dump = server.getAttribute(new ObjectName(name), "Dump");
+            Object operations = server.getAttribute(new ObjectName(name), "Operations");
+            
+            // Assert
+            assertTrue(dump.toString().contains("CREATE"));
+            assertEquals(Operation.values().length, ((Object[]) operations).length);
+        } finally {
+            metrics.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(name)));
+    }
+}
@@ -1,6 +1,8 @@
 package com.taller2solid.service;
 
 import com.taller2solid.access.IUserRepository;
+import com.taller2solid.audit.AuditAction;
+import com.taller2solid.audit.IAuditLog;
 import com.taller2solid.domain.Role;
 import com.taller2solid.domain.User;
 import com.taller2solid.security.IPasswordEncoder;
@@ -11,13 +13,19 @@ import org.junit.jupiter.api.DisplayName;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,6 +46,7 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        doCallRealMethod().when(mockRepository).mightExist(any());
         userService = new UserService(mockRepository, mockEncoder);
     }
     
@@ -196,20 +205,24 @@ class UserServiceTest {
     }
     
     @Test
-    @DisplayName("Debe rechazar autenticación de usuario inexistente")
+    @DisplayName("Debe rechazar autenticación de usuario inexistente verificando contra un hash ficticio")
     void testAutenticacionUsuarioInexistente() {
         // Arrange
         when(mockRepository.findByUsername("noexiste")).thenReturn(Optional.empty());
+        when(mockEncoder.encode(anyString())).thenReturn("hashFicticio");
         
         // Act
         ServiceResult result = userService.authenticate("noexiste", "pass123");
+        userService.authenticate("otroinexistente", "pass123");
         
         // Assert
         assertFalse(result.isSuccess(), "La autenticación debe fallar");
         assertTrue(result.getMessage().contains("incorrectos"), "El mensaje debe indicar credenciales incorrectas");
         
         verify(mockRepository).findByUsername("noexiste");
-        verify(mockEncoder, never()).matches(anyString(), anyString());
+        // Misma demora que un username existente: siempre se verifica una contraseña
+        verify(mockEncoder, times(2)).matches("pass123", "hashFicticio");
+        verify(mockEncoder, times(1)).encode(anyString());
     }
     
     @Test
@@ -222,16 +235,38 @@ class UserServiceTest {
         user.setActive(false);
         
         when(mockRepository.findByUsername("usuario")).thenReturn(Optional.of(user));
+        when(mockEncoder.matches("pass123", "hashedPassword")).thenReturn(true);
         
         // Act
         ServiceResult result = userService.authenticate("usuario", "pass123");
         
         // Assert
         assertFalse(result.isSuccess(), "La autenticación debe fallar");
+        assertEquals(FailureReason.ACCOUNT_DISABLED, result.getReason());
         assertTrue(result.getMessage().contains("desactivada"), "El mensaje debe indicar cuenta desactivada");
         
         verify(mockRepository).findByUsername("usuario");
-        verify(mockEncoder, never()).matches(anyString(), anyString());
+        verify(mockEncoder).matches("pass123", "hashedPassword");
+    }
+    
+    @Test
+    @DisplayName("Una cuenta inactiva con contraseña incorrecta no debe revelar que está desactivada")
+    void testAutenticacionUsuarioInactivoPasswordIncorrecta() {
+        // Arrange
+        User user = new User();
+        user.setUsername("usuario");
+        user.setPassword("hashedPassword");
+        user.setActive(false);
+        
+        when(mockRepository.findByUsername("usuario")).thenReturn(Optional.of(user));
+        when(mockEncoder.matches("adivinanza", "hashedPassword")).thenReturn(false);
+        
+        // Act
+        ServiceResult result = userService.authenticate("usuario", "adivinanza");
+        
+        // Assert
+        assertEquals(FailureReason.INVALID_CREDENTIALS, result.getReason());
+        assertTrue(result.getMessage().contains("incorrectos"), "El mensaje debe indicar credenciales incorrectas");
     }
     
     @Test
@@ -468,4 +503,384 @@ class UserServiceTest {
         
         verify(mockRepository).findAll();
     }
-}
\ No newline at end of file
+    
+    // ========================================
+    // PRUEBAS DE CREACIÓN MASIVA
+    // ========================================
+    
+    @Test
+    @DisplayName("Debe crear en lote los usuarios válidos y reportar los fallos por fila")
+    void testCrearUsuariosEnLote() {
+        // Arrange
+        List<User> usuarios = Arrays.asList(
+            new User(null, "user1", "pass123", "user1@test.com", Role.USER),
+            new User(null, "x", "pass123", "x@test.com", Role.USER),          // inválido
+            new User(null, "user1", "pass123", "otro@test.com", Role.USER),   // repetido en el lote
+            new User(null, "existe", "pass123", "existe@test.com", Role.USER) // ya existe
+        );
+        when(mockRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(mockRepository.findByUsername("existe"))
+            .thenReturn(Optional.of(new User(9, "existe", "h", "existe@test.com", Role.USER)));
+        when(mockEncoder.encode("pass123")).thenReturn("hashed");
+        when(mockRepository.saveAll(any())).thenAnswer(invocation -> {
+            java.util.Collection<User> lote = invocation.getArgument(0);
+            int id = 1;
+            for (User u : lote) {
+                u.setId(id++);
+            }
+            return lote.size();
+        });
+        
+        // Act
+        UserService.BulkResult result = userService.createUsers(usuarios);
+        
+        // Assert
+        assertEquals(1, result.getSucceeded().size(), "Solo un usuario debe crearse");
+        assertEquals("hashed", result.getSucceeded().get(0).getPassword());
+        assertTrue(result.getSucceeded().get(0).isActive());
+        assertEquals(3, result.getFailures().size(), "Debe reportar tres fallos");
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertEquals(2, result.getFailures().get(1).getIndex());
+        assertEquals("El nombre de usuario ya está en uso", result.getFailures().get(2).getMessage());
+        verify(mockRepository, times(1)).saveAll(any());
+    }
+    
+    @Test
+    @DisplayName("Debe reportar como fallo los usuarios que el repositorio no pudo guardar")
+    void testCrearUsuariosEnLoteFalloDeGuardado() {
+        // Arrange
+        List<User> usuarios = Arrays.asList(
+            new User(null, "user1", "pass123", "user1@test.com", Role.USER)
+        );
+        when(mockRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(mockEncoder.encode(anyString())).thenReturn("hashed");
+        when(mockRepository.saveAll(any())).thenReturn(0);
+        
+        // Act
+        UserService.BulkResult result = userService.createUsers(usuarios);
+        
+        // Assert
+        assertFalse(result.isAllSucceeded());
+        assertEquals("Error al guardar el usuario en la base de datos", result.getFailures().get(0).getMessage());
+    }
+    
+    // ========================================
+    // PRUEBAS DE REGENERACIÓN DE HASH
+    // ========================================
+    
+    @Test
+    @DisplayName("Debe regenerar en segundo plano un hash antiguo tras un login exitoso")
+    void testRehashTrasLogin() {
+        // Arrange
+        UserService service = new UserService(mockRepository, mockEncoder, Runnable::run);
+        User user = new User(1, "usuario", "hashViejo", "test@test.com", Role.USER);
+        User stored = new User(1, "usuario", "hashViejo", "test@test.com", Role.USER);
+        when(mockRepository.findByUsername("usuario")).thenReturn(Optional.of(user));
+        when(mockRepository.findById(1)).thenReturn(Optional.of(stored));
+        when(mockEncoder.matches("pass123", "hashViejo")).thenReturn(true);
+        when(mockEncoder.needsRehash("hashViejo")).thenReturn(true);
+        when(mockEncoder.encode("pass123")).thenReturn("hashNuevo");
+        
+        // Act
+        ServiceResult result = service.authenticate("usuario", "pass123");
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("hashViejo", result.getUser().getPassword(), "El usuario devuelto no debe modificarse");
+        verify(mockRepository).update(argThat(u -> "hashNuevo".equals(u.getPassword())));
+    }
+    
+    @Test
+    @DisplayName("No debe regenerar el hash si la contraseña es incorrecta")
+    void testSinRehashConPasswordIncorrecta() {
+        // Arrange
+        UserService service = new UserService(mockRepository, mockEncoder, Runnable::run);
+        User user = new User(1, "usuario", "hashViejo", "test@test.com", Role.USER);
+        when(mockRepository.findByUsername("usuario")).thenReturn(Optional.of(user));
+        when(mockEncoder.matches("otra123", "hashViejo")).thenReturn(false);
+        when(mockEncoder.needsRehash("hashViejo")).thenReturn(true);
+        
+        // Act
+        service.authenticate("usuario", "otra123");
+        
+        // Assert
+        verify(mockEncoder, never()).encode(anyString());
+        verify(mockRepository, never()).update(any());
+    }
+    
+    @Test
+    @DisplayName("Debe encriptar una contraseña nueva aunque parezca un hash")
+    void testActualizarConHashEncripta() {
+        // Arrange
+        User existente = new User(1, "usuario", "hashA123", "test@test.com", Role.USER);
+        User actualizado = new User(1, "usuario", "hashB456", "test@test.com", Role.USER);
+        when(mockRepository.findById(1)).thenReturn(Optional.of(existente));
+        when(mockEncoder.isEncoded("hashB456")).thenReturn(true);
+        when(mockEncoder.encode("hashB456")).thenReturn("hashC789");
+        when(mockRepository.update(any())).thenReturn(true);
+        
+        // Act
+        ServiceResult result = userService.updateUser(actualizado);
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("hashC789", actualizado.getPassword());
+    }
+    
+    // ========================================
+    // PRUEBAS DE LIMITACIÓN DE INTENTOS
+    // ========================================
+    
+    @Test
+    @DisplayName("Debe rechazar intentos excedidos sin consultar repositorio ni encoder")
+    void testLoginLimitadoNoTocaRepositorio() {
+        // Arrange
+        LoginThrottler throttler = new LoginThrottler(2, Duration.ofHours(1), 100,
+                                                      Duration.ofMillis(1), 100);
+        UserService service = new UserService(mockRepository, mockEncoder, Runnable::run, throttler);
+        when(mockRepository.findByUsername("usuario")).thenReturn(Optional.empty());
+        service.authenticate("usuario", "pass123");
+        service.authenticate("usuario", "pass123");
+        clearInvocations(mockRepository, mockEncoder);
+        
+        // Act
+        ServiceResult result = service.authenticate("usuario", "pass123");
+        
+        // Assert
+        assertFalse(result.isSuccess());
+        assertTrue(result.getMessage().contains("Demasiados intentos"));
+        verifyNoInteractions(mockRepository, mockEncoder);
+        assertEquals(2, throttler.getAllowed());
+        assertEquals(1, throttler.getRejected());
+    }
+    
+    // ========================================
+    // PRUEBAS DE NOTIFICACIÓN DE CAMBIOS
+    // ========================================
+    
+    @Test
+    @DisplayName("Debe notificar a los observadores tras actualizar y eliminar")
+    void testNotificaCambios() {
+        // Arrange
+        List<UserChangeEvent> eventos = new ArrayList<>();
+        userService.addUserChangeListener(eventos::add);
+        User existente = new User(1, "usuario", "hashA123", "test@test.com", Role.USER);
+        User actualizado = new User(1, "usuario", "hashA123", "nuevo@test.com", Role.USER);
+        when(mockRepository.findById(1)).thenReturn(Optional.of(existente));
+        when(mockRepository.update(any())).thenReturn(true);
+        when(mockRepository.delete(1)).thenReturn(true);
+        
+        // Act
+        userService.updateUser(actualizado);
+        userService.deleteUser(1);
+        
+        // Assert
+        assertEquals(2, eventos.size());
+        assertEquals(UserChangeEvent.Type.UPDATED, eventos.get(0).getType());
+        assertEquals(UserChangeEvent.Type.DELETED, eventos.get(1).getType());
+        assertEquals(1, eventos.get(1).getUserId());
+    }
+    
+    @Test
+    @DisplayName("No debe notificar si la operación falla")
+    void testNoNotificaSiFalla() {
+        // Arrange
+        List<UserChangeEvent> eventos = new ArrayList<>();
+        userService.addUserChangeListener(eventos::add);
+        when(mockRepository.findById(1)).thenReturn(Optional.of(new User(1, "usuario", "hash", "t@t.com", Role.USER)));
+        when(mockRepository.delete(1)).thenReturn(false);
+        
+        // Act
+        userService.deleteUser(1);
+        
+        // Assert
+        assertTrue(eventos.isEmpty());
+    }
+    
+    // ========================================
+    // PRUEBAS DE MÉTRICAS
+    // ========================================
+    
+    @Test
+    @DisplayName("Debe registrar el resultado y la causa de fallo de cada operación")
+    void testMetricasPorOperacion() {
+        // Arrange
+        User user = new User(1, "usuario", "hash", "test@test.com", Role.USER);
+        when(mockRepository.findByUsername("usuario")).thenReturn(Optional.of(user));
+        when(mockRepository.findByUsername("nadie")).thenReturn(Optional.empty());
+        when(mockEncoder.matches("pass123", "hash")).thenReturn(true);
+        
+        // Act
+        userService.authenticate("usuario", "pass123");
+        ServiceResult fallo = userService.authenticate("nadie", "pass123");
+        userService.findUserByUsername("nadie");
+        
+        // Assert
+        UserServiceMetrics metrics = userService.getMetrics();
+        assertEquals(FailureReason.INVALID_CREDENTIALS, fallo.getReason());
+        assertEquals(1, metrics.getSuccessCount(UserServiceMetrics.Operation.AUTHENTICATE));
+        assertEquals(1, metrics.getFailureCount(UserServiceMetrics.Operation.AUTHENTICATE,
+                                                FailureReason.INVALID_CREDENTIALS));
+        assertEquals(1, metrics.getFailureCount(UserServiceMetrics.Operation.FIND_BY_USERNAME,
+                                                FailureReason.NOT_FOUND));
+        assertEquals(2, metrics.getLatency(UserServiceMetrics.Operation.AUTHENTICATE).getCount());
+    }
+    
+    @Test
+    @DisplayName("Debe registrar como ERROR una operación que lanza una excepción")
+    void testMetricasConExcepcion() {
+        // Arrange
+        when(mockRepository.findAll()).thenThrow(new RuntimeException("fallo"));
+        
+        // Act
+        assertThrows(RuntimeException.class, () -> userService.findAllUsers());
+        
+        // Assert
+        assertEquals(1, userService.getMetrics().getFailureCount(UserServiceMetrics.Operation.FIND_ALL,
+                                                                 FailureReason.ERROR));
+    }
+    
+    // ========================================
+    // PRUEBAS DE CONSULTAS POR ROL Y ESTADO
+    // ========================================
+    
+    @Test
+    @DisplayName("Debe delegar los conteos por rol y activos al repositorio")
+    void testConteosDelegados() {
+        // Arrange
+        Map<Role, Long> conteos = new EnumMap<>(Role.class);
+        conteos.put(Role.ADMIN, 2L);
+        conteos.put(Role.USER, 5L);
+        when(mockRepository.countByRole()).thenReturn(conteos);
+        when(mockRepository.countActive()).thenReturn(6L);
+        
+        // Act & Assert
+        assertEquals(conteos, userService.countUsersByRole());
+        assertEquals(6L, userService.countActiveUsers());
+        verify(mockRepository, never()).findAll();
+        assertEquals(1, userService.getMetrics().getSuccessCount(UserServiceMetrics.Operation.COUNT_BY_ROLE));
+    }
+    
+    @Test
+    @DisplayName("Buscar por rol null debe devolver lista vacía sin consultar")
+    void testBuscarPorRolNull() {
+        // Act
+        List<User> result = userService.findUsersByRole(null);
+        
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(mockRepository, never()).findByRole(any());
+    }
+    
+    @Test
+    @DisplayName("Debe listar usuarios por rol y activos desde el repositorio")
+    void testBuscarPorRolYActivos() {
+        // Arrange
+        User admin = new User(1, "admin", "hash", "admin@test.com", Role.ADMIN);
+        when(mockRepository.findByRole(Role.ADMIN)).thenReturn(List.of(admin));
+        when(mockRepository.findActive()).thenReturn(List.of(admin));
+        
+        // Act & Assert
+        assertEquals(List.of(admin), userService.findUsersByRole(Role.ADMIN));
+        assertEquals(List.of(admin), userService.findActiveUsers());
+    }
+    
+    @Test
+    @DisplayName("Una página lejana debe ubicarse por posición y leerse por clave")
+    void testPaginaPorPosicion() {
+        // Arrange
+        User user = new User(1201, "lejano", "hash", "lejano@test.com", Role.USER);
+        when(mockRepository.findIdAtOffset(999)).thenReturn(Optional.of(1200));
+        when(mockRepository.findPage(1200, 200)).thenReturn(List.of(user));
+        
+        // Act
+        List<User> page = userService.findUsersPageAt(1000, 200);
+        List<User> fueraDeRango = userService.findUsersPageAt(5000, 200);
+        
+        // Assert
+        assertEquals(List.of(user), page);
+        assertTrue(fueraDeRango.isEmpty());
+        verify(mockRepository, never()).findPage(eq(0), anyInt());
+    }
+    
+    @Test
+    @DisplayName("Buscar con texto en blanco debe devolver lista vacía sin consultar")
+    void testBuscarTextoEnBlanco() {
+        // Act & Assert
+        assertTrue(userService.searchUsers("   ", 10).isEmpty());
+        assertTrue(userService.searchUsers(null, 10).isEmpty());
+        assertTrue(userService.searchUsers("juan", 0).isEmpty());
+        verify(mockRepository, never()).search(anyString(), anyInt());
+    }
+    
+    @Test
+    @DisplayName("Buscar debe acotar el límite de resultados")
+    void testBuscarAcotaLimite() {
+        // Arrange
+        User user = new User(1, "juan", "hash", "juan@test.com", Role.USER);
+        when(mockRepository.search("juan", UserService.MAX_SEARCH_RESULTS)).thenReturn(List.of(user));
+        
+        // Act
+        List<User> result = userService.searchUsers("  juan ", 10_000);
+        
+        // Assert
+        assertEquals(List.of(user), result);
+        assertEquals(1, userService.getMetrics().getSuccessCount(UserServiceMetrics.Operation.SEARCH));
+    }
+    
+    // ========================================
+    // PRUEBAS DE AUDITORÍA
+    // ========================================
+    
+    @Test
+    @DisplayName("Debe auditar altas, bajas y logins con su resultado")
+    void testAuditoria() {
+        // Arrange
+        IAuditLog auditLog = mock(IAuditLog.class);
+        UserService audited = new UserService(mockRepository, mockEncoder, Runnable::run, null, auditLog);
+        User user = new User(null, "ana", "pass123", "ana@test.com", Role.USER);
+        User stored = new User(5, "ana", "hash", "ana@test.com", Role.USER);
+        when(mockRepository.findByUsername("ana")).thenReturn(Optional.empty()).thenReturn(Optional.of(stored));
+        when(mockEncoder.encode("pass123")).thenReturn("hash");
+        when(mockRepository.save(any(User.class))).thenAnswer(invocation -> {
+            invocation.<User>getArgument(0).setId(5);
+            return true;
+        });
+        when(mockRepository.findById(5)).thenReturn(Optional.of(stored));
+        when(mockRepository.delete(5)).thenReturn(true);
+        when(mockEncoder.matches("mala", "hash")).thenReturn(false);
+        
+        // Act
+        audited.createUser(user);
+        audited.authenticate("ana", "mala");
+        ServiceResult deleted = audited.deleteUser(5);
+        audited.deleteUser(99);
+        
+        // Assert
+        verify(auditLog).record(AuditAction.CREATE, 5, "ana", null);
+        verify(auditLog).record(AuditAction.LOGIN, null, "ana", FailureReason.INVALID_CREDENTIALS);
+        verify(auditLog).record(AuditAction.DELETE, 5, "ana", null);
+        verify(auditLog).record(eq(AuditAction.DELETE), eq(99), isNull(), eq(FailureReason.NOT_FOUND));
+        assertEquals(stored, deleted.getUser());
+    }
+    
+    @Test
+    @DisplayName("Un fallo de la auditoría no debe cambiar el resultado de la operación")
+    void testAuditoriaConFallo() {
+        // Arrange
+        IAuditLog auditLog = mock(IAuditLog.class);
+        doThrow(new IllegalStateException("disco lleno")).when(auditLog)
+                .record(any(), any(), any(), any());
+        UserService audited = new UserService(mockRepository, mockEncoder, Runnable::run, null, auditLog);
+        User stored = new User(5, "ana", "hash", "ana@test.com", Role.USER);
+        when(mockRepository.findByUsername("ana")).thenReturn(Optional.of(stored));
+        when(mockEncoder.matches("pass123", "hash")).thenReturn(true);
+        
+        // Act
+        ServiceResult result = audited.authenticate("ana", "pass123");
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        verify(auditLog).record(AuditAction.LOGIN, 5, "ana", null);
+    }
+}
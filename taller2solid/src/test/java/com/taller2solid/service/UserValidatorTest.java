@@ -5,6 +5,8 @@ import com.taller2solid.domain.User;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,6 +46,24 @@ class UserValidatorTest {
         assertTrue(validator.isValid(user), "isValid() debe retornar true");
     }
     
+    @Test
+    @DisplayName("La lista de un usuario válido debe poder modificarse")
+    void testListaVaciaModificable() {
+        // Arrange
+        User user = new User(null, "usuario123", "pass123", "test@example.com", Role.USER);
+        
+        // Act
+        List<String> errores = validator.validate(user);
+        errores.add("Error agregado por el llamador");
+        List<String> erroresEmail = validator.validateEmail("test@example.com");
+        erroresEmail.add("Otro error");
+        
+        // Assert
+        assertEquals(1, errores.size());
+        assertEquals(1, erroresEmail.size());
+        assertTrue(validator.validate(user).isEmpty(), "Cada llamada debe devolver una lista nueva");
+    }
+    
     @Test
     @DisplayName("Debe rechazar un usuario nulo")
     void testUsuarioNulo() {
@@ -427,4 +447,65 @@ class UserValidatorTest {
         assertTrue(errores.stream().anyMatch(e -> e.contains("rol") && e.contains("obligatorio")), 
                    "Debe haber un error que indique que el rol es obligatorio");
     }
+    
+    // ========================================
+    // PRUEBAS DE VALIDACIÓN MASIVA
+    // ========================================
+    
+    @Test
+    @DisplayName("validateAll debe devolver los errores de cada usuario en orden")
+    void testValidateAllConservaOrden() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            User user = new User();
+            user.setUsername(i % 3 == 0 ? "u" : "usuario" + i);
+            user.setPassword("pass123");
+            user.setEmail("user" + i + "@test.com");
+            user.setRole(Role.USER);
+            users.add(user);
+        }
+        
+        // Act
+        List<List<String>> resultados = validator.validateAll(users);
+        
+        // Assert
+        assertEquals(users.size(), resultados.size(), "Debe haber un resultado por usuario");
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(validator.validate(users.get(i)), resultados.get(i),
+                         "El resultado " + i + " debe coincidir con validate");
+            assertEquals(i % 3 != 0, resultados.get(i).isEmpty());
+        }
+    }
+    
+    @Test
+    @DisplayName("validateAll debe reportar usuarios nulos sin fallar")
+    void testValidateAllConNulo() {
+        // Act
+        List<List<String>> resultados = validator.validateAll(Arrays.asList(null, crearUsuarioValido()));
+        
+        // Assert
+        assertEquals(List.of("El usuario no puede ser nulo"), resultados.get(0));
+        assertTrue(resultados.get(1).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar contraseñas con saltos de línea como antes")
+    void testPasswordConSaltoDeLinea() {
+        // Act
+        List<String> errores = validator.validatePassword("pass123\n");
+        
+        // Assert
+        assertTrue(errores.contains("La contraseña debe contener al menos un número"));
+        assertTrue(errores.contains("La contraseña debe contener al menos una letra"));
+    }
+    
+    private User crearUsuarioValido() {
+        User user = new User();
+        user.setUsername("usuario");
+        user.setPassword("pass123");
+        user.setEmail("test@example.com");
+        user.setRole(Role.USER);
+        return user;
+    }
 }
@@ -0,0 +1,124 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.security.SHA256PasswordEncoder;
+import com.taller2solid.service.FailureReason;
+import com.taller2solid.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para AuthLoadGenerator
+ * Usa un archivo SQLite temporal por prueba
+ */
+@DisplayName("Pruebas de integración de AuthLoadGenerator")
+class AuthLoadGeneratorTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private UserRepositorySQLite repository;
+    private UserService userService;
+    private AuthLoadGenerator generator;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new UserRepositorySQLite(tempDir.resolve("usuarios.db").toString(), 2);
+        repository.initDatabase();
+        SHA256PasswordEncoder encoder = new SHA256PasswordEncoder();
+        userService = new UserService(repository, encoder);
+        generator = new AuthLoadGenerator(userService, repository, encoder, null);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        repository.closeConnection();
+    }
+    
+    @Test
+    @DisplayName("Debe sembrar usuarios que pueden iniciar sesión")
+    void testSiembra() {
+        // Act
+        int saved = generator.seed(120);
+        
+        // Assert
+        assertEquals(120, saved);
+        assertEquals(120, repository.count());
+        assertTrue(userService.authenticate(AuthLoadGenerator.username(119), AuthLoadGenerator.PASSWORD).isSuccess());
+    }
+    
+    @Test
+    @DisplayName("Solo credenciales correctas: todos los intentos deben tener éxito")
+    void testSoloCorrectas() throws Exception {
+        // Arrange
+        generator.seed(50);
+        
+        // Act
+        AuthLoadGenerator.LoadReport report = generator.run(2, Duration.ofMillis(200), 0.0, 0.0);
+        
+        // Assert
+        assertTrue(report.getAttempts() > 0);
+        assertEquals(report.getAttempts(), report.getSuccesses());
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getAttemptsPerSecond() > 0);
+    }
+    
+    @Test
+    @DisplayName("La mezcla de credenciales incorrectas no debe contar como error")
+    void testMezcla() throws Exception {
+        // Arrange
+        generator.seed(50);
+        
+        // Act
+        AuthLoadGenerator.LoadReport report = generator.run(3, Duration.ofMillis(300), 0.5, 0.5);
+        
+        // Assert
+        assertTrue(report.getSuccesses() > 0);
+        assertTrue(report.getFailures(FailureReason.INVALID_CREDENTIALS) > 0);
+        assertEquals(report.getAttempts(),
+                     report.getSuccesses() + report.getFailures(FailureReason.INVALID_CREDENTIALS));
+        assertEquals(0, report.getErrors());
+        assertEquals(0.0, report.getErrorRate());
+    }
+    
+    @Test
+    @DisplayName("Debe agregar corridas al CSV con una sola cabecera")
+    void testCsv() throws Exception {
+        // Arrange
+        generator.seed(10);
+        Path csv = tempDir.resolve("resultados.csv");
+        
+        // Act
+        generator.run(1, Duration.ofMillis(50), 0.2, 0.5).appendCsv(csv);
+        generator.run(2, Duration.ofMillis(50), 0.2, 0.5).appendCsv(csv);
+        
+        // Assert
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("fecha,usuarios,hilos"));
+        int columns = lines.get(0).split(",").length;
+        assertEquals(columns, lines.get(1).split(",").length);
+        assertTrue(lines.get(2).contains(",10,2,0.20,0.50,"), lines.get(2));
+    }
+    
+    @Test
+    @DisplayName("Sin usuarios sembrados o con proporciones inválidas debe fallar")
+    void testValidaciones() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> generator.run(1, Duration.ofMillis(10), 0.1, 0.1));
+        generator.seed(1);
+        assertThrows(IllegalArgumentException.class, () -> generator.run(1, Duration.ofMillis(10), 1.5, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> generator.seed(0));
+    }
+}
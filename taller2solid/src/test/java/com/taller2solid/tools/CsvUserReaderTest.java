@@ -0,0 +1,122 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para CsvUserReader y CsvUserWriter
+ */
+@DisplayName("Pruebas unitarias de CsvUserReader")
+class CsvUserReaderTest {
+    
+    private List<UserRecord> readAll(String csv) throws IOException {
+        List<UserRecord> records = new ArrayList<>();
+        try (CsvUserReader reader = new CsvUserReader(new StringReader(csv))) {
+            UserRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+    
+    @Test
+    @DisplayName("Debe leer las columnas por nombre, en cualquier orden")
+    void testColumnasPorNombre() throws IOException {
+        // Arrange
+        String csv = "email,role,username,password,active\r\n" +
+                     "ana@test.com,admin,ana,pass123,false\r\n" +
+                     "luis@test.com,USER,luis,pass456,\r\n";
+        
+        // Act
+        List<UserRecord> records = readAll(csv);
+        
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals("ana", records.get(0).getUser().getUsername());
+        assertEquals("ana@test.com", records.get(0).getUser().getEmail());
+        assertEquals(Role.ADMIN, records.get(0).getUser().getRole());
+        assertFalse(records.get(0).getUser().isActive());
+        assertTrue(records.get(1).getUser().isActive(), "Sin valor, active es true");
+        assertEquals(2, records.get(1).getNumber());
+    }
+    
+    @Test
+    @DisplayName("Debe aceptar comillas, comas y saltos de línea dentro de un campo")
+    void testCamposEntreComillas() throws IOException {
+        // Arrange
+        String csv = "username,password,email,role\n" +
+                     "\"juan\",\"pa,ss\"\"1\nx\",juan@test.com,USER\n";
+        
+        // Act
+        List<UserRecord> records = readAll(csv);
+        
+        // Assert
+        assertEquals(1, records.size());
+        assertEquals("pa,ss\"1\nx", records.get(0).getUser().getPassword());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar filas con columnas de más o roles inválidos y seguir")
+    void testRechazosPorFila() throws IOException {
+        // Arrange
+        String csv = "username,password,email,role\n" +
+                     "uno,pass123,uno@test.com,USER,extra\n" +
+                     "dos,pass123,dos@test.com,JEFE\n" +
+                     "\n" +
+                     "tres,pass123,tres@test.com,GUEST\n";
+        
+        // Act
+        List<UserRecord> records = readAll(csv);
+        
+        // Assert
+        assertEquals(3, records.size());
+        assertFalse(records.get(0).isValid());
+        assertTrue(records.get(0).getError().contains("línea 2"));
+        assertFalse(records.get(1).isValid());
+        assertEquals("dos", records.get(1).getUsername());
+        assertTrue(records.get(1).getError().contains("Rol inválido"));
+        assertTrue(records.get(2).isValid());
+    }
+    
+    @Test
+    @DisplayName("Debe fallar si falta una columna obligatoria")
+    void testFaltaColumna() {
+        // Act & Assert
+        assertThrows(IOException.class,
+                () -> new CsvUserReader(new StringReader("username,email,role\n")));
+    }
+    
+    @Test
+    @DisplayName("Lo escrito por CsvUserWriter debe leerse igual")
+    void testIdaYVuelta() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        User user = new User(
+                7, "maria", "a,b\"c", "maria@test.com", Role.MEDICO);
+        user.setActive(false);
+        
+        // Act
+        try (CsvUserWriter writer = new CsvUserWriter(out, true)) {
+            writer.write(user);
+        }
+        List<UserRecord> records = readAll(out.toString());
+        
+        // Assert
+        assertEquals(1, records.size());
+        assertNull(records.get(0).getUser().getId(), "El ID no se importa");
+        assertEquals("a,b\"c", records.get(0).getUser().getPassword());
+        assertEquals(Role.MEDICO, records.get(0).getUser().getRole());
+        assertFalse(records.get(0).getUser().isActive());
+    }
+}
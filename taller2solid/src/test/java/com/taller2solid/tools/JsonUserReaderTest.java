@@ -0,0 +1,111 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para JsonUserReader y JsonUserWriter
+ */
+@DisplayName("Pruebas unitarias de JsonUserReader")
+class JsonUserReaderTest {
+    
+    private List<UserRecord> readAll(String json) throws IOException {
+        List<UserRecord> records = new ArrayList<>();
+        try (JsonUserReader reader = new JsonUserReader(new StringReader(json))) {
+            UserRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+    
+    @Test
+    @DisplayName("Debe leer un arreglo de objetos")
+    void testArreglo() throws IOException {
+        // Arrange
+        String json = "[\n" +
+                      "  {\"id\": 5, \"username\": \"ana\", \"password\": \"pass123\",\n" +
+                      "   \"email\": \"ana@test.com\", \"role\": \"ADMIN\", \"active\": false},\n" +
+                      "  {\"username\": \"luis\", \"password\": \"p\\u00e1ss\\\"1\", \"email\": null, \"role\": \"USER\"}\n" +
+                      "]";
+        
+        // Act
+        List<UserRecord> records = readAll(json);
+        
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals("ana", records.get(0).getUser().getUsername());
+        assertNull(records.get(0).getUser().getId());
+        assertEquals(Role.ADMIN, records.get(0).getUser().getRole());
+        assertFalse(records.get(0).getUser().isActive());
+        assertEquals("páss\"1", records.get(1).getUser().getPassword());
+        assertNull(records.get(1).getUser().getEmail());
+    }
+    
+    @Test
+    @DisplayName("Debe leer un objeto por línea (JSON Lines)")
+    void testJsonLines() throws IOException {
+        // Arrange
+        String json = "{\"username\": \"uno\", \"password\": \"pass123\", \"email\": \"a@b.com\", \"role\": \"USER\"}\n" +
+                      "{\"username\": \"dos\", \"password\": \"pass123\", \"email\": \"c@d.com\", \"role\": \"NADA\"}\n";
+        
+        // Act
+        List<UserRecord> records = readAll(json);
+        
+        // Assert
+        assertEquals(2, records.size());
+        assertTrue(records.get(0).isValid());
+        assertFalse(records.get(1).isValid());
+        assertEquals("dos", records.get(1).getUsername());
+    }
+    
+    @Test
+    @DisplayName("Un arreglo vacío no debe tener registros")
+    void testArregloVacio() throws IOException {
+        // Act & Assert
+        assertTrue(readAll(" [ ] ").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe fallar ante JSON mal formado indicando la línea")
+    void testJsonInvalido() {
+        // Arrange
+        String json = "[\n{\"username\": \"uno\"}\n{\"username\": \"dos\"}\n]";
+        
+        // Act & Assert
+        IOException e = assertThrows(IOException.class, () -> readAll(json));
+        assertTrue(e.getMessage().contains("línea 3"), e.getMessage());
+    }
+    
+    @Test
+    @DisplayName("Lo escrito por JsonUserWriter debe leerse igual")
+    void testIdaYVuelta() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        User user = new User(3, "maria", "a\\b\"c\n", "maria@test.com", Role.TERAPEUTA);
+        
+        // Act
+        try (JsonUserWriter writer = new JsonUserWriter(out, true)) {
+            writer.write(user);
+            writer.write(new User(4, "pedro", null, "pedro@test.com", Role.GUEST));
+        }
+        List<UserRecord> records = readAll(out.toString());
+        
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals("a\\b\"c\n", records.get(0).getUser().getPassword());
+        assertEquals(Role.TERAPEUTA, records.get(0).getUser().getRole());
+        assertNull(records.get(1).getUser().getPassword());
+    }
+}
@@ -0,0 +1,156 @@
+package com.taller2solid.tools;
+
+import com.taller2solid.access.UserRepositorySQLite;
+import com.taller2solid.domain.Role;
+import com.taller2solid.domain.User;
+import com.taller2solid.security.SHA256PasswordEncoder;
+import com.taller2solid.service.UserService;
+import com.taller2solid.tools.UserImportExport.TransferReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para UserImportExport
+ * Usa archivos SQLite temporales por prueba
+ */
+@DisplayName("Pruebas de integración de UserImportExport")
+class UserImportExportTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private UserRepositorySQLite repository;
+    private UserService userService;
+    private UserImportExport tool;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new UserRepositorySQLite(tempDir.resolve("origen.db").toString(), 2);
+        repository.initDatabase();
+        userService = new UserService(repository, new SHA256PasswordEncoder());
+        tool = new UserImportExport(userService, repository, null, 3, 2);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        tool.close();
+        repository.closeConnection();
+    }
+    
+    @Test
+    @DisplayName("Debe importar por lotes y escribir los rechazos con su motivo")
+    void testImportarConRechazos() throws IOException {
+        // Arrange
+        Path csv = tempDir.resolve("usuarios.csv");
+        Path rejects = tempDir.resolve("rechazos.csv");
+        StringBuilder content = new StringBuilder("username,password,email,role\n");
+        for (int i = 0; i < 7; i++) {
+            content.append("user").append(i).append(",pass123,user").append(i).append("@test.com,USER\n");
+        }
+        content.append("x,pass123,x@test.com,USER\n");          // username corto
+        content.append("user1,pass123,otro@test.com,USER\n");   // duplicado
+        content.append("user9,pass123,user9@test.com,JEFE\n");  // rol inválido
+        Files.writeString(csv, content.toString());
+        
+        // Act
+        TransferReport report = tool.importUsers(csv, rejects);
+        
+        // Assert
+        assertEquals(7, report.getSucceeded());
+        assertEquals(3, report.getRejected());
+        assertEquals(7, repository.count());
+        assertTrue(userService.authenticate("user3", "pass123").isSuccess(),
+                   "Las contraseñas en texto plano deben encriptarse");
+        List<String> lines = Files.readAllLines(rejects, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(1).startsWith("8,\"x\","), lines.get(1));
+        assertTrue(lines.get(2).contains("ya está en uso"), lines.get(2));
+        assertTrue(lines.get(3).contains("Rol inválido"), lines.get(3));
+    }
+    
+    @Test
+    @DisplayName("Sin rechazos no debe crear el archivo de rechazos")
+    void testSinRechazos() throws IOException {
+        // Arrange
+        Path json = tempDir.resolve("usuarios.json");
+        Path rejects = tempDir.resolve("rechazos.csv");
+        Files.writeString(json, "[{\"username\":\"ana\",\"password\":\"pass123\",\"email\":\"ana@test.com\",\"role\":\"ADMIN\"}]");
+        
+        // Act
+        TransferReport report = tool.importUsers(json, rejects);
+        
+        // Assert
+        assertEquals(1, report.getSucceeded());
+        assertFalse(Files.exists(rejects));
+    }
+    
+    @Test
+    @DisplayName("Exportar e importar en otro entorno debe conservar hashes y estado")
+    void testMigracionEntreEntornos() throws IOException {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            assertTrue(userService.createUser(new User(null, "user" + i, "pass123",
+                    "user" + i + "@test.com", i == 0 ? Role.ADMIN : Role.USER)).isSuccess());
+        }
+        User inactivo = userService.findUserByUsername("user5").get();
+        inactivo.setActive(false);
+        assertTrue(userService.updateUser(inactivo).isSuccess());
+        Path export = tempDir.resolve("export.json");
+        
+        UserRepositorySQLite destino = new UserRepositorySQLite(tempDir.resolve("destino.db").toString(), 1);
+        destino.initDatabase();
+        UserService destinoService = new UserService(destino, new SHA256PasswordEncoder());
+        
+        try (UserImportExport destinoTool = new UserImportExport(destinoService, destino, null, 4, 2)) {
+            // Act
+            TransferReport exported = tool.exportUsers(export, true);
+            TransferReport imported = destinoTool.importUsers(export, tempDir.resolve("rechazos.csv"));
+            
+            // Assert
+            assertEquals(10, exported.getSucceeded());
+            assertEquals(10, imported.getSucceeded());
+            assertEquals(9, destino.countActive());
+            assertEquals(repository.findByUsername("user3").get().getPassword(),
+                         destino.findByUsername("user3").get().getPassword(),
+                         "El hash debe copiarse sin volver a encriptarse");
+            assertTrue(destinoService.authenticate("user3", "pass123").isSuccess());
+        } finally {
+            destino.closeConnection();
+        }
+    }
+    
+    @Test
+    @DisplayName("Exportar sin contraseñas debe omitir la columna")
+    void testExportarSinPassword() throws IOException {
+        // Arrange
+        userService.createUser(new User(null, "ana", "pass123", "ana@test.com", Role.USER));
+        Path csv = tempDir.resolve("export.csv");
+        
+        // Act
+        tool.exportUsers(csv, false);
+        
+        // Assert
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals("id,username,email,role,active", lines.get(0));
+        assertTrue(lines.get(1).endsWith(",ana,ana@test.com,USER,true"), lines.get(1));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar extensiones desconocidas")
+    void testFormatoNoSoportado() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> tool.exportUsers(tempDir.resolve("usuarios.xml"), true));
+    }
+}